@@ -0,0 +1,124 @@
+package com.elowen.admin.changes;
+
+import com.elowen.admin.entity.Brand;
+import com.elowen.admin.entity.BrandChange;
+import com.elowen.admin.entity.BrandChangeSequence;
+import com.elowen.admin.event.BrandChangeType;
+import com.elowen.admin.event.BrandChangedEvent;
+import com.elowen.admin.repository.BrandChangeRepository;
+import com.elowen.admin.repository.BrandChangeSequenceRepository;
+import com.elowen.admin.repository.BrandRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Records every brand change in the client's change feed inside the
+ * mutating transaction.
+ * 
+ * BEFORE_COMMIT, like BrandOutboxWriter: the change row commits together
+ * with the Brand change or not at all. Taking the seq locks the client's
+ * sequence row until commit, which keeps the feed in commit order.
+ */
+@Component
+public class BrandChangeLog {
+    
+    private static final Logger log = LoggerFactory.getLogger(BrandChangeLog.class);
+    
+    private final BrandChangeRepository changeRepository;
+    private final BrandChangeSequenceRepository sequenceRepository;
+    private final BrandRepository brandRepository;
+    private final TransactionTemplate newTransaction;
+    
+    public BrandChangeLog(BrandChangeRepository changeRepository,
+                          BrandChangeSequenceRepository sequenceRepository,
+                          BrandRepository brandRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.changeRepository = changeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.brandRepository = brandRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBrandChanged(BrandChangedEvent event) {
+        long seq = reserve(event.getClientId(), 1);
+        String type = event.getType() == BrandChangeType.DELETED ? BrandChange.TYPE_DELETE : BrandChange.TYPE_UPSERT;
+        
+        BrandChange change = changeRepository.findById(event.getBrandId())
+                .orElseGet(() -> new BrandChange(event.getBrandId(), event.getClientId()));
+        change.record(seq, type, event.getType().name(), event.getOccurredAt());
+        changeRepository.save(change);
+        log.debug("Recorded change {} {} of brand {} (client {})", seq, type, event.getBrandId(), event.getClientId());
+    }
+    
+    /**
+     * Give the client's brands that have no change row yet one, oldest first,
+     * and mark the client seeded. Returns the number of rows written.
+     */
+    @Transactional
+    public int seedExisting(UUID clientId) {
+        // Lock first: a brand committed after this point records its own change
+        reserve(clientId, 0);
+        Set<UUID> recorded = new HashSet<>(changeRepository.findBrandIdsByClientId(clientId));
+        List<Brand> missing = new ArrayList<>();
+        for (Brand brand : brandRepository.findAllByClientIdOrderByCreateDateTimeDesc(clientId)) {
+            if (!recorded.contains(brand.getId())) {
+                missing.add(0, brand);
+            }
+        }
+        
+        if (!missing.isEmpty()) {
+            long seq = reserve(clientId, missing.size()) - missing.size();
+            LocalDateTime now = LocalDateTime.now();
+            List<BrandChange> changes = new ArrayList<>(missing.size());
+            for (Brand brand : missing) {
+                BrandChange change = new BrandChange(brand.getId(), clientId);
+                change.record(++seq, BrandChange.TYPE_UPSERT, null, now);
+                changes.add(change);
+            }
+            changeRepository.saveAll(changes);
+        }
+        sequenceRepository.markSeeded(clientId);
+        return missing.size();
+    }
+    
+    /**
+     * Reserve `count` seqs of the client and return the last one
+     */
+    private long reserve(UUID clientId, long count) {
+        if (sequenceRepository.increment(clientId, count) == 0) {
+            createSequence(clientId);
+            sequenceRepository.increment(clientId, count);
+        }
+        return sequenceRepository.findLastSeq(clientId);
+    }
+    
+    /**
+     * Committed on its own so concurrent first writers of a client meet on
+     * the primary key instead of both inserting
+     */
+    private void createSequence(UUID clientId) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    sequenceRepository.saveAndFlush(new BrandChangeSequence(clientId)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Change sequence of client {} created concurrently", clientId);
+        }
+    }
+}
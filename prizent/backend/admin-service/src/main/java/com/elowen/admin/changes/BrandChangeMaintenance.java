@@ -0,0 +1,80 @@
+package com.elowen.admin.changes;
+
+import com.elowen.admin.repository.BrandChangeRepository;
+import com.elowen.admin.repository.BrandChangeSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Housekeeping of the brand change feed.
+ * 
+ * - Seeding: brands created before the feed existed get change rows, so a
+ *   consumer reading from seq 0 sees every brand. They get new seqs, so
+ *   consumers past them still receive them
+ * - Tombstone purge: DELETE rows older than the retention are removed and
+ *   the client's purged_through_seq raised; older cursors then get 410
+ * 
+ * Both are idempotent, so every instance may run them.
+ */
+@Component
+public class BrandChangeMaintenance {
+    
+    private static final Logger log = LoggerFactory.getLogger(BrandChangeMaintenance.class);
+    
+    private final BrandChangeLog changeLog;
+    private final BrandChangeRepository changeRepository;
+    private final BrandChangeSequenceRepository sequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tombstoneRetentionDays;
+    
+    public BrandChangeMaintenance(
+            BrandChangeLog changeLog,
+            BrandChangeRepository changeRepository,
+            BrandChangeSequenceRepository sequenceRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${brand.changes.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.changeLog = changeLog;
+        this.changeRepository = changeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+    
+    @Scheduled(initialDelayString = "${brand.changes.maintenance-initial-delay-ms:15000}",
+               fixedDelayString = "${brand.changes.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        try {
+            for (UUID clientId : sequenceRepository.findUnseededClientIds()) {
+                int seeded = changeLog.seedExisting(clientId);
+                log.info("Seeded change feed of client {} with {} brands", clientId, seeded);
+            }
+            purgeTombstones();
+        } catch (RuntimeException e) {
+            log.warn("Brand change feed maintenance failed: {}", e.getMessage());
+        }
+    }
+    
+    private void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        for (UUID clientId : sequenceRepository.findAllClientIds()) {
+            Long throughSeq = changeRepository.findMaxTombstoneSeqBefore(clientId, cutoff);
+            if (throughSeq == null) {
+                continue;
+            }
+            Integer purged = transactionTemplate.execute(status -> {
+                sequenceRepository.raisePurgedThrough(clientId, throughSeq);
+                return changeRepository.purgeTombstonesThrough(clientId, throughSeq);
+            });
+            log.info("Purged {} brand change feed tombstones of client {} (through seq {})",
+                    purged, clientId, throughSeq);
+        }
+    }
+}
@@ -1,23 +1,34 @@
 package com.elowen.admin.controller;
 
+import com.elowen.admin.dto.BrandChangeFeedResponse;
 import com.elowen.admin.dto.BrandResponse;
 import com.elowen.admin.dto.CreateBrandRequest;
 import com.elowen.admin.dto.UpdateBrandRequest;
 import com.elowen.admin.exception.BrandNameAlreadyExistsException;
 import com.elowen.admin.exception.BrandNotFoundException;
 import com.elowen.admin.security.UserPrincipal;
+import com.elowen.admin.service.BrandChangeFeedService;
+import com.elowen.admin.service.BrandCollectionVersionTracker;
+import com.elowen.admin.service.BrandEventStreamService;
+import com.elowen.admin.service.BrandLogoStorageService;
 import com.elowen.admin.service.BrandService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,11 +56,27 @@ public class BrandController {
     
     private static final Logger log = LoggerFactory.getLogger(BrandController.class);
     
+    // Gateway-only freshness: the gateway invalidates on every brand mutation it forwards
+    private static final String GATEWAY_CACHE_HEADER = "Surrogate-Control";
+    private static final String GATEWAY_CACHE_POLICY = "max-age=60";
+    
     private final BrandService brandService;
+    private final BrandLogoStorageService logoStorageService;
+    private final BrandCollectionVersionTracker versionTracker;
+    private final BrandEventStreamService eventStreamService;
+    private final BrandChangeFeedService changeFeedService;
     
     @Autowired
-    public BrandController(BrandService brandService) {
+    public BrandController(BrandService brandService, 
+                          BrandLogoStorageService logoStorageService,
+                          BrandCollectionVersionTracker versionTracker,
+                          BrandEventStreamService eventStreamService,
+                          BrandChangeFeedService changeFeedService) {
         this.brandService = brandService;
+        this.logoStorageService = logoStorageService;
+        this.versionTracker = versionTracker;
+        this.eventStreamService = eventStreamService;
+        this.changeFeedService = changeFeedService;
     }
     
     /**
@@ -80,34 +107,101 @@ public class BrandController {
      * 
      * UI REQUIREMENT: Always returns ALL brands (enabled + disabled)
      * UI handles filtering if needed
+     * 
+     * CONDITIONAL GET: ETag is the tenant's brand-collection version;
+     * a matching If-None-Match gets 304 before any query runs.
      */
     @GetMapping
     public ResponseEntity<List<BrandResponse>> getAllBrands(
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            WebRequest webRequest) {
         
         UUID clientId = userPrincipal.getClientId();
+        
+        // Read the version BEFORE querying so the tag never runs ahead of the data
+        String etag = versionTracker.currentEtag(clientId);
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Brand list for client {} not modified ({})", clientId, etag);
+            return null;
+        }
+        
         log.debug("Fetching all brands for client {}", clientId);
         
         List<BrandResponse> brands = brandService.getAllBrands(clientId);
             
-        return ResponseEntity.ok(brands);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(GATEWAY_CACHE_HEADER, GATEWAY_CACHE_POLICY)
+                .body(brands);
+    }
+    
+    /**
+     * Live stream of brand changes for authenticated client (Server-Sent Events)
+     * GET /api/admin/brands/stream
+     * 
+     * Events: ready, created, updated, enabled, disabled, deleted.
+     * Emitted after commit; slow consumers are disconnected and should
+     * reconnect and refetch the list.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBrandEvents(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        UUID clientId = userPrincipal.getClientId();
+        log.debug("Opening brand event stream for client {}", clientId);
+        
+        return eventStreamService.subscribe(clientId);
+    }
+    
+    /**
+     * Brand changes after a cursor, for incremental sync
+     * GET /api/admin/brands/changes?since=&limit=
+     * 
+     * Unlike the stream, nothing is missed while disconnected: consumers
+     * keep the last nextCursor and continue from it. no-store keeps the
+     * gateway cache out of the way - each poll must see the current feed.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<BrandChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + BrandChangeFeedService.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(changeFeedService.changesSince(userPrincipal.getClientId(), since, limit));
     }
     
     /**
      * Get specific brand by ID
      * GET /api/admin/brands/{brandId}
+     * 
+     * CONDITIONAL GET: same ETag semantics as the list endpoint
      */
     @GetMapping("/{brandId}")
     public ResponseEntity<BrandResponse> getBrandById(
             @PathVariable UUID brandId,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            WebRequest webRequest) {
         
         UUID clientId = userPrincipal.getClientId();
+        
+        // Any brand change bumps the collection version, so it also validates single brands
+        String etag = versionTracker.currentEtag(clientId);
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Brand {} for client {} not modified ({})", brandId, clientId, etag);
+            return null;
+        }
+        
         log.debug("Fetching brand {} for client {}", brandId, clientId);
         
         try {
             BrandResponse response = brandService.getBrandById(brandId, clientId);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .header(GATEWAY_CACHE_HEADER, GATEWAY_CACHE_POLICY)
+                    .body(response);
             
         } catch (BrandNotFoundException e) {
             log.warn("Brand lookup failed: {}", e.getMessage());
@@ -142,6 +236,33 @@ public class BrandController {
         }
     }
     
+    /**
+     * Upload brand logo (multipart field "file")
+     * POST /api/admin/brands/{brandId}/logo
+     * 
+     * Stores the image content-addressed and generates thumbnails once;
+     * the response carries the thumbnail URLs.
+     */
+    @PostMapping(value = "/{brandId}/logo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BrandResponse> uploadLogo(
+            @PathVariable UUID brandId,
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        
+        UUID clientId = userPrincipal.getClientId();
+        log.info("Uploading logo for brand {} ({} bytes) for client {}", brandId, file.getSize(), clientId);
+        
+        try {
+            BrandLogoStorageService.StoredLogo storedLogo = logoStorageService.store(file.getBytes());
+            BrandResponse response = brandService.attachLogo(brandId, storedLogo, clientId);
+            return ResponseEntity.ok(response);
+            
+        } catch (BrandNotFoundException e) {
+            log.warn("Brand logo upload failed: {}", e.getMessage());
+            throw e; // Will be handled by @ExceptionHandler
+        }
+    }
+    
     /**
      * Enable brand (activate/undelete)
      * PATCH /api/admin/brands/{brandId}/enable
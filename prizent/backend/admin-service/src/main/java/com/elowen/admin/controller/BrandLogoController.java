@@ -0,0 +1,110 @@
+package com.elowen.admin.controller;
+
+import com.elowen.admin.entity.LogoVariant;
+import com.elowen.admin.service.BrandLogoStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Serves stored brand logos and thumbnails.
+ *
+ * Base Path: /api/admin/brands/logos
+ *
+ * SECURITY NOTE:
+ * - Publicly readable (permitted in SecurityConfig) so plain <img> tags work
+ * - Content is addressed by SHA-256; URLs cannot be enumerated and
+ *   reveal nothing about the owning tenant
+ *
+ * PERFORMANCE:
+ * - Content never changes for a given URL, so responses are cached as
+ *   immutable for a year and revalidated with the content hash as ETag
+ * - Bodies go out via Tomcat sendfile when the connector supports it,
+ *   otherwise via FileChannel.transferTo - never through a heap buffer
+ */
+@RestController
+@RequestMapping(LogoVariant.PUBLIC_BASE_PATH)
+public class BrandLogoController {
+
+    private static final Logger log = LoggerFactory.getLogger(BrandLogoController.class);
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // Tomcat sendfile request attributes (org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final BrandLogoStorageService logoStorageService;
+
+    @Autowired
+    public BrandLogoController(BrandLogoStorageService logoStorageService) {
+        this.logoStorageService = logoStorageService;
+    }
+
+    /**
+     * Serve a stored logo file
+     * GET /api/admin/brands/logos/{hash}/{fileName}
+     */
+    @GetMapping("/{hash}/{fileName:.+}")
+    public void serveLogo(
+            @PathVariable String hash,
+            @PathVariable String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        Path file = logoStorageService.resolve(hash, fileName);
+        if (file == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + hash + "-" + fileName + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(logoStorageService.contentTypeOf(fileName));
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+                // Tomcat writes the file straight from the page cache to the socket
+                request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTR, 0L);
+                request.setAttribute(SENDFILE_END_ATTR, size);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        } catch (IOException e) {
+            log.debug("Logo transfer of {}/{} aborted: {}", hash, fileName, e.getMessage());
+            throw e;
+        }
+    }
+}
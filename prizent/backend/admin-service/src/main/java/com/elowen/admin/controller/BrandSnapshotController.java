@@ -0,0 +1,46 @@
+package com.elowen.admin.controller;
+
+import com.elowen.admin.dto.BrandSnapshotPage;
+import com.elowen.admin.service.BrandSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Every client's brands, paged, so product-service can seed its brand replica
+ * with brands that predate the outbox or whose events never reached it.
+ * 
+ * Internal endpoint - not routed by the gateway; service token only
+ * (ServiceTokenFilter).
+ */
+@RestController
+@PreAuthorize("hasRole('SERVICE')")
+@RequestMapping("/api/internal/brand-snapshot")
+public class BrandSnapshotController {
+    
+    private final BrandSnapshotService snapshotService;
+    private final int maxPageSize;
+    
+    public BrandSnapshotController(BrandSnapshotService snapshotService,
+                                   @Value("${brand.snapshot.max-page-size:5000}") int maxPageSize) {
+        this.snapshotService = snapshotService;
+        this.maxPageSize = maxPageSize;
+    }
+    
+    /**
+     * GET /api/internal/brand-snapshot?after=&size=
+     */
+    @GetMapping
+    public ResponseEntity<BrandSnapshotPage> page(
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "1000") int size) {
+        
+        return ResponseEntity.ok(snapshotService.page(after, Math.max(1, Math.min(size, maxPageSize))));
+    }
+}
@@ -0,0 +1,34 @@
+package com.elowen.admin.controller;
+
+import com.elowen.admin.dto.ProductCountEvent;
+import com.elowen.admin.service.ProductCountService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Receives brand product count events from product-service's outbox relay.
+ * 
+ * Internal endpoint - not routed by the gateway. Any non-2xx response makes
+ * the relay keep the batch and deliver it again.
+ */
+@RestController
+@RequestMapping("/api/internal/product-events")
+public class ProductEventController {
+    
+    private final ProductCountService productCountService;
+    
+    public ProductEventController(ProductCountService productCountService) {
+        this.productCountService = productCountService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<Void> receive(@RequestBody List<ProductCountEvent> events) {
+        productCountService.apply(events);
+        return ResponseEntity.noContent().build();
+    }
+}
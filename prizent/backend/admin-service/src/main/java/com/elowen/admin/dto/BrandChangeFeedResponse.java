@@ -0,0 +1,78 @@
+package com.elowen.admin.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a client's brand change feed, in seq order.
+ * 
+ * Pass nextCursor as ?since= for the next page; hasMore is false once the
+ * feed is read up to its current end. UPSERT changes carry the brand as it
+ * is now, DELETE changes (tombstones) only its id. kind is the brand's
+ * latest mutation (CREATED, UPDATED, ENABLED, DISABLED, DELETED), absent for
+ * brands that predate the feed.
+ */
+public class BrandChangeFeedResponse {
+    
+    private final List<Change> changes;
+    private final long nextCursor;
+    private final boolean hasMore;
+    
+    public BrandChangeFeedResponse(List<Change> changes, long nextCursor, boolean hasMore) {
+        this.changes = changes;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    public List<Change> getChanges() {
+        return changes;
+    }
+    
+    public long getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Change {
+        
+        private final long seq;
+        private final String type;
+        private final String kind;
+        private final UUID brandId;
+        private final BrandResponse brand;
+        
+        public Change(long seq, String type, String kind, UUID brandId, BrandResponse brand) {
+            this.seq = seq;
+            this.type = type;
+            this.kind = kind;
+            this.brandId = brandId;
+            this.brand = brand;
+        }
+        
+        public long getSeq() {
+            return seq;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public String getKind() {
+            return kind;
+        }
+        
+        public UUID getBrandId() {
+            return brandId;
+        }
+        
+        public BrandResponse getBrand() {
+            return brand;
+        }
+    }
+}
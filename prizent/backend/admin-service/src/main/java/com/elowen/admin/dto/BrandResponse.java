@@ -1,8 +1,12 @@
 package com.elowen.admin.dto;
 
 import com.elowen.admin.entity.Brand;
+import com.elowen.admin.entity.LogoVariant;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -12,6 +16,8 @@ import java.util.UUID;
  * - Contains only fields needed by UI: id, name, description, logo, enabled
  * - NO client_id exposure (security best practice)
  * - Minimal timestamps for UI display
+ * - Thumbnail URLs (keyed by variant) for uploaded logos, so lists never
+ *   load full-size images
  * - Optimized for frontend consumption
  */
 public class BrandResponse {
@@ -20,7 +26,9 @@ public class BrandResponse {
     private String name;
     private String description;
     private String logo;
+    private Map<String, String> logoThumbnails = Collections.emptyMap();
     private Boolean enabled;
+    private Long version;
     private LocalDateTime createDateTime;
     private LocalDateTime updateDateTime;
     
@@ -44,7 +52,7 @@ public class BrandResponse {
      * UI-OPTIMIZED: Only includes fields needed by frontend
      */
     public static BrandResponse fromEntity(Brand brand) {
-        return new BrandResponse(
+        BrandResponse response = new BrandResponse(
             brand.getId(),
             brand.getName(),
             brand.getDescription(),
@@ -53,6 +61,18 @@ public class BrandResponse {
             brand.getCreateDateTime(),
             brand.getUpdateDateTime()
         );
+        
+        response.setVersion(brand.getVersion());
+        
+        if (brand.getLogoHash() != null) {
+            Map<String, String> thumbnails = new LinkedHashMap<>();
+            for (LogoVariant variant : LogoVariant.values()) {
+                thumbnails.put(variant.getKey(), variant.urlFor(brand.getLogoHash()));
+            }
+            response.setLogoThumbnails(thumbnails);
+        }
+        
+        return response;
     }
     
     // Getters and Setters
@@ -88,6 +108,14 @@ public class BrandResponse {
         this.logo = logo;
     }
     
+    public Map<String, String> getLogoThumbnails() {
+        return logoThumbnails;
+    }
+    
+    public void setLogoThumbnails(Map<String, String> logoThumbnails) {
+        this.logoThumbnails = logoThumbnails;
+    }
+    
     public Boolean getEnabled() {
         return enabled;
     }
@@ -96,6 +124,18 @@ public class BrandResponse {
         this.enabled = enabled;
     }
     
+    /**
+     * Optimistic lock version - send back in UpdateBrandRequest to detect
+     * edits made since this response was read
+     */
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getCreateDateTime() {
         return createDateTime;
     }
@@ -119,7 +159,9 @@ public class BrandResponse {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", logo='" + logo + '\'' +
+                ", logoThumbnails=" + logoThumbnails +
                 ", enabled=" + enabled +
+                ", version=" + version +
                 ", createDateTime=" + createDateTime +
                 ", updateDateTime=" + updateDateTime +
                 '}';
@@ -0,0 +1,60 @@
+package com.elowen.admin.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of every client's brands for product-service's brand replica
+ * (GET /api/internal/brand-snapshot), in id order.
+ * 
+ * Pass nextAfter as ?after= for the next page; it is null on the last one.
+ */
+public class BrandSnapshotPage {
+    
+    private final List<Item> brands;
+    private final UUID nextAfter;
+    
+    public BrandSnapshotPage(List<Item> brands, UUID nextAfter) {
+        this.brands = brands;
+        this.nextAfter = nextAfter;
+    }
+    
+    public List<Item> getBrands() {
+        return brands;
+    }
+    
+    public UUID getNextAfter() {
+        return nextAfter;
+    }
+    
+    public static class Item {
+        
+        private final UUID id;
+        private final UUID clientId;
+        private final String name;
+        private final boolean enabled;
+        
+        public Item(UUID id, UUID clientId, String name, boolean enabled) {
+            this.id = id;
+            this.clientId = clientId;
+            this.name = name;
+            this.enabled = enabled;
+        }
+        
+        public UUID getId() {
+            return id;
+        }
+        
+        public UUID getClientId() {
+            return clientId;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+    }
+}
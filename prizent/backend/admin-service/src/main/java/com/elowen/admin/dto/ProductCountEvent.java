@@ -0,0 +1,82 @@
+package com.elowen.admin.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One product-service count event, as POSTed by its outbox relay.
+ * 
+ * The deltas are what one product-service transaction changed for one
+ * brand: enabled products (activeDelta) and all products (productDelta).
+ * id is the product outbox id, used to skip redeliveries.
+ */
+public class ProductCountEvent {
+    
+    public static final String TYPE_BRAND_PRODUCT_COUNTS = "BRAND_PRODUCT_COUNTS";
+    
+    private Long id;
+    private String type;
+    private UUID clientId;
+    private UUID brandId;
+    private long activeDelta;
+    private long productDelta;
+    private LocalDateTime occurredAt;
+    
+    public ProductCountEvent() {}
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public void setBrandId(UUID brandId) {
+        this.brandId = brandId;
+    }
+    
+    public long getActiveDelta() {
+        return activeDelta;
+    }
+    
+    public void setActiveDelta(long activeDelta) {
+        this.activeDelta = activeDelta;
+    }
+    
+    public long getProductDelta() {
+        return productDelta;
+    }
+    
+    public void setProductDelta(long productDelta) {
+        this.productDelta = productDelta;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
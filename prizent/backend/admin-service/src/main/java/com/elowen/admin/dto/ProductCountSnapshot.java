@@ -0,0 +1,88 @@
+package com.elowen.admin.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * product-service's full per-brand product counts
+ * (GET /api/internal/brand-product-counts).
+ * 
+ * pendingBrandIds have count events not yet delivered here; their counts in
+ * this snapshot are ahead of the events, so they are not reconciled.
+ */
+public class ProductCountSnapshot {
+    
+    private List<BrandCounts> brands = new ArrayList<>();
+    private List<UUID> pendingBrandIds = new ArrayList<>();
+    private LocalDateTime takenAt;
+    
+    public ProductCountSnapshot() {}
+    
+    public List<BrandCounts> getBrands() {
+        return brands;
+    }
+    
+    public void setBrands(List<BrandCounts> brands) {
+        this.brands = brands;
+    }
+    
+    public List<UUID> getPendingBrandIds() {
+        return pendingBrandIds;
+    }
+    
+    public void setPendingBrandIds(List<UUID> pendingBrandIds) {
+        this.pendingBrandIds = pendingBrandIds;
+    }
+    
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+    
+    public void setTakenAt(LocalDateTime takenAt) {
+        this.takenAt = takenAt;
+    }
+    
+    public static class BrandCounts {
+        
+        private UUID clientId;
+        private UUID brandId;
+        private long activeCount;
+        private long productCount;
+        
+        public BrandCounts() {}
+        
+        public UUID getClientId() {
+            return clientId;
+        }
+        
+        public void setClientId(UUID clientId) {
+            this.clientId = clientId;
+        }
+        
+        public UUID getBrandId() {
+            return brandId;
+        }
+        
+        public void setBrandId(UUID brandId) {
+            this.brandId = brandId;
+        }
+        
+        public long getActiveCount() {
+            return activeCount;
+        }
+        
+        public void setActiveCount(long activeCount) {
+            this.activeCount = activeCount;
+        }
+        
+        public long getProductCount() {
+            return productCount;
+        }
+        
+        public void setProductCount(long productCount) {
+            this.productCount = productCount;
+        }
+    }
+}
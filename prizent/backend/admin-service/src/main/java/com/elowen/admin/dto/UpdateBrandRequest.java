@@ -15,6 +15,8 @@ import jakarta.validation.constraints.Size;
  * - Only name, description, and logo can be updated
  * - Null values mean "do not update this field"
  * - When name IS provided, it cannot be blank (UI validation backup)
+ * - version is optional; when provided the update only succeeds if the
+ *   brand has not changed since that version was read (409 otherwise)
  */
 public class UpdateBrandRequest {
     
@@ -27,6 +29,8 @@ public class UpdateBrandRequest {
     @Size(max = 255, message = "Logo URL cannot exceed 255 characters")
     private String logo;
     
+    private Long version;
+    
     // Constructors
     public UpdateBrandRequest() {}
     
@@ -61,6 +65,14 @@ public class UpdateBrandRequest {
         this.logo = logo;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     /**
      * Utility method to check if name should be updated
      */
@@ -95,6 +107,7 @@ public class UpdateBrandRequest {
                 "name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", logo='" + logo + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
@@ -19,6 +19,8 @@ import java.util.UUID;
  * - Composite unique constraint on (client_id, name) for tenant isolation
  * - Soft delete pattern using 'enabled' field - no physical deletion
  * - Automatic timestamp management with JPA annotations
+ * - Optimistic concurrency via @Version - concurrent edits fail fast
+ *   instead of requiring pessimistic reads
  * 
  * PRODUCT INTEGRATION READINESS:
  * - Entity kept free of JPA relationships to future Product entities
@@ -65,6 +67,13 @@ public class Brand {
     @Column(name = "logo", length = 255)
     private String logo;
     
+    /**
+     * SHA-256 of an uploaded logo - null when logo is an external URL.
+     * Thumbnail URLs are derived from this hash.
+     */
+    @Column(name = "logo_hash", length = 64)
+    private String logoHash;
+    
     /**
      * Soft delete flag - true = active, false = disabled/soft-deleted
      * Default: true (active)
@@ -73,6 +82,17 @@ public class Brand {
     @Column(name = "enabled", nullable = false)
     private Boolean enabled = true;
     
+    /**
+     * Optimistic lock version - incremented by every update,
+     * including the bulk enable/disable statements in BrandRepository.
+     * Null until persisted (Hibernate then starts it at 0): Spring Data
+     * treats a null version as new, so save() persists without the
+     * extra SELECT a merge() would run.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @CreationTimestamp
     @Column(name = "create_date_time", updatable = false, nullable = false)
     private LocalDateTime createDateTime;
@@ -137,6 +157,14 @@ public class Brand {
         this.logo = logo;
     }
     
+    public String getLogoHash() {
+        return logoHash;
+    }
+    
+    public void setLogoHash(String logoHash) {
+        this.logoHash = logoHash;
+    }
+    
     public Boolean getEnabled() {
         return enabled;
     }
@@ -145,6 +173,14 @@ public class Brand {
         this.enabled = enabled;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getCreateDateTime() {
         return createDateTime;
     }
@@ -169,7 +205,9 @@ public class Brand {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", logo='" + logo + '\'' +
+                ", logoHash='" + logoHash + '\'' +
                 ", enabled=" + enabled +
+                ", version=" + version +
                 ", createDateTime=" + createDateTime +
                 ", updateDateTime=" + updateDateTime +
                 '}';
@@ -0,0 +1,102 @@
+package com.elowen.admin.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Latest change of one brand in its client's change feed.
+ * 
+ * Key Design Decisions:
+ * - One row per brand, keyed by brand id: a new change moves the row to
+ *   the new seq, so the feed is compacted as it is written and a full read
+ *   from seq 0 is the current brand list plus recent deletes
+ * - Only the change is stored, not the brand: the feed reads the brand as
+ *   it is when the page is served
+ * - Deletes leave a DELETE row (tombstone); tombstones are purged after a
+ *   retention period (BrandChangeMaintenance)
+ * - change_kind keeps what the latest change was (BrandChangeType) for the
+ *   live stream's event names; change_type stays the feed's UPSERT/DELETE
+ */
+@Entity
+@Table(
+    name = "p_brand_changes",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_brand_changes_client_seq", columnNames = {"client_id", "seq"})
+    }
+)
+public class BrandChange {
+    
+    public static final String TYPE_UPSERT = "UPSERT";
+    public static final String TYPE_DELETE = "DELETE";
+    
+    @Id
+    @Column(name = "brand_id", updatable = false, nullable = false)
+    private UUID brandId;
+    
+    @Column(name = "client_id", updatable = false, nullable = false)
+    private UUID clientId;
+    
+    @Column(name = "seq", nullable = false)
+    private long seq;
+    
+    @Column(name = "change_type", nullable = false, length = 10)
+    private String changeType;
+    
+    /**
+     * BrandChangeType of the latest change; null on rows seeded from existing brands
+     */
+    @Column(name = "change_kind", length = 10)
+    private String changeKind;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+    
+    // Constructors
+    public BrandChange() {}
+    
+    public BrandChange(UUID brandId, UUID clientId) {
+        this.brandId = brandId;
+        this.clientId = clientId;
+    }
+    
+    /**
+     * Move this brand to the head of the feed
+     */
+    public void record(long seq, String changeType, String changeKind, LocalDateTime changedAt) {
+        this.seq = seq;
+        this.changeType = changeType;
+        this.changeKind = changeKind;
+        this.changedAt = changedAt;
+    }
+    
+    // Getters
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public long getSeq() {
+        return seq;
+    }
+    
+    public String getChangeType() {
+        return changeType;
+    }
+    
+    public String getChangeKind() {
+        return changeKind;
+    }
+    
+    public boolean isDelete() {
+        return TYPE_DELETE.equals(changeType);
+    }
+    
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
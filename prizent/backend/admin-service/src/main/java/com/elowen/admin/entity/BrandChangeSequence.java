@@ -0,0 +1,59 @@
+package com.elowen.admin.entity;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * Change feed sequence of one client.
+ * 
+ * Key Design Decisions:
+ * - last_seq is incremented with a single-row UPDATE inside each writing
+ *   transaction; the row lock is held until commit, so a client's changes
+ *   commit in seq order and a reader can never see seq n+1 before seq n
+ * - purged_through_seq is the newest tombstone purged: cursors before it
+ *   may have missed deletes and must resync from 0
+ * - seeded marks clients whose brands from before the feed existed have
+ *   been given change rows (BrandChangeMaintenance)
+ */
+@Entity
+@Table(name = "p_brand_change_sequences")
+public class BrandChangeSequence {
+    
+    @Id
+    @Column(name = "client_id", updatable = false, nullable = false)
+    private UUID clientId;
+    
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+    
+    @Column(name = "purged_through_seq", nullable = false)
+    private long purgedThroughSeq;
+    
+    @Column(name = "seeded", nullable = false)
+    private boolean seeded;
+    
+    // Constructors
+    public BrandChangeSequence() {}
+    
+    public BrandChangeSequence(UUID clientId) {
+        this.clientId = clientId;
+    }
+    
+    // Getters
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public long getLastSeq() {
+        return lastSeq;
+    }
+    
+    public long getPurgedThroughSeq() {
+        return purgedThroughSeq;
+    }
+    
+    public boolean isSeeded() {
+        return seeded;
+    }
+}
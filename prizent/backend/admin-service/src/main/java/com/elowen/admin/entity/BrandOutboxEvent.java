@@ -0,0 +1,150 @@
+package com.elowen.admin.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Transactional outbox row for a brand change.
+ * 
+ * Key Design Decisions:
+ * - Written in the SAME transaction as the Brand change - an event exists
+ *   if and only if the change committed
+ * - Payload is the serialized event, so the relay never re-reads brands
+ * - Sequential id gives a stable claim order for the relay
+ * - delivered_at is only set when delivered rows are retained for a while;
+ *   by default delivered rows are deleted immediately
+ * - claimed_until is a lease: the relay claims rows in a short transaction
+ *   and publishes after it commits, so no row lock is held during delivery.
+ *   A relay that dies mid-publish leaves rows that are reclaimed once the
+ *   lease expires; a failed delivery sets it to the retry backoff
+ * - dead_at parks a row that failed brand.outbox.max-attempts times; dead
+ *   rows are never claimed or purged and stay for inspection
+ */
+@Entity
+@Table(
+    name = "p_brand_outbox",
+    indexes = {
+        @Index(name = "idx_brand_outbox_pending", columnList = "delivered_at, id")
+    }
+)
+public class BrandOutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+    
+    @Column(name = "client_id", updatable = false, nullable = false)
+    private UUID clientId;
+    
+    @Column(name = "brand_id", updatable = false, nullable = false)
+    private UUID brandId;
+    
+    @Column(name = "event_type", updatable = false, nullable = false, length = 20)
+    private String eventType;
+    
+    @Column(name = "payload", updatable = false, nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+    
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+    
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+    
+    // Constructors
+    public BrandOutboxEvent() {}
+    
+    public BrandOutboxEvent(UUID clientId, UUID brandId, String eventType, String payload) {
+        this.clientId = clientId;
+        this.brandId = brandId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getDeliveredAt() {
+        return deliveredAt;
+    }
+    
+    public void setDeliveredAt(LocalDateTime deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+    
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+    
+    public LocalDateTime getDeadAt() {
+        return deadAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "BrandOutboxEvent{" +
+                "id=" + id +
+                ", clientId=" + clientId +
+                ", brandId=" + brandId +
+                ", eventType='" + eventType + '\'' +
+                ", attempts=" + attempts +
+                ", deliveredAt=" + deliveredAt +
+                ", deadAt=" + deadAt +
+                '}';
+    }
+}
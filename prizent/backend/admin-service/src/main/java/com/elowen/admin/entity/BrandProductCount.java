@@ -0,0 +1,107 @@
+package com.elowen.admin.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Local read model of how many products reference a brand, kept for the
+ * brand disable/delete guards.
+ * 
+ * Key Design Decisions:
+ * - Fed by product-service's count events (deltas, not absolute values) and
+ *   corrected by a periodic full sync - see ProductCountService
+ * - No row means no products; rows are created by the first event or sync
+ * - last_event_at is when the last delta was applied here; the sync never
+ *   overwrites a row that received deltas while it was running
+ * - Not a foreign key to p_brands: events may arrive for a brand that was
+ *   just deleted, and they must not fail
+ */
+@Entity
+@Table(
+    name = "p_brand_product_counts",
+    indexes = {
+        @Index(name = "idx_brand_product_counts_client", columnList = "client_id")
+    }
+)
+public class BrandProductCount {
+    
+    @Id
+    @Column(name = "brand_id", updatable = false, nullable = false)
+    private UUID brandId;
+    
+    @Column(name = "client_id", updatable = false, nullable = false)
+    private UUID clientId;
+    
+    /**
+     * Enabled products of the brand
+     */
+    @Column(name = "active_count", nullable = false)
+    private long activeCount;
+    
+    /**
+     * All products of the brand, enabled or not
+     */
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+    
+    @Column(name = "last_event_at")
+    private LocalDateTime lastEventAt;
+    
+    @Column(name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+    
+    // Constructors
+    public BrandProductCount() {}
+    
+    public BrandProductCount(UUID brandId, UUID clientId, long activeCount, long productCount) {
+        this.brandId = brandId;
+        this.clientId = clientId;
+        this.activeCount = activeCount;
+        this.productCount = productCount;
+    }
+    
+    // Getters and Setters
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public long getActiveCount() {
+        return activeCount;
+    }
+    
+    public long getProductCount() {
+        return productCount;
+    }
+    
+    public LocalDateTime getLastEventAt() {
+        return lastEventAt;
+    }
+    
+    public void setLastEventAt(LocalDateTime lastEventAt) {
+        this.lastEventAt = lastEventAt;
+    }
+    
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "BrandProductCount{" +
+                "brandId=" + brandId +
+                ", clientId=" + clientId +
+                ", activeCount=" + activeCount +
+                ", productCount=" + productCount +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.elowen.admin.entity;
+
+/**
+ * Fixed-size thumbnail variants generated once when a brand logo is uploaded.
+ *
+ * STORAGE LAYOUT:
+ * - Every variant is a square PNG stored next to the original logo
+ * - File names are derived from the variant, never from user input
+ * - Public URLs are keyed on the content hash, so they never change meaning
+ *   and can be cached by browsers forever
+ */
+public enum LogoVariant {
+    SMALL("small", 64),
+    MEDIUM("medium", 256);
+
+    /**
+     * Base path under which stored logos are served.
+     * Kept here so DTO mapping can build URLs without depending on services.
+     */
+    public static final String PUBLIC_BASE_PATH = "/api/admin/brands/logos";
+
+    private final String key;
+    private final int size;
+
+    LogoVariant(String key, int size) {
+        this.key = key;
+        this.size = size;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Edge length in pixels of the (square) thumbnail
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public String getFileName() {
+        return "thumb-" + size + ".png";
+    }
+
+    /**
+     * Public URL of this variant for the given content hash
+     */
+    public String urlFor(String contentHash) {
+        return PUBLIC_BASE_PATH + "/" + contentHash + "/" + getFileName();
+    }
+}
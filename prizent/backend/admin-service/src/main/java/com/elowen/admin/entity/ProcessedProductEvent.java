@@ -0,0 +1,46 @@
+package com.elowen.admin.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id of a product-service count event that has been applied.
+ * 
+ * Count events are deltas and delivery is at-least-once, so a redelivered
+ * batch must be recognised and skipped. Rows are purged after
+ * product.counts.inbox-retention-hours.
+ */
+@Entity
+@Table(
+    name = "p_product_event_inbox",
+    indexes = {
+        @Index(name = "idx_product_event_inbox_received", columnList = "received_at")
+    }
+)
+public class ProcessedProductEvent {
+    
+    @Id
+    @Column(name = "event_id", updatable = false, nullable = false)
+    private Long eventId;
+    
+    @Column(name = "received_at", updatable = false, nullable = false)
+    private LocalDateTime receivedAt;
+    
+    // Constructors
+    public ProcessedProductEvent() {}
+    
+    public ProcessedProductEvent(Long eventId, LocalDateTime receivedAt) {
+        this.eventId = eventId;
+        this.receivedAt = receivedAt;
+    }
+    
+    // Getters
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+}
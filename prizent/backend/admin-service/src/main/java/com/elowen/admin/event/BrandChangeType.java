@@ -0,0 +1,12 @@
+package com.elowen.admin.event;
+
+/**
+ * Kinds of brand mutations published by BrandService.
+ */
+public enum BrandChangeType {
+    CREATED,
+    UPDATED,
+    ENABLED,
+    DISABLED,
+    DELETED
+}
@@ -0,0 +1,62 @@
+package com.elowen.admin.event;
+
+import com.elowen.admin.dto.BrandResponse;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Application event published by BrandService for every brand mutation.
+ * 
+ * DELIVERY RULES:
+ * - Published inside the mutating transaction
+ * - Listeners that talk to the outside world MUST use
+ *   @TransactionalEventListener(AFTER_COMMIT) so rolled-back changes never leak
+ * - brand is the post-change state; null for DELETED
+ */
+public class BrandChangedEvent {
+    
+    private final UUID clientId;
+    private final UUID brandId;
+    private final BrandChangeType type;
+    private final BrandResponse brand;
+    private final LocalDateTime occurredAt;
+    
+    public BrandChangedEvent(UUID clientId, UUID brandId, BrandChangeType type, BrandResponse brand) {
+        this.clientId = clientId;
+        this.brandId = brandId;
+        this.type = type;
+        this.brand = brand;
+        this.occurredAt = LocalDateTime.now();
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public BrandChangeType getType() {
+        return type;
+    }
+    
+    public BrandResponse getBrand() {
+        return brand;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "BrandChangedEvent{" +
+                "clientId=" + clientId +
+                ", brandId=" + brandId +
+                ", type=" + type +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
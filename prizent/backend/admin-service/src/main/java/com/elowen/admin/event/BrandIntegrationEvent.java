@@ -0,0 +1,57 @@
+package com.elowen.admin.event;
+
+import java.util.UUID;
+
+/**
+ * Relayed brand change, as delivered by the in-process outbox sink.
+ * 
+ * Unlike BrandChangedEvent this is published after commit, outside any
+ * transaction, carrying the outbox id (for deduplication) and the raw
+ * serialized payload.
+ */
+public class BrandIntegrationEvent {
+    
+    private final Long eventId;
+    private final String type;
+    private final UUID clientId;
+    private final UUID brandId;
+    private final String payload;
+    
+    public BrandIntegrationEvent(Long eventId, String type, UUID clientId, UUID brandId, String payload) {
+        this.eventId = eventId;
+        this.type = type;
+        this.clientId = clientId;
+        this.brandId = brandId;
+        this.payload = payload;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    @Override
+    public String toString() {
+        return "BrandIntegrationEvent{" +
+                "eventId=" + eventId +
+                ", type='" + type + '\'' +
+                ", clientId=" + clientId +
+                ", brandId=" + brandId +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.elowen.admin.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a brand cannot be disabled or deleted because
+ * products still reference it.
+ * 
+ * Enforces business rule: products must point at an active brand
+ */
+public class BrandInUseException extends RuntimeException {
+    
+    private final UUID brandId;
+    private final long productCount;
+    
+    public BrandInUseException(UUID brandId, long productCount, String message) {
+        super(message);
+        this.brandId = brandId;
+        this.productCount = productCount;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public long getProductCount() {
+        return productCount;
+    }
+}
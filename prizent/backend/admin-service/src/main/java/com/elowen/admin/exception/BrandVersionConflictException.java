@@ -0,0 +1,36 @@
+package com.elowen.admin.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when an update is based on a stale version of a brand.
+ * 
+ * Enforces optimistic concurrency: the brand was modified after the
+ * caller read it, so the caller must re-read and retry.
+ */
+public class BrandVersionConflictException extends RuntimeException {
+    
+    private final UUID brandId;
+    private final Long expectedVersion;
+    private final Long actualVersion;
+    
+    public BrandVersionConflictException(UUID brandId, Long expectedVersion, Long actualVersion) {
+        super(String.format("Brand %s was modified concurrently (expected version %d, current version %d)",
+                brandId, expectedVersion, actualVersion));
+        this.brandId = brandId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+    
+    public Long getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -0,0 +1,13 @@
+package com.elowen.admin.exception;
+
+/**
+ * Exception thrown when a change feed cursor is older than the tombstones
+ * still kept - the consumer may have missed deletes and must resync from 0.
+ */
+public class ChangeCursorExpiredException extends RuntimeException {
+    
+    public ChangeCursorExpiredException(long since, long purgedThroughSeq) {
+        super(String.format("Cursor %d is older than the retained deletes (purged through %d) - resync with since=0",
+                since, purgedThroughSeq));
+    }
+}
@@ -1,14 +1,22 @@
 package com.elowen.admin.exception;
 
+import com.elowen.admin.deadline.RequestDeadline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,6 +35,12 @@ public class GlobalExceptionHandler {
     
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
+    private final int retryAfterSeconds;
+    
+    public GlobalExceptionHandler(@Value("${concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
     /**
      * Handle access denied (403) - Non-admin users
      */
@@ -72,6 +86,68 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
     
+    /**
+     * Handle brand still referenced by products (409) - Disable/delete blocked
+     */
+    @ExceptionHandler(BrandInUseException.class)
+    public ResponseEntity<Map<String, Object>> handleBrandInUse(BrandInUseException e) {
+        log.warn("Brand in use: {}", e.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Brand In Use");
+        error.put("message", e.getMessage());
+        error.put("status", HttpStatus.CONFLICT.value());
+        error.put("productCount", e.getProductCount());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    /**
+     * Handle change feed cursors older than the retained tombstones (410) - Resync from 0
+     */
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleChangeCursorExpired(ChangeCursorExpiredException e) {
+        log.warn("Change cursor expired: {}", e.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Cursor Expired");
+        error.put("message", e.getMessage());
+        error.put("status", HttpStatus.GONE.value());
+        
+        return ResponseEntity.status(HttpStatus.GONE).body(error);
+    }
+    
+    /**
+     * Handle stale brand version (409) - Brand changed since it was read
+     */
+    @ExceptionHandler(BrandVersionConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleBrandVersionConflict(BrandVersionConflictException e) {
+        log.warn("Brand version conflict: {}", e.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Brand Modified Concurrently");
+        error.put("message", "Brand was changed by another request. Reload and try again.");
+        error.put("status", HttpStatus.CONFLICT.value());
+        error.put("currentVersion", e.getActualVersion());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    /**
+     * Handle optimistic lock failure at commit (409) - Concurrent edit won the race
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        log.warn("Optimistic lock failure: {}", e.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Brand Modified Concurrently");
+        error.put("message", "Brand was changed by another request. Reload and try again.");
+        error.put("status", HttpStatus.CONFLICT.value());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
     /**
      * Handle validation errors (400) - Invalid request data
      */
@@ -98,6 +174,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    /**
+     * Handle oversized uploads (413) - Logo file too large
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleMaxUploadSize(MaxUploadSizeExceededException e) {
+        log.warn("Upload too large: {}", e.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Payload Too Large");
+        error.put("message", "Uploaded file exceeds the maximum allowed size");
+        error.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+    
     /**
      * Handle illegal argument (400) - Business rule violations
      */
@@ -128,11 +219,51 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
     
+    /**
+     * Handle passed request deadline (504) - Caller stopped waiting; work was abandoned
+     */
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class, TransactionTimedOutException.class})
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceeded(RuntimeException e) {
+        log.warn("Request abandoned at deadline: {}", e.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Gateway Timeout");
+        error.put("message", "Request deadline exceeded");
+        error.put("status", HttpStatus.GATEWAY_TIMEOUT.value());
+        
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+    }
+    
+    /**
+     * Handle no database connection within Hikari's connection-timeout (503) - Pool exhausted, retry later
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, Object>> handleNoConnection(CannotCreateTransactionException e) {
+        if (RequestDeadline.isExpired()) {
+            return handleDeadlineExceeded(new DeadlineExceededException(e.getMessage()));
+        }
+        log.warn("No database connection: {}", e.getMessage());
+        
+        // Same answer as ConcurrencyLimitFilter's shedding, which counts it as a drop
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Service Unavailable");
+        error.put("message", "Server is busy, retry later");
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+    
     /**
      * Handle generic exceptions (500) - Unexpected errors
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception e) {
+        // Past the deadline this is the transaction or query timeout it set
+        if (RequestDeadline.isExpired()) {
+            return handleDeadlineExceeded(new DeadlineExceededException(e.getMessage()));
+        }
         log.error("Unexpected error: {}", e.getMessage(), e);
         
         Map<String, Object> error = new HashMap<>();
@@ -0,0 +1,23 @@
+package com.elowen.admin.outbox;
+
+import com.elowen.admin.entity.BrandOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination for relayed brand change events.
+ * 
+ * Implementations are selected with brand.outbox.sink:
+ * - in-process: republished as BrandIntegrationEvent inside admin-service
+ * - http:       POSTed as a JSON array to a configured endpoint
+ * - file:       appended as NDJSON to a local log file
+ * 
+ * DELIVERY CONTRACT:
+ * - At-least-once: a batch may be delivered again if the relay fails after
+ *   publish but before its transaction commits; consumers must dedupe on id
+ * - Throwing marks the whole batch as failed; it is retried on the next poll
+ */
+public interface BrandEventSink {
+    
+    void publish(List<BrandOutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,199 @@
+package com.elowen.admin.outbox;
+
+import com.elowen.admin.entity.BrandOutboxEvent;
+import com.elowen.admin.repository.BrandOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Background relay from the brand outbox table to the configured sink.
+ * 
+ * Each batch takes three steps, so several admin-service instances can run
+ * the relay side by side without holding row locks during delivery:
+ *   claim (short transaction: FOR UPDATE SKIP LOCKED, lease the rows) ->
+ *   publish (no transaction) ->
+ *   settle (short transaction: remove or mark the delivered rows)
+ * 
+ * Failure Handling:
+ * - A failing batch is retried event by event, so one poison event does
+ *   not fail (or dead-letter) the events around it
+ * - A failed event keeps last_error and is leased for an exponential
+ *   backoff (retry-backoff-ms doubling up to max-retry-backoff-ms), so a
+ *   sink outage is ridden out instead of burning through attempts
+ * - After max-attempts failures the event is dead-lettered (dead_at) and
+ *   no longer claimed
+ * - A relay that dies after claiming leaves leased rows; they are
+ *   reclaimed when claim-lease-seconds expires
+ * - Delivery is at-least-once; ordering is per claim batch, consumers
+ *   should use brand.version to discard stale updates
+ */
+@Component
+public class BrandOutboxRelay {
+    
+    private static final Logger log = LoggerFactory.getLogger(BrandOutboxRelay.class);
+    
+    private final BrandOutboxRepository outboxRepository;
+    private final BrandEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final long retainDeliveredHours;
+    private final long claimLeaseSeconds;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long maxRetryBackoffMs;
+    
+    public BrandOutboxRelay(
+            BrandOutboxRepository outboxRepository,
+            BrandEventSink sink,
+            PlatformTransactionManager transactionManager,
+            @Value("${brand.outbox.batch-size:100}") int batchSize,
+            @Value("${brand.outbox.max-batches-per-poll:10}") int maxBatchesPerPoll,
+            @Value("${brand.outbox.retain-delivered-hours:0}") long retainDeliveredHours,
+            @Value("${brand.outbox.claim-lease-seconds:60}") long claimLeaseSeconds,
+            @Value("${brand.outbox.max-attempts:20}") int maxAttempts,
+            @Value("${brand.outbox.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${brand.outbox.max-retry-backoff-ms:300000}") long maxRetryBackoffMs) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.retainDeliveredHours = retainDeliveredHours;
+        this.claimLeaseSeconds = claimLeaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxRetryBackoffMs = maxRetryBackoffMs;
+    }
+    
+    /**
+     * Drain pending events - keeps claiming while batches come back full
+     */
+    @Scheduled(fixedDelayString = "${brand.outbox.poll-interval-ms:1000}")
+    public void relayPending() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            if (relayBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Compact delivered rows when they are retained (retain-delivered-hours > 0)
+     */
+    @Scheduled(fixedDelayString = "${brand.outbox.purge-interval-ms:3600000}")
+    public void purgeDelivered() {
+        if (retainDeliveredHours <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retainDeliveredHours);
+        Integer purged = transactionTemplate.execute(status -> outboxRepository.purgeDeliveredBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} delivered brand outbox events older than {}", purged, cutoff);
+        }
+    }
+    
+    /**
+     * Claim, publish and settle one batch
+     * 
+     * @return number of events claimed
+     */
+    private int relayBatch() {
+        List<BrandOutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        
+        List<BrandOutboxEvent> delivered;
+        try {
+            sink.publish(batch);
+            delivered = batch;
+        } catch (Exception e) {
+            log.warn("Brand outbox sink failed for {} events (first id {}): {}",
+                    batch.size(), batch.get(0).getId(), e.getMessage());
+            if (batch.size() > 1) {
+                delivered = publishEach(batch);
+            } else {
+                settleFailure(batch.get(0), e);
+                delivered = List.of();
+            }
+        }
+        
+        if (!delivered.isEmpty()) {
+            List<Long> ids = delivered.stream().map(BrandOutboxEvent::getId).collect(Collectors.toList());
+            transactionTemplate.executeWithoutResult(status -> {
+                if (retainDeliveredHours > 0) {
+                    outboxRepository.markDelivered(ids, LocalDateTime.now());
+                } else {
+                    outboxRepository.deleteByIdIn(ids);
+                }
+            });
+            log.debug("Relayed {} brand outbox events", delivered.size());
+        }
+        return batch.size();
+    }
+    
+    /**
+     * Lock the claimable rows, lease them and commit. The returned entities
+     * carry the attempt count before this claim.
+     */
+    private List<BrandOutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BrandOutboxEvent> batch = outboxRepository.lockClaimable(now, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            List<Long> ids = batch.stream().map(BrandOutboxEvent::getId).collect(Collectors.toList());
+            outboxRepository.claim(ids, now.plusSeconds(claimLeaseSeconds));
+        }
+        return batch;
+    }
+    
+    /**
+     * Retry a failed batch one event at a time; returns the delivered ones
+     */
+    private List<BrandOutboxEvent> publishEach(List<BrandOutboxEvent> batch) {
+        List<BrandOutboxEvent> delivered = new ArrayList<>(batch.size());
+        for (BrandOutboxEvent event : batch) {
+            try {
+                sink.publish(List.of(event));
+                delivered.add(event);
+            } catch (Exception e) {
+                settleFailure(event, e);
+            }
+        }
+        return delivered;
+    }
+    
+    private void settleFailure(BrandOutboxEvent event, Exception e) {
+        String message = String.valueOf(e.getMessage());
+        String error = message.length() > 500 ? message.substring(0, 500) : message;
+        int attempts = event.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (attempts >= maxAttempts) {
+                outboxRepository.markDead(event.getId(), error, now);
+            } else {
+                outboxRepository.recordFailure(event.getId(), error, now.plusNanos(backoffMs(attempts) * 1_000_000));
+            }
+        });
+        if (attempts >= maxAttempts) {
+            log.error("Brand outbox event {} ({} of brand {}) dead-lettered after {} attempts: {}",
+                    event.getId(), event.getEventType(), event.getBrandId(), attempts, error);
+        }
+    }
+    
+    private long backoffMs(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(retryBackoffMs << doublings, maxRetryBackoffMs);
+    }
+}
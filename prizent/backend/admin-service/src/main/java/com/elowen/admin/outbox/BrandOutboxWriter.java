@@ -0,0 +1,64 @@
+package com.elowen.admin.outbox;
+
+import com.elowen.admin.entity.BrandOutboxEvent;
+import com.elowen.admin.event.BrandChangedEvent;
+import com.elowen.admin.repository.BrandOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends every brand change to the outbox inside the mutating transaction.
+ * 
+ * BEFORE_COMMIT keeps the insert in the same transaction as the Brand
+ * change: both commit together or neither does. No network I/O happens
+ * here - delivery is the relay's job.
+ */
+@Component
+public class BrandOutboxWriter {
+    
+    private static final Logger log = LoggerFactory.getLogger(BrandOutboxWriter.class);
+    
+    private final BrandOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public BrandOutboxWriter(BrandOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBrandChanged(BrandChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", event.getType().name());
+        payload.put("clientId", event.getClientId());
+        payload.put("brandId", event.getBrandId());
+        payload.put("brand", event.getBrand());
+        payload.put("occurredAt", event.getOccurredAt());
+        
+        try {
+            BrandOutboxEvent outboxEvent = new BrandOutboxEvent(
+                event.getClientId(),
+                event.getBrandId(),
+                event.getType().name(),
+                objectMapper.writeValueAsString(payload)
+            );
+            outboxRepository.save(outboxEvent);
+            log.debug("Queued outbox event {} for brand {} (client {})", 
+                    event.getType(), event.getBrandId(), event.getClientId());
+            
+        } catch (JsonProcessingException e) {
+            // Fail the transaction - a change without its event would be silently lost
+            throw new IllegalStateException("Cannot serialize brand outbox event", e);
+        }
+    }
+}
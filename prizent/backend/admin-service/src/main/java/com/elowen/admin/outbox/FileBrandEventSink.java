@@ -0,0 +1,72 @@
+package com.elowen.admin.outbox;
+
+import com.elowen.admin.entity.BrandOutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sink that appends events as NDJSON (one JSON object per line) to a local
+ * log file, e.g. for tailing by a log shipper.
+ * 
+ * Each batch is written with a single append and forced to disk before the
+ * relay deletes the outbox rows. Appends are serialized with a lock rather
+ * than synchronized: a virtual thread blocked on file I/O inside a monitor
+ * would pin its carrier thread.
+ */
+@Component
+@ConditionalOnProperty(name = "brand.outbox.sink", havingValue = "file")
+public class FileBrandEventSink implements BrandEventSink {
+    
+    private final ObjectMapper objectMapper;
+    private final Path logFile;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    
+    public FileBrandEventSink(
+            ObjectMapper objectMapper,
+            @Value("${brand.outbox.file.path:./data/brand-events.ndjson}") String path) throws IOException {
+        this.objectMapper = objectMapper;
+        this.logFile = Paths.get(path).toAbsolutePath().normalize();
+        Files.createDirectories(logFile.getParent());
+    }
+    
+    @Override
+    public void publish(List<BrandOutboxEvent> events) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(events.size() * 512);
+        for (BrandOutboxEvent event : events) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("id", event.getId());
+            line.put("type", event.getEventType());
+            line.put("clientId", event.getClientId().toString());
+            line.put("brandId", event.getBrandId().toString());
+            line.set("payload", objectMapper.readTree(event.getPayload()));
+            buffer.write(objectMapper.writeValueAsBytes(line));
+            buffer.write('\n');
+        }
+        
+        appendLock.lock();
+        try (FileChannel channel = FileChannel.open(logFile, 
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
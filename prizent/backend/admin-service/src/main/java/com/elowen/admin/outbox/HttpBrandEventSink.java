@@ -0,0 +1,67 @@
+package com.elowen.admin.outbox;
+
+import com.elowen.admin.entity.BrandOutboxEvent;
+import com.elowen.admin.security.ServiceTokenFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Default sink: POSTs each batch as one JSON array to brand.outbox.http.url.
+ * 
+ * Any non-2xx response fails the batch, which the relay retries later.
+ */
+@Component
+@ConditionalOnProperty(name = "brand.outbox.sink", havingValue = "http", matchIfMissing = true)
+public class HttpBrandEventSink implements BrandEventSink {
+    
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    
+    public HttpBrandEventSink(
+            ObjectMapper objectMapper,
+            @Value("${brand.outbox.http.url:http://localhost:8083/api/internal/brand-events}") String url,
+            @Value("${brand.outbox.http.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${brand.outbox.http.read-timeout-ms:5000}") int readTimeoutMs,
+            @Value("${internal.service-token:}") String serviceToken) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .defaultHeader(ServiceTokenFilter.HEADER, serviceToken)
+                .build();
+        this.objectMapper = objectMapper;
+        this.url = url;
+    }
+    
+    @Override
+    public void publish(List<BrandOutboxEvent> events) throws Exception {
+        ArrayNode body = objectMapper.createArrayNode();
+        for (BrandOutboxEvent event : events) {
+            ObjectNode node = body.addObject();
+            node.put("id", event.getId());
+            node.put("type", event.getEventType());
+            node.put("clientId", event.getClientId().toString());
+            node.put("brandId", event.getBrandId().toString());
+            node.set("payload", objectMapper.readTree(event.getPayload()));
+        }
+        
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsBytes(body))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
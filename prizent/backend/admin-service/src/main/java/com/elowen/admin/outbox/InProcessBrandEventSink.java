@@ -0,0 +1,39 @@
+package com.elowen.admin.outbox;
+
+import com.elowen.admin.entity.BrandOutboxEvent;
+import com.elowen.admin.event.BrandIntegrationEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sink that republishes relayed events as BrandIntegrationEvent
+ * application events for listeners inside admin-service.
+ */
+@Component
+@ConditionalOnProperty(name = "brand.outbox.sink", havingValue = "in-process")
+public class InProcessBrandEventSink implements BrandEventSink {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    public InProcessBrandEventSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @Override
+    public void publish(List<BrandOutboxEvent> events) {
+        for (BrandOutboxEvent event : events) {
+            eventPublisher.publishEvent(new BrandIntegrationEvent(
+                event.getId(),
+                event.getEventType(),
+                event.getClientId(),
+                event.getBrandId(),
+                event.getPayload()
+            ));
+        }
+    }
+}
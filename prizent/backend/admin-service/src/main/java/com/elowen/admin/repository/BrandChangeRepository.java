@@ -0,0 +1,43 @@
+package com.elowen.admin.repository;
+
+import com.elowen.admin.entity.BrandChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the brand change feed.
+ * 
+ * NOTE: findById is keyed by brand id and only used by the feed writer,
+ * which gets the client from the brand change itself.
+ */
+@Repository
+public interface BrandChangeRepository extends JpaRepository<BrandChange, UUID> {
+    
+    /**
+     * One page of a client's feed after the cursor
+     */
+    List<BrandChange> findByClientIdAndSeqGreaterThanOrderBySeqAsc(UUID clientId, long seq, Limit limit);
+    
+    @Query("SELECT c.brandId FROM BrandChange c WHERE c.clientId = :clientId")
+    List<UUID> findBrandIdsByClientId(@Param("clientId") UUID clientId);
+    
+    /**
+     * Newest tombstone of a client older than the cutoff; null if none
+     */
+    @Query("SELECT MAX(c.seq) FROM BrandChange c " +
+           "WHERE c.clientId = :clientId AND c.changeType = 'DELETE' AND c.changedAt < :cutoff")
+    Long findMaxTombstoneSeqBefore(@Param("clientId") UUID clientId, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("DELETE FROM BrandChange c " +
+           "WHERE c.clientId = :clientId AND c.changeType = 'DELETE' AND c.seq <= :throughSeq")
+    int purgeTombstonesThrough(@Param("clientId") UUID clientId, @Param("throughSeq") long throughSeq);
+}
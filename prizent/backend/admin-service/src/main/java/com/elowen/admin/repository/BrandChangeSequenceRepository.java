@@ -0,0 +1,50 @@
+package com.elowen.admin.repository;
+
+import com.elowen.admin.entity.BrandChangeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the per-client change feed sequences.
+ * 
+ * NOTE: Not tenant-scoped on purpose - feed maintenance walks all clients.
+ */
+@Repository
+public interface BrandChangeSequenceRepository extends JpaRepository<BrandChangeSequence, UUID> {
+    
+    /**
+     * Reserve `count` seqs; locks the client's row until the transaction ends.
+     * Returns 0 if the client has no sequence yet.
+     */
+    @Modifying
+    @Query("UPDATE BrandChangeSequence s SET s.lastSeq = s.lastSeq + :count WHERE s.clientId = :clientId")
+    int increment(@Param("clientId") UUID clientId, @Param("count") long count);
+    
+    @Query("SELECT s.lastSeq FROM BrandChangeSequence s WHERE s.clientId = :clientId")
+    long findLastSeq(@Param("clientId") UUID clientId);
+    
+    @Modifying
+    @Query("UPDATE BrandChangeSequence s SET s.seeded = true WHERE s.clientId = :clientId")
+    int markSeeded(@Param("clientId") UUID clientId);
+    
+    @Modifying
+    @Query("UPDATE BrandChangeSequence s SET s.purgedThroughSeq = :throughSeq " +
+           "WHERE s.clientId = :clientId AND s.purgedThroughSeq < :throughSeq")
+    int raisePurgedThrough(@Param("clientId") UUID clientId, @Param("throughSeq") long throughSeq);
+    
+    /**
+     * Clients with brands whose existing brands have not been given change rows yet
+     */
+    @Query("SELECT DISTINCT b.clientId FROM Brand b WHERE NOT EXISTS " +
+           "(SELECT s FROM BrandChangeSequence s WHERE s.clientId = b.clientId AND s.seeded = true)")
+    List<UUID> findUnseededClientIds();
+    
+    @Query("SELECT s.clientId FROM BrandChangeSequence s")
+    List<UUID> findAllClientIds();
+}
@@ -0,0 +1,86 @@
+package com.elowen.admin.repository;
+
+import com.elowen.admin.entity.BrandOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the brand change outbox.
+ * 
+ * NOTE: Not tenant-scoped on purpose - the relay delivers events of all
+ * clients. Never expose these methods through a controller.
+ */
+@Repository
+public interface BrandOutboxRepository extends JpaRepository<BrandOutboxEvent, Long> {
+    
+    /**
+     * Lock the oldest claimable events: undelivered, not dead, and not under
+     * another relay's lease (or their retry backoff).
+     * 
+     * FOR UPDATE SKIP LOCKED (lock timeout -2 in Hibernate): rows being
+     * claimed by another relay instance are skipped instead of waited on.
+     * The locks only last for the claim transaction; claim() then leases
+     * the rows so they stay skipped while they are published.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM BrandOutboxEvent e " +
+           "WHERE e.deliveredAt IS NULL AND e.deadAt IS NULL " +
+           "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) " +
+           "ORDER BY e.id")
+    List<BrandOutboxEvent> lockClaimable(@Param("now") LocalDateTime now, Pageable page);
+    
+    /**
+     * Lease locked events to this relay until `until` and count the attempt
+     */
+    @Modifying
+    @Query("UPDATE BrandOutboxEvent e SET e.claimedUntil = :until, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+    
+    /**
+     * Record a failed delivery; the lease becomes the retry backoff
+     */
+    @Modifying
+    @Query("UPDATE BrandOutboxEvent e SET e.lastError = :error, e.claimedUntil = :retryAt WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error, @Param("retryAt") LocalDateTime retryAt);
+    
+    /**
+     * Park an event that keeps failing
+     */
+    @Modifying
+    @Query("UPDATE BrandOutboxEvent e SET e.lastError = :error, e.deadAt = :now WHERE e.id = :id")
+    int markDead(@Param("id") Long id, @Param("error") String error, @Param("now") LocalDateTime now);
+    
+    /**
+     * Remove delivered events immediately (default mode)
+     */
+    @Modifying
+    @Query("DELETE FROM BrandOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Mark events delivered when delivered rows are retained for auditing
+     */
+    @Modifying
+    @Query("UPDATE BrandOutboxEvent e SET e.deliveredAt = :now WHERE e.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    /**
+     * Compact retained delivered events older than the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM BrandOutboxEvent e WHERE e.deliveredAt IS NOT NULL AND e.deliveredAt < :cutoff")
+    int purgeDeliveredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,66 @@
+package com.elowen.admin.repository;
+
+import com.elowen.admin.entity.BrandProductCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for the brand product count read model.
+ * 
+ * Counts are only ever changed by single-row UPDATEs, so concurrent event
+ * batches for the same brand add up instead of overwriting each other.
+ */
+@Repository
+public interface BrandProductCountRepository extends JpaRepository<BrandProductCount, UUID> {
+    
+    /**
+     * Tenant-scoped lookup for the brand guards (primary key read)
+     */
+    Optional<BrandProductCount> findByBrandIdAndClientId(UUID brandId, UUID clientId);
+    
+    /**
+     * Apply one count event; 0 means there is no row for the brand yet
+     */
+    @Modifying
+    @Query("UPDATE BrandProductCount c SET c.activeCount = c.activeCount + :activeDelta, " +
+           "c.productCount = c.productCount + :productDelta, c.lastEventAt = :now " +
+           "WHERE c.brandId = :brandId")
+    int addDeltas(@Param("brandId") UUID brandId,
+                  @Param("activeDelta") long activeDelta,
+                  @Param("productDelta") long productDelta,
+                  @Param("now") LocalDateTime now);
+    
+    /**
+     * Overwrite the counts from a full sync - only if they differ and no
+     * event was applied since the cutoff (the sync may already be stale for it)
+     */
+    @Modifying
+    @Query("UPDATE BrandProductCount c SET c.activeCount = :activeCount, c.productCount = :productCount, " +
+           "c.reconciledAt = :now " +
+           "WHERE c.brandId = :brandId " +
+           "AND (c.lastEventAt IS NULL OR c.lastEventAt < :cutoff) " +
+           "AND (c.activeCount <> :activeCount OR c.productCount <> :productCount)")
+    int reconcile(@Param("brandId") UUID brandId,
+                  @Param("activeCount") long activeCount,
+                  @Param("productCount") long productCount,
+                  @Param("cutoff") LocalDateTime cutoff,
+                  @Param("now") LocalDateTime now);
+    
+    /**
+     * Rows claiming products - candidates for "brand no longer in the sync"
+     */
+    @Query("SELECT c FROM BrandProductCount c WHERE c.activeCount <> 0 OR c.productCount <> 0")
+    List<BrandProductCount> findAllNonZero();
+    
+    @Modifying
+    @Query("DELETE FROM BrandProductCount c WHERE c.brandId = :brandId AND c.clientId = :clientId")
+    int deleteByBrandIdAndClientId(@Param("brandId") UUID brandId, @Param("clientId") UUID clientId);
+}
@@ -1,11 +1,15 @@
 package com.elowen.admin.repository;
 
 import com.elowen.admin.entity.Brand;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,6 +42,12 @@ public interface BrandRepository extends JpaRepository<Brand, UUID> {
      */
     List<Brand> findAllByClientIdOrderByCreateDateTimeDesc(UUID clientId);
     
+    /**
+     * Find the given brands within client's tenant boundary
+     * Used by the change feed to load one page of changed brands
+     */
+    List<Brand> findAllByClientIdAndIdIn(UUID clientId, Collection<UUID> ids);
+    
     /**
      * Find only active (enabled) brands for a client
      * Most common operation for business logic
@@ -69,4 +79,38 @@ public interface BrandRepository extends JpaRepository<Brand, UUID> {
      * Used for lookups and validation
      */
     Optional<Brand> findByClientIdAndNameIgnoreCaseAndEnabledTrue(UUID clientId, String name);
-}
\ No newline at end of file
+    
+    /**
+     * Check if brand exists within client's tenant boundary
+     * Tells not-found from no-op after updateEnabledIfChanged affects no row
+     */
+    boolean existsByIdAndClientId(UUID id, UUID clientId);
+    
+    /**
+     * Set the enabled flag in a single tenant-scoped UPDATE, only when it
+     * actually changes. Bumps version so a concurrent updateBrand fails its
+     * optimistic check instead of overwriting the flag.
+     * 
+     * Returns the affected-row count: 1 = changed; 0 = not found (or other
+     * tenant) or already in the requested state.
+     * Clears the persistence context so later reads see the new state.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Brand b " +
+           "SET b.enabled = :enabled, b.updateDateTime = :now, b.version = b.version + 1 " +
+           "WHERE b.id = :id AND b.clientId = :clientId AND b.enabled <> :enabled")
+    int updateEnabledIfChanged(
+        @Param("id") UUID id,
+        @Param("clientId") UUID clientId,
+        @Param("enabled") boolean enabled,
+        @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * One page of ALL clients' brands in id order, after `after` (null = from the start).
+     * SECURITY: the only cross-tenant query here - serves the brand replica
+     * seed of product-service (/api/internal/brand-snapshot, service token only)
+     */
+    @Query("SELECT b FROM Brand b WHERE :after IS NULL OR b.id > :after ORDER BY b.id")
+    List<Brand> findSnapshotPage(@Param("after") UUID after, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.elowen.admin.repository;
+
+import com.elowen.admin.entity.ProcessedProductEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for the ids of applied product count events.
+ * 
+ * NOTE: Not tenant-scoped - internal bookkeeping only.
+ */
+@Repository
+public interface ProcessedProductEventRepository extends JpaRepository<ProcessedProductEvent, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM ProcessedProductEvent e WHERE e.receivedAt < :cutoff")
+    int purgeReceivedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,66 @@
+package com.elowen.admin.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+/**
+ * Authenticates service-to-service calls to /api/internal/** by a shared
+ * token in the X-Service-Token header (internal.service-token).
+ *
+ * Business Rules:
+ * - A matching token grants ROLE_SERVICE, which SecurityConfig requires for
+ *   /api/internal/**; user JWTs never do, so tenants cannot call these
+ *   endpoints with their own clientId or anyone else's
+ * - An empty internal.service-token disables every internal endpoint
+ */
+@Component
+public class ServiceTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Service-Token";
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceTokenFilter.class);
+
+    private final byte[] token;
+
+    public ServiceTokenFilter(@Value("${internal.service-token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        if (this.token.length == 0) {
+            logger.warn("internal.service-token is not set - /api/internal endpoints reject every request");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/internal/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        if (presented != null && token.length > 0
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    "service", null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_SERVICE")));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        } else if (presented != null) {
+            logger.warn("Rejected service token on {}", request.getRequestURI());
+        }
+        filterChain.doFilter(request, response);
+    }
+}
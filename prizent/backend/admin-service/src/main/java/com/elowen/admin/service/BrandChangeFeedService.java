@@ -0,0 +1,91 @@
+package com.elowen.admin.service;
+
+import com.elowen.admin.dto.BrandChangeFeedResponse;
+import com.elowen.admin.dto.BrandResponse;
+import com.elowen.admin.entity.Brand;
+import com.elowen.admin.entity.BrandChange;
+import com.elowen.admin.entity.BrandChangeSequence;
+import com.elowen.admin.exception.ChangeCursorExpiredException;
+import com.elowen.admin.repository.BrandChangeRepository;
+import com.elowen.admin.repository.BrandChangeSequenceRepository;
+import com.elowen.admin.repository.BrandRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental brand sync: what changed in a client's brands since a cursor.
+ * 
+ * Business Rules:
+ * - The cursor is the seq of the last change a consumer applied; 0 reads
+ *   the whole feed, i.e. every brand plus recent deletes
+ * - Each brand appears at most once, at its latest change
+ * - Cursors older than the purged tombstones get 410: resync from 0
+ * - A brand deleted while its page is read is left out; its DELETE
+ *   follows at a later seq
+ */
+@Service
+public class BrandChangeFeedService {
+    
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 1000;
+    
+    private final BrandChangeRepository changeRepository;
+    private final BrandChangeSequenceRepository sequenceRepository;
+    private final BrandRepository brandRepository;
+    
+    public BrandChangeFeedService(BrandChangeRepository changeRepository,
+                                  BrandChangeSequenceRepository sequenceRepository,
+                                  BrandRepository brandRepository) {
+        this.changeRepository = changeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.brandRepository = brandRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public BrandChangeFeedResponse changesSince(UUID clientId, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        long cursor = Math.max(0, since);
+        if (cursor > 0) {
+            long purgedThrough = sequenceRepository.findById(clientId)
+                    .map(BrandChangeSequence::getPurgedThroughSeq)
+                    .orElse(0L);
+            if (cursor < purgedThrough) {
+                throw new ChangeCursorExpiredException(cursor, purgedThrough);
+            }
+        }
+        
+        List<BrandChange> page = changeRepository.findByClientIdAndSeqGreaterThanOrderBySeqAsc(
+                clientId, cursor, Limit.of(pageSize));
+        List<UUID> upserted = page.stream()
+                .filter(change -> !change.isDelete())
+                .map(BrandChange::getBrandId)
+                .collect(Collectors.toList());
+        Map<UUID, Brand> brands = upserted.isEmpty() ? Map.of()
+                : brandRepository.findAllByClientIdAndIdIn(clientId, upserted).stream()
+                        .collect(Collectors.toMap(Brand::getId, Function.identity()));
+        
+        List<BrandChangeFeedResponse.Change> changes = new ArrayList<>(page.size());
+        for (BrandChange change : page) {
+            if (change.isDelete()) {
+                changes.add(new BrandChangeFeedResponse.Change(
+                        change.getSeq(), change.getChangeType(), change.getChangeKind(), change.getBrandId(), null));
+                continue;
+            }
+            Brand brand = brands.get(change.getBrandId());
+            if (brand != null) {
+                changes.add(new BrandChangeFeedResponse.Change(change.getSeq(), change.getChangeType(),
+                        change.getChangeKind(), change.getBrandId(), BrandResponse.fromEntity(brand)));
+            }
+        }
+        long nextCursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getSeq();
+        return new BrandChangeFeedResponse(changes, nextCursor, page.size() == pageSize);
+    }
+}
@@ -0,0 +1,53 @@
+package com.elowen.admin.service;
+
+import com.elowen.admin.entity.BrandChangeSequence;
+import com.elowen.admin.repository.BrandChangeSequenceRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Per-tenant, monotonically increasing version of the brand collection.
+ *
+ * The version is the tenant's change feed sequence (p_brand_change_sequences.last_seq),
+ * which BrandChangeLog increments inside every brand-writing transaction, so
+ * every instance sees the same version and a version observed by a reader
+ * never runs ahead of the data it can see.
+ * Controllers read the version before querying and expose it as an ETag;
+ * matching If-None-Match requests are answered with 304 after a single
+ * primary-key read, without loading brands or touching Jackson.
+ *
+ * Design Decisions:
+ * - Stored in the database, not in memory: an in-JVM counter only saw the
+ *   writes of its own instance and handed out stale 304s behind a load balancer
+ * - Seeding the change feed also bumps the sequence; that only invalidates
+ *   cached lists, never validates a stale one
+ * - The tenant is folded into the ETag so two tenants at the same version
+ *   can never validate each other's cached lists
+ */
+@Component
+public class BrandCollectionVersionTracker {
+
+    private final BrandChangeSequenceRepository sequenceRepository;
+
+    public BrandCollectionVersionTracker(BrandChangeSequenceRepository sequenceRepository) {
+        this.sequenceRepository = sequenceRepository;
+    }
+
+    /**
+     * Current brand-collection version for a tenant; 0 before its first change
+     */
+    public long currentVersion(UUID clientId) {
+        return sequenceRepository.findById(clientId)
+                .map(BrandChangeSequence::getLastSeq)
+                .orElse(0L);
+    }
+
+    /**
+     * Weak ETag for the tenant's current brand collection.
+     * Weak because the gateway may re-encode (compress) the body.
+     */
+    public String currentEtag(UUID clientId) {
+        return "W/\"" + Integer.toHexString(clientId.hashCode()) + "-" + currentVersion(clientId) + "\"";
+    }
+}
@@ -0,0 +1,316 @@
+package com.elowen.admin.service;
+
+import com.elowen.admin.dto.BrandChangeFeedResponse;
+import com.elowen.admin.entity.BrandChange;
+import com.elowen.admin.entity.BrandChangeSequence;
+import com.elowen.admin.event.BrandChangeType;
+import com.elowen.admin.exception.ChangeCursorExpiredException;
+import com.elowen.admin.repository.BrandChangeSequenceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans brand changes out to Server-Sent Event subscribers, per tenant.
+ *
+ * DELIVERY RULES:
+ * - Events come from the tenant's change feed (BrandChangeFeedService), so
+ *   a subscriber sees committed changes made on any admin instance, never
+ *   rolled-back ones
+ * - A subscriber only ever receives events of its own tenant, each change
+ *   at most once, in seq order
+ * - Events are named after the change: "created", "updated", "enabled",
+ *   "disabled" (the payload carries the brand) or "deleted". The feed keeps
+ *   one row per brand, so changes of a brand that land between two polls
+ *   arrive as one event named after the latest
+ *
+ * Design Decisions:
+ * - The feed is polled, not pushed: one query reads the sequences of all
+ *   tenants with subscribers on this instance, and only tenants whose
+ *   sequence moved past a subscriber's cursor read their feed. Events
+ *   arrive up to brand.events.poll-interval-ms after commit
+ * - Each subscriber keeps its own cursor, starting at the version in its
+ *   "ready" event; a cursor older than the purged tombstones completes
+ *   the stream so the client resyncs
+ * - The polling thread never writes to a socket: each subscriber owns a
+ *   bounded queue that a small sender pool drains
+ * - A full queue means the consumer cannot keep up; it is dropped and its
+ *   stream completed, and the client reconnects and refetches the list
+ * - Payloads are serialized once per event, not once per subscriber
+ * - Periodic heartbeat comments keep proxies from closing idle streams
+ */
+@Service
+public class BrandEventStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(BrandEventStreamService.class);
+
+    private final ConcurrentMap<UUID, Set<Subscriber>> subscribersByClient = new ConcurrentHashMap<>();
+    private final ExecutorService senderPool;
+    private final ObjectMapper objectMapper;
+    private final BrandCollectionVersionTracker versionTracker;
+    private final BrandChangeSequenceRepository sequenceRepository;
+    private final BrandChangeFeedService changeFeedService;
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+
+    public BrandEventStreamService(
+            ObjectMapper objectMapper,
+            BrandCollectionVersionTracker versionTracker,
+            BrandChangeSequenceRepository sequenceRepository,
+            BrandChangeFeedService changeFeedService,
+            @Value("${brand.events.buffer-size:64}") int bufferSize,
+            @Value("${brand.events.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${brand.events.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.versionTracker = versionTracker;
+        this.sequenceRepository = sequenceRepository;
+        this.changeFeedService = changeFeedService;
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senderPool = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "brand-sse-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a new event stream for a tenant.
+     * The first event ("ready") carries the current collection version.
+     */
+    public SseEmitter subscribe(UUID clientId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        long version = versionTracker.currentVersion(clientId);
+        Subscriber subscriber = new Subscriber(clientId, emitter, bufferSize, version);
+
+        subscribersByClient.computeIfAbsent(clientId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        Map<String, Object> ready = new LinkedHashMap<>();
+        ready.put("version", version);
+        enqueue(subscriber, Frame.event("ready", toJson(ready)));
+
+        log.debug("Opened brand event stream for client {} ({} subscribers)",
+                clientId, subscribersByClient.getOrDefault(clientId, Set.of()).size());
+        return emitter;
+    }
+
+    /**
+     * Deliver changes committed on any instance since each subscriber's cursor
+     */
+    @Scheduled(fixedDelayString = "${brand.events.poll-interval-ms:1000}")
+    public void pollChanges() {
+        if (subscribersByClient.isEmpty()) {
+            return;
+        }
+        for (BrandChangeSequence sequence : sequenceRepository.findAllById(new HashSet<>(subscribersByClient.keySet()))) {
+            Set<Subscriber> subscribers = subscribersByClient.get(sequence.getClientId());
+            if (subscribers == null) {
+                continue;
+            }
+            long since = subscribers.stream().mapToLong(subscriber -> subscriber.cursor).min().orElse(Long.MAX_VALUE);
+            if (sequence.getLastSeq() > since) {
+                try {
+                    deliver(sequence.getClientId(), subscribers, since);
+                } catch (ChangeCursorExpiredException e) {
+                    log.debug("Brand event cursor {} of client {} expired - closing its streams", since, sequence.getClientId());
+                    subscribers.forEach(subscriber -> {
+                        remove(subscriber);
+                        subscriber.emitter.complete();
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Reading brand changes of client {} failed: {}", sequence.getClientId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void deliver(UUID clientId, Set<Subscriber> subscribers, long since) {
+        BrandChangeFeedResponse page;
+        long cursor = since;
+        do {
+            page = changeFeedService.changesSince(clientId, cursor, BrandChangeFeedService.MAX_LIMIT);
+            for (BrandChangeFeedResponse.Change change : page.getChanges()) {
+                String kind = eventKind(change);
+                Map<String, Object> payload = new LinkedHashMap<>();
+                payload.put("type", kind);
+                payload.put("brandId", change.getBrandId());
+                payload.put("brand", change.getBrand());
+                payload.put("version", change.getSeq());
+                Frame frame = Frame.event(kind.toLowerCase(Locale.ROOT), toJson(payload));
+
+                for (Subscriber subscriber : subscribers) {
+                    if (change.getSeq() > subscriber.cursor) {
+                        subscriber.cursor = change.getSeq();
+                        enqueue(subscriber, frame);
+                    }
+                }
+            }
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        // Changes left out of the page (brands deleted while it was read) are covered too
+        for (Subscriber subscriber : subscribers) {
+            subscriber.cursor = Math.max(subscriber.cursor, cursor);
+        }
+    }
+
+    /**
+     * BrandChangeType name of the change; rows seeded from existing brands have none
+     */
+    private static String eventKind(BrandChangeFeedResponse.Change change) {
+        if (change.getKind() != null) {
+            return change.getKind();
+        }
+        return BrandChange.TYPE_DELETE.equals(change.getType())
+                ? BrandChangeType.DELETED.name() : BrandChangeType.UPDATED.name();
+    }
+
+    /**
+     * Heartbeat comment for every open stream
+     */
+    @Scheduled(fixedRateString = "${brand.events.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        Frame heartbeat = Frame.comment("heartbeat");
+        subscribersByClient.values().forEach(subscribers -> subscribers.forEach(s -> enqueue(s, heartbeat)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribersByClient.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        senderPool.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, Frame frame) {
+        if (!subscriber.queue.offer(frame)) {
+            log.warn("Dropping slow brand event subscriber for client {} (buffer of {} full)",
+                    subscriber.clientId, bufferSize);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senderPool.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Frame frame;
+            while ((frame = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(frame.toBuilder());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            log.debug("Brand event stream for client {} closed: {}", subscriber.clientId, e.getMessage());
+            remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // A frame may have arrived after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByClient.computeIfPresent(subscriber.clientId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize brand event", e);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final UUID clientId;
+        private final SseEmitter emitter;
+        private final Queue<Frame> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Seq of the last change delivered; only the polling thread advances it
+        private volatile long cursor;
+
+        private Subscriber(UUID clientId, SseEmitter emitter, int bufferSize, long cursor) {
+            this.clientId = clientId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+            this.cursor = cursor;
+        }
+    }
+
+    /**
+     * Pre-serialized SSE frame. Builders are single-use, so one is created per send.
+     */
+    private static final class Frame {
+
+        private final String name;
+        private final String data;
+        private final String comment;
+
+        private Frame(String name, String data, String comment) {
+            this.name = name;
+            this.data = data;
+            this.comment = comment;
+        }
+
+        static Frame event(String name, String data) {
+            return new Frame(name, data, null);
+        }
+
+        static Frame comment(String comment) {
+            return new Frame(null, null, comment);
+        }
+
+        SseEmitter.SseEventBuilder toBuilder() {
+            if (comment != null) {
+                return SseEmitter.event().comment(comment);
+            }
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.elowen.admin.service;
+
+import com.elowen.admin.deadline.RequestDeadline;
+import com.elowen.admin.entity.LogoVariant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed storage for brand logos on local disk.
+ *
+ * STORAGE LAYOUT:
+ *   {storage-dir}/{first two hex chars}/{sha256}/original.{ext}
+ *   {storage-dir}/{first two hex chars}/{sha256}/thumb-{size}.png
+ *
+ * Design Decisions:
+ * - Files are named by the SHA-256 of the uploaded bytes, so identical logos
+ *   (across brands and tenants) are stored exactly once
+ * - Thumbnails are generated once at upload time, never on the read path
+ * - A hash directory is built in a scratch area and moved into place with a
+ *   single rename, so readers never observe a half-written logo
+ * - Stored content is immutable; nothing is ever overwritten in place
+ */
+@Service
+public class BrandLogoStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(BrandLogoStorageService.class);
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern FILE_NAME_PATTERN =
+            Pattern.compile("original\\.(png|jpg|gif|bmp)|thumb-\\d{1,4}\\.png");
+
+    private static final Map<String, String> EXTENSION_BY_FORMAT = Map.of(
+            "png", "png",
+            "jpeg", "jpg",
+            "gif", "gif",
+            "bmp", "bmp"
+    );
+
+    private final Path rootDir;
+    private final Path scratchDir;
+    private final int maxDimension;
+
+    public BrandLogoStorageService(
+            @Value("${brand.logo.storage-dir:./data/brand-logos}") String storageDir,
+            @Value("${brand.logo.max-dimension:4096}") int maxDimension) {
+        this.rootDir = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.scratchDir = rootDir.resolve(".scratch");
+        this.maxDimension = maxDimension;
+        try {
+            Files.createDirectories(scratchDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create brand logo storage at " + rootDir, e);
+        }
+    }
+
+    /**
+     * Store an uploaded logo and its thumbnails.
+     *
+     * Idempotent: uploading the same bytes again only re-hashes them.
+     *
+     * @throws IllegalArgumentException if the bytes are not a supported image
+     */
+    public StoredLogo store(byte[] content) {
+        if (content == null || content.length == 0) {
+            throw new IllegalArgumentException("Logo file is empty");
+        }
+
+        String hash = sha256(content);
+        String format = detectFormat(content);
+        String originalFileName = "original." + EXTENSION_BY_FORMAT.get(format);
+        Path target = directoryFor(hash);
+
+        if (Files.isDirectory(target)) {
+            log.debug("Logo {} already stored, skipping thumbnail generation", hash);
+            return new StoredLogo(hash, originalFileName);
+        }
+
+        // Decoding and thumbnailing is the expensive part - skip it for a caller that is gone
+        RequestDeadline.check();
+        BufferedImage image = decode(content);
+        Path scratch = scratchDir.resolve(UUID.randomUUID().toString());
+        try {
+            Files.createDirectories(scratch);
+            Files.write(scratch.resolve(originalFileName), content);
+            for (LogoVariant variant : LogoVariant.values()) {
+                BufferedImage thumbnail = renderThumbnail(image, variant.getSize());
+                ImageIO.write(thumbnail, "png", scratch.resolve(variant.getFileName()).toFile());
+            }
+
+            Files.createDirectories(target.getParent());
+            Files.move(scratch, target, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Stored logo {} ({} bytes, format {})", hash, content.length, format);
+
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // A concurrent upload of the same bytes won the rename - identical content
+            log.debug("Logo {} stored concurrently by another request", hash);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store logo " + hash, e);
+        } finally {
+            deleteQuietly(scratch);
+        }
+
+        return new StoredLogo(hash, originalFileName);
+    }
+
+    /**
+     * Resolve a stored file for serving.
+     *
+     * SECURITY: hash and file name are validated against strict patterns,
+     * so request input can never escape the storage directory.
+     *
+     * @return the file path, or null if it is not a stored logo file
+     */
+    public Path resolve(String hash, String fileName) {
+        if (!HASH_PATTERN.matcher(hash).matches() || !FILE_NAME_PATTERN.matcher(fileName).matches()) {
+            return null;
+        }
+        Path file = directoryFor(hash).resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Content type for a stored file name
+     */
+    public String contentTypeOf(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        return switch (extension) {
+            case "jpg" -> "image/jpeg";
+            case "gif" -> "image/gif";
+            case "bmp" -> "image/bmp";
+            default -> "image/png";
+        };
+    }
+
+    private Path directoryFor(String hash) {
+        return rootDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private String detectFormat(byte[] content) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Logo must be a PNG, JPEG, GIF or BMP image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (!EXTENSION_BY_FORMAT.containsKey(format)) {
+                    throw new IllegalArgumentException("Logo must be a PNG, JPEG, GIF or BMP image");
+                }
+
+                // Check dimensions from the header before decoding any pixels
+                reader.setInput(input, true, true);
+                if (reader.getWidth(0) > maxDimension || reader.getHeight(0) > maxDimension) {
+                    throw new IllegalArgumentException(
+                            "Logo dimensions cannot exceed " + maxDimension + "x" + maxDimension + " pixels");
+                }
+                return format;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Logo image could not be read");
+        }
+    }
+
+    private BufferedImage decode(byte[] content) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+            if (image == null) {
+                throw new IllegalArgumentException("Logo image could not be read");
+            }
+            return image;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Logo image could not be read");
+        }
+    }
+
+    /**
+     * Scale the image to fit a size x size box, preserving aspect ratio,
+     * centred on a transparent square canvas.
+     */
+    private BufferedImage renderThumbnail(BufferedImage source, int size) {
+        double scale = Math.min((double) size / source.getWidth(), (double) size / source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // Halve in steps for large reductions - single-pass bilinear scaling aliases badly
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = scale(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+
+        BufferedImage canvas = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, (size - width) / 2, (size - height) / 2, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return canvas;
+    }
+
+    private BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            FileSystemUtils.deleteRecursively(path);
+        } catch (IOException e) {
+            log.warn("Could not clean up logo scratch directory {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Result of a logo upload - content hash plus the stored original file name
+     */
+    public static final class StoredLogo {
+
+        private final String contentHash;
+        private final String originalFileName;
+
+        public StoredLogo(String contentHash, String originalFileName) {
+            this.contentHash = contentHash;
+            this.originalFileName = originalFileName;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public String getOriginalFileName() {
+            return originalFileName;
+        }
+
+        public String getOriginalUrl() {
+            return LogoVariant.PUBLIC_BASE_PATH + "/" + contentHash + "/" + originalFileName;
+        }
+    }
+}
@@ -4,16 +4,24 @@ import com.elowen.admin.dto.BrandResponse;
 import com.elowen.admin.dto.CreateBrandRequest;
 import com.elowen.admin.dto.UpdateBrandRequest;
 import com.elowen.admin.entity.Brand;
+import com.elowen.admin.entity.BrandProductCount;
+import com.elowen.admin.event.BrandChangeType;
+import com.elowen.admin.event.BrandChangedEvent;
+import com.elowen.admin.exception.BrandInUseException;
 import com.elowen.admin.exception.BrandNameAlreadyExistsException;
 import com.elowen.admin.exception.BrandNotFoundException;
+import com.elowen.admin.exception.BrandVersionConflictException;
+import com.elowen.admin.repository.BrandProductCountRepository;
 import com.elowen.admin.repository.BrandRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,7 +38,12 @@ import java.util.stream.Collectors;
  * - Brand names must be unique per client (case-insensitive)
  * - Soft delete only - no physical deletion
  * - Brands default to enabled=true on creation
- * - Future product relationship validation on disable
+ * - A brand with enabled products cannot be disabled, and a brand with any
+ *   products cannot be deleted. Checked against the local product count read
+ *   model (ProductCountService), not product-service: a primary key lookup,
+ *   eventually consistent - products changed in the last moment may not be
+ *   counted yet
+ * - Every mutation publishes a BrandChangedEvent (collection version, live stream)
  */
 @Service
 public class BrandService {
@@ -38,10 +51,15 @@ public class BrandService {
     private static final Logger log = LoggerFactory.getLogger(BrandService.class);
     
     private final BrandRepository brandRepository;
+    private final BrandProductCountRepository productCountRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public BrandService(BrandRepository brandRepository) {
+    public BrandService(BrandRepository brandRepository, BrandProductCountRepository productCountRepository,
+                        ApplicationEventPublisher eventPublisher) {
         this.brandRepository = brandRepository;
+        this.productCountRepository = productCountRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -71,13 +89,15 @@ public class BrandService {
             StringUtils.hasText(request.getLogo()) ? request.getLogo().trim() : null
         );
         
-        // Save and return response
-        Brand savedBrand = brandRepository.save(brand);
+        // Flush so the response carries the generated timestamps
+        Brand savedBrand = brandRepository.saveAndFlush(brand);
+        BrandResponse response = BrandResponse.fromEntity(savedBrand);
+        publishChange(clientId, savedBrand.getId(), BrandChangeType.CREATED, response);
         
         log.info("Successfully created brand with ID {} for client {}", 
                 savedBrand.getId(), clientId);
         
-        return BrandResponse.fromEntity(savedBrand);
+        return response;
     }
     
     /**
@@ -139,6 +159,8 @@ public class BrandService {
      * - Only name, description, and logo can be updated
      * - Name uniqueness validation (excluding current brand)
      * - Partial updates supported (null fields are ignored)
+     * - Optimistic concurrency: a stale request version is rejected up front,
+     *   and @Version rejects edits that race this transaction at commit
      */
     @Transactional
     public BrandResponse updateBrand(UUID brandId, UpdateBrandRequest request, UUID clientId) {
@@ -157,6 +179,12 @@ public class BrandService {
                     return new BrandNotFoundException(brandId, clientId);
                 });
         
+        if (request.getVersion() != null && !request.getVersion().equals(existingBrand.getVersion())) {
+            log.warn("Brand update failed - brand {} is at version {}, request based on {}", 
+                    brandId, existingBrand.getVersion(), request.getVersion());
+            throw new BrandVersionConflictException(brandId, request.getVersion(), existingBrand.getVersion());
+        }
+        
         // Validate name uniqueness if name is being updated
         if (request.hasName() && !request.getName().trim().equalsIgnoreCase(existingBrand.getName())) {
             if (brandRepository.existsByClientIdAndNameIgnoreCaseAndIdNot(clientId, request.getName(), brandId)) {
@@ -185,70 +213,122 @@ public class BrandService {
                     ? request.getLogo().trim() 
                     : null
             );
+            // An externally supplied logo URL has no stored thumbnails
+            existingBrand.setLogoHash(null);
         }
         
         // Save and return response
         Brand updatedBrand = brandRepository.save(existingBrand);
+        BrandResponse response = BrandResponse.fromEntity(updatedBrand);
+        publishChange(clientId, brandId, BrandChangeType.UPDATED, response);
         
         log.info("Successfully updated brand {} for client {}", brandId, clientId);
         
-        return BrandResponse.fromEntity(updatedBrand);
+        return response;
     }
     
     /**
-     * Enable (activate) a brand - soft undelete operation.
+     * Point a brand at an uploaded, content-addressed logo.
+     * 
+     * The logo itself is already stored by BrandLogoStorageService; this only
+     * records the hash so responses can expose thumbnail URLs.
      */
     @Transactional
-    public BrandResponse enableBrand(UUID brandId, UUID clientId) {
-        log.info("Enabling brand {} for client {}", brandId, clientId);
+    public BrandResponse attachLogo(UUID brandId, BrandLogoStorageService.StoredLogo storedLogo, UUID clientId) {
+        log.info("Attaching logo {} to brand {} for client {}", 
+                storedLogo.getContentHash(), brandId, clientId);
         
         Brand brand = brandRepository.findByIdAndClientId(brandId, clientId)
                 .orElseThrow(() -> {
-                    log.warn("Brand {} not found for client {} during enable", brandId, clientId);
+                    log.warn("Brand {} not found for client {} during logo upload", brandId, clientId);
                     return new BrandNotFoundException(brandId, clientId);
                 });
         
-        if (Boolean.TRUE.equals(brand.getEnabled())) {
+        brand.setLogo(storedLogo.getOriginalUrl());
+        brand.setLogoHash(storedLogo.getContentHash());
+        
+        Brand updatedBrand = brandRepository.save(brand);
+        BrandResponse response = BrandResponse.fromEntity(updatedBrand);
+        publishChange(clientId, brandId, BrandChangeType.UPDATED, response);
+        
+        return response;
+    }
+    
+    /**
+     * Enable (activate) a brand - soft undelete operation.
+     * 
+     * Single tenant-scoped UPDATE that only touches the row when the flag
+     * actually changes; the affected-row count decides changed vs not, and
+     * only zero rows costs an existence check to tell not-found from no-op.
+     */
+    @Transactional
+    public BrandResponse enableBrand(UUID brandId, UUID clientId) {
+        log.info("Enabling brand {} for client {}", brandId, clientId);
+        
+        if (!changeState(brandId, clientId, true, "enable")) {
             log.debug("Brand {} is already enabled for client {}", brandId, clientId);
-        } else {
-            brand.setEnabled(true);
-            brandRepository.save(brand);
-            log.info("Successfully enabled brand {} for client {}", brandId, clientId);
+            return BrandResponse.fromEntity(findAfterStateChange(brandId, clientId));
         }
         
-        return BrandResponse.fromEntity(brand);
+        BrandResponse response = BrandResponse.fromEntity(findAfterStateChange(brandId, clientId));
+        publishChange(clientId, brandId, BrandChangeType.ENABLED, response);
+        log.info("Successfully enabled brand {} for client {}", brandId, clientId);
+        return response;
     }
     
     /**
      * Disable (soft delete) a brand.
      * Physical deletion is NOT allowed per business rules.
      * 
-     * TODO: Before disabling, validate that no products are mapped to this brand.
-     * When Product module is implemented, add validation to prevent disabling
-     * brands that have active product relationships.
+     * Same single conditional UPDATE as enableBrand.
+     * 
+     * Rejected while enabled products reference the brand - they would be
+     * left pointing at a disabled brand.
      */
     @Transactional
     public BrandResponse disableBrand(UUID brandId, UUID clientId) {
         log.info("Disabling brand {} for client {}", brandId, clientId);
         
-        Brand brand = brandRepository.findByIdAndClientId(brandId, clientId)
-                .orElseThrow(() -> {
-                    log.warn("Brand {} not found for client {} during disable", brandId, clientId);
-                    return new BrandNotFoundException(brandId, clientId);
-                });
-        
-        // TODO: Add product validation here when Product module is implemented
-        // validateNoActiveProductsForBrand(brandId, clientId);
+        BrandProductCount counts = productCountRepository.findByBrandIdAndClientId(brandId, clientId).orElse(null);
+        if (counts != null && counts.getActiveCount() > 0) {
+            log.warn("Brand disable rejected - brand {} still has {} enabled products", brandId, counts.getActiveCount());
+            throw new BrandInUseException(brandId, counts.getActiveCount(), String.format(
+                    "Brand still has %d enabled products - disable or move them first", counts.getActiveCount()));
+        }
         
-        if (Boolean.FALSE.equals(brand.getEnabled())) {
+        if (!changeState(brandId, clientId, false, "disable")) {
             log.debug("Brand {} is already disabled for client {}", brandId, clientId);
-        } else {
-            brand.setEnabled(false);
-            brandRepository.save(brand);
-            log.info("Successfully disabled brand {} for client {}", brandId, clientId);
+            return BrandResponse.fromEntity(findAfterStateChange(brandId, clientId));
         }
         
-        return BrandResponse.fromEntity(brand);
+        BrandResponse response = BrandResponse.fromEntity(findAfterStateChange(brandId, clientId));
+        publishChange(clientId, brandId, BrandChangeType.DISABLED, response);
+        log.info("Successfully disabled brand {} for client {}", brandId, clientId);
+        return response;
+    }
+    
+    /**
+     * Set the flag; true if the row changed, false if it already had it.
+     * Not-found only costs a query when the UPDATE matched nothing.
+     */
+    private boolean changeState(UUID brandId, UUID clientId, boolean enabled, String operation) {
+        if (brandRepository.updateEnabledIfChanged(brandId, clientId, enabled, LocalDateTime.now()) == 1) {
+            return true;
+        }
+        if (!brandRepository.existsByIdAndClientId(brandId, clientId)) {
+            log.warn("Brand {} not found for client {} during {}", brandId, clientId, operation);
+            throw new BrandNotFoundException(brandId, clientId);
+        }
+        return false;
+    }
+    
+    /**
+     * Primary-key read of the brand for the response and change event; the
+     * row is known to exist and, after a change, is locked by our UPDATE.
+     */
+    private Brand findAfterStateChange(UUID brandId, UUID clientId) {
+        return brandRepository.findByIdAndClientId(brandId, clientId)
+                .orElseThrow(() -> new BrandNotFoundException(brandId, clientId));
     }
 
     /**
@@ -256,10 +336,12 @@ public class BrandService {
      * 
      * SECURITY: Brand can only be deleted by same client that owns it
      * BUSINESS RULE: Hard delete - permanently removes brand from database
+     * BUSINESS RULE: Rejected while any product (enabled or not) references the brand
      * 
      * @param brandId UUID of the brand to delete
      * @param clientId UUID of the client (for security validation)
      * @throws BrandNotFoundException if brand doesn't exist or not owned by client
+     * @throws BrandInUseException if products still reference the brand
      */
     @Transactional
     public void deleteBrand(UUID brandId, UUID clientId) {
@@ -271,10 +353,24 @@ public class BrandService {
                 return new BrandNotFoundException("Brand not found or access denied");
             });
 
-        // TODO: Add product validation here when Product module is implemented
-        // validateNoActiveProductsForBrand(brandId, clientId);
+        BrandProductCount counts = productCountRepository.findByBrandIdAndClientId(brandId, clientId).orElse(null);
+        if (counts != null && counts.getProductCount() > 0) {
+            log.warn("Brand delete rejected - brand {} still has {} products", brandId, counts.getProductCount());
+            throw new BrandInUseException(brandId, counts.getProductCount(), String.format(
+                    "Brand still has %d products - delete or move them first", counts.getProductCount()));
+        }
         
         brandRepository.delete(brand);
+        productCountRepository.deleteByBrandIdAndClientId(brandId, clientId);
+        publishChange(clientId, brandId, BrandChangeType.DELETED, null);
         log.info("Successfully deleted brand {} ({}) for client {}", brandId, brand.getName(), clientId);
     }
+    
+    /**
+     * Publish a brand change inside the current transaction.
+     * Listeners decide whether they act before or after commit.
+     */
+    private void publishChange(UUID clientId, UUID brandId, BrandChangeType type, BrandResponse brand) {
+        eventPublisher.publishEvent(new BrandChangedEvent(clientId, brandId, type, brand));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.elowen.admin.service;
+
+import com.elowen.admin.dto.BrandSnapshotPage;
+import com.elowen.admin.entity.Brand;
+import com.elowen.admin.repository.BrandRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Pages through every client's brands for product-service's brand replica.
+ * 
+ * The one deliberate exception to tenant scoping in this service layer: it
+ * is only reachable through /api/internal/brand-snapshot, which requires the
+ * service token.
+ */
+@Service
+public class BrandSnapshotService {
+    
+    private final BrandRepository brandRepository;
+    
+    public BrandSnapshotService(BrandRepository brandRepository) {
+        this.brandRepository = brandRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public BrandSnapshotPage page(UUID after, int size) {
+        List<Brand> brands = brandRepository.findSnapshotPage(after, PageRequest.of(0, size));
+        List<BrandSnapshotPage.Item> items = brands.stream()
+                .map(brand -> new BrandSnapshotPage.Item(brand.getId(), brand.getClientId(), brand.getName(),
+                        Boolean.TRUE.equals(brand.getEnabled())))
+                .collect(Collectors.toList());
+        UUID nextAfter = brands.size() < size ? null : brands.get(brands.size() - 1).getId();
+        return new BrandSnapshotPage(items, nextAfter);
+    }
+}
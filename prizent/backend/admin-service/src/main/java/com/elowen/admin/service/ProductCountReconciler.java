@@ -0,0 +1,87 @@
+package com.elowen.admin.service;
+
+import com.elowen.admin.dto.ProductCountSnapshot;
+import com.elowen.admin.security.ServiceTokenFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodic full sync of the brand product counts from product-service.
+ * 
+ * Count events keep the read model current; this pass only repairs drift
+ * (see ProductCountService). A failed fetch is logged and retried at the
+ * next interval - the read model stays as it is meanwhile.
+ */
+@Component
+public class ProductCountReconciler {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductCountReconciler.class);
+    
+    private final ProductCountService productCountService;
+    private final RestClient restClient;
+    private final String url;
+    private final boolean enabled;
+    private final long inboxRetentionHours;
+    
+    public ProductCountReconciler(
+            ProductCountService productCountService,
+            @Value("${product.counts.reconcile.enabled:true}") boolean enabled,
+            @Value("${product.counts.reconcile.url:http://localhost:8083/api/internal/brand-product-counts}") String url,
+            @Value("${product.counts.reconcile.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${product.counts.reconcile.read-timeout-ms:60000}") int readTimeoutMs,
+            @Value("${product.counts.inbox-retention-hours:168}") long inboxRetentionHours,
+            @Value("${internal.service-token:}") String serviceToken) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        
+        this.productCountService = productCountService;
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .defaultHeader(ServiceTokenFilter.HEADER, serviceToken)
+                .build();
+        this.url = url;
+        this.enabled = enabled;
+        this.inboxRetentionHours = inboxRetentionHours;
+    }
+    
+    @Scheduled(initialDelayString = "${product.counts.reconcile.initial-delay-ms:60000}",
+               fixedDelayString = "${product.counts.reconcile.interval-ms:900000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime fetchStartedAt = LocalDateTime.now();
+        ProductCountSnapshot snapshot;
+        try {
+            snapshot = restClient.get().uri(url).retrieve().body(ProductCountSnapshot.class);
+        } catch (Exception e) {
+            log.warn("Product count sync skipped - {} failed: {}", url, e.getMessage());
+            return;
+        }
+        if (snapshot == null) {
+            return;
+        }
+        
+        long start = System.nanoTime();
+        int corrected = productCountService.reconcile(snapshot, fetchStartedAt);
+        log.info("Product count sync: {} brands, {} pending, {} corrected in {} ms",
+                snapshot.getBrands().size(), snapshot.getPendingBrandIds().size(), corrected,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    @Scheduled(fixedDelayString = "${product.counts.inbox-purge-interval-ms:3600000}")
+    public void purgeInbox() {
+        int purged = productCountService.purgeInbox(LocalDateTime.now().minusHours(inboxRetentionHours));
+        if (purged > 0) {
+            log.debug("Purged {} applied product event ids", purged);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.elowen.admin.service;
+
+import com.elowen.admin.dto.ProductCountEvent;
+import com.elowen.admin.dto.ProductCountSnapshot;
+import com.elowen.admin.entity.BrandProductCount;
+import com.elowen.admin.entity.ProcessedProductEvent;
+import com.elowen.admin.repository.BrandProductCountRepository;
+import com.elowen.admin.repository.ProcessedProductEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the brand product count read model (p_brand_product_counts).
+ * 
+ * Two inputs:
+ * - Count events from product-service's outbox: per-brand deltas, applied
+ *   as atomic increments, deduplicated on the event id
+ * - A periodic full snapshot from product-service (ProductCountReconciler)
+ *   that repairs any drift - lost or manually edited rows, events purged
+ *   from the inbox and delivered again, products changed outside the service
+ * 
+ * Reconciliation Rules:
+ * - Brands with events still pending in product-service's outbox are left
+ *   alone; their snapshot counts already include deltas not applied here
+ * - A row that received an event after (fetch start - settle) is left
+ *   alone; the snapshot may predate that event. The settle margin covers
+ *   clock skew between the two services
+ * - A row missing from the snapshot means the brand has no products any
+ *   more and is set to 0 under the same rules
+ * - Each brand is corrected in its own short transaction
+ */
+@Service
+public class ProductCountService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductCountService.class);
+    
+    private final BrandProductCountRepository countRepository;
+    private final ProcessedProductEventRepository inboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reconcileSettle;
+    
+    public ProductCountService(
+            BrandProductCountRepository countRepository,
+            ProcessedProductEventRepository inboxRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.counts.reconcile.settle-seconds:60}") long reconcileSettleSeconds) {
+        this.countRepository = countRepository;
+        this.inboxRepository = inboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileSettle = Duration.ofSeconds(reconcileSettleSeconds);
+    }
+    
+    /**
+     * Counts of one brand for the brand guards; empty means no products
+     */
+    @Transactional(readOnly = true)
+    public Optional<BrandProductCount> findCounts(UUID brandId, UUID clientId) {
+        return countRepository.findByBrandIdAndClientId(brandId, clientId);
+    }
+    
+    /**
+     * Apply one delivered batch of count events, skipping ids already applied.
+     * 
+     * All or nothing: a failure rolls back the batch and the relay delivers
+     * it again.
+     */
+    @Transactional
+    public void apply(List<ProductCountEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Set<Long> applied = inboxRepository.findAllById(
+                events.stream().map(ProductCountEvent::getId).collect(Collectors.toSet())).stream()
+                .map(ProcessedProductEvent::getEventId)
+                .collect(Collectors.toCollection(HashSet::new));
+        
+        LocalDateTime now = LocalDateTime.now();
+        int skipped = 0;
+        for (ProductCountEvent event : events) {
+            if (!applied.add(event.getId())) {
+                skipped++;
+                continue;
+            }
+            if (ProductCountEvent.TYPE_BRAND_PRODUCT_COUNTS.equals(event.getType())) {
+                addDeltas(event, now);
+            } else {
+                log.warn("Ignoring product event {} of unknown type {}", event.getId(), event.getType());
+            }
+            inboxRepository.save(new ProcessedProductEvent(event.getId(), now));
+        }
+        log.debug("Applied {} product count events ({} already applied)", events.size() - skipped, skipped);
+    }
+    
+    /**
+     * Correct the read model from a full snapshot.
+     * 
+     * @param fetchStartedAt when the snapshot request was sent (local clock)
+     * @return number of brands whose counts were corrected
+     */
+    public int reconcile(ProductCountSnapshot snapshot, LocalDateTime fetchStartedAt) {
+        LocalDateTime cutoff = fetchStartedAt.minus(reconcileSettle);
+        Set<UUID> pending = new HashSet<>(snapshot.getPendingBrandIds());
+        Set<UUID> inSnapshot = new HashSet<>();
+        int corrected = 0;
+        
+        for (ProductCountSnapshot.BrandCounts counts : snapshot.getBrands()) {
+            inSnapshot.add(counts.getBrandId());
+            if (!pending.contains(counts.getBrandId())
+                    && reconcileBrand(counts.getBrandId(), counts.getClientId(),
+                            counts.getActiveCount(), counts.getProductCount(), cutoff)) {
+                corrected++;
+            }
+        }
+        for (BrandProductCount row : countRepository.findAllNonZero()) {
+            if (!inSnapshot.contains(row.getBrandId()) && !pending.contains(row.getBrandId())
+                    && reconcileBrand(row.getBrandId(), row.getClientId(), 0, 0, cutoff)) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+    
+    private void addDeltas(ProductCountEvent event, LocalDateTime now) {
+        int updated = countRepository.addDeltas(event.getBrandId(), event.getActiveDelta(), event.getProductDelta(), now);
+        if (updated == 0) {
+            BrandProductCount row = new BrandProductCount(event.getBrandId(), event.getClientId(),
+                    event.getActiveDelta(), event.getProductDelta());
+            row.setLastEventAt(now);
+            // Flush so a later event of this batch for the same brand finds the row
+            countRepository.saveAndFlush(row);
+        }
+    }
+    
+    /**
+     * @return true if the stored counts were changed
+     */
+    private boolean reconcileBrand(UUID brandId, UUID clientId, long activeCount, long productCount,
+                                   LocalDateTime cutoff) {
+        try {
+            Boolean changed = transactionTemplate.execute(status -> {
+                Optional<BrandProductCount> current = countRepository.findById(brandId);
+                if (current.isEmpty()) {
+                    if (activeCount == 0 && productCount == 0) {
+                        return false;
+                    }
+                    BrandProductCount row = new BrandProductCount(brandId, clientId, activeCount, productCount);
+                    row.setReconciledAt(LocalDateTime.now());
+                    countRepository.saveAndFlush(row);
+                    log.warn("Product counts of brand {} were missing - set to {} active / {} total",
+                            brandId, activeCount, productCount);
+                    return true;
+                }
+                BrandProductCount row = current.get();
+                if (countRepository.reconcile(brandId, activeCount, productCount, cutoff, LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                log.warn("Product counts of brand {} corrected from {} active / {} total to {} / {}",
+                        brandId, row.getActiveCount(), row.getProductCount(), activeCount, productCount);
+                return true;
+            });
+            return Boolean.TRUE.equals(changed);
+        } catch (DataIntegrityViolationException e) {
+            // An event created the row meanwhile - it is newer than the snapshot
+            log.debug("Product counts of brand {} created concurrently; left for the next sync", brandId);
+            return false;
+        }
+    }
+    
+    /**
+     * Compact the inbox; an event older than this is not expected to be delivered again
+     */
+    @Transactional
+    public int purgeInbox(LocalDateTime cutoff) {
+        return inboxRepository.purgeReceivedBefore(cutoff);
+    }
+}
@@ -0,0 +1,131 @@
+package com.elowen.gateway.batch;
+
+import com.elowen.gateway.security.TenantIdentityResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch endpoint - many API calls in one round trip.
+ * POST /api/batch
+ *
+ * SECURITY RULES:
+ * - Requires a verified bearer token; it is applied to every sub-request,
+ *   and an item can never supply its own Authorization
+ * - Items may only target the configured path prefixes, never /api/batch
+ *
+ * Each item gets its own status; the batch itself answers 200 unless the
+ * envelope is invalid (400) or the caller is unauthenticated (401).
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchController.class);
+
+    private static final Set<HttpMethod> ALLOWED_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final BatchProperties properties;
+    private final BatchDispatcher dispatcher;
+    private final TenantIdentityResolver identityResolver;
+
+    public BatchController(BatchProperties properties, BatchDispatcher dispatcher,
+                           TenantIdentityResolver identityResolver) {
+        this.properties = properties;
+        this.dispatcher = dispatcher;
+        this.identityResolver = identityResolver;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> batch(@RequestBody BatchRequest request, ServerWebExchange exchange) {
+        if (!properties.isEnabled()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        if (identityResolver.resolve(exchange).isEmpty()) {
+            return Mono.just(error(HttpStatus.UNAUTHORIZED, "A valid bearer token is required"));
+        }
+
+        String problem = validate(request.getRequests());
+        if (problem != null) {
+            log.debug("Rejected batch: {}", problem);
+            return Mono.just(error(HttpStatus.BAD_REQUEST, problem));
+        }
+
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return dispatcher.dispatch(request.getRequests(), authorization)
+                .map(ResponseEntity::ok);
+    }
+
+    private String validate(List<BatchRequest.Item> items) {
+        if (items == null || items.isEmpty()) {
+            return "Batch must contain at least one request";
+        }
+        if (items.size() > properties.getMaxItems()) {
+            return "Batch may contain at most " + properties.getMaxItems() + " requests";
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchRequest.Item item = items.get(i);
+            if (item.getId() == null || item.getId().isBlank()) {
+                item.setId(String.valueOf(i));
+            }
+            if (!ids.add(item.getId())) {
+                return "Duplicate request id: " + item.getId();
+            }
+            if (item.getMethod() == null || !ALLOWED_METHODS.contains(HttpMethod.valueOf(item.getMethod().toUpperCase()))) {
+                return "Unsupported method for request " + item.getId();
+            }
+            if (!isAllowedPath(item.getPath())) {
+                return "Path not allowed for request " + item.getId();
+            }
+        }
+        return null;
+    }
+
+    private boolean isAllowedPath(String path) {
+        if (path == null || !path.startsWith("/") || path.startsWith("//")) {
+            return false;
+        }
+        URI uri;
+        try {
+            uri = URI.create(path);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // Reject scheme/authority tricks and dot segments before prefix matching
+        if (uri.getScheme() != null || uri.getRawAuthority() != null
+                || !uri.normalize().getRawPath().equals(uri.getRawPath())) {
+            return false;
+        }
+        String rawPath = uri.getRawPath();
+        if (rawPath.startsWith("/api/batch")) {
+            return false;
+        }
+        return properties.getAllowedPathPrefixes().stream().anyMatch(rawPath::startsWith);
+    }
+
+    private static ResponseEntity<?> error(HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        return ResponseEntity.status(status).body(body);
+    }
+}
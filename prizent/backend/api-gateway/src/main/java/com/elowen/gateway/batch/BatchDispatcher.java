@@ -0,0 +1,177 @@
+package com.elowen.gateway.batch;
+
+import com.elowen.gateway.resilience.ResilienceFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dispatches batch sub-requests back through this gateway.
+ *
+ * Design Decisions:
+ * - Sub-requests loop back to the gateway's own port instead of calling
+ *   services directly, so routing, caching, coalescing and per-tenant rate
+ *   limits apply to each item exactly as to a standalone call
+ * - Items run concurrently (bounded) and results keep request order
+ * - One deadline covers the whole batch; an item still running at the
+ *   deadline is answered with 504 and the rest of the batch is returned
+ */
+@Component
+public class BatchDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    /**
+     * Response headers worth passing back to the caller per item
+     */
+    private static final List<String> RETURNED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER,
+            "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset");
+
+    /**
+     * Request headers an item may set; everything else comes from the batch call
+     */
+    private static final List<String> FORWARDED_ITEM_HEADERS = List.of(
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+
+    private final BatchProperties properties;
+    private final ObjectMapper objectMapper;
+    private final WebClient webClient;
+
+    public BatchDispatcher(BatchProperties properties, ObjectMapper objectMapper,
+                           WebClient.Builder webClientBuilder,
+                           @Value("${server.port:8080}") int serverPort) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        ConnectionProvider loopbackPool = ConnectionProvider.builder("batch-loopback")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getTimeout())
+                .build();
+        this.webClient = webClientBuilder
+                .baseUrl("http://localhost:" + serverPort)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(loopbackPool)))
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .maxInMemorySize((int) properties.getMaxItemBodySize().toBytes()))
+                .build();
+    }
+
+    /**
+     * Run every item with the caller's credentials; never fails as a whole
+     */
+    public Mono<BatchResponse> dispatch(List<BatchRequest.Item> items, String authorization) {
+        long deadlineNanos = System.nanoTime() + properties.getTimeout().toNanos();
+
+        return Flux.fromIterable(items)
+                .flatMapSequential(item -> execute(item, authorization, deadlineNanos), properties.getMaxConcurrency())
+                .collectList()
+                .map(BatchResponse::new);
+    }
+
+    private Mono<BatchResponse.Item> execute(BatchRequest.Item item, String authorization, long deadlineNanos) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            return Mono.just(error(item, HttpStatus.GATEWAY_TIMEOUT, "Batch deadline exceeded before dispatch"));
+        }
+
+        HttpMethod method = HttpMethod.valueOf(item.getMethod().toUpperCase());
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(URI.create(item.getPath()).toString())
+                .headers(headers -> {
+                    item.getHeaders().forEach((name, value) -> {
+                        if (FORWARDED_ITEM_HEADERS.stream().anyMatch(name::equalsIgnoreCase)) {
+                            headers.set(name, value);
+                        }
+                    });
+                    headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                    // Routes shorten their own deadline to what is left of the batch
+                    headers.set(ResilienceFilter.DEADLINE_HEADER,
+                            String.valueOf(System.currentTimeMillis() + remainingNanos / 1_000_000));
+                });
+
+        WebClient.RequestHeadersSpec<?> ready = item.getBody() != null && !item.getBody().isNull()
+                ? request.contentType(MediaType.APPLICATION_JSON).bodyValue(item.getBody())
+                : request;
+
+        return ready.exchangeToMono(response -> toItem(item, response))
+                .timeout(Duration.ofNanos(remainingNanos))
+                .onErrorResume(e -> Mono.just(failure(item, e)));
+    }
+
+    private Mono<BatchResponse.Item> toItem(BatchRequest.Item item, ClientResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        HttpHeaders source = response.headers().asHttpHeaders();
+        for (String name : RETURNED_HEADERS) {
+            String value = source.getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        MediaType contentType = source.getContentType();
+
+        return response.bodyToMono(byte[].class)
+                .map(bytes -> new BatchResponse.Item(item.getId(), response.statusCode().value(), headers,
+                        body(bytes, contentType)))
+                .defaultIfEmpty(new BatchResponse.Item(item.getId(), response.statusCode().value(), headers, null));
+    }
+
+    private JsonNode body(byte[] bytes, MediaType contentType) {
+        if (bytes.length == 0) {
+            return null;
+        }
+        if (contentType == null || MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            try {
+                return objectMapper.readTree(bytes);
+            } catch (IOException e) {
+                // Not JSON after all - fall through to text
+            }
+        }
+        return JsonNodeFactory.instance.textNode(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private BatchResponse.Item failure(BatchRequest.Item item, Throwable error) {
+        if (error instanceof TimeoutException) {
+            return error(item, HttpStatus.GATEWAY_TIMEOUT, "Batch deadline exceeded");
+        }
+        if (error instanceof DataBufferLimitException) {
+            return error(item, HttpStatus.BAD_GATEWAY, "Response exceeds " + properties.getMaxItemBodySize());
+        }
+        log.warn("Batch item {} {} failed: {}", item.getMethod(), item.getPath(), error.getMessage());
+        return error(item, HttpStatus.BAD_GATEWAY, "Upstream call failed");
+    }
+
+    private static BatchResponse.Item error(BatchRequest.Item item, HttpStatus status, String message) {
+        ObjectNode body = JsonNodeFactory.instance.objectNode()
+                .put("error", status.getReasonPhrase())
+                .put("message", message);
+        return new BatchResponse.Item(item.getId(), status.value(), Map.of(), body);
+    }
+}
@@ -0,0 +1,103 @@
+package com.elowen.gateway.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits for POST /api/batch (gateway.batch.*).
+ */
+@ConfigurationProperties(prefix = "gateway.batch")
+public class BatchProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Most sub-requests accepted in one batch
+     */
+    private int maxItems = 20;
+
+    /**
+     * Sub-requests dispatched at the same time
+     */
+    private int maxConcurrency = 6;
+
+    /**
+     * Whole-batch deadline; unfinished items are answered with 504
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /**
+     * Largest sub-response body that is embedded; larger ones are answered with 502
+     */
+    private DataSize maxItemBodySize = DataSize.ofMegabytes(1);
+
+    /**
+     * Paths a sub-request may target
+     */
+    private List<String> allowedPathPrefixes = new ArrayList<>(List.of("/api/"));
+
+    /**
+     * Loopback connections held for dispatching sub-requests
+     */
+    private int maxConnections = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public DataSize getMaxItemBodySize() {
+        return maxItemBodySize;
+    }
+
+    public void setMaxItemBodySize(DataSize maxItemBodySize) {
+        this.maxItemBodySize = maxItemBodySize;
+    }
+
+    public List<String> getAllowedPathPrefixes() {
+        return allowedPathPrefixes;
+    }
+
+    public void setAllowedPathPrefixes(List<String> allowedPathPrefixes) {
+        this.allowedPathPrefixes = allowedPathPrefixes;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+}
@@ -0,0 +1,92 @@
+package com.elowen.gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of POST /api/batch
+ */
+public class BatchRequest {
+
+    private List<Item> requests = new ArrayList<>();
+
+    public List<Item> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<Item> requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * One sub-request. The caller's Authorization is applied to every item.
+     */
+    public static class Item {
+
+        /**
+         * Caller-chosen id echoed in the matching response item
+         */
+        private String id;
+
+        private String method = "GET";
+
+        /**
+         * Gateway path including any query string, e.g. /api/admin/brands?enabled=true
+         */
+        private String path;
+
+        /**
+         * Optional request headers (only conditional headers are forwarded)
+         */
+        private Map<String, String> headers = new LinkedHashMap<>();
+
+        /**
+         * Optional JSON body for POST/PUT/PATCH
+         */
+        private JsonNode body;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        public JsonNode getBody() {
+            return body;
+        }
+
+        public void setBody(JsonNode body) {
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.elowen.gateway.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body returned by POST /api/batch - one item per sub-request, in request order
+ */
+public class BatchResponse {
+
+    private final List<Item> responses;
+
+    public BatchResponse(List<Item> responses) {
+        this.responses = responses;
+    }
+
+    public List<Item> getResponses() {
+        return responses;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+
+        private final String id;
+        private final int status;
+        private final Map<String, String> headers;
+        private final JsonNode body;
+
+        public Item(String id, int status, Map<String, String> headers, JsonNode body) {
+            this.id = id;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public JsonNode getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.elowen.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A cached upstream response plus the metadata needed to serve or revalidate it.
+ *
+ * Immutable: revalidation replaces the entry rather than mutating it, so a
+ * reader never sees a half-updated response.
+ */
+final class CachedResponse {
+
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+    private final long freshUntilNanos;
+    private final long generation;
+
+    CachedResponse(HttpHeaders headers, byte[] body, String etag, long freshUntilNanos, long generation) {
+        this.headers = headers;
+        this.body = body;
+        this.etag = etag;
+        this.freshUntilNanos = freshUntilNanos;
+        this.generation = generation;
+    }
+
+    HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    String getEtag() {
+        return etag;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    boolean isFresh(long nowNanos) {
+        return nowNanos - freshUntilNanos < 0;
+    }
+
+    /**
+     * Same response, valid for a further period after a 304 from upstream
+     */
+    CachedResponse refreshed(HttpHeaders headers, long freshUntilNanos) {
+        return new CachedResponse(headers, body, etag, freshUntilNanos, generation);
+    }
+
+    /**
+     * Approximate heap cost used for the byte bound
+     */
+    long weight() {
+        return body.length + 512L;
+    }
+}
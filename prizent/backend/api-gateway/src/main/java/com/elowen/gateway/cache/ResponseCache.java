@@ -0,0 +1,88 @@
+package com.elowen.gateway.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory LRU store of cached responses.
+ *
+ * Design Decisions:
+ * - Bounded by entry count AND body bytes; the least recently used entry is
+ *   evicted first
+ * - Invalidation is by generation: every entry records the generation of its
+ *   scope (tenant + resource prefix) at the time the request started. A
+ *   mutation bumps the generation, which makes all older entries of that scope
+ *   unusable without scanning the map. Stale entries then age out via LRU
+ * - Recording the generation at request START means a read that raced with a
+ *   mutation can never store a pre-mutation body as current
+ */
+class ResponseCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access-ordered; guarded by "this"
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    ResponseCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, CachedResponse response) {
+        if (response.weight() > maxBytes) {
+            return;
+        }
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            totalBytes -= previous.weight();
+        }
+        totalBytes += response.weight();
+        evictIfNeeded();
+    }
+
+    synchronized void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= previous.weight();
+        }
+    }
+
+    /**
+     * Current generation of an invalidation scope
+     */
+    long generation(String scope) {
+        AtomicLong generation = generations.get(scope);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    /**
+     * Make every entry of a scope stale
+     */
+    void invalidate(String scope) {
+        generations.computeIfAbsent(scope, s -> new AtomicLong()).incrementAndGet();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().weight();
+            eldest.remove();
+        }
+    }
+}
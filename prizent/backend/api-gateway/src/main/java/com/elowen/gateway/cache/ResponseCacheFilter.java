@@ -0,0 +1,436 @@
+package com.elowen.gateway.cache;
+
+import com.elowen.gateway.security.TenantIdentity;
+import com.elowen.gateway.security.TenantIdentityResolver;
+import com.elowen.gateway.support.BodyCaptureResponseDecorator;
+import com.elowen.gateway.support.CapturedResponse;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tenant-aware response cache for GET requests on selected routes.
+ *
+ * CACHING RULES:
+ * - Only requests with a VERIFIED tenant identity are cached; the key includes
+ *   route, path, query, client id and user id, so no response is ever served
+ *   to another tenant or user. Because entries are per-user, "private"
+ *   responses are cacheable here
+ * - Only 200 JSON responses within the entry size cap are stored
+ * - Upstream Cache-Control is honoured: no-store is never stored, max-age sets
+ *   freshness, no-cache forces revalidation. Surrogate-Control: max-age=N (aimed
+ *   at the gateway only, stripped before the client) takes precedence
+ * - Stale entries with an ETag are revalidated upstream with If-None-Match;
+ *   an upstream 304 is answered from the cache
+ * - The client's own If-None-Match is answered by the gateway (304)
+ * - Any POST/PUT/PATCH/DELETE invalidates the tenant's entries under the same
+ *   resource prefix (plus any configured linked prefixes), before and after
+ *   the mutation runs
+ * - Event streams, range requests and client "no-store" bypass the cache
+ *
+ * Runs before NettyWriteResponseFilter so the decorated response is the one
+ * the upstream body is written to.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    public static final int ORDER = -4;
+
+    static final String CACHE_STATUS_HEADER = "X-Gateway-Cache";
+    static final String SURROGATE_CONTROL = "Surrogate-Control";
+
+    private static final Set<HttpMethod> MUTATING_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final ResponseCacheProperties properties;
+    private final TenantIdentityResolver identityResolver;
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, TenantIdentityResolver identityResolver) {
+        this.properties = properties;
+        this.identityResolver = identityResolver;
+        this.cache = new ResponseCache(properties.getMaxEntries(), properties.getMaxSize().toBytes());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || !properties.getRoutes().contains(route.getId())) {
+            return chain.filter(exchange);
+        }
+
+        Optional<TenantIdentity> identity = identityResolver.resolve(exchange);
+        if (identity.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        TenantIdentity tenant = identity.get();
+
+        if (MUTATING_METHODS.contains(request.getMethod())) {
+            List<String> scopes = mutationScopes(tenant, path);
+            scopes.forEach(cache::invalidate);
+            // Second bump catches reads that started while the mutation was in flight
+            return chain.filter(exchange).doFinally(signal -> scopes.forEach(cache::invalidate));
+        }
+
+        if (request.getMethod() != HttpMethod.GET || !isCacheableRequest(request)) {
+            return chain.filter(exchange);
+        }
+
+        String scope = scope(tenant, prefix(path));
+        String key = route.getId() + ' ' + tenant.getClientId() + ' ' + tenant.getUserId()
+                + ' ' + path + '?' + nullToEmpty(request.getURI().getRawQuery());
+        long generation = cache.generation(scope);
+
+        CachedResponse entry = cache.get(key);
+        if (entry != null && entry.getGeneration() != generation) {
+            cache.remove(key);
+            entry = null;
+        }
+
+        // Copied first: mutating the request builder writes through to the original headers
+        List<String> clientEtags = List.copyOf(request.getHeaders().getIfNoneMatch());
+
+        if (entry != null && entry.isFresh(System.nanoTime()) && !requestsRevalidation(request)) {
+            return serve(exchange.getResponse(), entry, clientEtags, "HIT");
+        }
+
+        if (entry != null && entry.getEtag() != null) {
+            return revalidate(exchange, chain, key, entry, clientEtags);
+        }
+
+        return fetchAndStore(exchange, chain, key, generation);
+    }
+
+    /**
+     * Forward upstream and store a cacheable 200 while it streams to the client
+     */
+    private Mono<Void> fetchAndStore(ServerWebExchange exchange, GatewayFilterChain chain,
+                                     String key, long generation) {
+        ServerHttpResponse original = exchange.getResponse();
+        original.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+        BodyCaptureResponseDecorator capturing = new BodyCaptureResponseDecorator(
+                original,
+                (int) properties.getMaxEntrySize().toBytes(),
+                this::isStorable,
+                new BodyCaptureResponseDecorator.CaptureListener() {
+                    @Override
+                    public void captured(CapturedResponse response) {
+                        store(key, response, generation);
+                    }
+
+                    @Override
+                    public void skipped() {
+                        // Not cacheable - the client still got the full response
+                    }
+                });
+        stripSurrogateControlOnCommit(capturing);
+
+        // Ask for a full body so the cache can be filled; conditional headers are answered here on later hits
+        ServerHttpRequest unconditional = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                })
+                .build();
+
+        return chain.filter(exchange.mutate().request(unconditional).response(capturing).build());
+    }
+
+    /**
+     * Revalidate a stale entry; an upstream 304 is answered from the cache
+     */
+    private Mono<Void> revalidate(ServerWebExchange exchange, GatewayFilterChain chain,
+                                  String key, CachedResponse entry, List<String> clientEtags) {
+        ServerHttpResponse original = exchange.getResponse();
+        original.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+        BodyCaptureResponseDecorator capturing = new BodyCaptureResponseDecorator(
+                original,
+                (int) properties.getMaxEntrySize().toBytes(),
+                this::isStorable,
+                new BodyCaptureResponseDecorator.CaptureListener() {
+                    @Override
+                    public void captured(CapturedResponse response) {
+                        store(key, response, entry.getGeneration());
+                    }
+
+                    @Override
+                    public void skipped() {
+                        cache.remove(key);
+                    }
+                });
+        stripSurrogateControlOnCommit(capturing);
+
+        ServerHttpResponse revalidating = new ServerHttpResponseDecorator(capturing) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                    return super.writeWith(body);
+                }
+                return Flux.from(body)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> serveRevalidated(original, key, entry, clientEtags)));
+            }
+
+            @Override
+            public Mono<Void> setComplete() {
+                if (!HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                    return super.setComplete();
+                }
+                return serveRevalidated(original, key, entry, clientEtags);
+            }
+        };
+
+        ServerHttpRequest conditional = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set(HttpHeaders.IF_NONE_MATCH, entry.getEtag());
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                })
+                .build();
+
+        return chain.filter(exchange.mutate().request(conditional).response(revalidating).build());
+    }
+
+    private Mono<Void> serveRevalidated(ServerHttpResponse response, String key,
+                                        CachedResponse entry, List<String> clientEtags) {
+        // Freshness directives of the 304 replace the stored ones
+        HttpHeaders upstream = response.getHeaders();
+        HttpHeaders merged = new HttpHeaders();
+        merged.putAll(entry.getHeaders());
+        for (String name : List.of(HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.DATE,
+                HttpHeaders.ETAG, SURROGATE_CONTROL)) {
+            List<String> values = upstream.get(name);
+            if (values != null) {
+                merged.put(name, values);
+            }
+        }
+
+        long ttlNanos = freshnessNanos(merged);
+        CachedResponse refreshed = entry.refreshed(
+                HttpHeaders.readOnlyHttpHeaders(merged), System.nanoTime() + Math.max(ttlNanos, 0));
+        cache.put(key, refreshed);
+        return serve(response, refreshed, clientEtags, "REVALIDATED");
+    }
+
+    private Mono<Void> serve(ServerHttpResponse response, CachedResponse entry,
+                             List<String> clientEtags, String cacheStatus) {
+        // Overwrite rather than clear - CORS headers added by the gateway itself must survive
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(entry.getHeaders());
+        headers.remove(SURROGATE_CONTROL);
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (entry.getEtag() != null && etagMatches(clientEtags, entry.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(entry.getBody().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.getBody())));
+    }
+
+    private void store(String key, CapturedResponse response, long generation) {
+        HttpHeaders headers = response.getHeaders();
+        long ttlNanos = freshnessNanos(headers);
+        String etag = headers.getETag();
+
+        if (ttlNanos < 0 || (ttlNanos == 0 && etag == null)) {
+            // no-store, or must revalidate with nothing to revalidate against
+            cache.remove(key);
+            return;
+        }
+
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            // CORS headers depend on the request Origin and are re-added per request
+            if (!name.regionMatches(true, 0, "Access-Control-", 0, 15)) {
+                stored.put(name, values);
+            }
+        });
+
+        cache.put(key, new CachedResponse(HttpHeaders.readOnlyHttpHeaders(stored), response.getBody(), etag,
+                System.nanoTime() + ttlNanos, generation));
+        log.debug("Cached {} ({} bytes, ttl {} ms)", key, response.getBody().length,
+                TimeUnit.NANOSECONDS.toMillis(ttlNanos));
+    }
+
+    /**
+     * Freshness lifetime in nanos: -1 = do not store, 0 = revalidate every time
+     */
+    private long freshnessNanos(HttpHeaders headers) {
+        Map<String, String> surrogate = directives(headers.get(SURROGATE_CONTROL));
+        Map<String, String> directives = directives(headers.get(HttpHeaders.CACHE_CONTROL));
+
+        if (directives.containsKey("no-store")) {
+            return -1;
+        }
+        if ("*".equals(headers.getFirst(HttpHeaders.VARY))) {
+            return -1;
+        }
+
+        Long surrogateMaxAge = seconds(surrogate.get("max-age"));
+        if (surrogateMaxAge != null) {
+            return TimeUnit.SECONDS.toNanos(surrogateMaxAge);
+        }
+        if (directives.containsKey("no-cache")) {
+            return 0;
+        }
+
+        Long maxAge = seconds(directives.get("s-maxage"));
+        if (maxAge == null) {
+            maxAge = seconds(directives.get("max-age"));
+        }
+        if (maxAge != null) {
+            return TimeUnit.SECONDS.toNanos(maxAge);
+        }
+        return properties.getDefaultTtl().toNanos();
+    }
+
+    private boolean isStorable(ServerHttpResponse response) {
+        if (!HttpStatus.OK.equals(response.getStatusCode())) {
+            return false;
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+
+    private boolean isCacheableRequest(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (headers.getAccept().stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype)) {
+            return false;
+        }
+        if (headers.containsKey(HttpHeaders.RANGE)) {
+            return false;
+        }
+        return !directives(headers.get(HttpHeaders.CACHE_CONTROL)).containsKey("no-store");
+    }
+
+    private boolean requestsRevalidation(ServerHttpRequest request) {
+        Map<String, String> directives = directives(request.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+        return directives.containsKey("no-cache") || "0".equals(directives.get("max-age"));
+    }
+
+    private boolean etagMatches(List<String> clientEtags, String etag) {
+        String stored = weakTag(etag);
+        for (String candidate : clientEtags) {
+            if ("*".equals(candidate.trim()) || weakTag(candidate).equals(stored)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> mutationScopes(TenantIdentity tenant, String path) {
+        String prefix = prefix(path);
+        List<String> linked = properties.getLinkedPrefixes().getOrDefault(prefix, List.of());
+        return Stream.concat(Stream.of(prefix), linked.stream())
+                .map(p -> scope(tenant, p))
+                .toList();
+    }
+
+    private String prefix(String path) {
+        int segments = 0;
+        for (int i = 1; i < path.length(); i++) {
+            if (path.charAt(i) == '/' && ++segments == properties.getInvalidationPrefixSegments()) {
+                return path.substring(0, i);
+            }
+        }
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String scope(TenantIdentity tenant, String prefix) {
+        return tenant.getClientId() + "|" + prefix;
+    }
+
+    /**
+     * Remove the gateway-only Surrogate-Control header just before the response is committed
+     */
+    private static void stripSurrogateControlOnCommit(ServerHttpResponse response) {
+        response.beforeCommit(() -> {
+            response.getHeaders().remove(SURROGATE_CONTROL);
+            return Mono.empty();
+        });
+    }
+
+    private static Map<String, String> directives(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> directives = new HashMap<>();
+        for (String value : headerValues) {
+            for (String directive : value.split(",")) {
+                String trimmed = directive.trim().toLowerCase(Locale.ROOT);
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int eq = trimmed.indexOf('=');
+                if (eq < 0) {
+                    directives.put(trimmed, "");
+                } else {
+                    directives.put(trimmed.substring(0, eq).trim(), trimmed.substring(eq + 1).trim().replace("\"", ""));
+                }
+            }
+        }
+        return directives;
+    }
+
+    private static Long seconds(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String weakTag(String etag) {
+        String trimmed = etag.trim();
+        return trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
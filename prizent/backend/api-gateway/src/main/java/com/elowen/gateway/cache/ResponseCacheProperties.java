@@ -0,0 +1,123 @@
+package com.elowen.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for the gateway response cache (gateway.cache.*).
+ */
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Master switch - when false every request goes upstream
+     */
+    private boolean enabled = true;
+
+    /**
+     * Route ids whose GET responses may be cached
+     */
+    private List<String> routes = new ArrayList<>();
+
+    /**
+     * Freshness used when the upstream response has no max-age
+     */
+    private Duration defaultTtl = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound on the number of cached responses
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Upper bound on the total body bytes held by the cache
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Responses with a larger body are passed through uncached
+     */
+    private DataSize maxEntrySize = DataSize.ofKilobytes(512);
+
+    /**
+     * Number of leading path segments that form the invalidation prefix,
+     * e.g. 3 turns /api/admin/brands/42/enable into /api/admin/brands
+     */
+    private int invalidationPrefixSegments = 3;
+
+    /**
+     * Extra prefixes a mutation invalidates, keyed by the mutated prefix,
+     * e.g. /api/admin/users -> [/api/users] so user edits drop cached profiles
+     */
+    private Map<String, List<String>> linkedPrefixes = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<String> routes) {
+        this.routes = routes;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public int getInvalidationPrefixSegments() {
+        return invalidationPrefixSegments;
+    }
+
+    public void setInvalidationPrefixSegments(int invalidationPrefixSegments) {
+        this.invalidationPrefixSegments = invalidationPrefixSegments;
+    }
+
+    public Map<String, List<String>> getLinkedPrefixes() {
+        return linkedPrefixes;
+    }
+
+    public void setLinkedPrefixes(Map<String, List<String>> linkedPrefixes) {
+        this.linkedPrefixes = linkedPrefixes;
+    }
+}
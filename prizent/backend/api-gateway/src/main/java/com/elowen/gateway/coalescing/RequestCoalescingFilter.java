@@ -0,0 +1,181 @@
+package com.elowen.gateway.coalescing;
+
+import com.elowen.gateway.cache.ResponseCacheFilter;
+import com.elowen.gateway.security.TenantIdentity;
+import com.elowen.gateway.security.TenantIdentityResolver;
+import com.elowen.gateway.support.BodyCaptureResponseDecorator;
+import com.elowen.gateway.support.CapturedResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collapses identical in-flight GET requests into a single upstream call
+ * (single-flight).
+ *
+ * COALESCING RULES:
+ * - Only requests with a VERIFIED tenant identity are coalesced. The key is
+ *   route, path, query, Accept, If-None-Match, client id and role, plus the
+ *   user id unless the route is configured as tenant-shared
+ * - The first request (leader) goes upstream; identical requests arriving
+ *   while it is in flight (followers) wait for its buffered response
+ * - Nothing is retained after the leader completes - there is no staleness
+ * - A response above the size cap, a streamed response or a failed leader
+ *   releases the followers to make their own upstream call
+ * - Event streams are never coalesced
+ * - Followers never see the leader's RateLimit-* headers; they are answered
+ *   before RequestRateLimiter runs and have no budget figures of their own
+ *
+ * Runs after the response cache (cache hits never get here) and before
+ * NettyWriteResponseFilter.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestCoalescingFilter.class);
+
+    public static final int ORDER = ResponseCacheFilter.ORDER + 1;
+
+    static final String COALESCED_HEADER = "X-Gateway-Coalesced";
+
+    private final RequestCoalescingProperties properties;
+    private final TenantIdentityResolver identityResolver;
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(RequestCoalescingProperties properties, TenantIdentityResolver identityResolver) {
+        this.properties = properties;
+        this.identityResolver = identityResolver;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || route == null || !properties.getRoutes().contains(route.getId())
+                || request.getMethod() != HttpMethod.GET || isEventStream(request)) {
+            return chain.filter(exchange);
+        }
+
+        Optional<TenantIdentity> identity = identityResolver.resolve(exchange);
+        if (identity.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(route, request, identity.get());
+        Flight flight = new Flight();
+        Flight leading = inFlight.putIfAbsent(key, flight);
+
+        if (leading != null) {
+            return follow(exchange, chain, key, leading);
+        }
+        return lead(exchange, chain, key, flight);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, Flight flight) {
+        BodyCaptureResponseDecorator capturing = new BodyCaptureResponseDecorator(
+                exchange.getResponse(),
+                (int) properties.getMaxBodySize().toBytes(),
+                response -> true,
+                new BodyCaptureResponseDecorator.CaptureListener() {
+                    @Override
+                    public void captured(CapturedResponse response) {
+                        land(key, flight, Optional.of(response));
+                    }
+
+                    @Override
+                    public void skipped() {
+                        land(key, flight, Optional.empty());
+                    }
+                });
+
+        return chain.filter(exchange.mutate().response(capturing).build())
+                // Errors and cancellations never reach the decorator - release followers anyway
+                .doFinally(signal -> land(key, flight, Optional.empty()));
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, String key, Flight leading) {
+        log.debug("Coalescing request onto in-flight call {}", key);
+        return leading.result.asMono()
+                .timeout(properties.getMaxWait(), Mono.just(Optional.empty()))
+                .flatMap(shared -> shared.isPresent()
+                        ? write(exchange.getResponse(), shared.get())
+                        : chain.filter(exchange));
+    }
+
+    /**
+     * Publish the leader's outcome once and stop accepting followers
+     */
+    private void land(String key, Flight flight, Optional<CapturedResponse> outcome) {
+        inFlight.remove(key, flight);
+        flight.result.tryEmitValue(outcome);
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, CapturedResponse shared) {
+        response.setStatusCode(shared.getStatus());
+        // Overwrite rather than clear - CORS headers added by the gateway itself must survive
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(shared.getHeaders());
+        headers.set(COALESCED_HEADER, "true");
+
+        if (shared.getBody().length == 0) {
+            return response.setComplete();
+        }
+        headers.setContentLength(shared.getBody().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.getBody())));
+    }
+
+    private String key(Route route, ServerHttpRequest request, TenantIdentity identity) {
+        HttpHeaders headers = request.getHeaders();
+        StringBuilder key = new StringBuilder(128)
+                .append(route.getId()).append(' ')
+                .append(identity.getClientId()).append(' ')
+                .append(identity.getRole()).append(' ');
+        if (!properties.getTenantSharedRoutes().contains(route.getId())) {
+            key.append(identity.getUserId()).append(' ');
+        }
+        return key.append(request.getPath().pathWithinApplication().value())
+                .append('?').append(nullToEmpty(request.getURI().getRawQuery()))
+                .append(' ').append(nullToEmpty(headers.getFirst(HttpHeaders.ACCEPT)))
+                .append(' ').append(nullToEmpty(headers.getFirst(HttpHeaders.IF_NONE_MATCH)))
+                .toString();
+    }
+
+    private static boolean isEventStream(ServerHttpRequest request) {
+        return request.getHeaders().getAccept().stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype)
+                || request.getPath().value().endsWith("/stream");
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * One in-flight upstream call; empty outcome means "go upstream yourself"
+     */
+    private static final class Flight {
+
+        private final Sinks.One<Optional<CapturedResponse>> result = Sinks.one();
+    }
+}
@@ -0,0 +1,81 @@
+package com.elowen.gateway.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for collapsing identical in-flight GETs (gateway.coalescing.*).
+ */
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class RequestCoalescingProperties {
+
+    /**
+     * Master switch - when false every request goes upstream on its own
+     */
+    private boolean enabled = true;
+
+    /**
+     * Route ids whose GETs may be coalesced (keyed per user by default)
+     */
+    private List<String> routes = new ArrayList<>();
+
+    /**
+     * Subset of routes whose responses depend only on tenant and role,
+     * so concurrent callers of different users may share one upstream call
+     */
+    private List<String> tenantSharedRoutes = new ArrayList<>();
+
+    /**
+     * Responses with a larger body are not shared; waiters then call upstream themselves
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+    /**
+     * How long a waiter follows the leading call before going upstream itself
+     */
+    private Duration maxWait = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<String> routes) {
+        this.routes = routes;
+    }
+
+    public List<String> getTenantSharedRoutes() {
+        return tenantSharedRoutes;
+    }
+
+    public void setTenantSharedRoutes(List<String> tenantSharedRoutes) {
+        this.tenantSharedRoutes = tenantSharedRoutes;
+    }
+
+    public DataSize getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(DataSize maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+}
@@ -0,0 +1,57 @@
+package com.elowen.gateway.compression;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Accept-Encoding negotiation (RFC 9110 section 12.5.3).
+ *
+ * A coding is acceptable when it is listed, or covered by "*", with a
+ * q-value above zero. An explicit entry wins over "*".
+ */
+public final class AcceptEncoding {
+
+    public static final String GZIP = "gzip";
+    public static final String BROTLI = "br";
+
+    private AcceptEncoding() {
+    }
+
+    public static boolean accepts(HttpHeaders requestHeaders, String coding) {
+        List<String> values = requestHeaders.get(HttpHeaders.ACCEPT_ENCODING);
+        if (values == null) {
+            return false;
+        }
+        double explicit = -1;
+        double wildcard = -1;
+        for (String value : values) {
+            for (String element : value.split(",")) {
+                String[] parts = element.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                double q = quality(parts);
+                if (name.equals(coding) || (GZIP.equals(coding) && name.equals("x-gzip"))) {
+                    explicit = Math.max(explicit, q);
+                } else if (name.equals("*")) {
+                    wildcard = q;
+                }
+            }
+        }
+        return explicit >= 0 ? explicit > 0 : wildcard > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,184 @@
+package com.elowen.gateway.compression;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+/**
+ * gzip for JSON responses, negotiated with the client's Accept-Encoding.
+ *
+ * Design Decisions:
+ * - Outermost WebFilter: routed, cached, coalesced and batch responses are
+ *   all compressed in one place, and the response cache keeps the identity
+ *   body so one entry serves every encoding
+ * - Streaming: each upstream chunk is deflated as it passes, so nothing is
+ *   buffered and time to first byte is unchanged
+ * - Bodies with a known Content-Length below min-response-size are skipped;
+ *   chunked bodies are compressed (upstreams chunk only large bodies)
+ * - CPU cap: at most max-concurrent bodies are deflated at once, at the
+ *   configured level; a response that finds no free slot goes out uncompressed
+ *   instead of waiting
+ * - A compressed response gets a weak ETag (the bytes differ from the
+ *   identity body) and Vary: Accept-Encoding; ETag comparisons in the
+ *   gateway and the services are weak, so revalidation keeps working
+ * - Responses already encoded, marked no-transform, partial, or streamed
+ *   with writeAndFlushWith (event streams) are passed through untouched
+ *
+ * Brotli is not produced on the fly: the JDK has no encoder and native
+ * bindings cost more CPU per byte than gzip at useful quality levels. The
+ * frontend's precompressed .br files are served by FrontendAssetHandler.
+ */
+@Component
+public class CompressionFilter implements WebFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(CompressionFilter.class);
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private final CompressionProperties properties;
+    private final Semaphore permits;
+
+    public CompressionFilter(CompressionProperties properties) {
+        this.properties = properties;
+        this.permits = new Semaphore(properties.effectiveMaxConcurrent());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || HttpMethod.HEAD.equals(request.getMethod())
+                || !AcceptEncoding.accepts(request.getHeaders(), AcceptEncoding.GZIP)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new GzipResponse(exchange.getResponse())).build());
+    }
+
+    private boolean compressible(ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        HttpStatusCode status = response.getStatusCode();
+        if (status != null && (status.value() == 204 || status.value() == 206 || status.value() == 304)) {
+            return false;
+        }
+        if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) || headers.containsKey(HttpHeaders.CONTENT_RANGE)) {
+            return false;
+        }
+        List<String> cacheControl = headers.get(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null && cacheControl.stream().anyMatch(v -> v.toLowerCase(Locale.ROOT).contains("no-transform"))) {
+            return false;
+        }
+        long length = headers.getContentLength();
+        if (length >= 0 && length < properties.getMinResponseSize().toBytes()) {
+            return false;
+        }
+        return isCompressibleType(headers.getContentType());
+    }
+
+    private boolean isCompressibleType(MediaType contentType) {
+        return contentType != null && properties.getMimeTypes().stream()
+                .anyMatch(type -> type.isCompatibleWith(contentType));
+    }
+
+    private static void markCompressed(HttpHeaders headers) {
+        headers.set(HttpHeaders.CONTENT_ENCODING, AcceptEncoding.GZIP);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        // Without a length the server would otherwise close the connection to end the body
+        if (!headers.containsKey(HttpHeaders.TRANSFER_ENCODING)) {
+            headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        }
+        String etag = headers.getETag();
+        if (etag != null && !etag.startsWith("W/")) {
+            headers.setETag("W/" + etag);
+        }
+    }
+
+    private static void addVary(HttpHeaders headers) {
+        List<String> vary = headers.getVary();
+        if (vary.stream().noneMatch(v -> v.equals("*") || v.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING))) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private final class GzipResponse extends ServerHttpResponseDecorator {
+
+        private GzipResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!compressible(getDelegate())) {
+                return super.writeWith(body);
+            }
+            addVary(getHeaders());
+
+            // Decided on subscription, before the first chunk commits the headers
+            Flux<DataBuffer> encoded = Flux.defer(() -> {
+                if (!permits.tryAcquire()) {
+                    log.debug("Compression slots busy - sending response uncompressed");
+                    return Flux.from(body);
+                }
+                markCompressed(getHeaders());
+                return Flux.using(() -> new GzipEncoder(properties.getLevel()),
+                        encoder -> Flux.<DataBuffer>from(body)
+                                .concatMapIterable(buffer -> encode(encoder, buffer))
+                                .concatWith(Mono.fromSupplier(() -> wrap(encoder.finish()))),
+                        encoder -> {
+                            encoder.close();
+                            permits.release();
+                        });
+            });
+            return super.writeWith(encoded);
+        }
+
+        private List<DataBuffer> encode(GzipEncoder encoder, DataBuffer buffer) {
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                byte[] out = new byte[0];
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+                    byte[] produced = encoder.encode(chunk);
+                    out = out.length == 0 ? produced : concat(out, produced);
+                }
+                return out.length == 0 ? List.of() : List.of(wrap(out));
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        private DataBuffer wrap(byte[] bytes) {
+            return bufferFactory().wrap(bytes);
+        }
+
+        private static byte[] concat(byte[] first, byte[] second) {
+            byte[] joined = new byte[first.length + second.length];
+            System.arraycopy(first, 0, joined, 0, first.length);
+            System.arraycopy(second, 0, joined, first.length, second.length);
+            return joined;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.elowen.gateway.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for gzip compression of JSON responses (gateway.compression.*).
+ */
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+
+    /**
+     * Master switch - when false responses leave the gateway uncompressed
+     */
+    private boolean enabled = true;
+
+    /**
+     * Responses with a smaller Content-Length are sent as is - below about
+     * a kilobyte gzip saves less than it costs
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+    /**
+     * Content types that are compressed (parameters such as charset are ignored)
+     */
+    private List<MediaType> mimeTypes = new ArrayList<>(List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_PROBLEM_JSON));
+
+    /**
+     * Deflate level 1-9; below the JDK default of 6 to trade a little ratio for CPU
+     */
+    private int level = 5;
+
+    /**
+     * Responses compressed at the same time; further responses go out
+     * uncompressed. 0 = half the available processors
+     */
+    private int maxConcurrent = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMinResponseSize() {
+        return minResponseSize;
+    }
+
+    public void setMinResponseSize(DataSize minResponseSize) {
+        this.minResponseSize = minResponseSize;
+    }
+
+    public List<MediaType> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    public void setMimeTypes(List<MediaType> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public int effectiveMaxConcurrent() {
+        return maxConcurrent > 0 ? maxConcurrent : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
@@ -0,0 +1,78 @@
+package com.elowen.gateway.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Incremental gzip encoder for one response body.
+ *
+ * Each chunk returns whatever compressed bytes the deflater has produced so
+ * far (often none for small chunks); finish() returns the rest plus the gzip
+ * trailer. Not thread-safe - a body's chunks arrive one at a time.
+ */
+final class GzipEncoder implements AutoCloseable {
+
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(8192);
+    private final GZIPOutputStream gzip;
+    private boolean closed;
+
+    GzipEncoder(int level) {
+        try {
+            this.gzip = new GZIPOutputStream(sink, 8192) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    byte[] encode(ByteBuffer chunk) {
+        try {
+            if (chunk.hasArray()) {
+                gzip.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            } else {
+                byte[] copy = new byte[chunk.remaining()];
+                chunk.duplicate().get(copy);
+                gzip.write(copy);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return drain();
+    }
+
+    byte[] finish() {
+        try {
+            gzip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return drain();
+    }
+
+    /**
+     * Frees the deflater's native memory; safe to call more than once
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                gzip.close();
+            } catch (IOException ignored) {
+                // In-memory sink - nothing to report
+            }
+        }
+    }
+
+    private byte[] drain() {
+        byte[] out = sink.toByteArray();
+        sink.reset();
+        return out;
+    }
+}
@@ -0,0 +1,217 @@
+package com.elowen.gateway.frontend;
+
+import com.elowen.gateway.compression.AcceptEncoding;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the built frontend from disk, preferring precompressed variants.
+ *
+ * SERVING RULES:
+ * - A request for x.js is answered with x.js.br or x.js.gz when that file
+ *   exists and the client accepts the encoding (br first); nothing is
+ *   compressed at request time. Such responses carry Vary: Accept-Encoding
+ * - Files under immutable-path-prefixes have content-hashed names and are
+ *   cached for immutable-max-age with "immutable"; everything else (notably
+ *   index.html) is "no-cache" and revalidated with its ETag
+ * - The ETag is derived from the served file's size and modification time,
+ *   so every variant and every rebuild gets its own
+ * - Unknown paths without a file extension get index.html (client-side
+ *   routes); unknown files are 404
+ *
+ * SECURITY RULES:
+ * - Paths with "..", hidden segments, backslashes or NUL are refused
+ * - The resolved file, after following links, must lie inside the build directory
+ *
+ * File lookups block, so they run on the bounded elastic scheduler; the
+ * body itself is sent with zero-copy file transfer.
+ */
+public class FrontendAssetHandler implements HandlerFunction<ServerResponse> {
+
+    private static final String INDEX = "index.html";
+
+    private static final List<String> ENCODINGS = List.of(AcceptEncoding.BROTLI, AcceptEncoding.GZIP);
+
+    private final FrontendProperties properties;
+    private final Path root;
+
+    public FrontendAssetHandler(FrontendProperties properties) {
+        this.properties = properties;
+        this.root = properties.getLocation().toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Mono<ServerResponse> handle(ServerRequest request) {
+        String path = UriUtils.decode(request.requestPath().pathWithinApplication().value(), StandardCharsets.UTF_8);
+        HttpHeaders requestHeaders = request.headers().asHttpHeaders();
+        return Mono.fromCallable(() -> resolve(path, requestHeaders))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(asset -> respond(requestHeaders, asset))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
+    }
+
+    /**
+     * The file to send for a request path, or null for 404
+     */
+    private Asset resolve(String path, HttpHeaders requestHeaders) throws IOException {
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        if (relative.isEmpty() || relative.endsWith("/")) {
+            relative = relative + INDEX;
+        }
+        if (!isSafe(relative)) {
+            return null;
+        }
+
+        Path file = inside(root.resolve(relative).normalize());
+        if (file == null) {
+            if (!properties.isSpaFallback() || hasExtension(relative)) {
+                return null;
+            }
+            file = inside(root.resolve(INDEX));
+            if (file == null) {
+                return null;
+            }
+            return asset(file, requestHeaders, false);
+        }
+        return asset(file, requestHeaders, isImmutable(path));
+    }
+
+    private Asset asset(Path file, HttpHeaders requestHeaders, boolean immutable) throws IOException {
+        MediaType mediaType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        boolean hasVariants = false;
+        for (String encoding : ENCODINGS) {
+            Path variant = file.resolveSibling(file.getFileName() + (AcceptEncoding.BROTLI.equals(encoding) ? ".br" : ".gz"));
+            if (!Files.isRegularFile(variant, LinkOption.NOFOLLOW_LINKS)) {
+                continue;
+            }
+            hasVariants = true;
+            if (AcceptEncoding.accepts(requestHeaders, encoding)) {
+                return new Asset(variant, encoding, mediaType, immutable, true,
+                        Files.readAttributes(variant, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+            }
+        }
+        return new Asset(file, null, mediaType, immutable, hasVariants,
+                Files.readAttributes(file, BasicFileAttributes.class));
+    }
+
+    private Mono<ServerResponse> respond(HttpHeaders requestHeaders, Asset asset) {
+        long lastModified = asset.attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(asset.attributes.size()) + "-" + Long.toHexString(lastModified)
+                + (asset.encoding != null ? "-" + asset.encoding : "") + "\"";
+        CacheControl cacheControl = asset.immutable
+                ? CacheControl.maxAge(properties.getImmutableMaxAge().toSeconds(), TimeUnit.SECONDS).cachePublic().immutable()
+                : CacheControl.noCache();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setLastModified(lastModified);
+        headers.setCacheControl(cacheControl);
+        if (asset.hasVariants) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        if (notModified(requestHeaders, etag, lastModified)) {
+            return ServerResponse.status(304).headers(h -> h.addAll(headers)).build();
+        }
+        if (asset.encoding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, asset.encoding);
+        }
+        return ServerResponse.ok()
+                .headers(h -> h.addAll(headers))
+                .contentType(asset.mediaType)
+                .contentLength(asset.attributes.size())
+                .body(BodyInserters.fromResource(new FileSystemResource(asset.file)));
+    }
+
+    /**
+     * If-None-Match (weak comparison) takes precedence over If-Modified-Since
+     */
+    private static boolean notModified(HttpHeaders requestHeaders, String etag, long lastModified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String tag = weak(etag);
+            return ifNoneMatch.stream().anyMatch(candidate -> "*".equals(candidate.trim()) || weak(candidate).equals(tag));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static String weak(String etag) {
+        String trimmed = etag.trim();
+        return trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed;
+    }
+
+    private boolean isImmutable(String path) {
+        return properties.getImmutablePathPrefixes().stream().anyMatch(path::startsWith);
+    }
+
+    /**
+     * The regular file at the given path if it really lies inside the build directory
+     */
+    private Path inside(Path candidate) throws IOException {
+        if (!candidate.startsWith(root) || !Files.isRegularFile(candidate)) {
+            return null;
+        }
+        Path real = candidate.toRealPath();
+        return real.startsWith(root.toRealPath()) ? candidate : null;
+    }
+
+    private static boolean isSafe(String relative) {
+        if (relative.indexOf('\\') >= 0 || relative.indexOf('\0') >= 0) {
+            return false;
+        }
+        for (String segment : relative.split("/")) {
+            if (segment.startsWith(".")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasExtension(String relative) {
+        String name = relative.substring(relative.lastIndexOf('/') + 1);
+        return name.indexOf('.') > 0;
+    }
+
+    private static final class Asset {
+
+        private final Path file;
+        private final String encoding;
+        private final MediaType mediaType;
+        private final boolean immutable;
+        private final boolean hasVariants;
+        private final BasicFileAttributes attributes;
+
+        private Asset(Path file, String encoding, MediaType mediaType, boolean immutable, boolean hasVariants,
+                      BasicFileAttributes attributes) {
+            this.file = file;
+            this.encoding = encoding;
+            this.mediaType = mediaType;
+            this.immutable = immutable;
+            this.hasVariants = hasVariants;
+            this.attributes = attributes;
+        }
+    }
+}
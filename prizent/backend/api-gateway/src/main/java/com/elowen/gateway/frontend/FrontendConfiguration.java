@@ -0,0 +1,46 @@
+package com.elowen.gateway.frontend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.nio.file.Files;
+
+/**
+ * Maps GET/HEAD requests outside the excluded prefixes to the frontend.
+ *
+ * Router functions are consulted before the gateway's route mapping, so the
+ * predicate must leave /api/** alone; everything else the gateway receives
+ * is a page or asset of the web app.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.frontend", name = "enabled", havingValue = "true")
+public class FrontendConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(FrontendConfiguration.class);
+
+    @Bean
+    public RouterFunction<ServerResponse> frontendRoutes(FrontendProperties properties) {
+        if (!Files.isDirectory(properties.getLocation())) {
+            log.warn("Frontend build directory {} does not exist - frontend requests will get 404",
+                    properties.getLocation().toAbsolutePath());
+        }
+        RequestPredicate frontendRequest = request -> {
+            HttpMethod method = request.method();
+            if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+                return false;
+            }
+            String path = request.requestPath().pathWithinApplication().value();
+            return properties.getExcludedPathPrefixes().stream().noneMatch(prefix -> path.startsWith(prefix)
+                    || (prefix.endsWith("/") && path.equals(prefix.substring(0, prefix.length() - 1))));
+        };
+        return RouterFunctions.route(frontendRequest, new FrontendAssetHandler(properties));
+    }
+}
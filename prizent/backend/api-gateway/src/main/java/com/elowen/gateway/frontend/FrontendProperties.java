@@ -0,0 +1,87 @@
+package com.elowen.gateway.frontend;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serving the built web frontend from disk (gateway.frontend.*).
+ */
+@ConfigurationProperties(prefix = "gateway.frontend")
+public class FrontendProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Build output directory (index.html, static/...)
+     */
+    private Path location = Path.of("build");
+
+    /**
+     * Path prefixes never served from disk - they belong to routes and endpoints
+     */
+    private List<String> excludedPathPrefixes = new ArrayList<>(List.of("/api/", "/actuator/"));
+
+    /**
+     * Path prefixes whose file names carry a content hash; served as immutable
+     */
+    private List<String> immutablePathPrefixes = new ArrayList<>(List.of("/static/"));
+
+    private Duration immutableMaxAge = Duration.ofDays(365);
+
+    /**
+     * Unknown extension-less paths get index.html so client-side routes survive a reload
+     */
+    private boolean spaFallback = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getLocation() {
+        return location;
+    }
+
+    public void setLocation(Path location) {
+        this.location = location;
+    }
+
+    public List<String> getExcludedPathPrefixes() {
+        return excludedPathPrefixes;
+    }
+
+    public void setExcludedPathPrefixes(List<String> excludedPathPrefixes) {
+        this.excludedPathPrefixes = excludedPathPrefixes;
+    }
+
+    public List<String> getImmutablePathPrefixes() {
+        return immutablePathPrefixes;
+    }
+
+    public void setImmutablePathPrefixes(List<String> immutablePathPrefixes) {
+        this.immutablePathPrefixes = immutablePathPrefixes;
+    }
+
+    public Duration getImmutableMaxAge() {
+        return immutableMaxAge;
+    }
+
+    public void setImmutableMaxAge(Duration immutableMaxAge) {
+        this.immutableMaxAge = immutableMaxAge;
+    }
+
+    public boolean isSpaFallback() {
+        return spaFallback;
+    }
+
+    public void setSpaFallback(boolean spaFallback) {
+        this.spaFallback = spaFallback;
+    }
+}
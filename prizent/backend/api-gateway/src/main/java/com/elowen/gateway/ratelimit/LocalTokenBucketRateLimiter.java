@@ -0,0 +1,117 @@
+package com.elowen.gateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token-bucket RateLimiter for the gateway's RequestRateLimiter
+ * filter - no Redis required.
+ *
+ * Design Decisions:
+ * - One bucket per (route, key); keys come from TenantKeyResolver, so each
+ *   tenant has its own budget per route and cannot starve other tenants
+ * - Limits come from gateway.rate-limit (plan per tenant, overridable per
+ *   route) rather than from per-route filter args
+ * - Bucket updates are lock-free (see TokenBucket); idle buckets are swept
+ *   lazily from the request path, at most once per eviction interval
+ * - Limits are per gateway instance; with N instances a tenant's effective
+ *   limit is N times the configured one
+ *
+ * Response headers follow the IETF RateLimit header fields draft:
+ * RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset, plus Retry-After
+ * on rejection.
+ */
+@Component
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<RateLimitProperties.Limit> {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalTokenBucketRateLimiter.class);
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final RateLimitProperties properties;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    public LocalTokenBucketRateLimiter(RateLimitProperties properties, ConfigurationService configurationService) {
+        super(RateLimitProperties.Limit.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        if (!properties.isEnabled()) {
+            return Mono.just(new Response(true, Map.of()));
+        }
+
+        long now = System.nanoTime();
+        RateLimitProperties.Limit limit = limitFor(routeId, id);
+        TokenBucket bucket = buckets.computeIfAbsent(routeId + '|' + id,
+                key -> new TokenBucket(limit.getBurstCapacity(), now));
+        TokenBucket.Decision decision = bucket.tryConsume(limit, now);
+
+        sweepIdleBuckets(now);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(LIMIT_HEADER, String.valueOf(limit.getBurstCapacity()));
+        headers.put(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        headers.put(RESET_HEADER, String.valueOf(decision.secondsUntilReset()));
+        if (!decision.isAllowed()) {
+            headers.put(RETRY_AFTER_HEADER, String.valueOf(decision.secondsUntilNextToken()));
+            log.debug("Rate limit exceeded for {} on route {} ({})", id, routeId, limit);
+        }
+        return Mono.just(new Response(decision.isAllowed(), headers));
+    }
+
+    private RateLimitProperties.Limit limitFor(String routeId, String id) {
+        String plan = planFor(id);
+
+        Map<String, RateLimitProperties.Limit> routeLimits = properties.getRoutes().get(routeId);
+        if (routeLimits != null && routeLimits.containsKey(plan)) {
+            return routeLimits.get(plan);
+        }
+
+        RateLimitProperties.Limit planLimit = properties.getPlans().get(plan);
+        if (planLimit == null) {
+            planLimit = properties.getPlans().get(properties.getDefaultPlan());
+        }
+        return planLimit != null ? planLimit : new RateLimitProperties.Limit();
+    }
+
+    private String planFor(String id) {
+        if (!id.startsWith(TenantKeyResolver.CLIENT_PREFIX)) {
+            return RateLimitProperties.ANONYMOUS_PLAN;
+        }
+        try {
+            UUID clientId = UUID.fromString(id.substring(TenantKeyResolver.CLIENT_PREFIX.length()));
+            return properties.getTenantPlans().getOrDefault(clientId, properties.getDefaultPlan());
+        } catch (IllegalArgumentException e) {
+            return properties.getDefaultPlan();
+        }
+    }
+
+    private void sweepIdleBuckets(long now) {
+        long interval = properties.getIdleEviction().toNanos();
+        long last = lastSweepNanos.get();
+        if (now - last < interval || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        long idleSince = now - interval;
+        buckets.values().removeIf(bucket -> bucket.idleSince(idleSince));
+    }
+}
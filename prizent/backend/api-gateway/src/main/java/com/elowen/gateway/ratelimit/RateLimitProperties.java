@@ -0,0 +1,136 @@
+package com.elowen.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-tenant-plan and per-route request limits (gateway.rate-limit.*).
+ *
+ * Resolution order for a request: routes[routeId][plan], then plans[plan].
+ * A tenant's plan comes from tenant-plans, otherwise default-plan;
+ * callers without a verified token use the "anonymous" plan.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    public static final String ANONYMOUS_PLAN = "anonymous";
+
+    /**
+     * Master switch - when false every request is allowed
+     */
+    private boolean enabled = true;
+
+    /**
+     * Plan used for tenants not listed in tenant-plans
+     */
+    private String defaultPlan = "standard";
+
+    /**
+     * Limits per plan name
+     */
+    private Map<String, Limit> plans = new LinkedHashMap<>();
+
+    /**
+     * Plan name per client id
+     */
+    private Map<UUID, String> tenantPlans = new LinkedHashMap<>();
+
+    /**
+     * Route overrides: route id -> plan name -> limit
+     */
+    private Map<String, Map<String, Limit>> routes = new LinkedHashMap<>();
+
+    /**
+     * Buckets untouched for this long are dropped (they would be full anyway)
+     */
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDefaultPlan() {
+        return defaultPlan;
+    }
+
+    public void setDefaultPlan(String defaultPlan) {
+        this.defaultPlan = defaultPlan;
+    }
+
+    public Map<String, Limit> getPlans() {
+        return plans;
+    }
+
+    public void setPlans(Map<String, Limit> plans) {
+        this.plans = plans;
+    }
+
+    public Map<UUID, String> getTenantPlans() {
+        return tenantPlans;
+    }
+
+    public void setTenantPlans(Map<UUID, String> tenantPlans) {
+        this.tenantPlans = tenantPlans;
+    }
+
+    public Map<String, Map<String, Limit>> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Map<String, Limit>> routes) {
+        this.routes = routes;
+    }
+
+    public Duration getIdleEviction() {
+        return idleEviction;
+    }
+
+    public void setIdleEviction(Duration idleEviction) {
+        this.idleEviction = idleEviction;
+    }
+
+    /**
+     * Token bucket parameters
+     */
+    public static class Limit {
+
+        /**
+         * Tokens added per second (sustained requests per second)
+         */
+        private int replenishRate = 20;
+
+        /**
+         * Bucket size (largest burst allowed after an idle period)
+         */
+        private int burstCapacity = 40;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        @Override
+        public String toString() {
+            return "Limit{replenishRate=" + replenishRate + ", burstCapacity=" + burstCapacity + '}';
+        }
+    }
+}
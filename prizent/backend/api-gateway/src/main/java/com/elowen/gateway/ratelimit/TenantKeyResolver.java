@@ -0,0 +1,48 @@
+package com.elowen.gateway.ratelimit;
+
+import com.elowen.gateway.security.TenantIdentityResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Rate-limit key: the verified client id, or the caller's address for
+ * anonymous requests (login, public logos).
+ *
+ * Keys are prefixed ("client:", "anon:") so the rate limiter can tell them
+ * apart and pick the right plan. Primary over the gateway's default
+ * principal-name resolver, which would deny every unauthenticated request.
+ */
+@Primary
+@Component("tenantKeyResolver")
+public class TenantKeyResolver implements KeyResolver {
+
+    static final String CLIENT_PREFIX = "client:";
+    static final String ANONYMOUS_PREFIX = "anon:";
+
+    private final TenantIdentityResolver identityResolver;
+
+    public TenantKeyResolver(TenantIdentityResolver identityResolver) {
+        this.identityResolver = identityResolver;
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return Mono.just(identityResolver.resolve(exchange)
+                .map(identity -> CLIENT_PREFIX + identity.getClientId())
+                .orElseGet(() -> ANONYMOUS_PREFIX + remoteAddress(exchange)));
+    }
+
+    private static String remoteAddress(ServerWebExchange exchange) {
+        // Direct peer only - forwarded headers are client-controlled
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.elowen.gateway.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket.
+ *
+ * The whole state (tokens, last refill time) is one immutable snapshot
+ * swapped with compare-and-set, so concurrent callers never block and never
+ * see tokens and timestamp out of step. Refill is computed lazily from the
+ * elapsed time - no timer threads.
+ */
+final class TokenBucket {
+
+    private final AtomicReference<State> state;
+
+    TokenBucket(int burstCapacity, long nowNanos) {
+        this.state = new AtomicReference<>(new State(burstCapacity, nowNanos));
+    }
+
+    /**
+     * Try to take one token under the given limit
+     */
+    Decision tryConsume(RateLimitProperties.Limit limit, long nowNanos) {
+        double rate = limit.getReplenishRate();
+        double capacity = limit.getBurstCapacity();
+
+        while (true) {
+            State current = state.get();
+            long elapsed = Math.max(0L, nowNanos - current.refilledAtNanos);
+            double available = Math.min(capacity, current.tokens + elapsed * rate / TimeUnit.SECONDS.toNanos(1));
+
+            boolean allowed = available >= 1.0;
+            State next = new State(allowed ? available - 1.0 : available, Math.max(nowNanos, current.refilledAtNanos));
+            if (state.compareAndSet(current, next)) {
+                return new Decision(allowed, next.tokens, rate, capacity);
+            }
+        }
+    }
+
+    /**
+     * True when the bucket has not been touched since the given time
+     */
+    boolean idleSince(long nanos) {
+        return state.get().refilledAtNanos - nanos < 0;
+    }
+
+    private static final class State {
+
+        private final double tokens;
+        private final long refilledAtNanos;
+
+        private State(double tokens, long refilledAtNanos) {
+            this.tokens = tokens;
+            this.refilledAtNanos = refilledAtNanos;
+        }
+    }
+
+    /**
+     * Outcome of one consume attempt
+     */
+    static final class Decision {
+
+        private final boolean allowed;
+        private final double tokens;
+        private final double rate;
+        private final double capacity;
+
+        private Decision(boolean allowed, double tokens, double rate, double capacity) {
+            this.allowed = allowed;
+            this.tokens = tokens;
+            this.rate = rate;
+            this.capacity = capacity;
+        }
+
+        boolean isAllowed() {
+            return allowed;
+        }
+
+        long remaining() {
+            return (long) Math.floor(tokens);
+        }
+
+        /**
+         * Seconds until the bucket is full again
+         */
+        long secondsUntilReset() {
+            return rate <= 0 ? 0 : (long) Math.ceil((capacity - tokens) / rate);
+        }
+
+        /**
+         * Seconds until the next token is available
+         */
+        long secondsUntilNextToken() {
+            return rate <= 0 ? 1 : Math.max(1L, (long) Math.ceil((1.0 - tokens) / rate));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.elowen.gateway.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Count-based circuit breaker for one route.
+ *
+ * CLOSED: calls flow; outcomes of the last window-size calls are kept.
+ * OPEN: calls are refused until open-duration has passed.
+ * HALF_OPEN: a few trial calls are let through; all succeeding closes the
+ * breaker, any failure opens it again.
+ *
+ * State changes are rare and the critical sections tiny, so the breaker is
+ * simply synchronized.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ResilienceProperties.CircuitBreaker policy;
+
+    // Ring of recent outcomes; only meaningful while CLOSED
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    CircuitBreaker(ResilienceProperties.CircuitBreaker policy) {
+        this.policy = policy;
+        this.failed = new boolean[policy.getWindowSize()];
+        this.slow = new boolean[policy.getWindowSize()];
+    }
+
+    /**
+     * Whether a call may go upstream now. Every granted permission must be
+     * followed by exactly one onResult(...) or release().
+     */
+    synchronized boolean tryAcquire(long nowNanos) {
+        if (state == State.OPEN) {
+            if (nowNanos - openedAtNanos < policy.getOpenDuration().toNanos()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialPermits = policy.getHalfOpenCalls();
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialPermits == 0) {
+                return false;
+            }
+            trialPermits--;
+        }
+        return true;
+    }
+
+    synchronized void onResult(boolean failure, boolean slowCall, long nowNanos) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure) {
+                    open(nowNanos);
+                } else if (++trialSuccesses >= policy.getHalfOpenCalls()) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                record(failure, slowCall);
+                if (calls >= policy.getMinimumCalls()
+                        && (failures * 100 >= policy.getFailureRateThreshold() * calls
+                        || slowCalls * 100 >= policy.getSlowCallRateThreshold() * calls)) {
+                    open(nowNanos);
+                }
+            }
+            case OPEN -> {
+                // A call admitted before the breaker opened - nothing left to decide
+            }
+        }
+    }
+
+    /**
+     * Give back a permission whose call ended without an outcome (client went away)
+     */
+    synchronized void release() {
+        if (state == State.HALF_OPEN && trialPermits < policy.getHalfOpenCalls() - trialSuccesses) {
+            trialPermits++;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Whole seconds until trial calls are allowed again (at least 1)
+     */
+    synchronized long secondsUntilRetry(long nowNanos) {
+        long remaining = policy.getOpenDuration().toNanos() - (nowNanos - openedAtNanos);
+        return Math.max(1L, (long) Math.ceil(remaining / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private void record(boolean failure, boolean slowCall) {
+        if (calls == failed.length) {
+            // Window full - the oldest outcome drops out
+            if (failed[next]) {
+                failures--;
+            }
+            if (slow[next]) {
+                slowCalls--;
+            }
+        } else {
+            calls++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        if (failure) {
+            failures++;
+        }
+        if (slowCall) {
+            slowCalls++;
+        }
+        next = (next + 1) % failed.length;
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openedAtNanos = nowNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
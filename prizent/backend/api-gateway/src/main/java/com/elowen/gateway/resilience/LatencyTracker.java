@@ -0,0 +1,51 @@
+package com.elowen.gateway.resilience;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * Recent upstream latencies of one route, for hedging delays.
+ *
+ * Keeps the last SAMPLES latencies in a ring and recomputes the requested
+ * percentile only every RECOMPUTE_EVERY samples - sorting on every request
+ * would cost more than the hedge saves.
+ */
+final class LatencyTracker {
+
+    private static final int SAMPLES = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples = new long[SAMPLES];
+    private int next;
+    private int size;
+    private int sinceRecompute = RECOMPUTE_EVERY;
+    private int cachedPercentile = -1;
+    private long cachedNanos;
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % SAMPLES;
+        if (size < SAMPLES) {
+            size++;
+        }
+        sinceRecompute++;
+    }
+
+    /**
+     * Latency at the given percentile, or empty while fewer than minSamples were seen
+     */
+    synchronized OptionalLong percentileNanos(int percentile, int minSamples) {
+        if (size == 0 || size < minSamples) {
+            return OptionalLong.empty();
+        }
+        if (sinceRecompute >= RECOMPUTE_EVERY || percentile != cachedPercentile) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = Math.min(size - 1, (int) Math.ceil(percentile / 100.0 * size) - 1);
+            cachedNanos = sorted[Math.max(0, index)];
+            cachedPercentile = percentile;
+            sinceRecompute = 0;
+        }
+        return OptionalLong.of(cachedNanos);
+    }
+}
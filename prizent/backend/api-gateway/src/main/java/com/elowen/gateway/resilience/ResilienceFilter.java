@@ -0,0 +1,305 @@
+package com.elowen.gateway.resilience;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Per-route timeout, circuit breaker and budgeted retries for upstream calls.
+ *
+ * Runs after the request URL is known and before UpstreamLoadBalancerFilter,
+ * so every retry is balanced again (and avoids the instance that failed).
+ * An attempt ends when the upstream's response headers arrive; the body is
+ * only written afterwards, so a 502/503/504 can still be discarded and retried.
+ *
+ * Fallbacks are answered by the gateway itself:
+ * - breaker open: 503 with Retry-After and X-Gateway-Circuit: open
+ * - attempt timeout: 504
+ *
+ * Deadline propagation: every attempt carries X-Request-Deadline, the epoch
+ * millisecond after which the gateway no longer waits for it (now + route
+ * timeout). A deadline already on the request (from a caller or a batch) is
+ * kept when it is earlier and shortens the attempt timeout to match; one
+ * that has passed is answered with 504 without calling the upstream.
+ * Services stop working on a request once its deadline passes.
+ */
+@Component
+public class ResilienceFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienceFilter.class);
+
+    // After RouteToRequestUrlFilter (10000), before UpstreamLoadBalancerFilter (10149)
+    public static final int ORDER = 10100;
+
+    public static final String CIRCUIT_HEADER = "X-Gateway-Circuit";
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    private static final Set<String> UPSTREAM_SCHEMES = Set.of("lb", "http", "https");
+
+    private final ResilienceProperties properties;
+    private final RouteResilience resilience;
+    private final ObjectMapper objectMapper;
+
+    public ResilienceFilter(ResilienceProperties properties, RouteResilience resilience, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.resilience = resilience;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (!properties.isEnabled() || route == null || url == null || !UPSTREAM_SCHEMES.contains(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        Call call = new Call(route.getId(), url, resilience.policy(route.getId()),
+                resilience.breaker(route.getId()), resilience.budget(route.getId()),
+                resilience.latency(route.getId()), isRetryable(exchange.getRequest(), resilience.policy(route.getId())));
+        call.budget.onRequest();
+
+        if (!call.acquire()) {
+            log.debug("Circuit open for route {} - answering with fallback", call.routeId);
+            return rejectOpen(exchange, call);
+        }
+        return attempt(exchange, chain, call, 0);
+    }
+
+    private Mono<Void> attempt(ServerWebExchange exchange, GatewayFilterChain chain, Call call, int retriesUsed) {
+        long startNanos = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+        long deadlineMillis = nowMillis + call.policy.getTimeout().toMillis();
+        Long callerDeadline = callerDeadline(exchange.getRequest());
+        if (callerDeadline != null && callerDeadline < deadlineMillis) {
+            if (callerDeadline <= nowMillis) {
+                call.release();
+                return writeError(exchange, HttpStatus.GATEWAY_TIMEOUT, "Request deadline passed before it was routed");
+            }
+            deadlineMillis = callerDeadline;
+        }
+        Duration timeout = Duration.ofMillis(deadlineMillis - nowMillis);
+        String deadline = String.valueOf(deadlineMillis);
+        ServerWebExchange stamped = exchange.mutate()
+                .request(request -> request.headers(headers -> headers.set(DEADLINE_HEADER, deadline)))
+                .build();
+
+        return chain.filter(stamped)
+                .timeout(timeout, Mono.error(() -> new TimeoutException("No upstream response within " + timeout)))
+                .doOnCancel(call::release)
+                .then(Mono.fromSupplier(() -> Outcome.response(exchange.getResponse().getStatusCode())))
+                .onErrorResume(error -> Mono.just(Outcome.error(error)))
+                .flatMap(outcome -> settle(exchange, chain, call, retriesUsed, outcome, System.nanoTime() - startNanos));
+    }
+
+    private Mono<Void> settle(ServerWebExchange exchange, GatewayFilterChain chain, Call call, int retriesUsed,
+                              Outcome outcome, long elapsedNanos) {
+        boolean failure = outcome.error != null || (outcome.status != null && outcome.status.is5xxServerError());
+        call.record(failure, elapsedNanos);
+        if (outcome.error == null) {
+            call.latency.record(elapsedNanos);
+        }
+
+        boolean retryableOutcome = outcome.error != null
+                || (outcome.status != null && call.policy.getRetry().getStatuses().contains(outcome.status.value()));
+        if (retryableOutcome && call.retryable && retriesUsed < call.policy.getRetry().getMaxRetries() && call.acquireRetry()) {
+            log.debug("Retrying route {} after {} (retry {})", call.routeId,
+                    outcome.error != null ? outcome.error.toString() : outcome.status, retriesUsed + 1);
+            reset(exchange, call.requestUrl);
+            return Mono.delay(call.policy.getRetry().getBackoff())
+                    .then(attempt(exchange, chain, call, retriesUsed + 1));
+        }
+
+        if (outcome.error instanceof TimeoutException) {
+            reset(exchange, call.requestUrl);
+            return writeError(exchange, HttpStatus.GATEWAY_TIMEOUT, "Upstream did not respond in time");
+        }
+        return outcome.error != null ? Mono.error(outcome.error) : Mono.empty();
+    }
+
+    private Mono<Void> rejectOpen(ServerWebExchange exchange, Call call) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(call.breaker.secondsUntilRetry(System.nanoTime())));
+        response.getHeaders().set(CIRCUIT_HEADER, "open");
+        return writeError(exchange, HttpStatus.SERVICE_UNAVAILABLE, "Service temporarily unavailable, retry later");
+    }
+
+    /**
+     * Undo a finished attempt so the exchange can be routed again.
+     * The upstream body was never read, so its connection is closed rather than reused.
+     */
+    private static void reset(ServerWebExchange exchange, URI requestUrl) {
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        if (connection != null) {
+            connection.dispose();
+        }
+        Set<String> upstreamHeaders = exchange.getAttributeOrDefault(ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES, Set.of());
+        upstreamHeaders.forEach(exchange.getResponse().getHeaders()::remove);
+
+        exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR);
+        exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES);
+        ServerWebExchangeUtils.removeAlreadyRouted(exchange);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, requestUrl);
+        exchange.getResponse().setStatusCode(null);
+    }
+
+    private Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(bytes.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+    /**
+     * Deadline the caller sent along, or null when absent or unreadable
+     */
+    private static Long callerDeadline(ServerHttpRequest request) {
+        String value = request.getHeaders().getFirst(DEADLINE_HEADER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Idempotent method and no request body - a body is streamed once and cannot be replayed
+     */
+    private static boolean isRetryable(ServerHttpRequest request, ResilienceProperties.Policy policy) {
+        HttpHeaders headers = request.getHeaders();
+        boolean hasBody = headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+        return !hasBody && policy.getRetry().getMaxRetries() > 0 && policy.getRetry().getMethods().contains(request.getMethod());
+    }
+
+    /**
+     * State of one client request across its attempts
+     */
+    private static final class Call {
+
+        private final String routeId;
+        private final URI requestUrl;
+        private final ResilienceProperties.Policy policy;
+        private final CircuitBreaker breaker;
+        private final RetryBudget budget;
+        private final LatencyTracker latency;
+        private final boolean retryable;
+
+        // True while the current attempt holds a breaker permission without an outcome
+        private boolean permitHeld;
+
+        private Call(String routeId, URI requestUrl, ResilienceProperties.Policy policy, CircuitBreaker breaker,
+                     RetryBudget budget, LatencyTracker latency, boolean retryable) {
+            this.routeId = routeId;
+            this.requestUrl = requestUrl;
+            this.policy = policy;
+            this.breaker = breaker;
+            this.budget = budget;
+            this.latency = latency;
+            this.retryable = retryable;
+        }
+
+        private boolean breakerEnabled() {
+            return policy.getCircuitBreaker().isEnabled();
+        }
+
+        private boolean acquire() {
+            if (!breakerEnabled()) {
+                return true;
+            }
+            permitHeld = breaker.tryAcquire(System.nanoTime());
+            return permitHeld;
+        }
+
+        /**
+         * Breaker first: no budget is spent on a retry the breaker would refuse
+         */
+        private boolean acquireRetry() {
+            if (!acquire()) {
+                return false;
+            }
+            if (budget.tryRetry(System.nanoTime())) {
+                return true;
+            }
+            release();
+            return false;
+        }
+
+        private void record(boolean failure, long elapsedNanos) {
+            if (breakerEnabled() && permitHeld) {
+                permitHeld = false;
+                boolean slow = elapsedNanos > policy.getCircuitBreaker().getSlowCallDuration().toNanos();
+                breaker.onResult(failure, slow, System.nanoTime());
+            }
+        }
+
+        private void release() {
+            if (permitHeld) {
+                permitHeld = false;
+                breaker.release();
+            }
+        }
+    }
+
+    private static final class Outcome {
+
+        private final HttpStatusCode status;
+        private final Throwable error;
+
+        private Outcome(HttpStatusCode status, Throwable error) {
+            this.status = status;
+            this.error = error;
+        }
+
+        static Outcome response(HttpStatusCode status) {
+            return new Outcome(status, null);
+        }
+
+        static Outcome error(Throwable error) {
+            return new Outcome(null, error);
+        }
+    }
+}
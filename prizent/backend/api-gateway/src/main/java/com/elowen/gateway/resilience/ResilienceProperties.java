@@ -0,0 +1,342 @@
+package com.elowen.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route timeouts, circuit breakers, retries and hedging (gateway.resilience.*).
+ *
+ * A route listed under routes uses that policy as a whole; every other
+ * route uses defaults. Fields a route policy leaves out take the built-in
+ * defaults below, not the values under gateway.resilience.defaults.
+ */
+@ConfigurationProperties(prefix = "gateway.resilience")
+public class ResilienceProperties {
+
+    /**
+     * Master switch - when false requests go straight to the upstream
+     */
+    private boolean enabled = true;
+
+    private Policy defaults = new Policy();
+
+    /**
+     * Route overrides: route id -> policy
+     */
+    private Map<String, Policy> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Policy getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Policy defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Policy> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Policy> routes) {
+        this.routes = routes;
+    }
+
+    public Policy policyFor(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    public static class Policy {
+
+        /**
+         * Longest wait for upstream response headers, per attempt; answered with 504
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        private Retry retry = new Retry();
+
+        private Hedge hedge = new Hedge();
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public CircuitBreaker getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        public Retry getRetry() {
+            return retry;
+        }
+
+        public void setRetry(Retry retry) {
+            this.retry = retry;
+        }
+
+        public Hedge getHedge() {
+            return hedge;
+        }
+
+        public void setHedge(Hedge hedge) {
+            this.hedge = hedge;
+        }
+    }
+
+    /**
+     * Count-based breaker over the last window-size upstream calls.
+     * A call fails on a 5xx, an error or a timeout; it is slow when it takes
+     * longer than slow-call-duration.
+     */
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        private int windowSize = 50;
+
+        /**
+         * Calls in the window before the rates are evaluated
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * Percentage of failed calls that opens the breaker
+         */
+        private int failureRateThreshold = 50;
+
+        private Duration slowCallDuration = Duration.ofSeconds(3);
+
+        /**
+         * Percentage of slow calls that opens the breaker
+         */
+        private int slowCallRateThreshold = 80;
+
+        /**
+         * Time the breaker stays open before trial calls are let through
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /**
+         * Trial calls in half-open state; all must succeed to close again
+         */
+        private int halfOpenCalls = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public int getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+
+    /**
+     * Retries of idempotent, bodiless requests, limited by a per-route budget.
+     * Every request earns budget-ratio of a retry; min-retries-per-second are
+     * always available so low-traffic routes can still retry.
+     */
+    public static class Retry {
+
+        private int maxRetries = 1;
+
+        private List<HttpMethod> methods = new ArrayList<>(List.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS));
+
+        /**
+         * Upstream statuses worth another attempt (connection failures and timeouts always are)
+         */
+        private List<Integer> statuses = new ArrayList<>(List.of(502, 503, 504));
+
+        private Duration backoff = Duration.ofMillis(50);
+
+        private double budgetRatio = 0.2;
+
+        private int minRetriesPerSecond = 5;
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public List<HttpMethod> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<HttpMethod> methods) {
+            this.methods = methods;
+        }
+
+        public List<Integer> getStatuses() {
+            return statuses;
+        }
+
+        public void setStatuses(List<Integer> statuses) {
+            this.statuses = statuses;
+        }
+
+        public Duration getBackoff() {
+            return backoff;
+        }
+
+        public void setBackoff(Duration backoff) {
+            this.backoff = backoff;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+        }
+    }
+
+    /**
+     * Hedged GET/HEAD: when the first attempt has not answered after the
+     * route's observed latency percentile, a second one is sent (to another
+     * instance when there is one) and the first answer wins.
+     */
+    public static class Hedge {
+
+        private boolean enabled = false;
+
+        private int percentile = 95;
+
+        /**
+         * Latency samples needed before hedging starts
+         */
+        private int minSamples = 50;
+
+        private Duration minDelay = Duration.ofMillis(20);
+
+        private Duration maxDelay = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(int percentile) {
+            this.percentile = percentile;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.elowen.gateway.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry budget for one route.
+ *
+ * Retries are only allowed while they stay a small fraction of traffic:
+ * each request deposits budget-ratio of a retry, each retry withdraws one.
+ * A reserve of min-retries-per-second refills with time so quiet routes can
+ * still retry. When a service degrades, retries therefore stop multiplying
+ * the load on it.
+ */
+final class RetryBudget {
+
+    /**
+     * Deposits kept at most - roughly the retries earned by the last 100 requests
+     */
+    private static final int DEPOSIT_WINDOW = 100;
+
+    private final ResilienceProperties.Retry policy;
+
+    private double deposits;
+    private double reserve;
+    private long refilledAtNanos;
+
+    RetryBudget(ResilienceProperties.Retry policy, long nowNanos) {
+        this.policy = policy;
+        this.reserve = policy.getMinRetriesPerSecond();
+        this.refilledAtNanos = nowNanos;
+    }
+
+    synchronized void onRequest() {
+        deposits = Math.min(DEPOSIT_WINDOW * policy.getBudgetRatio(), deposits + policy.getBudgetRatio());
+    }
+
+    synchronized boolean tryRetry(long nowNanos) {
+        int perSecond = policy.getMinRetriesPerSecond();
+        long elapsed = Math.max(0L, nowNanos - refilledAtNanos);
+        reserve = Math.min(perSecond, reserve + elapsed * (double) perSecond / TimeUnit.SECONDS.toNanos(1));
+        refilledAtNanos = Math.max(refilledAtNanos, nowNanos);
+
+        if (deposits >= 1.0) {
+            deposits -= 1.0;
+            return true;
+        }
+        if (reserve >= 1.0) {
+            reserve -= 1.0;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package com.elowen.gateway.resilience;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-route resilience state: breakers, retry budgets and latency samples.
+ *
+ * State is created on a route's first request and lives as long as the
+ * gateway - routes are few and fixed by configuration.
+ */
+@Component
+public class RouteResilience {
+
+    private final ResilienceProperties properties;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+    public RouteResilience(ResilienceProperties properties) {
+        this.properties = properties;
+    }
+
+    public ResilienceProperties.Policy policy(String routeId) {
+        return properties.policyFor(routeId);
+    }
+
+    /**
+     * How long a GET on this route waits before it is hedged; empty = do not hedge
+     */
+    public Optional<Duration> hedgeDelay(String routeId) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        ResilienceProperties.Hedge hedge = policy(routeId).getHedge();
+        if (!hedge.isEnabled()) {
+            return Optional.empty();
+        }
+        OptionalLong observed = latency(routeId).percentileNanos(hedge.getPercentile(), hedge.getMinSamples());
+        if (observed.isEmpty()) {
+            return Optional.empty();
+        }
+        long delay = Math.max(hedge.getMinDelay().toNanos(), Math.min(hedge.getMaxDelay().toNanos(), observed.getAsLong()));
+        return Optional.of(Duration.ofNanos(delay));
+    }
+
+    CircuitBreaker breaker(String routeId) {
+        return breakers.computeIfAbsent(routeId, id -> new CircuitBreaker(policy(id).getCircuitBreaker()));
+    }
+
+    RetryBudget budget(String routeId) {
+        return budgets.computeIfAbsent(routeId, id -> new RetryBudget(policy(id).getRetry(), System.nanoTime()));
+    }
+
+    LatencyTracker latency(String routeId) {
+        return latencies.computeIfAbsent(routeId, id -> new LatencyTracker());
+    }
+}
@@ -0,0 +1,43 @@
+package com.elowen.gateway.security;
+
+import java.util.UUID;
+
+/**
+ * Verified caller identity extracted from the JWT at the gateway.
+ *
+ * Only ever built from a token whose signature and expiry were checked,
+ * so it is safe to use as a cache, coalescing or rate-limit key.
+ */
+public final class TenantIdentity {
+
+    private final UUID clientId;
+    private final UUID userId;
+    private final String role;
+
+    public TenantIdentity(UUID clientId, UUID userId, String role) {
+        this.clientId = clientId;
+        this.userId = userId;
+        this.role = role;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String toString() {
+        return "TenantIdentity{" +
+                "clientId=" + clientId +
+                ", userId=" + userId +
+                ", role='" + role + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package com.elowen.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves the verified tenant identity of a gateway request.
+ *
+ * SECURITY RULES:
+ * - The token signature and expiry are verified with the shared JWT secret;
+ *   an unverifiable token yields no identity (never a guessed one)
+ * - The gateway does NOT reject requests here - services still authenticate.
+ *   Identity is only used to key per-tenant gateway state
+ *
+ * The result is memoised on the exchange so several filters share one parse.
+ */
+@Component
+public class TenantIdentityResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantIdentityResolver.class);
+
+    private static final String IDENTITY_ATTR = TenantIdentityResolver.class.getName() + ".identity";
+
+    // JWT claim keys (must match identity-service JwtUtil)
+    private static final String CLAIM_CLIENT_ID = "client_id";
+    private static final String CLAIM_USER_ID = "user_id";
+    private static final String CLAIM_ROLE = "role";
+
+    private final SecretKey secretKey;
+
+    public TenantIdentityResolver(@Value("${jwt.secret}") String secret) {
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < 32) {
+            throw new IllegalArgumentException("JWT secret must be at least 32 bytes for HS256");
+        }
+        this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+    }
+
+    /**
+     * Verified identity of the caller, or empty for anonymous/invalid tokens
+     */
+    public Optional<TenantIdentity> resolve(ServerWebExchange exchange) {
+        Object cached = exchange.getAttributes().get(IDENTITY_ATTR);
+        if (cached != null) {
+            return ((Optional<?>) cached).map(TenantIdentity.class::cast);
+        }
+
+        Optional<TenantIdentity> identity = parse(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        exchange.getAttributes().put(IDENTITY_ATTR, identity);
+        return identity;
+    }
+
+    private Optional<TenantIdentity> parse(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(secretKey)
+                    .build()
+                    .parseSignedClaims(authHeader.substring(7))
+                    .getPayload();
+
+            String clientId = claims.get(CLAIM_CLIENT_ID, String.class);
+            String userId = claims.get(CLAIM_USER_ID, String.class);
+            if (clientId == null || userId == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new TenantIdentity(
+                    UUID.fromString(clientId),
+                    UUID.fromString(userId),
+                    claims.get(CLAIM_ROLE, String.class)));
+
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired, tampered or malformed - the downstream service will answer 401
+            log.debug("Ignoring unverifiable token at gateway: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.elowen.gateway.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Response decorator that copies the body of an upstream response while it
+ * streams through to the client.
+ *
+ * Design Decisions:
+ * - The body is never held back: buffers are copied as they pass, so
+ *   capturing adds no latency for the client
+ * - Capture gives up as soon as the body exceeds maxBytes, so large
+ *   responses cost no more memory than the cap
+ * - The listener is told exactly once: captured(...) or skipped()
+ */
+public class BodyCaptureResponseDecorator extends ServerHttpResponseDecorator {
+
+    /**
+     * Headers that describe one connection/transfer or one caller's rate-limit
+     * budget and must not be replayed. Coalesced followers and cache hits are
+     * answered before RequestRateLimiter runs, so they carry no RateLimit-*
+     * values rather than somebody else's.
+     */
+    private static final List<String> NON_REPLAYABLE_HEADERS = List.of(
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION,
+            HttpHeaders.SET_COOKIE,
+            HttpHeaders.CONTENT_LENGTH,
+            "Keep-Alive",
+            "RateLimit-Limit",
+            "RateLimit-Remaining",
+            "RateLimit-Reset");
+
+    private final int maxBytes;
+    private final Predicate<ServerHttpResponse> captureCondition;
+    private final CaptureListener listener;
+    private final AtomicBoolean notified = new AtomicBoolean();
+
+    public BodyCaptureResponseDecorator(ServerHttpResponse delegate, int maxBytes,
+                                        Predicate<ServerHttpResponse> captureCondition,
+                                        CaptureListener listener) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.captureCondition = captureCondition;
+        this.listener = listener;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!captureCondition.test(getDelegate())) {
+            notifySkipped();
+            return super.writeWith(body);
+        }
+
+        // Snapshot before commit - beforeCommit actions may still rewrite the live headers
+        HttpHeaders headers = replayableHeaders(getDelegate().getHeaders());
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        AtomicBoolean overflow = new AtomicBoolean();
+
+        Flux<? extends DataBuffer> tapped = Flux.from(body)
+                .doOnNext(buffer -> {
+                    if (overflow.get()) {
+                        return;
+                    }
+                    if (copy.size() + buffer.readableByteCount() > maxBytes) {
+                        overflow.set(true);
+                        copy.reset();
+                        return;
+                    }
+                    copyReadable(buffer, copy);
+                })
+                .doOnComplete(() -> {
+                    if (overflow.get()) {
+                        notifySkipped();
+                    } else {
+                        notifyCaptured(headers, copy.toByteArray());
+                    }
+                })
+                .doOnError(error -> notifySkipped())
+                .doOnCancel(this::notifySkipped);
+
+        return super.writeWith(tapped);
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        // Streaming responses are never captured
+        notifySkipped();
+        return super.writeAndFlushWith(body);
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        if (captureCondition.test(getDelegate())) {
+            notifyCaptured(replayableHeaders(getDelegate().getHeaders()), new byte[0]);
+        } else {
+            notifySkipped();
+        }
+        return super.setComplete();
+    }
+
+    /**
+     * Copy of the current response headers that can safely be replayed
+     */
+    public static HttpHeaders replayableHeaders(HttpHeaders source) {
+        HttpHeaders headers = new HttpHeaders();
+        source.forEach((name, values) -> {
+            if (NON_REPLAYABLE_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        return headers;
+    }
+
+    private void notifyCaptured(HttpHeaders headers, byte[] body) {
+        if (notified.compareAndSet(false, true)) {
+            HttpStatusCode status = getDelegate().getStatusCode() != null
+                    ? getDelegate().getStatusCode() : HttpStatus.OK;
+            listener.captured(new CapturedResponse(status, headers, body));
+        }
+    }
+
+    private void notifySkipped() {
+        if (notified.compareAndSet(false, true)) {
+            listener.skipped();
+        }
+    }
+
+    private static void copyReadable(DataBuffer buffer, ByteArrayOutputStream out) {
+        // Views over the readable bytes - the buffer's read position is untouched
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                byte[] chunk = new byte[byteBuffer.remaining()];
+                byteBuffer.get(chunk);
+                out.write(chunk, 0, chunk.length);
+            }
+        }
+    }
+
+    /**
+     * Outcome callback for a captured response
+     */
+    public interface CaptureListener {
+
+        void captured(CapturedResponse response);
+
+        void skipped();
+    }
+}
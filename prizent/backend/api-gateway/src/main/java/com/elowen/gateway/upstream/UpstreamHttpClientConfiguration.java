@@ -0,0 +1,54 @@
+package com.elowen.gateway.upstream;
+
+import com.elowen.gateway.resilience.RouteResilience;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Upstream HTTP client wiring: per-upstream pools and h2c routing.
+ *
+ * The factory replaces the gateway's default (it backs off when one is
+ * defined); the routing filter replaces NettyRoutingFilter, which is switched
+ * off with spring.cloud.gateway.global-filter.netty-routing.enabled=false.
+ * That switch also drops NettyWriteResponseFilter, so it is registered here.
+ */
+@Configuration(proxyBeanMethods = false)
+public class UpstreamHttpClientConfiguration {
+
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+                                                      ServerProperties serverProperties,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      UpstreamProperties upstreamProperties) {
+        return new UpstreamHttpClientFactory(properties, serverProperties, sslConfigurer, customizers, upstreamProperties);
+    }
+
+    @Bean
+    public UpstreamRoutingFilter upstreamRoutingFilter(HttpClient httpClient,
+                                                       ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                       HttpClientProperties properties,
+                                                       UpstreamProperties upstreamProperties,
+                                                       RouteResilience resilience,
+                                                       UpstreamRegistry registry) {
+        return new UpstreamRoutingFilter(httpClient, headersFilters, properties, upstreamProperties, resilience, registry);
+    }
+
+    @Bean
+    public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties properties) {
+        // Writes the upstream body to the client - without it responses end after the headers
+        return new NettyWriteResponseFilter(properties.getStreamingMediaTypes());
+    }
+}
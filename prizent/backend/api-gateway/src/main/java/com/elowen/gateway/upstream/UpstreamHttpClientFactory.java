@@ -0,0 +1,87 @@
+package com.elowen.gateway.upstream;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Gateway HttpClient factory with one connection pool per upstream.
+ *
+ * Keeps the shared spring.cloud.gateway.httpclient.pool settings as the
+ * default and adds a host-specific pool for every upstream instance:
+ * - HTTP/1.1 upstreams get their own connection limit and eviction timings
+ * - H2C upstreams get an HTTP/2 allocation strategy: a few connections,
+ *   each carrying up to maxConcurrentStreams requests
+ */
+public class UpstreamHttpClientFactory extends HttpClientFactory {
+
+    private final UpstreamProperties upstreamProperties;
+
+    public UpstreamHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                                     HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+                                     UpstreamProperties upstreamProperties) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.upstreamProperties = upstreamProperties;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        HttpClientProperties.Pool pool = properties.getPool();
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
+            return super.buildConnectionProvider(properties);
+        }
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName());
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
+            builder.maxConnections(pool.getMaxConnections())
+                    .pendingAcquireMaxCount(-1)
+                    .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()));
+        } else {
+            builder.maxConnections(Integer.MAX_VALUE)
+                    .pendingAcquireTimeout(Duration.ofMillis(0))
+                    .pendingAcquireMaxCount(-1);
+        }
+        if (pool.getMaxIdleTime() != null) {
+            builder.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if (pool.getMaxLifeTime() != null) {
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+        builder.evictInBackground(pool.getEvictionInterval());
+        builder.metrics(pool.isMetrics());
+
+        upstreamProperties.getServices().values().forEach(service ->
+                service.authorities().forEach(authority ->
+                        // Pools are keyed by the unresolved address taken from the request URL
+                        builder.forRemoteHost(UpstreamInstance.parseAddress(authority),
+                                spec -> configure(spec, service, pool.isMetrics()))));
+
+        return builder.build();
+    }
+
+    private static void configure(ConnectionProvider.HostSpecificSpec spec, UpstreamProperties.Service service,
+                                  boolean metrics) {
+        spec.maxConnections(service.getMaxConnections())
+                .pendingAcquireMaxCount(service.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(service.getPendingAcquireTimeout())
+                .maxIdleTime(service.getMaxIdleTime())
+                .maxLifeTime(service.getMaxLifeTime())
+                .evictInBackground(service.getEvictionInterval())
+                .metrics(metrics);
+
+        if (service.getProtocol() == UpstreamProperties.Protocol.H2C) {
+            spec.allocationStrategy(Http2AllocationStrategy.builder()
+                    .minConnections(1)
+                    .maxConnections(service.getMaxConnections())
+                    .maxConcurrentStreams(service.getMaxConcurrentStreams())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.elowen.gateway.upstream;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One running instance of an upstream service and its live state.
+ *
+ * Design Decisions:
+ * - Instances start healthy so a freshly started gateway routes at once;
+ *   the first failed checks eject dead ones
+ * - Health transitions need several consecutive results in a row, so a
+ *   single slow check does not flap an instance in and out
+ * - Outstanding counts requests in flight from this gateway only
+ */
+public final class UpstreamInstance {
+
+    private final String service;
+    private final String host;
+    private final int port;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    // Transitions are synchronized; the flag is read lock-free on every request
+    private volatile boolean healthy = true;
+    private int consecutiveFailures;
+    private int consecutiveSuccesses;
+
+    UpstreamInstance(String service, String authority) {
+        InetSocketAddress address = parseAddress(authority);
+        this.service = service;
+        this.host = address.getHostString();
+        this.port = address.getPort();
+    }
+
+    /**
+     * Unresolved address of a "host:port" string
+     */
+    static InetSocketAddress parseAddress(String authority) {
+        int separator = authority.lastIndexOf(':');
+        if (separator <= 0 || separator == authority.length() - 1) {
+            throw new IllegalArgumentException("Upstream instance must be host:port, got: " + authority);
+        }
+        return InetSocketAddress.createUnresolved(authority.substring(0, separator),
+                Integer.parseInt(authority.substring(separator + 1)));
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Record a health check result.
+     * Returns true when the instance changed between healthy and ejected.
+     */
+    synchronized boolean recordCheck(boolean up, UpstreamProperties.HealthCheck policy) {
+        if (up) {
+            consecutiveFailures = 0;
+            consecutiveSuccesses++;
+            if (!healthy && consecutiveSuccesses >= policy.getHealthyThreshold()) {
+                healthy = true;
+                return true;
+            }
+        } else {
+            consecutiveSuccesses = 0;
+            consecutiveFailures++;
+            if (healthy && consecutiveFailures >= policy.getUnhealthyThreshold()) {
+                healthy = false;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Eject at once after a connection to the instance was refused.
+     * The health check feeds it back in when it recovers.
+     */
+    synchronized boolean eject() {
+        if (!healthy) {
+            return false;
+        }
+        healthy = false;
+        consecutiveSuccesses = 0;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return service + "@" + host + ":" + port;
+    }
+}
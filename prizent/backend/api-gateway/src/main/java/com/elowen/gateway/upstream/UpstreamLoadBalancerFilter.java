@@ -0,0 +1,117 @@
+package com.elowen.gateway.upstream;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Resolves lb://service route URIs to one instance from UpstreamRegistry.
+ *
+ * Runs after RouteToRequestUrlFilter has built the request URL and just
+ * before the gateway's NoLoadBalancerClientFilter, which would otherwise
+ * reject the lb scheme (there is no Spring Cloud LoadBalancer on the
+ * classpath).
+ *
+ * The instance counts as busy until the response has been fully written,
+ * so least-outstanding selection sees slow bodies as well as slow headers.
+ * Instances already tried by this request (a retry) are avoided when possible.
+ */
+@Component
+public class UpstreamLoadBalancerFilter implements GlobalFilter, Ordered {
+
+    // One below ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER (10150)
+    public static final int ORDER = 10149;
+
+    /**
+     * Service name of the lb:// URI being routed
+     */
+    public static final String SERVICE_ATTR = UpstreamLoadBalancerFilter.class.getName() + ".service";
+
+    /**
+     * Instances chosen so far for this exchange (Set of UpstreamInstance)
+     */
+    public static final String TRIED_INSTANCES_ATTR = UpstreamLoadBalancerFilter.class.getName() + ".tried";
+
+    private static final String LB_SCHEME = "lb";
+
+    private final UpstreamRegistry registry;
+
+    public UpstreamLoadBalancerFilter(UpstreamRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !LB_SCHEME.equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        String service = url.getHost();
+        if (!registry.isKnown(service)) {
+            return Mono.error(NotFoundException.create(false, "No upstream instances configured for " + service));
+        }
+        Set<UpstreamInstance> tried = triedInstances(exchange);
+        UpstreamInstance instance = registry.choose(service, tried).orElse(null);
+        if (instance == null) {
+            return Mono.error(NotFoundException.create(false, "No healthy instance available for " + service));
+        }
+        tried.add(instance);
+
+        URI instanceUrl = withInstance(url, instance);
+        ServerWebExchangeUtils.addOriginalRequestUrl(exchange, url);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, instanceUrl);
+        exchange.getAttributes().put(SERVICE_ATTR, service);
+
+        instance.requestStarted();
+        return chain.filter(exchange)
+                .doOnError(error -> {
+                    if (isConnectFailure(error)) {
+                        registry.reportConnectFailure(instance);
+                    }
+                })
+                .doFinally(signal -> instance.requestFinished());
+    }
+
+    /**
+     * Absolute URL of the same request on another instance
+     */
+    public static URI withInstance(URI url, UpstreamInstance instance) {
+        return UriComponentsBuilder.fromUri(url)
+                .scheme("http")
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Set<UpstreamInstance> triedInstances(ServerWebExchange exchange) {
+        return (Set<UpstreamInstance>) exchange.getAttributes().computeIfAbsent(TRIED_INSTANCES_ATTR, key -> new HashSet<>());
+    }
+
+    private static boolean isConnectFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,263 @@
+package com.elowen.gateway.upstream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-upstream protocol and connection pool settings (gateway.upstream.*).
+ *
+ * Each service runs one or more instances (host:port). Routes address a
+ * service as lb://<service-name>; UpstreamLoadBalancerFilter picks the
+ * instance. Upstreams not listed here use the shared
+ * spring.cloud.gateway.httpclient.pool settings over HTTP/1.1.
+ */
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamProperties {
+
+    /**
+     * Upstream settings keyed by service name (the host of lb:// route URIs)
+     */
+    private Map<String, Service> services = new LinkedHashMap<>();
+
+    public Map<String, Service> getServices() {
+        return services;
+    }
+
+    public void setServices(Map<String, Service> services) {
+        this.services = services;
+    }
+
+    public enum Protocol {
+        /**
+         * One request at a time per connection
+         */
+        HTTP11,
+        /**
+         * Cleartext HTTP/2 with prior knowledge - many concurrent streams per connection
+         */
+        H2C
+    }
+
+    public static class Service {
+
+        /**
+         * Single-instance shorthand, used when no instances are listed
+         */
+        private String host = "localhost";
+
+        private int port;
+
+        /**
+         * "host:port" of every instance; pool settings below apply per instance
+         */
+        private List<String> instances = new ArrayList<>();
+
+        private HealthCheck healthCheck = new HealthCheck();
+
+        private Protocol protocol = Protocol.HTTP11;
+
+        /**
+         * HTTP/1.1: concurrent requests; H2C: connections, each multiplexing streams
+         */
+        private int maxConnections = 50;
+
+        /**
+         * H2C only: streams per connection before another connection is opened
+         */
+        private long maxConcurrentStreams = 100;
+
+        /**
+         * Requests allowed to wait for a connection; -1 = unbounded
+         */
+        private int pendingAcquireMaxCount = 500;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Idle connections are closed after this long (keep below the upstream's keep-alive timeout)
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * Connections are recycled after this long, even when busy
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+
+        /**
+         * How often idle/expired connections are evicted in the background
+         */
+        private Duration evictionInterval = Duration.ofSeconds(15);
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public List<String> getInstances() {
+            return instances;
+        }
+
+        public void setInstances(List<String> instances) {
+            this.instances = instances;
+        }
+
+        public HealthCheck getHealthCheck() {
+            return healthCheck;
+        }
+
+        public void setHealthCheck(HealthCheck healthCheck) {
+            this.healthCheck = healthCheck;
+        }
+
+        public Protocol getProtocol() {
+            return protocol;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            this.protocol = protocol;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public long getMaxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        public void setMaxConcurrentStreams(long maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        /**
+         * "host:port" of every instance, as seen in routed request URLs
+         */
+        public List<String> authorities() {
+            return instances.isEmpty() ? List.of(host + ":" + port) : instances;
+        }
+    }
+
+    /**
+     * Active health check of each instance.
+     * Any response below 500 counts as up - services without a health
+     * endpoint still prove their JVM is serving requests.
+     */
+    public static class HealthCheck {
+
+        private String path = "/";
+
+        private Duration interval = Duration.ofSeconds(5);
+
+        private Duration timeout = Duration.ofSeconds(2);
+
+        /**
+         * Consecutive failures before an instance is ejected
+         */
+        private int unhealthyThreshold = 2;
+
+        /**
+         * Consecutive successes before an ejected instance is fed back in
+         */
+        private int healthyThreshold = 2;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getUnhealthyThreshold() {
+            return unhealthyThreshold;
+        }
+
+        public void setUnhealthyThreshold(int unhealthyThreshold) {
+            this.unhealthyThreshold = unhealthyThreshold;
+        }
+
+        public int getHealthyThreshold() {
+            return healthyThreshold;
+        }
+
+        public void setHealthyThreshold(int healthyThreshold) {
+            this.healthyThreshold = healthyThreshold;
+        }
+    }
+}
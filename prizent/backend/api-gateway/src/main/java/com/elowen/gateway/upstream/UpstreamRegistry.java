@@ -0,0 +1,146 @@
+package com.elowen.gateway.upstream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Static registry of upstream instances with active health checks.
+ *
+ * Instances come from gateway.upstream.services (application.yml or the
+ * optional upstreams file imported there).
+ *
+ * Design Decisions:
+ * - Least outstanding requests: an instance that is slow (GC, BCrypt burst)
+ *   accumulates in-flight requests and stops receiving new ones
+ * - Ties are broken at random so idle instances share load evenly
+ * - Health checks use their own small connection pool, never the request pools
+ * - When every instance of a service is ejected, requests fail fast with 503
+ *   instead of waiting on connect timeouts
+ */
+@Component
+public class UpstreamRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamRegistry.class);
+
+    private final UpstreamProperties properties;
+    private final Map<String, List<UpstreamInstance>> instancesByService;
+    private final ConnectionProvider healthCheckConnections = ConnectionProvider.builder("upstream-health")
+            .maxConnections(20)
+            .build();
+    private final Disposable.Composite healthChecks = Disposables.composite();
+
+    public UpstreamRegistry(UpstreamProperties properties) {
+        this.properties = properties;
+        this.instancesByService = properties.getServices().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().authorities().stream()
+                        .map(authority -> new UpstreamInstance(entry.getKey(), authority))
+                        .toList()));
+    }
+
+    @PostConstruct
+    public void startHealthChecks() {
+        instancesByService.forEach((service, instances) -> {
+            UpstreamProperties.HealthCheck policy = properties.getServices().get(service).getHealthCheck();
+            HttpClient client = HttpClient.create(healthCheckConnections).responseTimeout(policy.getTimeout());
+
+            healthChecks.add(Flux.interval(policy.getInterval())
+                    .onBackpressureDrop()
+                    .concatMap(tick -> Flux.fromIterable(instances)
+                            .flatMap(instance -> check(client, instance, policy)))
+                    .subscribe());
+        });
+        log.info("Upstream registry: {}", instancesByService);
+    }
+
+    @PreDestroy
+    public void stopHealthChecks() {
+        healthChecks.dispose();
+        healthCheckConnections.dispose();
+    }
+
+    /**
+     * Whether routes may address this service as lb://service
+     */
+    public boolean isKnown(String service) {
+        return instancesByService.containsKey(service);
+    }
+
+    /**
+     * Healthy instance with the fewest requests in flight, or empty if all are ejected.
+     * Instances in avoid (already tried for this request) are only used when
+     * no other healthy instance is left.
+     */
+    public Optional<UpstreamInstance> choose(String service, Collection<UpstreamInstance> avoid) {
+        List<UpstreamInstance> instances = instancesByService.getOrDefault(service, List.of());
+        UpstreamInstance best = leastOutstanding(instances, avoid);
+        return Optional.ofNullable(best != null || avoid.isEmpty() ? best : leastOutstanding(instances, List.of()));
+    }
+
+    private static UpstreamInstance leastOutstanding(List<UpstreamInstance> instances, Collection<UpstreamInstance> avoid) {
+        UpstreamInstance best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        int ties = 0;
+        for (UpstreamInstance instance : instances) {
+            if (!instance.isHealthy() || avoid.contains(instance)) {
+                continue;
+            }
+            int outstanding = instance.getOutstanding();
+            if (outstanding < bestOutstanding) {
+                best = instance;
+                bestOutstanding = outstanding;
+                ties = 1;
+            } else if (outstanding == bestOutstanding && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                // Reservoir sampling keeps every tied instance equally likely
+                best = instance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Passive signal from live traffic - the instance refused a connection
+     */
+    public void reportConnectFailure(UpstreamInstance instance) {
+        if (instance.eject()) {
+            log.warn("Ejected upstream {} after a refused connection", instance);
+        }
+    }
+
+    public Map<String, List<UpstreamInstance>> getInstances() {
+        return instancesByService;
+    }
+
+    private Mono<Void> check(HttpClient client, UpstreamInstance instance, UpstreamProperties.HealthCheck policy) {
+        return client.get()
+                .uri("http://" + instance.getHost() + ":" + instance.getPort() + policy.getPath())
+                .responseSingle((response, body) -> Mono.just(response.status().code() < 500))
+                .onErrorReturn(false)
+                .defaultIfEmpty(false)
+                .doOnNext(up -> {
+                    if (instance.recordCheck(up, policy)) {
+                        if (up) {
+                            log.info("Upstream {} recovered - back in rotation", instance);
+                        } else {
+                            log.warn("Upstream {} failed {} health checks - ejected", instance, policy.getUnhealthyThreshold());
+                        }
+                    }
+                })
+                .then();
+    }
+}
@@ -0,0 +1,207 @@
+package com.elowen.gateway.upstream;
+
+import com.elowen.gateway.resilience.RouteResilience;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Routing filter that speaks h2c to upstreams configured for it and hedges
+ * slow GETs.
+ *
+ * Replaces the gateway's NettyRoutingFilter (disabled in application.yml).
+ * The h2c client shares the connection provider of the default client, so
+ * each upstream still has exactly one pool (see UpstreamHttpClientFactory).
+ *
+ * Hedging (gateway.resilience.*.hedge): a bodiless GET/HEAD that has no
+ * response headers after the route's latency percentile is sent again, to
+ * another instance when there is one. The first response to arrive is
+ * relayed; the other request is cancelled. The response carries
+ * X-Gateway-Hedged: true when the second request won.
+ */
+public class UpstreamRoutingFilter extends NettyRoutingFilter {
+
+    public static final String HEDGED_HEADER = "X-Gateway-Hedged";
+
+    private final HttpClient defaultClient;
+    private final HttpClient h2cClient;
+    private final Set<String> h2cAuthorities;
+    private final RouteResilience resilience;
+    private final UpstreamRegistry registry;
+
+    public UpstreamRoutingFilter(HttpClient httpClient,
+                                 ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                 HttpClientProperties properties,
+                                 UpstreamProperties upstreamProperties,
+                                 RouteResilience resilience,
+                                 UpstreamRegistry registry) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.defaultClient = httpClient;
+        this.h2cClient = httpClient.protocol(HttpProtocol.H2C);
+        this.h2cAuthorities = upstreamProperties.getServices().values().stream()
+                .filter(service -> service.getProtocol() == UpstreamProperties.Protocol.H2C)
+                .flatMap(service -> service.authorities().stream())
+                .collect(Collectors.toUnmodifiableSet());
+        this.resilience = resilience;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Optional<Duration> hedgeDelay = hedgeDelay(exchange);
+        if (hedgeDelay.isEmpty()) {
+            return super.filter(exchange, chain);
+        }
+        return hedged(exchange, chain, hedgeDelay.get());
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient client = super.getHttpClient(route, exchange);
+        if (!isH2c(exchange)) {
+            return client;
+        }
+        // Routes without timeout metadata get the shared client back - reuse the prebuilt h2c copy
+        return client == defaultClient ? h2cClient : client.protocol(HttpProtocol.H2C);
+    }
+
+    private boolean isH2c(ServerWebExchange exchange) {
+        if (h2cAuthorities.isEmpty()) {
+            return false;
+        }
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        return url != null && "http".equals(url.getScheme()) && h2cAuthorities.contains(url.getHost() + ":" + url.getPort());
+    }
+
+    private Optional<Duration> hedgeDelay(ServerWebExchange exchange) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        if (url == null || route == null || !"http".equals(url.getScheme()) || ServerWebExchangeUtils.isAlreadyRouted(exchange)) {
+            return Optional.empty();
+        }
+        boolean safe = HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod());
+        boolean hasBody = request.getHeaders().getContentLength() > 0
+                || request.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING);
+        if (!safe || hasBody) {
+            return Optional.empty();
+        }
+        return resilience.hedgeDelay(route.getId());
+    }
+
+    private Mono<Void> hedged(ServerWebExchange exchange, GatewayFilterChain chain, Duration delay) {
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+        URI url = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        HttpClient client = getHttpClient(route, exchange);
+        HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(getHeadersFilters(), exchange);
+        AtomicBoolean claimed = new AtomicBoolean();
+
+        Mono<HttpClientResponse> primary = send(client, exchange, url, requestHeaders, claimed, false);
+        Mono<HttpClientResponse> hedge = Mono.delay(delay).then(Mono.defer(() -> {
+            UpstreamInstance instance = hedgeInstance(exchange);
+            if (instance == null) {
+                return send(client, exchange, url, requestHeaders, claimed, true);
+            }
+            instance.requestStarted();
+            return send(client, exchange, UpstreamLoadBalancerFilter.withInstance(url, instance), requestHeaders, claimed, true)
+                    .doFinally(signal -> instance.requestFinished());
+        }));
+
+        // The slower request is cancelled as soon as one has response headers
+        return Mono.firstWithValue(primary, hedge).then(chain.filter(exchange));
+    }
+
+    /**
+     * Another healthy instance of the routed service, or null to resend to the same one
+     */
+    private UpstreamInstance hedgeInstance(ServerWebExchange exchange) {
+        String service = exchange.getAttribute(UpstreamLoadBalancerFilter.SERVICE_ATTR);
+        if (service == null) {
+            return null;
+        }
+        Set<UpstreamInstance> tried = UpstreamLoadBalancerFilter.triedInstances(exchange);
+        return registry.choose(service, tried)
+                .filter(instance -> !tried.contains(instance))
+                .orElse(null);
+    }
+
+    private Mono<HttpClientResponse> send(HttpClient client, ServerWebExchange exchange, URI url,
+                                          HttpHeaders requestHeaders, AtomicBoolean claimed, boolean isHedge) {
+        ServerHttpRequest request = exchange.getRequest();
+        boolean preserveHost = exchange.getAttributeOrDefault(ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE, false);
+
+        return client.headers(headers -> {
+                    requestHeaders.forEach(headers::set);
+                    headers.remove(HttpHeaders.HOST);
+                    if (preserveHost) {
+                        headers.add(HttpHeaders.HOST, request.getHeaders().getFirst(HttpHeaders.HOST));
+                    }
+                })
+                .request(io.netty.handler.codec.http.HttpMethod.valueOf(request.getMethod().name()))
+                .uri(url.toASCIIString())
+                .responseConnection((response, connection) -> {
+                    if (!claimed.compareAndSet(false, true)) {
+                        // The other request won the race
+                        connection.dispose();
+                        return Mono.<HttpClientResponse>empty();
+                    }
+                    applyResponse(exchange, response, connection, isHedge);
+                    return Mono.just(response);
+                })
+                .next();
+    }
+
+    /**
+     * Same exchange state NettyRoutingFilter sets, so NettyWriteResponseFilter relays the body
+     */
+    private void applyResponse(ServerWebExchange exchange, HttpClientResponse upstream, Connection connection,
+                               boolean isHedge) {
+        exchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR, upstream);
+        exchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR, connection);
+
+        HttpHeaders headers = new HttpHeaders();
+        upstream.responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (StringUtils.hasLength(contentType)) {
+            exchange.getAttributes().put(ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentType);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(upstream.status().code()));
+        HttpHeaders filtered = HttpHeadersFilter.filter(getHeadersFilters(), headers, exchange, HttpHeadersFilter.Type.RESPONSE);
+        if (!filtered.containsKey(HttpHeaders.TRANSFER_ENCODING) && filtered.containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        }
+        if (isHedge) {
+            filtered.set(HEDGED_HEADER, "true");
+        }
+        exchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES, filtered.keySet());
+        response.getHeaders().addAll(filtered);
+    }
+}
@@ -0,0 +1,60 @@
+package com.elowen.gateway;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Which route a path resolves to, in the gateway's own matching order.
+ * Routes with their own resilience policy must not be hidden by a catch-all.
+ */
+@SpringBootTest(properties = "spring.config.import=")
+class GatewayRoutesTest {
+
+    @Autowired
+    private RouteLocator routeLocator;
+
+    @Test
+    void importsResolveToImportRoute() {
+        assertThat(routeFor(MockServerHttpRequest.post("/api/products/imports"))).isEqualTo("product-service-imports");
+        assertThat(routeFor(MockServerHttpRequest.get("/api/products/imports/0b6e4c7a-4c4e-4a43-9d3e-7a4f0e0f1a11")))
+                .isEqualTo("product-service-imports");
+    }
+
+    @Test
+    void exportResolvesToExportRoute() {
+        assertThat(routeFor(MockServerHttpRequest.get("/api/products/export"))).isEqualTo("product-service-exports");
+    }
+
+    @Test
+    void otherProductPathsResolveToProductRoute() {
+        assertThat(routeFor(MockServerHttpRequest.get("/api/products"))).isEqualTo("product-service");
+        assertThat(routeFor(MockServerHttpRequest.get("/api/products/search"))).isEqualTo("product-service");
+    }
+
+    @Test
+    void brandLogosResolveToLogoRoute() {
+        assertThat(routeFor(MockServerHttpRequest.get("/api/admin/brands/logos/3f2a9c/thumb")))
+                .isEqualTo("admin-service-brand-logos");
+        assertThat(routeFor(MockServerHttpRequest.get("/api/admin/brands"))).isEqualTo("admin-service-brands");
+    }
+
+    private String routeFor(MockServerHttpRequest.BaseBuilder<?> request) {
+        ServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        return routeLocator.getRoutes()
+                .concatMap(route -> Mono.from(route.getPredicate().apply(exchange))
+                        .filter(Boolean::booleanValue)
+                        .map(matched -> route))
+                .next()
+                .map(Route::getId)
+                .block();
+    }
+}
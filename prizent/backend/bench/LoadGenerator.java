@@ -0,0 +1,189 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Closed-loop HTTP load generator for the service benchmarks.
+ *
+ * Runs with the plain JDK, no build needed:
+ *   java LoadGenerator.java --url http://localhost:8081/api/users/profile \
+ *       --concurrency 200 --duration 30 --warmup 5 --header "Authorization: Bearer ..." --label platform
+ *
+ * Design Decisions:
+ * - A fixed number of workers, each sending its next request as soon as the
+ *   previous one answered - concurrency is what the run holds constant
+ * - HTTP/1.1 and one connection per worker, so the server sees exactly
+ *   --concurrency simultaneous requests
+ * - Latencies of the warmup period are discarded; all others are kept and
+ *   sorted at the end - exact percentiles, no histogram buckets
+ * - Any status other than 2xx counts as an error and stays in the latency figures
+ *
+ * Prints one result row: label, concurrency, requests, errors, req/s, p50, p90, p99, max (ms).
+ * --header-row prints the column names first.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        String label = "run";
+        int concurrency = 50;
+        int durationSeconds = 30;
+        int warmupSeconds = 5;
+        boolean headerRow = false;
+        List<String> headers = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url" -> url = args[++i];
+                case "--label" -> label = args[++i];
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--duration" -> durationSeconds = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[++i]);
+                case "--header" -> headers.add(args[++i]);
+                case "--header-row" -> headerRow = true;
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (url == null) {
+            throw new IllegalArgumentException("--url is required");
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        for (String header : headers) {
+            int colon = header.indexOf(':');
+            builder.header(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+        }
+        HttpRequest request = builder.build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long stopAt = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+
+        Worker[] workers = new Worker[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = new Worker(request, measureFrom, stopAt, done);
+            Thread thread = new Thread(workers[i], "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        long[] all = merge(workers);
+        Arrays.sort(all);
+        long errors = 0;
+        Map<Integer, Long> statuses = new TreeMap<>();
+        for (Worker worker : workers) {
+            errors += worker.errors;
+            worker.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+
+        if (headerRow) {
+            System.out.printf("%-16s %6s %9s %7s %9s %8s %8s %8s %8s%n",
+                    "mode", "conc", "requests", "errors", "req/s", "p50", "p90", "p99", "max");
+        }
+        System.out.printf("%-16s %6d %9d %7d %9.1f %8.1f %8.1f %8.1f %8.1f%n",
+                label, concurrency, all.length, errors, all.length / (double) durationSeconds,
+                millis(percentile(all, 50)), millis(percentile(all, 90)), millis(percentile(all, 99)),
+                millis(all.length == 0 ? 0 : all[all.length - 1]));
+        if (errors > 0) {
+            System.err.println(label + " statuses: " + statuses);
+        }
+    }
+
+    private static long[] merge(Worker[] workers) {
+        int total = 0;
+        for (Worker worker : workers) {
+            total += worker.count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, all, offset, worker.count);
+            offset += worker.count;
+        }
+        return all;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Worker implements Runnable {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final HttpRequest request;
+        private final long measureFrom;
+        private final long stopAt;
+        private final CountDownLatch done;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        private long[] latencies = new long[4096];
+        private int count;
+        private long errors;
+
+        private Worker(HttpRequest request, long measureFrom, long stopAt, CountDownLatch done) {
+            this.request = request;
+            this.measureFrom = measureFrom;
+            this.stopAt = stopAt;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    long sent = System.nanoTime();
+                    if (sent >= stopAt) {
+                        return;
+                    }
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long finished = System.nanoTime();
+                    if (sent < measureFrom || finished > stopAt) {
+                        continue;
+                    }
+                    record(finished - sent, status);
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status < 200 || status > 299) {
+                errors++;
+                statuses.merge(status, 1L, Long::sum);
+            }
+        }
+    }
+}
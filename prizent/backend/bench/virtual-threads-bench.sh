@@ -0,0 +1,106 @@
+#!/usr/bin/env bash
+#
+# Platform threads vs virtual threads for identity-service (or admin-service).
+#
+# Builds the service once with -Pjava21, then starts the same jar twice -
+# default profile (Tomcat's 200 platform threads) and the virtual-threads
+# profile - and drives each with LoadGenerator at every concurrency level.
+# Both runs share the database, the Hikari pool size (DB_POOL_SIZE) and the
+# endpoint. The adaptive concurrency limiter is switched off so the thread
+# model, not load shedding, decides the numbers; LIMITER=true measures the
+# deployed setup instead. MODES picks which of the two runs to do.
+#
+# Needs: JDK 21 (JAVA21_HOME), Maven, a MySQL reachable with the service's
+# datasource settings (override with SPRING_DATASOURCE_URL/USERNAME/PASSWORD)
+# and a user to log in as.
+#
+#   JAVA21_HOME=/opt/jdk-21 BENCH_USER=admin BENCH_PASSWORD=admin123 ./virtual-threads-bench.sh
+#
+# Pinned virtual threads are logged to bench-out/virtual-threads.log
+# (-Djdk.tracePinnedThreads=short); the file should stay free of them.
+
+set -euo pipefail
+
+BENCH_DIR="$(cd "$(dirname "$0")" && pwd)"
+SERVICE="${SERVICE:-identity-service}"
+PORT="${PORT:-18081}"
+BENCH_PATH="${BENCH_PATH:-/api/users/profile}"
+CONCURRENCY="${CONCURRENCY:-50 200 800 2000}"
+DURATION="${DURATION:-30}"
+WARMUP="${WARMUP:-10}"
+export DB_POOL_SIZE="${DB_POOL_SIZE:-20}"
+MODES="${MODES:-platform virtual-threads}"
+LIMITER="${LIMITER:-false}"
+OUT="${OUT:-$BENCH_DIR/bench-out}"
+
+: "${JAVA21_HOME:?set JAVA21_HOME to a JDK 21 installation}"
+: "${BENCH_USER:?set BENCH_USER}"
+: "${BENCH_PASSWORD:?set BENCH_PASSWORD}"
+JAVA="$JAVA21_HOME/bin/java"
+
+mkdir -p "$OUT"
+rm -f "$OUT/results.txt"
+(cd "$BENCH_DIR/../$SERVICE" && JAVA_HOME="$JAVA21_HOME" mvn -B -q -Pjava21 package -DskipTests)
+JAR="$(ls "$BENCH_DIR/../$SERVICE"/target/"$SERVICE"-*.jar | grep -v original | head -1)"
+
+SERVER_PID=""
+stop_server() {
+    if [ -n "$SERVER_PID" ]; then
+        kill "$SERVER_PID" 2>/dev/null || true
+        while kill -0 "$SERVER_PID" 2>/dev/null; do sleep 0.2; done
+        SERVER_PID=""
+    fi
+}
+trap stop_server EXIT
+
+start_server() {
+    local mode="$1" profile_args=()
+    if [ "$mode" = "virtual-threads" ]; then
+        profile_args=(--spring.profiles.active=virtual-threads)
+    fi
+    "$JAVA" -Xmx1g -Djdk.tracePinnedThreads=short -jar "$JAR" \
+        --server.port="$PORT" --concurrency-limit.enabled="$LIMITER" --spring.jpa.show-sql=false \
+        "${profile_args[@]}" > "$OUT/$mode.log" 2>&1 &
+    SERVER_PID=$!
+    for _ in $(seq 1 120); do
+        # Any HTTP answer means Tomcat is up
+        if curl -s -o /dev/null "http://localhost:$PORT/"; then
+            return
+        fi
+        sleep 1
+    done
+    echo "$SERVICE did not start in $mode mode, see $OUT/$mode.log" >&2
+    exit 1
+}
+
+login() {
+    local identity_port="${IDENTITY_PORT:-$PORT}"
+    curl -s -X POST "http://localhost:$identity_port/api/auth/login" \
+        -H 'Content-Type: application/json' \
+        -d "{\"username\":\"$BENCH_USER\",\"password\":\"$BENCH_PASSWORD\"${BENCH_CLIENT_ID:+,\"clientId\":\"$BENCH_CLIENT_ID\"}}" \
+        | sed -n 's/.*"token":"\([^"]*\)".*/\1/p'
+}
+
+header_row="--header-row"
+for mode in $MODES; do
+    start_server "$mode"
+    TOKEN="$(login)"
+    if [ -z "$TOKEN" ]; then
+        echo "Login as $BENCH_USER failed" >&2
+        exit 1
+    fi
+    for c in $CONCURRENCY; do
+        "$JAVA" "$BENCH_DIR/LoadGenerator.java" $header_row \
+            --url "http://localhost:$PORT$BENCH_PATH" --header "Authorization: Bearer $TOKEN" \
+            --concurrency "$c" --duration "$DURATION" --warmup "$WARMUP" \
+            --label "$mode$([ "$LIMITER" = true ] && echo +limiter)" \
+            | tee -a "$OUT/results.txt"
+        header_row=""
+    done
+    stop_server
+done
+
+echo
+if [ -f "$OUT/virtual-threads.log" ]; then
+    echo "Pinned-thread traces in virtual-threads mode: $(grep -c 'onPinned\|<== monitors' "$OUT/virtual-threads.log" || true)"
+fi
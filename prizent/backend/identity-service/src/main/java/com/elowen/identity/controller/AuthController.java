@@ -1,10 +1,12 @@
 package com.elowen.identity.controller;
 
+import com.elowen.identity.deadline.RequestDeadline;
 import com.elowen.identity.dto.LoginRequest;
 import com.elowen.identity.dto.LoginResponse;
 import com.elowen.identity.entity.User;
 import com.elowen.identity.entity.Client;
 import com.elowen.identity.entity.LoginLogoutHistory;
+import com.elowen.identity.exception.DeadlineExceededException;
 import com.elowen.identity.repository.UserRepository;
 import com.elowen.identity.repository.ClientRepository;
 import com.elowen.identity.repository.LoginLogoutHistoryRepository;
@@ -12,6 +14,7 @@ import com.elowen.identity.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
@@ -55,7 +58,8 @@ public class AuthController {
 
             User user = userOpt.get();
 
-            // Verify password
+            // Verify password - BCrypt is the costly step, skip it for a caller that is gone
+            RequestDeadline.check();
             if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
                 return ResponseEntity.status(401).body(new LoginResponse(false, "Invalid credentials", null));
             }
@@ -81,7 +85,13 @@ public class AuthController {
 
             return ResponseEntity.ok(new LoginResponse(true, "Login successful", token));
 
+        } catch (CannotCreateTransactionException e) {
+            // No pooled connection in time - GlobalExceptionHandler sheds it as 503 with Retry-After
+            throw e;
         } catch (Exception e) {
+            if (RequestDeadline.isExpired()) {
+                throw new DeadlineExceededException("Request deadline exceeded during login");
+            }
             e.printStackTrace();
             return ResponseEntity.status(500).body(new LoginResponse(false, "Internal server error", null));
         }
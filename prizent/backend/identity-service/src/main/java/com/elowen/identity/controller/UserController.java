@@ -5,6 +5,7 @@ import com.elowen.identity.repository.UserRepository;
 import com.elowen.identity.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
@@ -58,6 +59,9 @@ public class UserController {
 
             return ResponseEntity.ok(profile);
 
+        } catch (CannotCreateTransactionException e) {
+            // No pooled connection in time - GlobalExceptionHandler sheds it as 503 with Retry-After
+            throw e;
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body("Internal server error");
@@ -0,0 +1,52 @@
+package com.elowen.identity.deadline;
+
+import com.elowen.identity.exception.DeadlineExceededException;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.OptionalLong;
+
+/**
+ * JPA transaction manager that caps each new transaction's timeout at the
+ * time left before the request deadline.
+ *
+ * Hibernate turns the transaction timeout into Statement.setQueryTimeout
+ * (remaining seconds) on every statement it runs, so a slow query is
+ * cancelled by the database instead of finishing for a caller that is
+ * gone. A transaction that would start after the deadline is refused; one
+ * that runs past it fails with Hibernate's "transaction timeout expired",
+ * which the exception handler reports as 504.
+ */
+public class DeadlineAwareTransactionManager extends JpaTransactionManager {
+
+    public DeadlineAwareTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    /**
+     * Checked here rather than in determineTimeout: exceptions from inside
+     * JpaTransactionManager.doBegin are wrapped in CannotCreateTransactionException
+     */
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        if (RequestDeadline.isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before the transaction started");
+        }
+        super.doBegin(transaction, definition);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int configured = super.determineTimeout(definition);
+        OptionalLong remaining = RequestDeadline.remainingMillis();
+        if (remaining.isEmpty()) {
+            return configured;
+        }
+        // Hibernate floors the time left to whole seconds and fails at zero, so a
+        // 1s timeout would fail on the first statement: one extra second keeps the
+        // last statement cancellable within a second after the deadline
+        int budget = (int) Math.min(Integer.MAX_VALUE, (remaining.getAsLong() + 999) / 1000 + 1);
+        return configured == TransactionDefinition.TIMEOUT_DEFAULT ? budget : Math.min(configured, budget);
+    }
+}
@@ -0,0 +1,56 @@
+package com.elowen.identity.deadline;
+
+import com.elowen.identity.exception.DeadlineExceededException;
+
+import java.util.OptionalLong;
+
+/**
+ * Deadline of the request being served on the current thread.
+ *
+ * Set by RequestDeadlineFilter from X-Request-Deadline (epoch milliseconds,
+ * stamped by the gateway from the route timeout). Requests without the
+ * header have no deadline and every check passes.
+ *
+ * Code that is about to do expensive work calls check(); transactions get
+ * the remaining time as their timeout (DeadlineAwareTransactionManager),
+ * which Hibernate applies to every JDBC statement.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Deadline";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    static void set(long epochMillis) {
+        DEADLINE.set(epochMillis);
+    }
+
+    static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Milliseconds left (zero or negative once passed), empty when there is no deadline
+     */
+    public static OptionalLong remainingMillis() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? OptionalLong.empty() : OptionalLong.of(deadline - System.currentTimeMillis());
+    }
+
+    public static boolean isExpired() {
+        OptionalLong remaining = remainingMillis();
+        return remaining.isPresent() && remaining.getAsLong() <= 0;
+    }
+
+    /**
+     * Throws DeadlineExceededException once the deadline has passed
+     */
+    public static void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.elowen.identity.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Reads X-Request-Deadline into RequestDeadline for the duration of the request.
+ *
+ * Design Decisions:
+ * - Runs before the security filter chain, so a request that is already
+ *   past its deadline on arrival costs no token parsing or handler work
+ * - The deadline is absolute (epoch ms); gateway and services are expected
+ *   to share a synchronised clock
+ * - A malformed header is ignored rather than rejected - the deadline is
+ *   an optimisation, not part of the API contract
+ * - Async dispatches (SSE) are not covered: the deadline only bounds the
+ *   initial request thread
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 2)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long deadline;
+        try {
+            deadline = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring malformed {} header: {}", RequestDeadline.HEADER, header);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (deadline <= System.currentTimeMillis()) {
+            logger.debug("Request {} {} arrived after its deadline - not processed", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Gateway Timeout\", \"message\": \"Request deadline exceeded\", \"status\": 504}");
+            return;
+        }
+
+        RequestDeadline.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
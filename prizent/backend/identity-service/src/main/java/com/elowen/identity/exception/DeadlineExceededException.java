@@ -0,0 +1,14 @@
+package com.elowen.identity.exception;
+
+/**
+ * Exception thrown when a request's deadline (X-Request-Deadline) has passed.
+ *
+ * The caller - normally the gateway - has stopped waiting, so the work is
+ * abandoned and a short 504 is returned instead of a result nobody reads.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,13 @@
 package com.elowen.identity.exception;
 
+import com.elowen.identity.deadline.RequestDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
@@ -16,6 +22,12 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final int retryAfterSeconds;
+
+    public GlobalExceptionHandler(@Value("${concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<Map<String, Object>> handleUserAlreadyExists(
             UserAlreadyExistsException ex, WebRequest request) {
@@ -40,9 +52,33 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request);
     }
 
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class, TransactionTimedOutException.class})
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceeded(
+            RuntimeException ex, WebRequest request) {
+        return buildErrorResponse(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded", request);
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, Object>> handleNoConnection(
+            CannotCreateTransactionException ex, WebRequest request) {
+        if (RequestDeadline.isExpired()) {
+            return buildErrorResponse(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded", request);
+        }
+        // No connection within Hikari's connection-timeout - shed like ConcurrencyLimitFilter, which counts it as a drop
+        ResponseEntity<Map<String, Object>> busy =
+                buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, retry later", request);
+        return ResponseEntity.status(busy.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(busy.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(
             Exception ex, WebRequest request) {
+        // Past the deadline this is the transaction or query timeout it set
+        if (RequestDeadline.isExpired()) {
+            return buildErrorResponse(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded", request);
+        }
         return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, 
             "An unexpected error occurred", request);
     }
@@ -0,0 +1,123 @@
+package com.elowen.identity.limiter;
+
+/**
+ * In-flight request limit of one bulkhead partition, adjusted from latency.
+ *
+ * Gradient algorithm (after Netflix concurrency-limits' Gradient2):
+ * - Latency samples are collected over a window (window time and at least
+ *   MIN_WINDOW_SAMPLES requests); at its end the window's average latency is
+ *   compared with a long-term average of earlier windows
+ * - gradient = clamp(TOLERANCE * longTerm / window, 0.5, 1.0): 1 while
+ *   latency is normal, lower as requests start to queue
+ * - new limit = limit * gradient + sqrt(limit), smoothed - the square root
+ *   is the headroom that lets the limit probe upwards while latency is flat
+ * - A window with a shed-worthy outcome (504, 503 or an exception) cuts the
+ *   limit multiplicatively instead (AIMD backoff)
+ * - The limit only grows when the window actually used at least half of it,
+ *   so a quiet period does not inflate it
+ *
+ * One lock per partition; the critical sections are a few arithmetic steps.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    // Long-term average over roughly the last 100 windows
+    private static final double LONG_TERM_WEIGHT = 2.0 / 101;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private double limit;
+    private int inFlight;
+    private double longTermRttNanos;
+
+    private long windowStart;
+    private int windowSamples;
+    private long windowRttSum;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, long windowNanos, long now) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.windowNanos = windowNanos;
+        this.limit = Math.max(minLimit, Math.min(this.maxLimit, initialLimit));
+        this.windowStart = now;
+    }
+
+    String name() {
+        return name;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        return true;
+    }
+
+    /**
+     * Ends a request that got a slot.
+     *
+     * @param rttNanos request latency, or a negative value when it is not a
+     *                 useful sample (e.g. an async stream that outlives the request thread)
+     * @param dropped  the request timed out or failed in a way that signals overload
+     */
+    synchronized void release(long rttNanos, boolean dropped, long now) {
+        inFlight--;
+        if (rttNanos < 0) {
+            return;
+        }
+        windowSamples++;
+        windowRttSum += rttNanos;
+        windowDropped |= dropped;
+        if (windowSamples >= MIN_WINDOW_SAMPLES && now - windowStart >= windowNanos) {
+            update(now);
+        }
+    }
+
+    synchronized int currentLimit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private void update(long now) {
+        double windowRtt = (double) windowRttSum / windowSamples;
+
+        if (windowDropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } else {
+            longTermRttNanos = longTermRttNanos == 0
+                    ? windowRtt
+                    : longTermRttNanos * (1 - LONG_TERM_WEIGHT) + windowRtt * LONG_TERM_WEIGHT;
+            // After a load spike the long-term average lags far above current latency; pull it back
+            if (longTermRttNanos / windowRtt > 2) {
+                longTermRttNanos *= 0.95;
+            }
+
+            boolean appLimited = windowMaxInFlight < limit / 2;
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longTermRttNanos / windowRtt));
+            if (gradient < 1.0 || !appLimited) {
+                double target = limit * gradient + Math.sqrt(limit);
+                limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+            }
+        }
+
+        windowStart = now;
+        windowSamples = 0;
+        windowRttSum = 0;
+        windowMaxInFlight = inFlight;
+        windowDropped = false;
+    }
+}
@@ -0,0 +1,135 @@
+package com.elowen.identity.limiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive concurrency limiting with per-traffic-class bulkheads.
+ *
+ * LOAD SHEDDING RULES:
+ * - Every request belongs to a partition: LOGIN (POST /api/auth/login),
+ *   READ (GET/HEAD) or WRITE (everything else). Each partition has its own
+ *   adaptive in-flight limit (AdaptiveConcurrencyLimit): BCrypt-bound logins
+ *   are slow by design, so in a shared limit they would both skew the latency
+ *   signal and starve profile and user-list reads during a login storm
+ * - A request over its partition's limit is rejected at once with 503 and
+ *   Retry-After - it never waits for a Tomcat thread or a Hikari connection,
+ *   so latency of admitted requests stays flat while excess load is shed
+ * - 504 (deadline/query timeout), 503 and exceptions count as overload
+ *   signals and shrink the limit
+ * - The health check and CORS preflights are not limited: an overloaded
+ *   instance still answers the gateway's health probe
+ *
+ * Runs after RequestDeadlineFilter (expired requests never take a slot) and
+ * before the security chain (shed requests cost no token parsing).
+ *
+ * Configuration (concurrency-limit.*): enabled, window-ms, retry-after-seconds
+ * and per partition (login, read, write) initial-limit, min-limit, max-limit.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    enum Partition {
+        LOGIN(8, 2, 32),
+        READ(20, 4, 200),
+        WRITE(10, 2, 50);
+
+        private final int initialLimit;
+        private final int minLimit;
+        private final int maxLimit;
+
+        Partition(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+    private final Map<Partition, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Partition.class);
+
+    public ConcurrencyLimitFilter(Environment environment) {
+        this.enabled = environment.getProperty("concurrency-limit.enabled", Boolean.class, true);
+        this.retryAfterSeconds = environment.getProperty("concurrency-limit.retry-after-seconds", Integer.class, 1);
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(
+                environment.getProperty("concurrency-limit.window-ms", Long.class, 500L));
+        long now = System.nanoTime();
+        for (Partition partition : Partition.values()) {
+            String prefix = "concurrency-limit." + partition.name().toLowerCase(Locale.ROOT) + ".";
+            limits.put(partition, new AdaptiveConcurrencyLimit(partition.name(),
+                    environment.getProperty(prefix + "initial-limit", Integer.class, partition.initialLimit),
+                    environment.getProperty(prefix + "min-limit", Integer.class, partition.minLimit),
+                    environment.getProperty(prefix + "max-limit", Integer.class, partition.maxLimit),
+                    windowNanos, now));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || "/api/auth/health".equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimit limit = limits.get(partitionOf(request));
+        if (!limit.tryAcquire()) {
+            logger.debug("Shedding {} {} - {} partition at its limit of {}",
+                    request.getMethod(), request.getRequestURI(), limit.name(), limit.currentLimit());
+            reject(response, limit);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            int status = response.getStatus();
+            dropped = status == HttpServletResponse.SC_GATEWAY_TIMEOUT || status == HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+        } finally {
+            long end = System.nanoTime();
+            limit.release(request.isAsyncStarted() ? -1 : end - start, dropped, end);
+        }
+    }
+
+    private static Partition partitionOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("POST".equals(method) && "/api/auth/login".equals(request.getRequestURI())) {
+            return Partition.LOGIN;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? Partition.READ : Partition.WRITE;
+    }
+
+    private void reject(HttpServletResponse response, AdaptiveConcurrencyLimit limit) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"Service Unavailable\", "
+                + "\"message\": \"Server is busy, retry later\", "
+                + "\"partition\": \"" + limit.name().toLowerCase(Locale.ROOT) + "\", "
+                + "\"status\": 503}");
+    }
+}
@@ -0,0 +1,107 @@
+package com.elowen.pricing.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the pricing engine on one thread.
+ *
+ * Each invocation prices a batch of SKUs with realistic marketplace slabs
+ * (5 commission slabs, 3 fixed fee slabs, 4 weight slabs); scores are
+ * evaluations per second. Run with -prof gc to confirm that quote and
+ * evaluateAt allocate nothing (gc.alloc.rate.norm ~ 0 B/op):
+ *
+ *   mvn -P jmh package exec:exec -Djmh.args="PricingEngineBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PricingEngineBenchmark {
+
+    private static final int BATCH = 4096;
+
+    private PricingRuleDefinition definition;
+    private CompiledPricingRule rule;
+    private final long[] costs = new long[BATCH];
+    private final int[] weights = new int[BATCH];
+    private final long[] prices = new long[BATCH];
+    private final PriceQuote quote = new PriceQuote();
+
+    @Setup
+    public void setUp() {
+        definition = new PricingRuleDefinition();
+        definition.setGstBps(1_800);
+        definition.setFeeTaxBps(1_800);
+        definition.setTargetMarginBps(1_500);
+        definition.setRoundingStep(new BigDecimal("1.00"));
+        definition.setCommissionSlabs(List.of(
+                new CommissionSlab(new BigDecimal("0.00"), 500),
+                new CommissionSlab(new BigDecimal("300.00"), 800),
+                new CommissionSlab(new BigDecimal("500.00"), 1_200),
+                new CommissionSlab(new BigDecimal("1000.00"), 1_500),
+                new CommissionSlab(new BigDecimal("5000.00"), 1_800)));
+        definition.setFixedFeeSlabs(List.of(
+                new FixedFeeSlab(new BigDecimal("0.00"), new BigDecimal("15.00")),
+                new FixedFeeSlab(new BigDecimal("500.00"), new BigDecimal("25.00")),
+                new FixedFeeSlab(new BigDecimal("1000.00"), new BigDecimal("50.00"))));
+        definition.setWeightSlabs(List.of(
+                new WeightSlab(500, new BigDecimal("40.00")),
+                new WeightSlab(1_000, new BigDecimal("65.00")),
+                new WeightSlab(2_000, new BigDecimal("95.00")),
+                new WeightSlab(5_000, new BigDecimal("160.00"))));
+        definition.setExtraWeightStepGrams(1_000);
+        definition.setExtraWeightStepFee(new BigDecimal("30.00"));
+        rule = PricingRuleCompiler.compile(definition);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < BATCH; i++) {
+            costs[i] = random.nextLong(5_000, 2_000_000);
+            weights[i] = random.nextInt(50, 8_000);
+            prices[i] = costs[i] * 2;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long quote() {
+        long sum = 0;
+        for (int i = 0; i < BATCH; i++) {
+            rule.quote(costs[i], weights[i], quote);
+            sum += quote.getSellingPrice();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long evaluateAt() {
+        long sum = 0;
+        for (int i = 0; i < BATCH; i++) {
+            rule.evaluateAt(costs[i], weights[i], prices[i], quote);
+            sum += quote.getMargin();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public CompiledPricingRule compile() {
+        return PricingRuleCompiler.compile(definition);
+    }
+}
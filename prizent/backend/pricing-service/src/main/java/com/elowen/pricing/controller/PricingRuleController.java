@@ -0,0 +1,117 @@
+package com.elowen.pricing.controller;
+
+import com.elowen.pricing.dto.CreatePricingRuleRequest;
+import com.elowen.pricing.dto.PriceQuoteRequest;
+import com.elowen.pricing.dto.PriceQuoteResponse;
+import com.elowen.pricing.dto.PricingRuleResponse;
+import com.elowen.pricing.dto.UpdatePricingRuleRequest;
+import com.elowen.pricing.security.UserPrincipal;
+import com.elowen.pricing.service.PriceQuoteService;
+import com.elowen.pricing.service.PricingRuleService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for pricing rules and price quotes.
+ * 
+ * Same security rules as product-service: client_id only from the JWT,
+ * reads and quotes for any user of the client, rule writes require
+ * hasRole('ADMIN').
+ * 
+ * Base Path: /api/pricing/rules
+ */
+@RestController
+@RequestMapping("/api/pricing/rules")
+public class PricingRuleController {
+    
+    private static final Logger log = LoggerFactory.getLogger(PricingRuleController.class);
+    
+    private final PricingRuleService ruleService;
+    private final PriceQuoteService quoteService;
+    
+    public PricingRuleController(PricingRuleService ruleService, PriceQuoteService quoteService) {
+        this.ruleService = ruleService;
+        this.quoteService = quoteService;
+    }
+    
+    /**
+     * GET /api/pricing/rules
+     */
+    @GetMapping
+    public ResponseEntity<List<PricingRuleResponse>> listRules(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(ruleService.listRules(userPrincipal.getClientId()));
+    }
+    
+    /**
+     * GET /api/pricing/rules/{ruleId}
+     */
+    @GetMapping("/{ruleId}")
+    public ResponseEntity<PricingRuleResponse> getRule(
+            @PathVariable UUID ruleId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(ruleService.getRule(ruleId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * POST /api/pricing/rules
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PricingRuleResponse> createRule(
+            @Valid @RequestBody CreatePricingRuleRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        log.info("Creating pricing rule '{}' for client {}", request.getName(), userPrincipal.getClientId());
+        PricingRuleResponse response = ruleService.createRule(request, userPrincipal.getClientId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * PUT /api/pricing/rules/{ruleId}
+     */
+    @PutMapping("/{ruleId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PricingRuleResponse> updateRule(
+            @PathVariable UUID ruleId,
+            @Valid @RequestBody UpdatePricingRuleRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(ruleService.updateRule(ruleId, request, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * DELETE /api/pricing/rules/{ruleId}
+     */
+    @DeleteMapping("/{ruleId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteRule(
+            @PathVariable UUID ruleId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        ruleService.deleteRule(ruleId, userPrincipal.getClientId());
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Price a batch of SKUs with this rule
+     * POST /api/pricing/rules/{ruleId}/quotes
+     */
+    @PostMapping("/{ruleId}/quotes")
+    public ResponseEntity<PriceQuoteResponse> quote(
+            @PathVariable UUID ruleId,
+            @Valid @RequestBody PriceQuoteRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(quoteService.quote(ruleId, request, userPrincipal.getClientId()));
+    }
+}
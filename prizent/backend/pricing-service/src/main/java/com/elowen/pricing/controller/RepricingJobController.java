@@ -0,0 +1,125 @@
+package com.elowen.pricing.controller;
+
+import com.elowen.pricing.dto.RepricingChunkResponse;
+import com.elowen.pricing.dto.RepricingJobResponse;
+import com.elowen.pricing.dto.SkuPricePageResponse;
+import com.elowen.pricing.security.UserPrincipal;
+import com.elowen.pricing.service.RepricingJobService;
+import com.elowen.pricing.service.SkuPriceService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for full-catalog repricing jobs and the prices they store.
+ * 
+ * Starting, cancelling and retrying jobs require hasRole('ADMIN'); progress
+ * and prices are readable by any user of the client.
+ * 
+ * Base Path: /api/pricing
+ */
+@RestController
+@RequestMapping("/api/pricing")
+public class RepricingJobController {
+    
+    private final RepricingJobService jobService;
+    private final SkuPriceService priceService;
+    
+    public RepricingJobController(RepricingJobService jobService, SkuPriceService priceService) {
+        this.jobService = jobService;
+        this.priceService = priceService;
+    }
+    
+    /**
+     * Reprice the client's whole catalog with this rule
+     * POST /api/pricing/rules/{ruleId}/repricing-jobs
+     * 
+     * Returns 202 with the queued job; poll its Location for progress.
+     */
+    @PostMapping("/rules/{ruleId}/repricing-jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RepricingJobResponse> startJob(
+            @PathVariable UUID ruleId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        RepricingJobResponse job = jobService.startJob(ruleId, userPrincipal.getClientId(), userPrincipal.getUserId());
+        return ResponseEntity.accepted().location(URI.create("/api/pricing/repricing-jobs/" + job.getId())).body(job);
+    }
+    
+    /**
+     * Stored prices of a rule in SKU order
+     * GET /api/pricing/rules/{ruleId}/prices?after=&size=
+     */
+    @GetMapping("/rules/{ruleId}/prices")
+    public ResponseEntity<SkuPricePageResponse> getPrices(
+            @PathVariable UUID ruleId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int size,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(priceService.listPrices(ruleId, userPrincipal.getClientId(), after, size));
+    }
+    
+    /**
+     * The client's 20 most recent jobs
+     * GET /api/pricing/repricing-jobs
+     */
+    @GetMapping("/repricing-jobs")
+    public ResponseEntity<List<RepricingJobResponse>> getRecentJobs(
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(jobService.getRecentJobs(userPrincipal.getClientId()));
+    }
+    
+    /**
+     * GET /api/pricing/repricing-jobs/{jobId}
+     */
+    @GetMapping("/repricing-jobs/{jobId}")
+    public ResponseEntity<RepricingJobResponse> getJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(jobService.getJob(jobId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * GET /api/pricing/repricing-jobs/{jobId}/failed-chunks
+     */
+    @GetMapping("/repricing-jobs/{jobId}/failed-chunks")
+    public ResponseEntity<List<RepricingChunkResponse>> getFailedChunks(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(jobService.getFailedChunks(jobId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * POST /api/pricing/repricing-jobs/{jobId}/cancel
+     */
+    @PostMapping("/repricing-jobs/{jobId}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RepricingJobResponse> cancelJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(jobService.cancelJob(jobId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * Reprice the FAILED chunks of a FAILED job
+     * POST /api/pricing/repricing-jobs/{jobId}/retry
+     */
+    @PostMapping("/repricing-jobs/{jobId}/retry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RepricingJobResponse> retryJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.accepted().body(jobService.retryJob(jobId, userPrincipal.getClientId()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.elowen.pricing.dto;
+
+import com.elowen.pricing.engine.PricingRuleDefinition;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for creating a pricing rule.
+ * 
+ * Rules:
+ * - NO client_id field - always from JWT
+ * - The definition is validated by compiling it (PricingRuleCompiler)
+ */
+public class CreatePricingRuleRequest {
+    
+    @NotBlank(message = "Rule name is required")
+    @Size(max = 100, message = "Rule name cannot exceed 100 characters")
+    private String name;
+    
+    @NotNull(message = "Rule definition is required")
+    private PricingRuleDefinition definition;
+    
+    public CreatePricingRuleRequest() {}
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public PricingRuleDefinition getDefinition() {
+        return definition;
+    }
+    
+    public void setDefinition(PricingRuleDefinition definition) {
+        this.definition = definition;
+    }
+}
@@ -0,0 +1,59 @@
+package com.elowen.pricing.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * One SKU to price.
+ * 
+ * Without sellingPrice the engine computes the lowest price reaching the
+ * rule's target margin; with it, the margin at that price.
+ */
+public class PriceQuoteItemRequest {
+    
+    private String sku;
+    
+    @NotNull(message = "Cost price is required")
+    private BigDecimal costPrice;
+    
+    @Min(value = 0, message = "Weight cannot be negative")
+    private Integer weightGrams;
+    
+    private BigDecimal sellingPrice;
+    
+    public PriceQuoteItemRequest() {}
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+    
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+    
+    public void setCostPrice(BigDecimal costPrice) {
+        this.costPrice = costPrice;
+    }
+    
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+    
+    public void setWeightGrams(Integer weightGrams) {
+        this.weightGrams = weightGrams;
+    }
+    
+    public BigDecimal getSellingPrice() {
+        return sellingPrice;
+    }
+    
+    public void setSellingPrice(BigDecimal sellingPrice) {
+        this.sellingPrice = sellingPrice;
+    }
+}
@@ -0,0 +1,99 @@
+package com.elowen.pricing.dto;
+
+import com.elowen.pricing.engine.Money;
+import com.elowen.pricing.engine.PriceQuote;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Price and margin breakdown of one SKU, in request order.
+ * 
+ * UNREACHABLE items (no price reaches the target margin) carry only sku
+ * and status.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PriceQuoteItemResponse {
+    
+    private String sku;
+    private PriceQuote.Status status;
+    private BigDecimal sellingPrice;
+    private BigDecimal outputTax;
+    private BigDecimal netRevenue;
+    private BigDecimal commission;
+    private BigDecimal fixedFee;
+    private BigDecimal shippingFee;
+    private BigDecimal feeTax;
+    private BigDecimal margin;
+    private Integer marginBps;
+    private Boolean targetMet;
+    
+    public PriceQuoteItemResponse() {}
+    
+    public static PriceQuoteItemResponse fromQuote(String sku, PriceQuote quote) {
+        PriceQuoteItemResponse response = new PriceQuoteItemResponse();
+        response.sku = sku;
+        response.status = quote.getStatus();
+        if (quote.getStatus() == PriceQuote.Status.OK) {
+            response.sellingPrice = Money.fromMinor(quote.getSellingPrice());
+            response.outputTax = Money.fromMinor(quote.getOutputTax());
+            response.netRevenue = Money.fromMinor(quote.getNetRevenue());
+            response.commission = Money.fromMinor(quote.getCommission());
+            response.fixedFee = Money.fromMinor(quote.getFixedFee());
+            response.shippingFee = Money.fromMinor(quote.getShippingFee());
+            response.feeTax = Money.fromMinor(quote.getFeeTax());
+            response.margin = Money.fromMinor(quote.getMargin());
+            response.marginBps = quote.getMarginBps();
+            response.targetMet = quote.isTargetMet();
+        }
+        return response;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public PriceQuote.Status getStatus() {
+        return status;
+    }
+    
+    public BigDecimal getSellingPrice() {
+        return sellingPrice;
+    }
+    
+    public BigDecimal getOutputTax() {
+        return outputTax;
+    }
+    
+    public BigDecimal getNetRevenue() {
+        return netRevenue;
+    }
+    
+    public BigDecimal getCommission() {
+        return commission;
+    }
+    
+    public BigDecimal getFixedFee() {
+        return fixedFee;
+    }
+    
+    public BigDecimal getShippingFee() {
+        return shippingFee;
+    }
+    
+    public BigDecimal getFeeTax() {
+        return feeTax;
+    }
+    
+    public BigDecimal getMargin() {
+        return margin;
+    }
+    
+    public Integer getMarginBps() {
+        return marginBps;
+    }
+    
+    public Boolean getTargetMet() {
+        return targetMet;
+    }
+}
@@ -0,0 +1,25 @@
+package com.elowen.pricing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * SKUs to price with one rule; at most pricing.quotes.max-items per request.
+ */
+public class PriceQuoteRequest {
+    
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid PriceQuoteItemRequest> items;
+    
+    public PriceQuoteRequest() {}
+    
+    public List<PriceQuoteItemRequest> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<PriceQuoteItemRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,38 @@
+package com.elowen.pricing.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Quotes of one request, computed with the given version of the rule.
+ */
+public class PriceQuoteResponse {
+    
+    private final UUID ruleId;
+    private final Long ruleVersion;
+    private final int targetMarginBps;
+    private final List<PriceQuoteItemResponse> items;
+    
+    public PriceQuoteResponse(UUID ruleId, Long ruleVersion, int targetMarginBps, List<PriceQuoteItemResponse> items) {
+        this.ruleId = ruleId;
+        this.ruleVersion = ruleVersion;
+        this.targetMarginBps = targetMarginBps;
+        this.items = items;
+    }
+    
+    public UUID getRuleId() {
+        return ruleId;
+    }
+    
+    public Long getRuleVersion() {
+        return ruleVersion;
+    }
+    
+    public int getTargetMarginBps() {
+        return targetMarginBps;
+    }
+    
+    public List<PriceQuoteItemResponse> getItems() {
+        return items;
+    }
+}
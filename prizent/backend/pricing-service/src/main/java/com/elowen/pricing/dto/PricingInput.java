@@ -0,0 +1,39 @@
+package com.elowen.pricing.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One product as served by product-service's /api/internal/pricing-inputs.
+ */
+public class PricingInput {
+    
+    private String sku;
+    private BigDecimal costPrice;
+    private Integer weightGrams;
+    
+    public PricingInput() {}
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+    
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+    
+    public void setCostPrice(BigDecimal costPrice) {
+        this.costPrice = costPrice;
+    }
+    
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+    
+    public void setWeightGrams(Integer weightGrams) {
+        this.weightGrams = weightGrams;
+    }
+}
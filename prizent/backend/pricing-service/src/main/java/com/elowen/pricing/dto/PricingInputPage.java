@@ -0,0 +1,32 @@
+package com.elowen.pricing.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Products of one SKU range from product-service; nextAfter is set while
+ * the range holds more.
+ */
+public class PricingInputPage {
+    
+    private List<PricingInput> items = new ArrayList<>();
+    private String nextAfter;
+    
+    public PricingInputPage() {}
+    
+    public List<PricingInput> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<PricingInput> items) {
+        this.items = items;
+    }
+    
+    public String getNextAfter() {
+        return nextAfter;
+    }
+    
+    public void setNextAfter(String nextAfter) {
+        this.nextAfter = nextAfter;
+    }
+}
@@ -0,0 +1,32 @@
+package com.elowen.pricing.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A client's catalog cut into SKU ranges by product-service: boundaries are
+ * the last SKU of every range but the last, which is open-ended.
+ */
+public class PricingInputPlan {
+    
+    private long total;
+    private List<String> boundaries = new ArrayList<>();
+    
+    public PricingInputPlan() {}
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    
+    public List<String> getBoundaries() {
+        return boundaries;
+    }
+    
+    public void setBoundaries(List<String> boundaries) {
+        this.boundaries = boundaries;
+    }
+}
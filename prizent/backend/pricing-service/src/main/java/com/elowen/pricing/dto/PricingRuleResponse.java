@@ -0,0 +1,57 @@
+package com.elowen.pricing.dto;
+
+import com.elowen.pricing.engine.PricingRuleDefinition;
+import com.elowen.pricing.entity.PricingRule;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for pricing rules.
+ */
+public class PricingRuleResponse {
+    
+    private UUID id;
+    private String name;
+    private PricingRuleDefinition definition;
+    private Long version;
+    private LocalDateTime createDateTime;
+    private LocalDateTime updateDateTime;
+    
+    public PricingRuleResponse() {}
+    
+    public static PricingRuleResponse fromEntity(PricingRule rule) {
+        PricingRuleResponse response = new PricingRuleResponse();
+        response.id = rule.getId();
+        response.name = rule.getName();
+        response.definition = rule.getDefinition();
+        response.version = rule.getVersion();
+        response.createDateTime = rule.getCreateDateTime();
+        response.updateDateTime = rule.getUpdateDateTime();
+        return response;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public PricingRuleDefinition getDefinition() {
+        return definition;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+    
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+}
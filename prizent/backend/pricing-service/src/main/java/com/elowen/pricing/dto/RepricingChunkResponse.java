@@ -0,0 +1,63 @@
+package com.elowen.pricing.dto;
+
+import com.elowen.pricing.entity.RepricingChunk;
+import com.elowen.pricing.entity.RepricingChunkStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one SKU range of a repricing job (after < sku <= through;
+ * null bounds are open).
+ */
+public class RepricingChunkResponse {
+    
+    private int chunkNo;
+    private String afterSku;
+    private String throughSku;
+    private RepricingChunkStatus status;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime finishedAt;
+    
+    public RepricingChunkResponse() {}
+    
+    public static RepricingChunkResponse fromEntity(RepricingChunk chunk) {
+        RepricingChunkResponse response = new RepricingChunkResponse();
+        response.chunkNo = chunk.getChunkNo();
+        response.afterSku = chunk.getAfterSku();
+        response.throughSku = chunk.getThroughSku();
+        response.status = chunk.getStatus();
+        response.attempts = chunk.getAttempts();
+        response.lastError = chunk.getLastError();
+        response.finishedAt = chunk.getFinishedAt();
+        return response;
+    }
+    
+    public int getChunkNo() {
+        return chunkNo;
+    }
+    
+    public String getAfterSku() {
+        return afterSku;
+    }
+    
+    public String getThroughSku() {
+        return throughSku;
+    }
+    
+    public RepricingChunkStatus getStatus() {
+        return status;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,160 @@
+package com.elowen.pricing.dto;
+
+import com.elowen.pricing.entity.RepricingJob;
+import com.elowen.pricing.entity.RepricingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for repricing jobs, with progress derived from the counters.
+ * 
+ * skusPerSecond is measured over the current run only (a resumed job does
+ * not count the SKUs of earlier runs); etaSeconds is null until the rate is
+ * known and once the job is finished.
+ */
+public class RepricingJobResponse {
+    
+    private UUID id;
+    private UUID ruleId;
+    private Long ruleVersion;
+    private RepricingStatus status;
+    private long totalSkus;
+    private int chunkCount;
+    private int chunksDone;
+    private int chunksFailed;
+    private double percentComplete;
+    private long skusPriced;
+    private long skusUnreachable;
+    private long skusSkipped;
+    private long errors;
+    private Double skusPerSecond;
+    private Long etaSeconds;
+    private String message;
+    private LocalDateTime createDateTime;
+    private LocalDateTime startedAt;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime finishedAt;
+    
+    public RepricingJobResponse() {}
+    
+    public static RepricingJobResponse fromEntity(RepricingJob job) {
+        RepricingJobResponse response = new RepricingJobResponse();
+        response.id = job.getId();
+        response.ruleId = job.getRuleId();
+        response.ruleVersion = job.getRuleVersion();
+        response.status = job.getStatus();
+        response.totalSkus = job.getTotalSkus();
+        response.chunkCount = job.getChunkCount();
+        response.chunksDone = job.getChunksDone();
+        response.chunksFailed = job.getChunksFailed();
+        response.percentComplete = job.getStatus() == RepricingStatus.COMPLETED ? 100.0
+                : job.getChunkCount() > 0 ? Math.floor(job.getChunksDone() * 1000.0 / job.getChunkCount()) / 10 : 0.0;
+        response.skusPriced = job.getSkusPriced();
+        response.skusUnreachable = job.getSkusUnreachable();
+        response.skusSkipped = job.getSkusSkipped();
+        response.errors = job.getErrors();
+        response.message = job.getMessage();
+        response.createDateTime = job.getCreateDateTime();
+        response.startedAt = job.getStartedAt();
+        response.heartbeatAt = job.getHeartbeatAt();
+        response.finishedAt = job.getFinishedAt();
+        
+        if (job.getRunStartedAt() != null) {
+            LocalDateTime runEnd = job.getStatus().isFinished() && job.getFinishedAt() != null
+                    ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Duration.between(job.getRunStartedAt(), runEnd).toMillis();
+            long processedThisRun = job.getSkusProcessed() - job.getSkusAtRunStart();
+            if (millis > 0 && processedThisRun > 0) {
+                double rate = processedThisRun * 1000.0 / millis;
+                response.skusPerSecond = Math.round(rate * 10) / 10.0;
+                if (!job.getStatus().isFinished()) {
+                    long remaining = Math.max(0, job.getTotalSkus() - job.getSkusProcessed());
+                    response.etaSeconds = (long) Math.ceil(remaining / rate);
+                }
+            }
+        }
+        return response;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public UUID getRuleId() {
+        return ruleId;
+    }
+    
+    public Long getRuleVersion() {
+        return ruleVersion;
+    }
+    
+    public RepricingStatus getStatus() {
+        return status;
+    }
+    
+    public long getTotalSkus() {
+        return totalSkus;
+    }
+    
+    public int getChunkCount() {
+        return chunkCount;
+    }
+    
+    public int getChunksDone() {
+        return chunksDone;
+    }
+    
+    public int getChunksFailed() {
+        return chunksFailed;
+    }
+    
+    public double getPercentComplete() {
+        return percentComplete;
+    }
+    
+    public long getSkusPriced() {
+        return skusPriced;
+    }
+    
+    public long getSkusUnreachable() {
+        return skusUnreachable;
+    }
+    
+    public long getSkusSkipped() {
+        return skusSkipped;
+    }
+    
+    public long getErrors() {
+        return errors;
+    }
+    
+    public Double getSkusPerSecond() {
+        return skusPerSecond;
+    }
+    
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
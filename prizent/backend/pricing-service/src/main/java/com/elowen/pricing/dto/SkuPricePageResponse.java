@@ -0,0 +1,26 @@
+package com.elowen.pricing.dto;
+
+import java.util.List;
+
+/**
+ * One page of stored prices in SKU order; pass nextAfter as `after` for the
+ * next page (null on the last one).
+ */
+public class SkuPricePageResponse {
+    
+    private final List<SkuPriceResponse> items;
+    private final String nextAfter;
+    
+    public SkuPricePageResponse(List<SkuPriceResponse> items, String nextAfter) {
+        this.items = items;
+        this.nextAfter = nextAfter;
+    }
+    
+    public List<SkuPriceResponse> getItems() {
+        return items;
+    }
+    
+    public String getNextAfter() {
+        return nextAfter;
+    }
+}
@@ -0,0 +1,89 @@
+package com.elowen.pricing.dto;
+
+import com.elowen.pricing.engine.PriceQuote;
+import com.elowen.pricing.entity.SkuPrice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for the stored price of one SKU under a rule; amounts are
+ * null when the status is UNREACHABLE.
+ */
+public class SkuPriceResponse {
+    
+    private String sku;
+    private PriceQuote.Status status;
+    private BigDecimal costPrice;
+    private Integer weightGrams;
+    private BigDecimal sellingPrice;
+    private BigDecimal netRevenue;
+    private BigDecimal margin;
+    private Integer marginBps;
+    private long ruleVersion;
+    private UUID jobId;
+    private LocalDateTime pricedAt;
+    
+    public SkuPriceResponse() {}
+    
+    public static SkuPriceResponse fromEntity(SkuPrice price) {
+        SkuPriceResponse response = new SkuPriceResponse();
+        response.sku = price.getSku();
+        response.status = price.getStatus();
+        response.costPrice = price.getCostPrice();
+        response.weightGrams = price.getWeightGrams();
+        response.sellingPrice = price.getSellingPrice();
+        response.netRevenue = price.getNetRevenue();
+        response.margin = price.getMargin();
+        response.marginBps = price.getMarginBps();
+        response.ruleVersion = price.getRuleVersion();
+        response.jobId = price.getJobId();
+        response.pricedAt = price.getPricedAt();
+        return response;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public PriceQuote.Status getStatus() {
+        return status;
+    }
+    
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+    
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+    
+    public BigDecimal getSellingPrice() {
+        return sellingPrice;
+    }
+    
+    public BigDecimal getNetRevenue() {
+        return netRevenue;
+    }
+    
+    public BigDecimal getMargin() {
+        return margin;
+    }
+    
+    public Integer getMarginBps() {
+        return marginBps;
+    }
+    
+    public long getRuleVersion() {
+        return ruleVersion;
+    }
+    
+    public UUID getJobId() {
+        return jobId;
+    }
+    
+    public LocalDateTime getPricedAt() {
+        return pricedAt;
+    }
+}
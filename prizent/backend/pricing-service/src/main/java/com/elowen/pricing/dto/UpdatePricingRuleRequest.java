@@ -0,0 +1,36 @@
+package com.elowen.pricing.dto;
+
+import com.elowen.pricing.engine.PricingRuleDefinition;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for updating a pricing rule.
+ * 
+ * Partial update: null fields are left as they are. A new definition
+ * replaces the old one as a whole.
+ */
+public class UpdatePricingRuleRequest {
+    
+    @Size(max = 100, message = "Rule name cannot exceed 100 characters")
+    private String name;
+    
+    private PricingRuleDefinition definition;
+    
+    public UpdatePricingRuleRequest() {}
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public PricingRuleDefinition getDefinition() {
+        return definition;
+    }
+    
+    public void setDefinition(PricingRuleDefinition definition) {
+        this.definition = definition;
+    }
+}
@@ -0,0 +1,36 @@
+package com.elowen.pricing.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Marketplace commission for selling prices from fromPrice (inclusive) up to
+ * the next slab's fromPrice, as a share of the tax-inclusive selling price.
+ */
+public class CommissionSlab {
+
+    private BigDecimal fromPrice;
+    private Integer rateBps;
+
+    public CommissionSlab() {}
+
+    public CommissionSlab(BigDecimal fromPrice, Integer rateBps) {
+        this.fromPrice = fromPrice;
+        this.rateBps = rateBps;
+    }
+
+    public BigDecimal getFromPrice() {
+        return fromPrice;
+    }
+
+    public void setFromPrice(BigDecimal fromPrice) {
+        this.fromPrice = fromPrice;
+    }
+
+    public Integer getRateBps() {
+        return rateBps;
+    }
+
+    public void setRateBps(Integer rateBps) {
+        this.rateBps = rateBps;
+    }
+}
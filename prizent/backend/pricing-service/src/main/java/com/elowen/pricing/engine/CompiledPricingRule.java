@@ -0,0 +1,147 @@
+package com.elowen.pricing.engine;
+
+import java.util.Arrays;
+
+/**
+ * A pricing rule compiled for evaluation (see PricingRuleCompiler).
+ *
+ * Key Design Decisions:
+ * - Commission and fixed fee slabs are merged into price segments, each with
+ *   one commission rate, one fixed fee and a precomputed Q32.32 multiplier
+ *   A = (1+g) / (1 - (1+g)(1+t)r - m), so the lowest price reaching the
+ *   target margin inside a segment is about (cost + fixed fee + shipping +
+ *   tax on them) * A - one multiplyHigh instead of a search over prices
+ * - Segments are tried from the cheapest; the first one whose candidate price
+ *   stays below its upper bound holds the lowest price meeting the target
+ * - Per-component rounding makes the exact margin differ from the formula by
+ *   a few minor units, so the estimate only bounds a small window of prices.
+ *   The rounding also breaks monotonicity (a price can miss the target while
+ *   the step below meets it), so the window's roundingStep multiples are
+ *   checked one by one, from the bottom, with the exact rounded breakdown;
+ *   the window is about 6 * A minor units wide, so this stays cheap
+ * - A window lying wholly below its segment means every price in the segment
+ *   clears the target, so the segment's first step is the answer
+ * - Immutable and thread-safe; evaluations only touch primitive arrays and
+ *   the caller's PriceQuote, so they allocate nothing
+ *
+ * Inputs must be within Money's limits: cost and price 0..Money.MAX_AMOUNT
+ * minor units, weight 0 or more grams.
+ */
+public final class CompiledPricingRule {
+
+    private final long[] segmentFrom;
+    private final int[] segmentRateBps;
+    private final long[] segmentFixedFee;
+    private final long[] segmentMultiplier;
+    private final long[] segmentSlack;
+    private final int[] weightUpTo;
+    private final long[] weightFee;
+    private final int extraStepGrams;
+    private final long extraStepFee;
+    private final int gstBps;
+    private final int feeTaxBps;
+    private final int targetMarginBps;
+    private final long roundingStep;
+
+    CompiledPricingRule(long[] segmentFrom, int[] segmentRateBps, long[] segmentFixedFee, long[] segmentMultiplier,
+                        int[] weightUpTo, long[] weightFee, int extraStepGrams, long extraStepFee,
+                        int gstBps, int feeTaxBps, int targetMarginBps, long roundingStep) {
+        this.segmentFrom = segmentFrom;
+        this.segmentRateBps = segmentRateBps;
+        this.segmentFixedFee = segmentFixedFee;
+        this.segmentMultiplier = segmentMultiplier;
+        this.segmentSlack = new long[segmentMultiplier.length];
+        for (int i = 0; i < segmentMultiplier.length; i++) {
+            // Per-component rounding moves the margin by under 3 minor units, i.e. the price by under 3 * A
+            this.segmentSlack[i] = FixedPoint.multiplyCeil(3, segmentMultiplier[i]);
+        }
+        this.weightUpTo = weightUpTo;
+        this.weightFee = weightFee;
+        this.extraStepGrams = extraStepGrams;
+        this.extraStepFee = extraStepFee;
+        this.gstBps = gstBps;
+        this.feeTaxBps = feeTaxBps;
+        this.targetMarginBps = targetMarginBps;
+        this.roundingStep = roundingStep;
+    }
+
+    /**
+     * Lowest selling price (a multiple of roundingStep) whose margin reaches
+     * the target, with its breakdown
+     */
+    public void quote(long cost, int weightGrams, PriceQuote out) {
+        long shipping = shippingFee(weightGrams);
+        int last = segmentFrom.length - 1;
+        for (int i = 0; i <= last; i++) {
+            long multiplier = segmentMultiplier[i];
+            if (multiplier == 0) {
+                continue;
+            }
+            long upper = i < last ? segmentFrom[i + 1] : Money.MAX_AMOUNT + 1;
+            long fees = segmentFixedFee[i] + shipping;
+            long base = cost + fees + (fees * feeTaxBps + Money.BPS - 1) / Money.BPS;
+            long estimate = FixedPoint.multiplyCeil(base, multiplier);
+            long low = Math.max(estimate - segmentSlack[i], segmentFrom[i]);
+            long high = Math.max(estimate + segmentSlack[i], segmentFrom[i]);
+            if (low >= upper) {
+                continue;
+            }
+            // Lowest step in [low, high] meeting the target; the window's top always does
+            long lastStep = Math.min((high + roundingStep - 1) / roundingStep, (upper - 1) / roundingStep);
+            for (long step = (low + roundingStep - 1) / roundingStep; step <= lastStep; step++) {
+                evaluate(i, cost, shipping, step * roundingStep, out);
+                if (out.isTargetMet()) {
+                    return;
+                }
+            }
+        }
+        out.setUnreachable();
+    }
+
+    /**
+     * Breakdown and margin at a given selling price
+     */
+    public void evaluateAt(long cost, int weightGrams, long sellingPrice, PriceQuote out) {
+        int segment = Arrays.binarySearch(segmentFrom, sellingPrice);
+        if (segment < 0) {
+            segment = -segment - 2;
+        }
+        evaluate(segment, cost, shippingFee(weightGrams), sellingPrice, out);
+    }
+
+    public int getTargetMarginBps() {
+        return targetMarginBps;
+    }
+
+    private void evaluate(int segment, long cost, long shipping, long price, PriceQuote out) {
+        long outputTax = (price * gstBps + (Money.BPS + gstBps) / 2) / (Money.BPS + gstBps);
+        long commission = Money.percentOf(price, segmentRateBps[segment]);
+        long fixedFee = segmentFixedFee[segment];
+        long feeTax = Money.percentOf(commission + fixedFee + shipping, feeTaxBps);
+        out.set(price, outputTax, commission, fixedFee, shipping, feeTax, cost, targetMarginBps);
+    }
+
+    /**
+     * Fee of the first slab covering the weight; above the last slab, its fee
+     * plus extraStepFee per started extraStepGrams. Capped at Money.MAX_AMOUNT.
+     */
+    private long shippingFee(int weightGrams) {
+        int slabs = weightUpTo.length;
+        if (slabs == 0) {
+            return 0;
+        }
+        int slab = Arrays.binarySearch(weightUpTo, weightGrams);
+        if (slab < 0) {
+            slab = -slab - 1;
+        }
+        if (slab < slabs) {
+            return weightFee[slab];
+        }
+        long lastFee = weightFee[slabs - 1];
+        long steps = ((long) weightGrams - weightUpTo[slabs - 1] + extraStepGrams - 1) / extraStepGrams;
+        if (extraStepFee > 0 && steps > (Money.MAX_AMOUNT - lastFee) / extraStepFee) {
+            return Money.MAX_AMOUNT;
+        }
+        return lastFee + steps * extraStepFee;
+    }
+}
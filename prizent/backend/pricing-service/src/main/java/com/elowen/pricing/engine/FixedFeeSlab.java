@@ -0,0 +1,36 @@
+package com.elowen.pricing.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Marketplace fixed (closing) fee per unit for selling prices from fromPrice
+ * (inclusive) up to the next slab's fromPrice.
+ */
+public class FixedFeeSlab {
+
+    private BigDecimal fromPrice;
+    private BigDecimal fee;
+
+    public FixedFeeSlab() {}
+
+    public FixedFeeSlab(BigDecimal fromPrice, BigDecimal fee) {
+        this.fromPrice = fromPrice;
+        this.fee = fee;
+    }
+
+    public BigDecimal getFromPrice() {
+        return fromPrice;
+    }
+
+    public void setFromPrice(BigDecimal fromPrice) {
+        this.fromPrice = fromPrice;
+    }
+
+    public BigDecimal getFee() {
+        return fee;
+    }
+
+    public void setFee(BigDecimal fee) {
+        this.fee = fee;
+    }
+}
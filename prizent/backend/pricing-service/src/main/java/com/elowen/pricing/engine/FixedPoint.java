@@ -0,0 +1,46 @@
+package com.elowen.pricing.engine;
+
+import java.math.BigInteger;
+
+/**
+ * Unsigned Q32.32 multipliers: a long holding value * 2^32.
+ *
+ * The price multiplier of a segment is a ratio of basis point products; it is
+ * computed exactly with BigInteger when a rule is compiled, and applied per
+ * evaluation with one 64x64->128 bit multiply (Math.multiplyHigh).
+ */
+final class FixedPoint {
+
+    static final int FRACTION_BITS = 32;
+
+    private static final long FRACTION_MASK = (1L << FRACTION_BITS) - 1;
+
+    /**
+     * Products at or above 2^62 are reported as overflow
+     */
+    private static final long MAX_HIGH = 1L << (62 - 64 + FRACTION_BITS);
+
+    private FixedPoint() {}
+
+    /**
+     * ceil(numerator / denominator * 2^32), or 0 if it does not fit in 62 bits
+     */
+    static long ratioCeil(BigInteger numerator, BigInteger denominator) {
+        BigInteger[] qr = numerator.shiftLeft(FRACTION_BITS).divideAndRemainder(denominator);
+        BigInteger q = qr[1].signum() == 0 ? qr[0] : qr[0].add(BigInteger.ONE);
+        return q.bitLength() > 62 ? 0 : q.longValueExact();
+    }
+
+    /**
+     * ceil(n * q / 2^32) for non-negative n and q; Long.MAX_VALUE on overflow
+     */
+    static long multiplyCeil(long n, long q) {
+        long high = Math.multiplyHigh(n, q);
+        if (high >= MAX_HIGH) {
+            return Long.MAX_VALUE;
+        }
+        long low = n * q;
+        long result = (high << (64 - FRACTION_BITS)) | (low >>> FRACTION_BITS);
+        return (low & FRACTION_MASK) != 0 ? result + 1 : result;
+    }
+}
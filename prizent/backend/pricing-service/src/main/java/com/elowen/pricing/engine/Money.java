@@ -0,0 +1,58 @@
+package com.elowen.pricing.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Money as a long count of minor units (paise), the only representation the
+ * pricing engine computes with.
+ *
+ * Design Decisions:
+ * - BigDecimal with 2 decimals only at the edges (API, stored rules); the
+ *   hot path is plain long arithmetic and allocates nothing
+ * - Amounts are capped at MAX_AMOUNT so products of an amount and a basis
+ *   point rate can never overflow a long
+ * - Percentages are basis points (1 bps = 0.01%), rounded half-up
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    /**
+     * 10,000,000,000.00 in minor units
+     */
+    public static final long MAX_AMOUNT = 1_000_000_000_000L;
+
+    public static final int BPS = 10_000;
+
+    private Money() {}
+
+    /**
+     * Minor units of a non-negative amount with at most 2 decimals
+     */
+    public static long toMinor(BigDecimal amount, String field) {
+        if (amount == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException(field + " cannot be negative");
+        }
+        if (amount.stripTrailingZeros().scale() > SCALE) {
+            throw new IllegalArgumentException(field + " cannot have more than " + SCALE + " decimal places");
+        }
+        if (amount.compareTo(fromMinor(MAX_AMOUNT)) > 0) {
+            throw new IllegalArgumentException(field + " cannot exceed " + fromMinor(MAX_AMOUNT));
+        }
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * amount * bps / 10000, rounded half-up; amount must be non-negative
+     */
+    static long percentOf(long amount, int bps) {
+        return (amount * bps + BPS / 2) / BPS;
+    }
+}
@@ -0,0 +1,118 @@
+package com.elowen.pricing.engine;
+
+/**
+ * Result of one evaluation, all amounts in minor units (see Money).
+ *
+ * Mutable on purpose: CompiledPricingRule writes into a caller-owned instance,
+ * so a loop over a whole catalog reuses one PriceQuote and allocates nothing.
+ * Copy the values out before the next evaluation.
+ */
+public final class PriceQuote {
+
+    public enum Status {
+        /**
+         * Breakdown is filled in
+         */
+        OK,
+        /**
+         * No selling price up to Money.MAX_AMOUNT reaches the target margin;
+         * all amounts are 0
+         */
+        UNREACHABLE
+    }
+
+    private Status status = Status.UNREACHABLE;
+    private long sellingPrice;
+    private long outputTax;
+    private long netRevenue;
+    private long commission;
+    private long fixedFee;
+    private long shippingFee;
+    private long feeTax;
+    private long margin;
+    private int marginBps;
+    private boolean targetMet;
+
+    void set(long sellingPrice, long outputTax, long commission, long fixedFee,
+             long shippingFee, long feeTax, long cost, int targetMarginBps) {
+        this.status = Status.OK;
+        this.sellingPrice = sellingPrice;
+        this.outputTax = outputTax;
+        this.netRevenue = sellingPrice - outputTax;
+        this.commission = commission;
+        this.fixedFee = fixedFee;
+        this.shippingFee = shippingFee;
+        this.feeTax = feeTax;
+        this.margin = netRevenue - commission - fixedFee - shippingFee - feeTax - cost;
+        this.marginBps = netRevenue > 0 ? clampToInt(margin * Money.BPS / netRevenue) : 0;
+        this.targetMet = margin * Money.BPS >= (long) targetMarginBps * netRevenue;
+    }
+
+    void setUnreachable() {
+        this.status = Status.UNREACHABLE;
+        this.sellingPrice = 0;
+        this.outputTax = 0;
+        this.netRevenue = 0;
+        this.commission = 0;
+        this.fixedFee = 0;
+        this.shippingFee = 0;
+        this.feeTax = 0;
+        this.margin = 0;
+        this.marginBps = 0;
+        this.targetMet = false;
+    }
+
+    private static int clampToInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getSellingPrice() {
+        return sellingPrice;
+    }
+
+    public long getOutputTax() {
+        return outputTax;
+    }
+
+    public long getNetRevenue() {
+        return netRevenue;
+    }
+
+    public long getCommission() {
+        return commission;
+    }
+
+    public long getFixedFee() {
+        return fixedFee;
+    }
+
+    public long getShippingFee() {
+        return shippingFee;
+    }
+
+    public long getFeeTax() {
+        return feeTax;
+    }
+
+    public long getMargin() {
+        return margin;
+    }
+
+    /**
+     * Margin as a share of net revenue, truncated; 0 when net revenue is 0
+     */
+    public int getMarginBps() {
+        return marginBps;
+    }
+
+    /**
+     * Whether the margin reaches the rule's target at this price
+     */
+    public boolean isTargetMet() {
+        return targetMet;
+    }
+}
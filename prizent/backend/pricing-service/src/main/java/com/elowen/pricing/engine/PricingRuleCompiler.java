@@ -0,0 +1,185 @@
+package com.elowen.pricing.engine;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Validates a PricingRuleDefinition and compiles it into a CompiledPricingRule.
+ *
+ * Compilation does all the BigDecimal and BigInteger work (minor unit
+ * conversion, slab merging, exact multipliers) once per rule version, so
+ * evaluations are left with long arithmetic only.
+ *
+ * Invalid definitions are rejected with IllegalArgumentException naming the
+ * offending field.
+ */
+public final class PricingRuleCompiler {
+
+    public static final int MAX_SLABS = 100;
+
+    public static final int MAX_TARGET_MARGIN_BPS = 9_000;
+
+    private static final BigInteger BPS = BigInteger.valueOf(Money.BPS);
+
+    private PricingRuleCompiler() {}
+
+    public static CompiledPricingRule compile(PricingRuleDefinition definition) {
+        if (definition == null) {
+            throw new IllegalArgumentException("Pricing rule definition is required");
+        }
+        int gstBps = bps(definition.getGstBps(), "gstBps", Money.BPS);
+        int feeTaxBps = bps(definition.getFeeTaxBps(), "feeTaxBps", Money.BPS);
+        int targetMarginBps = bps(definition.getTargetMarginBps(), "targetMarginBps", MAX_TARGET_MARGIN_BPS);
+        long roundingStep = Money.toMinor(definition.getRoundingStep(), "roundingStep");
+        if (roundingStep == 0) {
+            throw new IllegalArgumentException("roundingStep must be at least 0.01");
+        }
+
+        List<CommissionSlab> commissionSlabs = orEmpty(definition.getCommissionSlabs(), "commissionSlabs");
+        long[] commissionFrom = new long[commissionSlabs.size()];
+        int[] commissionRate = new int[commissionSlabs.size()];
+        for (int i = 0; i < commissionSlabs.size(); i++) {
+            CommissionSlab slab = commissionSlabs.get(i);
+            String field = "commissionSlabs[" + i + "]";
+            commissionFrom[i] = Money.toMinor(slab.getFromPrice(), field + ".fromPrice");
+            commissionRate[i] = bps(slab.getRateBps(), field + ".rateBps", Money.BPS);
+        }
+        requireAscendingFromZero(commissionFrom, "commissionSlabs");
+
+        List<FixedFeeSlab> fixedFeeSlabs = orEmpty(definition.getFixedFeeSlabs(), "fixedFeeSlabs");
+        long[] fixedFrom = new long[fixedFeeSlabs.size()];
+        long[] fixedFee = new long[fixedFeeSlabs.size()];
+        for (int i = 0; i < fixedFeeSlabs.size(); i++) {
+            FixedFeeSlab slab = fixedFeeSlabs.get(i);
+            String field = "fixedFeeSlabs[" + i + "]";
+            fixedFrom[i] = Money.toMinor(slab.getFromPrice(), field + ".fromPrice");
+            fixedFee[i] = Money.toMinor(slab.getFee(), field + ".fee");
+        }
+        requireAscendingFromZero(fixedFrom, "fixedFeeSlabs");
+
+        List<WeightSlab> weightSlabs = orEmpty(definition.getWeightSlabs(), "weightSlabs");
+        int[] weightUpTo = new int[weightSlabs.size()];
+        long[] weightFee = new long[weightSlabs.size()];
+        for (int i = 0; i < weightSlabs.size(); i++) {
+            WeightSlab slab = weightSlabs.get(i);
+            String field = "weightSlabs[" + i + "]";
+            if (slab.getUpToGrams() == null || slab.getUpToGrams() <= 0) {
+                throw new IllegalArgumentException(field + ".upToGrams must be positive");
+            }
+            if (i > 0 && slab.getUpToGrams() <= weightUpTo[i - 1]) {
+                throw new IllegalArgumentException("weightSlabs must be in ascending upToGrams order");
+            }
+            weightUpTo[i] = slab.getUpToGrams();
+            weightFee[i] = Money.toMinor(slab.getFee(), field + ".fee");
+        }
+        int extraStepGrams = 1;
+        long extraStepFee = 0;
+        if (!weightSlabs.isEmpty()) {
+            if (definition.getExtraWeightStepGrams() == null || definition.getExtraWeightStepGrams() <= 0) {
+                throw new IllegalArgumentException("extraWeightStepGrams must be positive when weightSlabs are set");
+            }
+            extraStepGrams = definition.getExtraWeightStepGrams();
+            extraStepFee = Money.toMinor(definition.getExtraWeightStepFee(), "extraWeightStepFee");
+        }
+
+        // Segment boundaries: every price where the commission rate or the fixed fee may change
+        TreeSet<Long> boundaries = new TreeSet<>();
+        boundaries.add(0L);
+        for (long from : commissionFrom) {
+            boundaries.add(from);
+        }
+        for (long from : fixedFrom) {
+            boundaries.add(from);
+        }
+
+        int segments = boundaries.size();
+        long[] segmentFrom = new long[segments];
+        int[] segmentRate = new int[segments];
+        long[] segmentFixedFee = new long[segments];
+        long[] segmentMultiplier = new long[segments];
+        int i = 0;
+        for (long from : boundaries) {
+            segmentFrom[i] = from;
+            int commission = slabAt(commissionFrom, from);
+            segmentRate[i] = commission >= 0 ? commissionRate[commission] : 0;
+            int fixed = slabAt(fixedFrom, from);
+            segmentFixedFee[i] = fixed >= 0 ? fixedFee[fixed] : 0;
+            segmentMultiplier[i] = multiplier(gstBps, feeTaxBps, segmentRate[i], targetMarginBps);
+            i++;
+        }
+
+        return new CompiledPricingRule(segmentFrom, segmentRate, segmentFixedFee, segmentMultiplier,
+                weightUpTo, weightFee, extraStepGrams, extraStepFee,
+                gstBps, feeTaxBps, targetMarginBps, roundingStep);
+    }
+
+    /**
+     * (1+g) / (1 - (1+g)(1+t)r - m) in Q32.32, all rates in basis points;
+     * 0 when no price can reach the target margin at this commission rate
+     *
+     * Derivation: margin = P/(1+g) - (1+t)(rP + f + s) - c >= m * P/(1+g)
+     * solves to P >= (c + (1+t)(f + s)) * A with A as above.
+     */
+    static long multiplier(int gstBps, int feeTaxBps, int rateBps, int targetMarginBps) {
+        BigInteger g = BPS.add(BigInteger.valueOf(gstBps));
+        BigInteger t = BPS.add(BigInteger.valueOf(feeTaxBps));
+        BigInteger denominator = BPS.pow(3)
+                .subtract(g.multiply(t).multiply(BigInteger.valueOf(rateBps)))
+                .subtract(BigInteger.valueOf(targetMarginBps).multiply(BPS.pow(2)));
+        if (denominator.signum() <= 0) {
+            return 0;
+        }
+        return FixedPoint.ratioCeil(g.multiply(BPS.pow(2)), denominator);
+    }
+
+    private static int bps(Integer value, String field, int max) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value < 0 || value > max) {
+            throw new IllegalArgumentException(field + " must be between 0 and " + max + " basis points");
+        }
+        return value;
+    }
+
+    private static <T> List<T> orEmpty(List<T> slabs, String field) {
+        if (slabs == null) {
+            return List.of();
+        }
+        if (slabs.size() > MAX_SLABS) {
+            throw new IllegalArgumentException(field + " cannot have more than " + MAX_SLABS + " slabs");
+        }
+        for (T slab : slabs) {
+            if (slab == null) {
+                throw new IllegalArgumentException(field + " cannot contain null slabs");
+            }
+        }
+        return slabs;
+    }
+
+    private static void requireAscendingFromZero(long[] from, String field) {
+        if (from.length == 0) {
+            return;
+        }
+        if (from[0] != 0) {
+            throw new IllegalArgumentException(field + " must start at fromPrice " + Money.fromMinor(0));
+        }
+        for (int i = 1; i < from.length; i++) {
+            if (from[i] <= from[i - 1]) {
+                throw new IllegalArgumentException(field + " must be in ascending fromPrice order");
+            }
+        }
+    }
+
+    /**
+     * Index of the last slab starting at or below price, -1 if none
+     */
+    private static int slabAt(long[] from, long price) {
+        int slab = -1;
+        for (int i = 0; i < from.length && from[i] <= price; i++) {
+            slab = i;
+        }
+        return slab;
+    }
+}
@@ -0,0 +1,107 @@
+package com.elowen.pricing.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Marketplace pricing rule as entered: the fee structure of one marketplace
+ * plus the seller's target margin. Stored as JSON with the rule and compiled
+ * into a CompiledPricingRule before use (see PricingRuleCompiler).
+ *
+ * Business Rules:
+ * - Selling prices include output tax (GST) at gstBps
+ * - Commission (share of the selling price), fixed fee and shipping are
+ *   marketplace fees; tax on fees (feeTaxBps) is a cost to the seller
+ * - Margin = selling price - output tax - fees - tax on fees - cost;
+ *   the target is a share of the selling price net of output tax
+ * - Price slabs start at 0; weights above the last weight slab pay
+ *   extraWeightStepFee per started extraWeightStepGrams
+ * - The computed price is rounded up to a multiple of roundingStep
+ */
+public class PricingRuleDefinition {
+
+    private Integer gstBps = 0;
+    private Integer feeTaxBps = 0;
+    private Integer targetMarginBps = 0;
+    private BigDecimal roundingStep = new BigDecimal("0.01");
+    private List<CommissionSlab> commissionSlabs = new ArrayList<>();
+    private List<FixedFeeSlab> fixedFeeSlabs = new ArrayList<>();
+    private List<WeightSlab> weightSlabs = new ArrayList<>();
+    private Integer extraWeightStepGrams;
+    private BigDecimal extraWeightStepFee;
+
+    public PricingRuleDefinition() {}
+
+    public Integer getGstBps() {
+        return gstBps;
+    }
+
+    public void setGstBps(Integer gstBps) {
+        this.gstBps = gstBps;
+    }
+
+    public Integer getFeeTaxBps() {
+        return feeTaxBps;
+    }
+
+    public void setFeeTaxBps(Integer feeTaxBps) {
+        this.feeTaxBps = feeTaxBps;
+    }
+
+    public Integer getTargetMarginBps() {
+        return targetMarginBps;
+    }
+
+    public void setTargetMarginBps(Integer targetMarginBps) {
+        this.targetMarginBps = targetMarginBps;
+    }
+
+    public BigDecimal getRoundingStep() {
+        return roundingStep;
+    }
+
+    public void setRoundingStep(BigDecimal roundingStep) {
+        this.roundingStep = roundingStep;
+    }
+
+    public List<CommissionSlab> getCommissionSlabs() {
+        return commissionSlabs;
+    }
+
+    public void setCommissionSlabs(List<CommissionSlab> commissionSlabs) {
+        this.commissionSlabs = commissionSlabs;
+    }
+
+    public List<FixedFeeSlab> getFixedFeeSlabs() {
+        return fixedFeeSlabs;
+    }
+
+    public void setFixedFeeSlabs(List<FixedFeeSlab> fixedFeeSlabs) {
+        this.fixedFeeSlabs = fixedFeeSlabs;
+    }
+
+    public List<WeightSlab> getWeightSlabs() {
+        return weightSlabs;
+    }
+
+    public void setWeightSlabs(List<WeightSlab> weightSlabs) {
+        this.weightSlabs = weightSlabs;
+    }
+
+    public Integer getExtraWeightStepGrams() {
+        return extraWeightStepGrams;
+    }
+
+    public void setExtraWeightStepGrams(Integer extraWeightStepGrams) {
+        this.extraWeightStepGrams = extraWeightStepGrams;
+    }
+
+    public BigDecimal getExtraWeightStepFee() {
+        return extraWeightStepFee;
+    }
+
+    public void setExtraWeightStepFee(BigDecimal extraWeightStepFee) {
+        this.extraWeightStepFee = extraWeightStepFee;
+    }
+}
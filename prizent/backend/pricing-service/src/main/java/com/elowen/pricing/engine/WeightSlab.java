@@ -0,0 +1,36 @@
+package com.elowen.pricing.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Shipping fee for shipping weights up to and including upToGrams (and above
+ * the previous slab's upToGrams).
+ */
+public class WeightSlab {
+
+    private Integer upToGrams;
+    private BigDecimal fee;
+
+    public WeightSlab() {}
+
+    public WeightSlab(Integer upToGrams, BigDecimal fee) {
+        this.upToGrams = upToGrams;
+        this.fee = fee;
+    }
+
+    public Integer getUpToGrams() {
+        return upToGrams;
+    }
+
+    public void setUpToGrams(Integer upToGrams) {
+        this.upToGrams = upToGrams;
+    }
+
+    public BigDecimal getFee() {
+        return fee;
+    }
+
+    public void setFee(BigDecimal fee) {
+        this.fee = fee;
+    }
+}
@@ -0,0 +1,133 @@
+package com.elowen.pricing.entity;
+
+import com.elowen.pricing.engine.PricingRuleDefinition;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.java.Immutability;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A client's pricing rule: one marketplace's fees plus the target margin.
+ *
+ * Key Design Decisions:
+ * - The definition is stored as entered (JSON, see PricingRuleDefinitionConverter)
+ *   and compiled on first use; compiled rules are cached per (id, version),
+ *   so every update produces a fresh evaluator
+ * - Names are unique per client (case-insensitive, checked by PricingRuleService)
+ */
+@Entity
+@Table(
+    name = "p_pricing_rules",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_pricing_rules_client_name", columnNames = {"client_id", "name"})
+    }
+)
+public class PricingRule {
+
+    @Id
+    @UuidGenerator
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", length = 16, updatable = false, nullable = false)
+    private UUID id;
+
+    /**
+     * Client ID - IMMUTABLE after creation
+     * Always extracted from UserPrincipal, never from request
+     */
+    @NotNull
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    @NotBlank
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    /**
+     * Replaced as a whole on update, never modified in place; treating the
+     * value as immutable keeps dirty checking on reference equality (the
+     * JSON round trip of a snapshot copy would make every load look modified)
+     */
+    @NotNull
+    @Mutability(Immutability.class)
+    @Convert(converter = PricingRuleDefinitionConverter.class)
+    @Column(name = "definition", nullable = false, columnDefinition = "TEXT")
+    private PricingRuleDefinition definition;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @CreationTimestamp
+    @Column(name = "create_date_time", updatable = false, nullable = false)
+    private LocalDateTime createDateTime;
+
+    @UpdateTimestamp
+    @Column(name = "update_date_time", nullable = false)
+    private LocalDateTime updateDateTime;
+
+    // Constructors
+    public PricingRule() {}
+
+    public PricingRule(UUID clientId, String name, PricingRuleDefinition definition) {
+        this.clientId = clientId;
+        this.name = name;
+        this.definition = definition;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public PricingRuleDefinition getDefinition() {
+        return definition;
+    }
+
+    public void setDefinition(PricingRuleDefinition definition) {
+        this.definition = definition;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+
+    @Override
+    public String toString() {
+        return "PricingRule{" +
+                "id=" + id +
+                ", clientId=" + clientId +
+                ", name='" + name + '\'' +
+                ", version=" + version +
+                '}';
+    }
+}
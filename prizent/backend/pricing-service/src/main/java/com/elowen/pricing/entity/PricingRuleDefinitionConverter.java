@@ -0,0 +1,37 @@
+package com.elowen.pricing.entity;
+
+import com.elowen.pricing.engine.PricingRuleDefinition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a pricing rule's definition (rates and slabs) as JSON in a text column.
+ *
+ * The slabs are only ever read as a whole to compile the rule, so one JSON
+ * document replaces three child tables.
+ */
+@Converter
+public class PricingRuleDefinitionConverter implements AttributeConverter<PricingRuleDefinition, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(PricingRuleDefinition definition) {
+        try {
+            return MAPPER.writeValueAsString(definition);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Pricing rule definition cannot be serialized", e);
+        }
+    }
+
+    @Override
+    public PricingRuleDefinition convertToEntityAttribute(String json) {
+        try {
+            return MAPPER.readValue(json, PricingRuleDefinition.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable pricing rule definition", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.elowen.pricing.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One SKU range of a repricing job: after_sku < sku <= through_sku, null
+ * bounds open. The checkpoint unit - written by RepricingResultWriter in
+ * the same transaction as the range's prices.
+ */
+@Entity
+@Table(
+    name = "p_repricing_chunks",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_repricing_chunks_job_no", columnNames = {"job_id", "chunk_no"})
+    },
+    indexes = {
+        @Index(name = "idx_repricing_chunks_job_status", columnList = "job_id, status")
+    }
+)
+public class RepricingChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "job_id", length = 16, updatable = false, nullable = false)
+    private UUID jobId;
+
+    @Column(name = "chunk_no", updatable = false, nullable = false)
+    private int chunkNo;
+
+    @Column(name = "after_sku", updatable = false, length = 64)
+    private String afterSku;
+
+    @Column(name = "through_sku", updatable = false, length = 64)
+    private String throughSku;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private RepricingChunkStatus status = RepricingChunkStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "skus", nullable = false)
+    private int skus;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public RepricingChunk() {}
+
+    public RepricingChunk(UUID jobId, int chunkNo, String afterSku, String throughSku) {
+        this.jobId = jobId;
+        this.chunkNo = chunkNo;
+        this.afterSku = afterSku;
+        this.throughSku = throughSku;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public int getChunkNo() {
+        return chunkNo;
+    }
+
+    public String getAfterSku() {
+        return afterSku;
+    }
+
+    public String getThroughSku() {
+        return throughSku;
+    }
+
+    public RepricingChunkStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public int getSkus() {
+        return skus;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.elowen.pricing.entity;
+
+/**
+ * PENDING -> DONE | FAILED; a retried job puts FAILED chunks back to PENDING.
+ */
+public enum RepricingChunkStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
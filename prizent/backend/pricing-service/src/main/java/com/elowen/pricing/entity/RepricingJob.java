@@ -0,0 +1,234 @@
+package com.elowen.pricing.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One full-catalog repricing of a client with one pricing rule, and its progress.
+ *
+ * Key Design Decisions:
+ * - The catalog is cut into SKU ranges (RepricingChunk) when the job starts;
+ *   a chunk's prices, its DONE mark and these counters commit together, so
+ *   a job resumed after a crash continues with exactly the chunks not done
+ * - heartbeat_at is refreshed while an instance works on the job; a RUNNING
+ *   job whose heartbeat is older than the lease is claimed and resumed by
+ *   any instance (RepricingJobRunner)
+ * - Rate and ETA are measured from run_started_at / skus_at_run_start, so
+ *   time a job spent interrupted does not skew them
+ */
+@Entity
+@Table(
+    name = "p_repricing_jobs",
+    indexes = {
+        @Index(name = "idx_repricing_jobs_client_created", columnList = "client_id, create_date_time"),
+        @Index(name = "idx_repricing_jobs_status", columnList = "status")
+    }
+)
+public class RepricingJob {
+
+    @Id
+    @UuidGenerator
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", length = 16, updatable = false, nullable = false)
+    private UUID id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "rule_id", length = 16, updatable = false, nullable = false)
+    private UUID ruleId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "created_by", length = 16, updatable = false)
+    private UUID createdBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 12)
+    private RepricingStatus status = RepricingStatus.QUEUED;
+
+    /**
+     * Rule version the latest run priced with
+     */
+    @Column(name = "rule_version")
+    private Long ruleVersion;
+
+    /**
+     * Catalog size when the chunks were planned; products added later are
+     * priced too, so the final count can be higher
+     */
+    @Column(name = "total_skus", nullable = false)
+    private long totalSkus;
+
+    @Column(name = "chunk_count", nullable = false)
+    private int chunkCount;
+
+    @Column(name = "chunks_done", nullable = false)
+    private int chunksDone;
+
+    @Column(name = "chunks_failed", nullable = false)
+    private int chunksFailed;
+
+    @Column(name = "skus_priced", nullable = false)
+    private long skusPriced;
+
+    /**
+     * SKUs for which no price reaches the target margin
+     */
+    @Column(name = "skus_unreachable", nullable = false)
+    private long skusUnreachable;
+
+    /**
+     * SKUs without a cost price
+     */
+    @Column(name = "skus_skipped", nullable = false)
+    private long skusSkipped;
+
+    /**
+     * Failed chunk attempts, including those that succeeded on retry
+     */
+    @Column(name = "errors", nullable = false)
+    private long errors;
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "run_started_at")
+    private LocalDateTime runStartedAt;
+
+    @Column(name = "skus_at_run_start", nullable = false)
+    private long skusAtRunStart;
+
+    @CreationTimestamp
+    @Column(name = "create_date_time", updatable = false, nullable = false)
+    private LocalDateTime createDateTime;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public RepricingJob() {}
+
+    public RepricingJob(UUID clientId, UUID ruleId, UUID createdBy) {
+        this.clientId = clientId;
+        this.ruleId = ruleId;
+        this.createdBy = createdBy;
+        this.heartbeatAt = LocalDateTime.now();
+    }
+
+    /**
+     * SKUs handled so far: priced, unreachable or skipped
+     */
+    public long getSkusProcessed() {
+        return skusPriced + skusUnreachable + skusSkipped;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public UUID getRuleId() {
+        return ruleId;
+    }
+
+    public UUID getCreatedBy() {
+        return createdBy;
+    }
+
+    public RepricingStatus getStatus() {
+        return status;
+    }
+
+    public Long getRuleVersion() {
+        return ruleVersion;
+    }
+
+    public long getTotalSkus() {
+        return totalSkus;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public int getChunksDone() {
+        return chunksDone;
+    }
+
+    public int getChunksFailed() {
+        return chunksFailed;
+    }
+
+    public long getSkusPriced() {
+        return skusPriced;
+    }
+
+    public long getSkusUnreachable() {
+        return skusUnreachable;
+    }
+
+    public long getSkusSkipped() {
+        return skusSkipped;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public LocalDateTime getRunStartedAt() {
+        return runStartedAt;
+    }
+
+    public long getSkusAtRunStart() {
+        return skusAtRunStart;
+    }
+
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RepricingJob{" +
+                "id=" + id +
+                ", clientId=" + clientId +
+                ", ruleId=" + ruleId +
+                ", status=" + status +
+                ", chunksDone=" + chunksDone + "/" + chunkCount +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.elowen.pricing.entity;
+
+/**
+ * Lifecycle of a repricing job.
+ * 
+ * QUEUED -> RUNNING -> COMPLETED | FAILED | CANCELLED
+ * SKUs without a reachable price do not fail a job; FAILED means the catalog
+ * could not be planned, or chunks still failed after their retries - a
+ * retry then reprices only those chunks.
+ */
+public enum RepricingStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+    
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,133 @@
+package com.elowen.pricing.entity;
+
+import com.elowen.pricing.engine.PriceQuote;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Latest computed price of a SKU under a pricing rule.
+ *
+ * Written only by repricing jobs, with batched JDBC upserts
+ * (RepricingResultWriter); read through the API in SKU order.
+ * UNREACHABLE rows keep the SKU visible with null amounts.
+ */
+@Entity
+@Table(
+    name = "p_sku_prices",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sku_prices_client_rule_sku", columnNames = {"client_id", "rule_id", "sku"})
+    }
+)
+public class SkuPrice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "rule_id", length = 16, updatable = false, nullable = false)
+    private UUID ruleId;
+
+    @Column(name = "sku", updatable = false, nullable = false, length = 64)
+    private String sku;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 12)
+    private PriceQuote.Status status;
+
+    @Column(name = "cost_price", nullable = false, precision = 14, scale = 2)
+    private BigDecimal costPrice;
+
+    @Column(name = "weight_grams")
+    private Integer weightGrams;
+
+    @Column(name = "selling_price", precision = 14, scale = 2)
+    private BigDecimal sellingPrice;
+
+    @Column(name = "net_revenue", precision = 14, scale = 2)
+    private BigDecimal netRevenue;
+
+    @Column(name = "margin", precision = 14, scale = 2)
+    private BigDecimal margin;
+
+    @Column(name = "margin_bps")
+    private Integer marginBps;
+
+    @Column(name = "rule_version", nullable = false)
+    private long ruleVersion;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "job_id", length = 16, nullable = false)
+    private UUID jobId;
+
+    @Column(name = "priced_at", nullable = false)
+    private LocalDateTime pricedAt;
+
+    public SkuPrice() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public UUID getRuleId() {
+        return ruleId;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public PriceQuote.Status getStatus() {
+        return status;
+    }
+
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+
+    public BigDecimal getSellingPrice() {
+        return sellingPrice;
+    }
+
+    public BigDecimal getNetRevenue() {
+        return netRevenue;
+    }
+
+    public BigDecimal getMargin() {
+        return margin;
+    }
+
+    public Integer getMarginBps() {
+        return marginBps;
+    }
+
+    public long getRuleVersion() {
+        return ruleVersion;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public LocalDateTime getPricedAt() {
+        return pricedAt;
+    }
+}
@@ -0,0 +1,128 @@
+package com.elowen.pricing.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Global exception handler for pricing-service.
+ * 
+ * Same error body as admin-service and product-service: error, message, status
+ * (plus fieldErrors for validation failures).
+ */
+@ControllerAdvice
+public class GlobalExceptionHandler {
+    
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    
+    /**
+     * Handle access denied (403) - Non-admin users on write endpoints
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleAccessDenied(AccessDeniedException e) {
+        log.warn("Access denied: {}", e.getMessage());
+        return error(HttpStatus.FORBIDDEN, "Access Denied", "Admin privileges required");
+    }
+    
+    /**
+     * Handle pricing rule not found (404) - Wrong client or non-existent rule
+     */
+    @ExceptionHandler(PricingRuleNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handlePricingRuleNotFound(PricingRuleNotFoundException e) {
+        log.warn("Pricing rule not found: {}", e.getMessage());
+        return error(HttpStatus.NOT_FOUND, "Pricing Rule Not Found", e.getMessage());
+    }
+    
+    /**
+     * Handle duplicate rule name (409) - Name conflict within client
+     */
+    @ExceptionHandler(PricingRuleNameAlreadyExistsException.class)
+    public ResponseEntity<Map<String, Object>> handlePricingRuleNameExists(PricingRuleNameAlreadyExistsException e) {
+        log.warn("Pricing rule name conflict: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, "Pricing Rule Already Exists", e.getMessage());
+    }
+    
+    /**
+     * Handle repricing job not found (404) - Wrong client or non-existent job
+     */
+    @ExceptionHandler(RepricingJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleRepricingJobNotFound(RepricingJobNotFoundException e) {
+        log.warn("Repricing job not found: {}", e.getMessage());
+        return error(HttpStatus.NOT_FOUND, "Repricing Job Not Found", e.getMessage());
+    }
+    
+    /**
+     * Handle repricing conflicts (409) - Job already active for the rule, job not retryable
+     */
+    @ExceptionHandler(RepricingJobConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleRepricingJobConflict(RepricingJobConflictException e) {
+        log.warn("Repricing conflict: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, "Repricing Conflict", e.getMessage());
+    }
+    
+    /**
+     * Handle optimistic lock failure at commit (409) - Concurrent rule update won the race
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        log.warn("Optimistic lock failure: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, "Pricing Rule Modified Concurrently",
+                "Pricing rule was changed by another request. Reload and try again.");
+    }
+    
+    /**
+     * Handle validation errors (400) - Invalid request data
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException e) {
+        log.warn("Validation failed: {}", e.getMessage());
+        
+        Map<String, String> fieldErrors = new HashMap<>();
+        e.getBindingResult().getAllErrors().forEach(err -> {
+            if (err instanceof FieldError fieldError) {
+                fieldErrors.put(fieldError.getField(), fieldError.getDefaultMessage());
+            }
+        });
+        
+        ResponseEntity<Map<String, Object>> response = 
+                error(HttpStatus.BAD_REQUEST, "Validation Failed", "Invalid request data");
+        response.getBody().put("fieldErrors", fieldErrors);
+        return response;
+    }
+    
+    /**
+     * Handle illegal argument (400) - Business rule violations, invalid rule definitions
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
+        log.warn("Illegal argument: {}", e.getMessage());
+        return error(HttpStatus.BAD_REQUEST, "Invalid Request", e.getMessage());
+    }
+    
+    /**
+     * Handle generic exceptions (500) - Unexpected errors
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, Object>> handleGenericException(Exception e) {
+        log.error("Unexpected error: {}", e.getMessage(), e);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "An unexpected error occurred");
+    }
+    
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String error, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", error);
+        body.put("message", message);
+        body.put("status", status.value());
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,13 @@
+package com.elowen.pricing.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a pricing rule name is already used by another rule of the client.
+ */
+public class PricingRuleNameAlreadyExistsException extends RuntimeException {
+    
+    public PricingRuleNameAlreadyExistsException(String name, UUID clientId) {
+        super(String.format("Pricing rule '%s' already exists for client %s", name, clientId));
+    }
+}
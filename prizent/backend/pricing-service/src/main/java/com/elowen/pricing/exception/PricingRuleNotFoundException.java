@@ -0,0 +1,15 @@
+package com.elowen.pricing.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a pricing rule is not found within client's tenant boundary.
+ * 
+ * A rule of another client is reported exactly like one that does not exist.
+ */
+public class PricingRuleNotFoundException extends RuntimeException {
+    
+    public PricingRuleNotFoundException(UUID ruleId, UUID clientId) {
+        super(String.format("Pricing rule with ID %s not found for client %s", ruleId, clientId));
+    }
+}
@@ -0,0 +1,12 @@
+package com.elowen.pricing.exception;
+
+/**
+ * Exception thrown when a request clashes with the repricing state of a rule:
+ * a job is already active for it, or a job cannot be retried.
+ */
+public class RepricingJobConflictException extends RuntimeException {
+    
+    public RepricingJobConflictException(String message) {
+        super(message);
+    }
+}
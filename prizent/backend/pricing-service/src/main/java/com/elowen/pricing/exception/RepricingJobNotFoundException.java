@@ -0,0 +1,13 @@
+package com.elowen.pricing.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a repricing job is not found within client's tenant boundary.
+ */
+public class RepricingJobNotFoundException extends RuntimeException {
+    
+    public RepricingJobNotFoundException(UUID jobId, UUID clientId) {
+        super(String.format("Repricing job with ID %s not found for client %s", jobId, clientId));
+    }
+}
@@ -0,0 +1,35 @@
+package com.elowen.pricing.repository;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * UUID <-> BINARY(16) for plain JDBC statements.
+ * 
+ * Same byte order Hibernate uses for UUID attributes mapped with
+ * SqlTypes.BINARY (most significant bits first), so JDBC-written rows
+ * read back correctly through JPA.
+ */
+public final class JdbcUuids {
+    
+    private JdbcUuids() {
+    }
+    
+    public static byte[] toBytes(UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+    
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,28 @@
+package com.elowen.pricing.repository;
+
+import com.elowen.pricing.entity.PricingRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for PricingRule entities with STRICT tenant isolation.
+ */
+@Repository
+public interface PricingRuleRepository extends JpaRepository<PricingRule, UUID> {
+
+    /**
+     * Find rule by ID within client's tenant boundary
+     * SECURITY: Prevents cross-tenant data access
+     */
+    Optional<PricingRule> findByIdAndClientId(UUID id, UUID clientId);
+
+    List<PricingRule> findAllByClientIdOrderByNameAsc(UUID clientId);
+
+    boolean existsByClientIdAndNameIgnoreCase(UUID clientId, String name);
+
+    boolean existsByClientIdAndNameIgnoreCaseAndIdNot(UUID clientId, String name, UUID id);
+}
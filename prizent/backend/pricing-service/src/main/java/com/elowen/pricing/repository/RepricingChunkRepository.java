@@ -0,0 +1,35 @@
+package com.elowen.pricing.repository;
+
+import com.elowen.pricing.entity.RepricingChunk;
+import com.elowen.pricing.entity.RepricingChunkStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the SKU ranges of repricing jobs.
+ * 
+ * Chunks are only reached through their job, which is tenant-checked first.
+ */
+@Repository
+public interface RepricingChunkRepository extends JpaRepository<RepricingChunk, Long> {
+    
+    List<RepricingChunk> findByJobIdAndStatusOrderByChunkNoAsc(UUID jobId, RepricingChunkStatus status);
+    
+    List<RepricingChunk> findByJobIdAndStatusOrderByChunkNoAsc(UUID jobId, RepricingChunkStatus status, Limit limit);
+    
+    long countByJobId(UUID jobId);
+    
+    long countByJobIdAndStatus(UUID jobId, RepricingChunkStatus status);
+    
+    @Modifying
+    @Query("UPDATE RepricingChunk c SET c.status = com.elowen.pricing.entity.RepricingChunkStatus.PENDING, " +
+           "c.attempts = 0 WHERE c.jobId = :jobId AND c.status = com.elowen.pricing.entity.RepricingChunkStatus.FAILED")
+    int resetFailed(@Param("jobId") UUID jobId);
+}
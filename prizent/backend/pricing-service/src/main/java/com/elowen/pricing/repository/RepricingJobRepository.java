@@ -0,0 +1,99 @@
+package com.elowen.pricing.repository;
+
+import com.elowen.pricing.entity.RepricingJob;
+import com.elowen.pricing.entity.RepricingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for repricing jobs, tenant-scoped for API reads.
+ * 
+ * Design Decisions:
+ * - Ownership of a running job is a lease on heartbeat_at: start() takes a
+ *   QUEUED job, claimAbandoned() only a job whose heartbeat is stale - both
+ *   conditional UPDATEs, so exactly one instance wins
+ * - Progress counters are incremented by RepricingResultWriter in each
+ *   chunk's transaction, not through the entity
+ */
+@Repository
+public interface RepricingJobRepository extends JpaRepository<RepricingJob, UUID> {
+    
+    Optional<RepricingJob> findByIdAndClientId(UUID id, UUID clientId);
+    
+    List<RepricingJob> findTop20ByClientIdOrderByCreateDateTimeDesc(UUID clientId);
+    
+    boolean existsByRuleIdAndStatusIn(UUID ruleId, Collection<RepricingStatus> statuses);
+    
+    @Query("SELECT j.status FROM RepricingJob j WHERE j.id = :id")
+    Optional<RepricingStatus> findStatus(@Param("id") UUID id);
+    
+    /**
+     * Active jobs nobody has worked on since staleBefore
+     */
+    @Query("SELECT j.id FROM RepricingJob j " +
+           "WHERE j.status IN (com.elowen.pricing.entity.RepricingStatus.QUEUED, " +
+           "com.elowen.pricing.entity.RepricingStatus.RUNNING) AND j.heartbeatAt < :staleBefore")
+    List<UUID> findAbandonedIds(@Param("staleBefore") LocalDateTime staleBefore);
+    
+    @Modifying
+    @Query("UPDATE RepricingJob j SET j.status = com.elowen.pricing.entity.RepricingStatus.RUNNING, " +
+           "j.heartbeatAt = :now, j.runStartedAt = :now, j.startedAt = COALESCE(j.startedAt, :now), " +
+           "j.skusAtRunStart = j.skusPriced + j.skusUnreachable + j.skusSkipped " +
+           "WHERE j.id = :id AND j.status = com.elowen.pricing.entity.RepricingStatus.QUEUED")
+    int start(@Param("id") UUID id, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE RepricingJob j SET j.status = com.elowen.pricing.entity.RepricingStatus.RUNNING, " +
+           "j.heartbeatAt = :now, j.runStartedAt = :now, j.startedAt = COALESCE(j.startedAt, :now), " +
+           "j.skusAtRunStart = j.skusPriced + j.skusUnreachable + j.skusSkipped " +
+           "WHERE j.id = :id AND j.status IN (com.elowen.pricing.entity.RepricingStatus.QUEUED, " +
+           "com.elowen.pricing.entity.RepricingStatus.RUNNING) AND j.heartbeatAt < :staleBefore")
+    int claimAbandoned(@Param("id") UUID id, @Param("now") LocalDateTime now,
+                       @Param("staleBefore") LocalDateTime staleBefore);
+    
+    @Modifying
+    @Query("UPDATE RepricingJob j SET j.heartbeatAt = :now " +
+           "WHERE j.id IN :ids AND j.status IN (com.elowen.pricing.entity.RepricingStatus.QUEUED, " +
+           "com.elowen.pricing.entity.RepricingStatus.RUNNING)")
+    int heartbeat(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE RepricingJob j SET j.totalSkus = :totalSkus, j.chunkCount = :chunkCount WHERE j.id = :id")
+    int recordPlan(@Param("id") UUID id, @Param("totalSkus") long totalSkus, @Param("chunkCount") int chunkCount);
+    
+    @Modifying
+    @Query("UPDATE RepricingJob j SET j.ruleVersion = :ruleVersion WHERE j.id = :id")
+    int recordRuleVersion(@Param("id") UUID id, @Param("ruleVersion") Long ruleVersion);
+    
+    /**
+     * Move a job to another status; only from one that is not finished yet
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RepricingJob j SET j.status = :status, j.message = :message, j.finishedAt = :finishedAt " +
+           "WHERE j.id = :id AND j.status IN (com.elowen.pricing.entity.RepricingStatus.QUEUED, " +
+           "com.elowen.pricing.entity.RepricingStatus.RUNNING)")
+    int finish(
+        @Param("id") UUID id,
+        @Param("status") RepricingStatus status,
+        @Param("message") String message,
+        @Param("finishedAt") LocalDateTime finishedAt
+    );
+    
+    /**
+     * Queue a FAILED job again; its FAILED chunks are reset separately
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RepricingJob j SET j.status = com.elowen.pricing.entity.RepricingStatus.QUEUED, " +
+           "j.chunksFailed = 0, j.message = NULL, j.finishedAt = NULL, j.heartbeatAt = :now " +
+           "WHERE j.id = :id AND j.status = com.elowen.pricing.entity.RepricingStatus.FAILED")
+    int requeue(@Param("id") UUID id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,29 @@
+package com.elowen.pricing.repository;
+
+import com.elowen.pricing.entity.SkuPrice;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for computed SKU prices with STRICT tenant isolation.
+ * 
+ * Rows are written by RepricingResultWriter (plain JDBC); this side only
+ * reads them in SKU order and drops them with their rule.
+ */
+@Repository
+public interface SkuPriceRepository extends JpaRepository<SkuPrice, Long> {
+    
+    List<SkuPrice> findByClientIdAndRuleIdAndSkuGreaterThanOrderBySkuAsc(
+            UUID clientId, UUID ruleId, String afterSku, Limit limit);
+    
+    @Modifying
+    @Query("DELETE FROM SkuPrice p WHERE p.clientId = :clientId AND p.ruleId = :ruleId")
+    int deleteByRule(@Param("clientId") UUID clientId, @Param("ruleId") UUID ruleId);
+}
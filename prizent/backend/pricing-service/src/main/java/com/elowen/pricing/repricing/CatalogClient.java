@@ -0,0 +1,104 @@
+package com.elowen.pricing.repricing;
+
+import com.elowen.pricing.dto.PricingInput;
+import com.elowen.pricing.dto.PricingInputPage;
+import com.elowen.pricing.dto.PricingInputPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads catalogs from product-service (/api/internal/pricing-inputs).
+ * 
+ * Failures surface as exceptions; RepricingJobRunner retries the chunk.
+ * Every request carries the shared service token product-service requires
+ * on /api/internal (internal.service-token).
+ */
+@Component
+public class CatalogClient {
+    
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+    
+    private final RestClient restClient;
+    private final String url;
+    private final int pageSize;
+    
+    public CatalogClient(
+            @Value("${pricing.repricing.catalog.url:http://localhost:8083/api/internal/pricing-inputs}") String url,
+            @Value("${pricing.repricing.catalog.page-size:5000}") int pageSize,
+            @Value("${pricing.repricing.catalog.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${pricing.repricing.catalog.read-timeout-ms:60000}") int readTimeoutMs,
+            @Value("${internal.service-token:}") String serviceToken) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .defaultHeader(SERVICE_TOKEN_HEADER, serviceToken)
+                .build();
+        this.url = url;
+        this.pageSize = pageSize;
+    }
+    
+    public PricingInputPlan plan(UUID clientId, int chunkSize) {
+        String uri = UriComponentsBuilder.fromHttpUrl(url).path("/plan")
+                .queryParam("clientId", clientId)
+                .queryParam("chunkSize", chunkSize)
+                .toUriString();
+        PricingInputPlan plan = restClient.get().uri(uri).retrieve().body(PricingInputPlan.class);
+        if (plan == null) {
+            throw new IllegalStateException("Empty catalog plan from " + url);
+        }
+        return plan;
+    }
+    
+    /**
+     * Every product with after < sku <= through (null bounds are open), in SKU order
+     */
+    public List<PricingInput> read(UUID clientId, String after, String through) {
+        List<PricingInput> items = new ArrayList<>();
+        String cursor = after;
+        do {
+            UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(url)
+                    .queryParam("clientId", clientId)
+                    .queryParam("size", pageSize);
+            if (cursor != null) {
+                uri.queryParam("after", "{after}");
+            }
+            if (through != null) {
+                uri.queryParam("through", "{through}");
+            }
+            // SKUs go through URI variables so they are encoded, not parsed as templates
+            PricingInputPage page = restClient.get()
+                    .uri(uri.build().toUriString(), variables(cursor, through))
+                    .retrieve()
+                    .body(PricingInputPage.class);
+            if (page == null) {
+                throw new IllegalStateException("Empty catalog page from " + url);
+            }
+            items.addAll(page.getItems());
+            cursor = page.getNextAfter();
+        } while (cursor != null);
+        return items;
+    }
+    
+    private static Map<String, Object> variables(String after, String through) {
+        Map<String, Object> variables = new HashMap<>();
+        if (after != null) {
+            variables.put("after", after);
+        }
+        if (through != null) {
+            variables.put("through", through);
+        }
+        return variables;
+    }
+}
@@ -0,0 +1,79 @@
+package com.elowen.pricing.repricing;
+
+import com.elowen.pricing.dto.PricingInput;
+import com.elowen.pricing.engine.CompiledPricingRule;
+import com.elowen.pricing.engine.Money;
+import com.elowen.pricing.engine.PriceQuote;
+
+import java.util.List;
+
+/**
+ * Prices of one chunk, held column-wise (parallel primitive arrays) until
+ * RepricingResultWriter binds them to its batches.
+ *
+ * SKUs without a cost price (or with one the engine cannot take) are
+ * skipped; they get no price row.
+ */
+final class RepricedChunk {
+
+    final String[] skus;
+    final long[] costs;
+    final int[] weights;
+    final boolean[] hasWeight;
+    final boolean[] reachable;
+    final long[] sellingPrices;
+    final long[] netRevenues;
+    final long[] margins;
+    final int[] marginBps;
+    int size;
+    int unreachable;
+    int skipped;
+
+    private RepricedChunk(int capacity) {
+        skus = new String[capacity];
+        costs = new long[capacity];
+        weights = new int[capacity];
+        hasWeight = new boolean[capacity];
+        reachable = new boolean[capacity];
+        sellingPrices = new long[capacity];
+        netRevenues = new long[capacity];
+        margins = new long[capacity];
+        marginBps = new int[capacity];
+    }
+
+    static RepricedChunk price(List<PricingInput> inputs, CompiledPricingRule rule) {
+        RepricedChunk chunk = new RepricedChunk(inputs.size());
+        PriceQuote quote = new PriceQuote();
+        for (PricingInput input : inputs) {
+            long cost;
+            try {
+                cost = Money.toMinor(input.getCostPrice(), "costPrice");
+            } catch (IllegalArgumentException e) {
+                chunk.skipped++;
+                continue;
+            }
+            Integer weight = input.getWeightGrams();
+            rule.quote(cost, weight != null ? Math.max(0, weight) : 0, quote);
+
+            int i = chunk.size++;
+            chunk.skus[i] = input.getSku();
+            chunk.costs[i] = cost;
+            chunk.hasWeight[i] = weight != null;
+            chunk.weights[i] = weight != null ? weight : 0;
+            chunk.reachable[i] = quote.getStatus() == PriceQuote.Status.OK;
+            if (chunk.reachable[i]) {
+                chunk.sellingPrices[i] = quote.getSellingPrice();
+                chunk.netRevenues[i] = quote.getNetRevenue();
+                chunk.margins[i] = quote.getMargin();
+                chunk.marginBps[i] = quote.getMarginBps();
+            } else {
+                chunk.unreachable++;
+            }
+        }
+        return chunk;
+    }
+
+    int priced() {
+        return size - unreachable;
+    }
+}
@@ -0,0 +1,62 @@
+package com.elowen.pricing.repricing;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State of one running repricing job, shared by its chunk workers and cancel requests.
+ */
+final class RepricingContext {
+
+    private final UUID jobId;
+    private final AtomicInteger chunksHandled = new AtomicInteger();
+    private final AtomicInteger failedInARow = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile String stopReason;
+
+    RepricingContext(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    UUID getJobId() {
+        return jobId;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Stop taking chunks because the job cannot succeed; unlike cancel() the job ends FAILED
+     */
+    void stop(String reason) {
+        stopReason = reason;
+        cancelled = true;
+    }
+
+    String getStopReason() {
+        return stopReason;
+    }
+
+    void chunkSucceeded() {
+        failedInARow.set(0);
+    }
+
+    /**
+     * Count a chunk that failed for good; returns the failures since the last success
+     */
+    int chunkFailed() {
+        return failedInARow.incrementAndGet();
+    }
+
+    /**
+     * Count a chunk this run is done with; returns the running total
+     */
+    int chunkHandled() {
+        return chunksHandled.incrementAndGet();
+    }
+}
@@ -0,0 +1,379 @@
+package com.elowen.pricing.repricing;
+
+import com.elowen.pricing.dto.PricingInput;
+import com.elowen.pricing.dto.PricingInputPlan;
+import com.elowen.pricing.engine.CompiledPricingRule;
+import com.elowen.pricing.entity.PricingRule;
+import com.elowen.pricing.entity.RepricingChunk;
+import com.elowen.pricing.entity.RepricingChunkStatus;
+import com.elowen.pricing.entity.RepricingJob;
+import com.elowen.pricing.entity.RepricingStatus;
+import com.elowen.pricing.repository.PricingRuleRepository;
+import com.elowen.pricing.repository.RepricingChunkRepository;
+import com.elowen.pricing.repository.RepricingJobRepository;
+import com.elowen.pricing.service.CompiledRuleCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reprices whole catalogs in the background: plan, price, write.
+ *
+ * PIPELINE (per job):
+ *   product-service plans the catalog into SKU ranges of chunk-size SKUs,
+ *   stored as PENDING chunks
+ *     -> the fork-join pool takes chunks in parallel: read the range from
+ *        product-service, price it with the compiled rule, write it in one
+ *        transaction (RepricingResultWriter)
+ *     -> once every chunk is DONE, prices of SKUs that left the catalog are
+ *        purged and the job is COMPLETED
+ *
+ * Design Decisions:
+ * - A chunk is a SKU range, not an offset - it stays valid while products
+ *   are added or removed, so a resumed job needs no new plan
+ * - The DONE mark commits with the chunk's prices, so it is the checkpoint:
+ *   a job cut off by a crash or restart continues with its PENDING chunks
+ * - A running job holds a lease: its heartbeat_at is refreshed every
+ *   heartbeat-interval; any instance claims a job whose heartbeat is older
+ *   than lease-seconds and resumes it
+ * - One fork-join pool of `parallelism` workers is shared by all jobs;
+ *   at most max-concurrent-jobs run at once, further jobs wait in QUEUED.
+ *   Workers hold a connection only while writing, so parallelism should
+ *   stay below the connection pool size
+ * - A chunk that fails is retried max-attempts times with a growing pause;
+ *   then it is FAILED, the others carry on, and the job ends FAILED - a
+ *   retry of the job reprices only its FAILED and unwritten chunks
+ * - max-consecutive-failures chunks failing in a row mean product-service
+ *   or the database is down, not bad data: the job stops instead of
+ *   retrying every remaining chunk against the outage
+ * - Cancellation is checked between chunks; committed chunks stay
+ */
+@Component
+public class RepricingJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RepricingJobRunner.class);
+
+    private static final int STATUS_CHECK_EVERY_CHUNKS = 20;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final RepricingJobRepository jobRepository;
+    private final RepricingChunkRepository chunkRepository;
+    private final PricingRuleRepository ruleRepository;
+    private final CompiledRuleCache compiledRules;
+    private final CatalogClient catalog;
+    private final RepricingResultWriter writer;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long leaseSeconds;
+    private final int maxConsecutiveFailures;
+    private final ExecutorService jobExecutor;
+    private final ForkJoinPool pricingPool;
+    private final Map<UUID, RepricingContext> running = new ConcurrentHashMap<>();
+
+    public RepricingJobRunner(
+            RepricingJobRepository jobRepository,
+            RepricingChunkRepository chunkRepository,
+            PricingRuleRepository ruleRepository,
+            CompiledRuleCache compiledRules,
+            CatalogClient catalog,
+            RepricingResultWriter writer,
+            PlatformTransactionManager transactionManager,
+            @Value("${pricing.repricing.chunk-size:5000}") int chunkSize,
+            @Value("${pricing.repricing.parallelism:0}") int parallelism,
+            @Value("${pricing.repricing.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${pricing.repricing.max-attempts:3}") int maxAttempts,
+            @Value("${pricing.repricing.retry-backoff-ms:2000}") long retryBackoffMs,
+            @Value("${pricing.repricing.lease-seconds:60}") long leaseSeconds,
+            @Value("${pricing.repricing.max-consecutive-failures:5}") int maxConsecutiveFailures) {
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.ruleRepository = ruleRepository;
+        this.compiledRules = compiledRules;
+        this.catalog = catalog;
+        this.writer = writer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.leaseSeconds = Math.max(1, leaseSeconds);
+        this.maxConsecutiveFailures = Math.max(1, maxConsecutiveFailures);
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger jobThreads = new AtomicInteger();
+        this.jobExecutor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentJobs), runnable -> {
+            Thread thread = new Thread(runnable, "pricing-repricing-" + jobThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger workerThreads = new AtomicInteger();
+        this.pricingPool = new ForkJoinPool(threads, pool -> {
+            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName("pricing-repricing-worker-" + workerThreads.incrementAndGet());
+            worker.setDaemon(true);
+            return worker;
+        }, null, false);
+    }
+
+    /**
+     * Queue a saved QUEUED job
+     */
+    public void submit(UUID jobId) {
+        submit(jobId, false);
+    }
+
+    /**
+     * Queue a FAILED job again with its FAILED chunks reset; false if the job is not FAILED
+     */
+    public boolean retry(UUID jobId) {
+        Boolean requeued = transactionTemplate.execute(tx -> {
+            if (jobRepository.requeue(jobId, LocalDateTime.now()) == 0) {
+                return false;
+            }
+            chunkRepository.resetFailed(jobId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(requeued)) {
+            return false;
+        }
+        submit(jobId, false);
+        return true;
+    }
+
+    /**
+     * Stop a job of this instance after its current chunks; false if it is not running here
+     */
+    public boolean cancel(UUID jobId) {
+        RepricingContext context = running.get(jobId);
+        if (context == null) {
+            return false;
+        }
+        context.cancel();
+        return true;
+    }
+
+    /**
+     * Renew the lease of every job this instance holds, queued ones included
+     */
+    @Scheduled(initialDelayString = "${pricing.repricing.heartbeat-interval-ms:15000}",
+            fixedDelayString = "${pricing.repricing.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(running.keySet());
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.heartbeat(ids, LocalDateTime.now()));
+    }
+
+    /**
+     * Claim and resume jobs whose lease ran out - their instance crashed,
+     * was restarted or lost the database
+     */
+    @Scheduled(initialDelayString = "${pricing.repricing.resume-initial-delay-ms:10000}",
+            fixedDelayString = "${pricing.repricing.resume-interval-ms:30000}")
+    public void resumeAbandoned() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusSeconds(leaseSeconds);
+        for (UUID jobId : jobRepository.findAbandonedIds(staleBefore)) {
+            if (running.containsKey(jobId)) {
+                continue;
+            }
+            Integer claimed = transactionTemplate.execute(tx -> jobRepository.claimAbandoned(jobId, now, staleBefore));
+            if (claimed != null && claimed > 0) {
+                log.warn("Repricing job {} lost its lease and is resumed here", jobId);
+                submit(jobId, true);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        pricingPool.shutdownNow();
+    }
+
+    private void submit(UUID jobId, boolean claimed) {
+        RepricingContext context = new RepricingContext(jobId);
+        if (running.putIfAbsent(jobId, context) != null) {
+            return;
+        }
+        try {
+            jobExecutor.execute(() -> run(context, claimed));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the lease runs out and another instance resumes the job
+            running.remove(jobId);
+        }
+    }
+
+    private void run(RepricingContext context, boolean claimed) {
+        UUID jobId = context.getJobId();
+        try {
+            if (!claimed) {
+                Integer started = transactionTemplate.execute(tx -> jobRepository.start(jobId, LocalDateTime.now()));
+                if (started == null || started == 0) {
+                    log.info("Repricing job {} was cancelled or taken over before it started", jobId);
+                    return;
+                }
+            }
+            long start = System.nanoTime();
+            RepricingJob job = jobRepository.findById(jobId).orElseThrow();
+            Optional<PricingRule> rule = ruleRepository.findByIdAndClientId(job.getRuleId(), job.getClientId());
+            if (rule.isEmpty()) {
+                finish(jobId, RepricingStatus.FAILED, "Pricing rule no longer exists");
+                return;
+            }
+            // Resumed runs price with the rule's current version; the job records the last one used
+            CompiledPricingRule compiled = compiledRules.get(rule.get());
+            long ruleVersion = rule.get().getVersion();
+            transactionTemplate.executeWithoutResult(tx -> jobRepository.recordRuleVersion(jobId, ruleVersion));
+
+            if (chunkRepository.countByJobId(jobId) == 0) {
+                plan(job);
+            }
+            List<RepricingChunk> pending =
+                    chunkRepository.findByJobIdAndStatusOrderByChunkNoAsc(jobId, RepricingChunkStatus.PENDING);
+            pricingPool.submit(() -> pending.parallelStream()
+                    .forEach(chunk -> reprice(context, job, ruleVersion, compiled, chunk)))
+                    .join();
+
+            if (context.isCancelled() && context.getStopReason() == null) {
+                log.info("Repricing job {} cancelled", jobId);
+                return;
+            }
+            long unfinished = chunkRepository.countByJobIdAndStatus(jobId, RepricingChunkStatus.FAILED)
+                    + chunkRepository.countByJobIdAndStatus(jobId, RepricingChunkStatus.PENDING);
+            if (unfinished > 0) {
+                long chunks = chunkRepository.countByJobId(jobId);
+                String stopped = context.getStopReason() != null ? context.getStopReason() + "; " : "";
+                finish(jobId, RepricingStatus.FAILED,
+                        stopped + unfinished + " of " + chunks + " chunks not repriced - retry the job to reprice them");
+                log.warn("Repricing job {} finished with {} of {} chunks not repriced", jobId, unfinished, chunks);
+                return;
+            }
+            int purged = writer.purgeStale(job);
+            finish(jobId, RepricingStatus.COMPLETED, null);
+            log.info("Repricing job {} completed in {} ms ({} stale prices purged)",
+                    jobId, (System.nanoTime() - start) / 1_000_000, purged);
+        } catch (RuntimeException e) {
+            log.error("Repricing job {} failed: {}", jobId, e.getMessage(), e);
+            finish(jobId, RepricingStatus.FAILED, "Repricing failed: " + e.getMessage());
+        } finally {
+            running.remove(jobId);
+        }
+    }
+
+    /**
+     * Split the catalog at the SKU boundaries product-service reports:
+     * chunk n covers boundary[n-1] < sku <= boundary[n], the last one is open
+     */
+    private void plan(RepricingJob job) {
+        PricingInputPlan plan = catalog.plan(job.getClientId(), chunkSize);
+        List<RepricingChunk> chunks = new ArrayList<>(plan.getBoundaries().size() + 1);
+        String after = null;
+        for (String boundary : plan.getBoundaries()) {
+            chunks.add(new RepricingChunk(job.getId(), chunks.size(), after, boundary));
+            after = boundary;
+        }
+        chunks.add(new RepricingChunk(job.getId(), chunks.size(), after, null));
+        transactionTemplate.executeWithoutResult(tx -> {
+            chunkRepository.saveAll(chunks);
+            jobRepository.recordPlan(job.getId(), plan.getTotal(), chunks.size());
+        });
+        log.info("Repricing job {} planned: {} SKUs in {} chunks", job.getId(), plan.getTotal(), chunks.size());
+    }
+
+    private void reprice(RepricingContext context, RepricingJob job, long ruleVersion,
+                         CompiledPricingRule rule, RepricingChunk chunk) {
+        if (context.isCancelled()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<PricingInput> inputs = catalog.read(job.getClientId(), chunk.getAfterSku(), chunk.getThroughSku());
+                if (!writer.write(job, ruleVersion, chunk.getId(), RepricedChunk.price(inputs, rule))) {
+                    log.debug("Chunk {} of repricing job {} was already finished by another run",
+                            chunk.getChunkNo(), job.getId());
+                }
+                context.chunkSucceeded();
+                break;
+            } catch (RuntimeException e) {
+                boolean lastAttempt = attempt >= maxAttempts;
+                log.warn("Chunk {} of repricing job {} failed (attempt {} of {}): {}",
+                        chunk.getChunkNo(), job.getId(), attempt, maxAttempts, e.getMessage());
+                if (!recordFailure(job.getId(), chunk, e, lastAttempt) || lastAttempt) {
+                    if (context.chunkFailed() >= maxConsecutiveFailures && context.getStopReason() == null) {
+                        context.stop("Stopped after " + maxConsecutiveFailures + " chunks failed in a row");
+                        log.warn("Repricing job {} stops: {} chunks failed in a row",
+                                job.getId(), maxConsecutiveFailures);
+                    }
+                    break;
+                }
+                if (context.isCancelled()) {
+                    break;
+                }
+                try {
+                    Thread.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        if (context.chunkHandled() % STATUS_CHECK_EVERY_CHUNKS == 0) {
+            checkCancelledElsewhere(context);
+        }
+    }
+
+    /**
+     * False when not even the failure can be recorded - the chunk stays
+     * PENDING and the job ends FAILED
+     */
+    private boolean recordFailure(UUID jobId, RepricingChunk chunk, RuntimeException error, boolean lastAttempt) {
+        try {
+            writer.recordFailure(jobId, chunk.getId(), truncate(String.valueOf(error.getMessage())), lastAttempt);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Could not record the failure of chunk {} of repricing job {}: {}",
+                    chunk.getChunkNo(), jobId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * A cancel request handled by another instance only reaches the database
+     */
+    private void checkCancelledElsewhere(RepricingContext context) {
+        jobRepository.findStatus(context.getJobId())
+                .filter(RepricingStatus::isFinished)
+                .ifPresent(status -> context.cancel());
+    }
+
+    private void finish(UUID jobId, RepricingStatus status, String message) {
+        transactionTemplate.executeWithoutResult(
+                tx -> jobRepository.finish(jobId, status, truncate(message), LocalDateTime.now()));
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_MESSAGE_LENGTH
+                ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+}
@@ -0,0 +1,216 @@
+package com.elowen.pricing.repricing;
+
+import com.elowen.pricing.engine.Money;
+import com.elowen.pricing.engine.PriceQuote;
+import com.elowen.pricing.entity.RepricingChunkStatus;
+import com.elowen.pricing.entity.RepricingJob;
+import com.elowen.pricing.repository.JdbcUuids;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes a chunk's prices with JDBC batches, one transaction per chunk.
+ *
+ * Design Decisions:
+ * - Upsert as UPDATE first, then INSERT of the rows the UPDATE batch did
+ *   not find - both are lookups on the (client, rule, sku) key, portable
+ *   between MySQL and H2, no persistence context. A SELECT ... sku IN (...)
+ *   to split the batch first would scan the rule's prices on H2 (IN only
+ *   uses the first index column), making every chunk slower than the last
+ * - The chunk is marked DONE first, conditionally on it still being
+ *   PENDING; if another run got there first nothing is written, so a job
+ *   resumed by two instances never double-counts
+ * - Prices, DONE mark and the job's counters commit together - that
+ *   transaction is the checkpoint a resumed job continues from
+ * - Every price row carries the job id; after a complete run, rows of
+ *   other jobs belong to SKUs that left the catalog and are purged
+ */
+@Component
+public class RepricingResultWriter {
+
+    private static final int IN_BATCH = 1000;
+
+    private static final String MARK_DONE =
+            "UPDATE p_repricing_chunks SET status = ?, attempts = attempts + 1, skus = ?, finished_at = ? "
+            + "WHERE id = ? AND status = ?";
+    private static final String MARK_FAILED_ATTEMPT =
+            "UPDATE p_repricing_chunks SET status = ?, attempts = attempts + 1, last_error = ?, finished_at = ? "
+            + "WHERE id = ? AND status = ?";
+    private static final String JOB_PROGRESS =
+            "UPDATE p_repricing_jobs SET chunks_done = chunks_done + 1, skus_priced = skus_priced + ?, "
+            + "skus_unreachable = skus_unreachable + ?, skus_skipped = skus_skipped + ?, heartbeat_at = ? WHERE id = ?";
+    private static final String JOB_ERROR =
+            "UPDATE p_repricing_jobs SET errors = errors + 1, chunks_failed = chunks_failed + ? WHERE id = ?";
+    private static final String INSERT_PRICE =
+            "INSERT INTO p_sku_prices (status, cost_price, weight_grams, selling_price, net_revenue, margin, "
+            + "margin_bps, rule_version, job_id, priced_at, client_id, rule_id, sku) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PRICE =
+            "UPDATE p_sku_prices SET status = ?, cost_price = ?, weight_grams = ?, selling_price = ?, "
+            + "net_revenue = ?, margin = ?, margin_bps = ?, rule_version = ?, job_id = ?, priced_at = ? "
+            + "WHERE client_id = ? AND rule_id = ? AND sku = ?";
+    private static final String PURGE_STALE =
+            "DELETE FROM p_sku_prices WHERE client_id = ? AND rule_id = ? AND job_id <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RepricingResultWriter(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Write the chunk's prices and checkpoint it; false if the chunk was no
+     * longer PENDING (nothing written)
+     */
+    public boolean write(RepricingJob job, long ruleVersion, long chunkId, RepricedChunk chunk) {
+        Boolean written = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Timestamp pricedAt = Timestamp.valueOf(now);
+            int marked = jdbcTemplate.update(MARK_DONE, RepricingChunkStatus.DONE.name(), chunk.size, pricedAt,
+                    chunkId, RepricingChunkStatus.PENDING.name());
+            if (marked == 0) {
+                return false;
+            }
+
+            byte[] clientId = JdbcUuids.toBytes(job.getClientId());
+            byte[] ruleId = JdbcUuids.toBytes(job.getRuleId());
+            byte[] jobId = JdbcUuids.toBytes(job.getId());
+            List<Integer> rows = new ArrayList<>(chunk.size);
+            for (int i = 0; i < chunk.size; i++) {
+                rows.add(i);
+            }
+            List<Integer> missing = new ArrayList<>();
+            List<Integer> unknown = new ArrayList<>();
+            int[][] counts = batch(UPDATE_PRICE, rows, chunk, ruleVersion, jobId, pricedAt, clientId, ruleId);
+            int row = 0;
+            for (int[] batchCounts : counts) {
+                for (int count : batchCounts) {
+                    if (count == 0) {
+                        missing.add(rows.get(row));
+                    } else if (count < 0) {
+                        unknown.add(rows.get(row));
+                    }
+                    row++;
+                }
+            }
+            if (!unknown.isEmpty()) {
+                // The driver did not report per-row counts; ask the table which rows exist
+                Set<String> existing = existingSkus(clientId, ruleId, chunk, unknown);
+                unknown.stream().filter(i -> !existing.contains(chunk.skus[i])).forEach(missing::add);
+            }
+            batch(INSERT_PRICE, missing, chunk, ruleVersion, jobId, pricedAt, clientId, ruleId);
+
+            jdbcTemplate.update(JOB_PROGRESS, chunk.priced(), chunk.unreachable, chunk.skipped, pricedAt, jobId);
+            return true;
+        });
+        return Boolean.TRUE.equals(written);
+    }
+
+    /**
+     * Count a failed attempt; on the last one the chunk becomes FAILED
+     */
+    public void recordFailure(UUID jobId, long chunkId, String error, boolean lastAttempt) {
+        transactionTemplate.executeWithoutResult(status -> {
+            RepricingChunkStatus next = lastAttempt ? RepricingChunkStatus.FAILED : RepricingChunkStatus.PENDING;
+            int marked = jdbcTemplate.update(MARK_FAILED_ATTEMPT, next.name(), error,
+                    lastAttempt ? Timestamp.valueOf(LocalDateTime.now()) : null,
+                    chunkId, RepricingChunkStatus.PENDING.name());
+            if (marked > 0) {
+                jdbcTemplate.update(JOB_ERROR, lastAttempt ? 1 : 0, JdbcUuids.toBytes(jobId));
+            }
+        });
+    }
+
+    /**
+     * After every chunk of the job is DONE: drop prices the job did not
+     * write - SKUs deleted from the catalog or left without a cost price
+     */
+    public int purgeStale(RepricingJob job) {
+        Integer purged = transactionTemplate.execute(status -> jdbcTemplate.update(PURGE_STALE,
+                JdbcUuids.toBytes(job.getClientId()), JdbcUuids.toBytes(job.getRuleId()),
+                JdbcUuids.toBytes(job.getId())));
+        return purged != null ? purged : 0;
+    }
+
+    private Set<String> existingSkus(byte[] clientId, byte[] ruleId, RepricedChunk chunk, List<Integer> rows) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += IN_BATCH) {
+            List<String> skus = rows.subList(from, Math.min(from + IN_BATCH, rows.size())).stream()
+                    .map(i -> chunk.skus[i])
+                    .toList();
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("clientId", clientId)
+                    .addValue("ruleId", ruleId)
+                    .addValue("skus", skus);
+            namedJdbcTemplate.query(
+                    "SELECT sku FROM p_sku_prices WHERE client_id = :clientId AND rule_id = :ruleId AND sku IN (:skus)",
+                    params,
+                    resultSet -> {
+                        existing.add(resultSet.getString(1));
+                    });
+        }
+        return existing;
+    }
+
+    /**
+     * INSERT_PRICE and UPDATE_PRICE bind the same columns in the same order
+     */
+    private int[][] batch(String sql, List<Integer> rows, RepricedChunk chunk, long ruleVersion, byte[] jobId,
+                          Timestamp pricedAt, byte[] clientId, byte[] ruleId) {
+        if (rows.isEmpty()) {
+            return new int[0][];
+        }
+        return jdbcTemplate.batchUpdate(sql, rows, rows.size(), (statement, i) -> {
+            bind(statement, chunk, i, ruleVersion, jobId, pricedAt);
+            statement.setBytes(11, clientId);
+            statement.setBytes(12, ruleId);
+            statement.setString(13, chunk.skus[i]);
+        });
+    }
+
+    private static void bind(PreparedStatement statement, RepricedChunk chunk, int i, long ruleVersion,
+                             byte[] jobId, Timestamp pricedAt) throws SQLException {
+        boolean reachable = chunk.reachable[i];
+        statement.setString(1, (reachable ? PriceQuote.Status.OK : PriceQuote.Status.UNREACHABLE).name());
+        statement.setBigDecimal(2, Money.fromMinor(chunk.costs[i]));
+        if (chunk.hasWeight[i]) {
+            statement.setInt(3, chunk.weights[i]);
+        } else {
+            statement.setNull(3, Types.INTEGER);
+        }
+        if (reachable) {
+            statement.setBigDecimal(4, Money.fromMinor(chunk.sellingPrices[i]));
+            statement.setBigDecimal(5, Money.fromMinor(chunk.netRevenues[i]));
+            statement.setBigDecimal(6, Money.fromMinor(chunk.margins[i]));
+            statement.setInt(7, chunk.marginBps[i]);
+        } else {
+            statement.setNull(4, Types.DECIMAL);
+            statement.setNull(5, Types.DECIMAL);
+            statement.setNull(6, Types.DECIMAL);
+            statement.setNull(7, Types.INTEGER);
+        }
+        statement.setLong(8, ruleVersion);
+        statement.setBytes(9, jobId);
+        statement.setTimestamp(10, pricedAt);
+    }
+}
@@ -0,0 +1,50 @@
+package com.elowen.pricing.service;
+
+import com.elowen.pricing.engine.CompiledPricingRule;
+import com.elowen.pricing.engine.PricingRuleCompiler;
+import com.elowen.pricing.entity.PricingRule;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled pricing rules by rule id, valid for one rule version.
+ *
+ * Design Decisions:
+ * - Callers read the rule row anyway (tenant check), so its version decides
+ *   whether the cached evaluator is current; no invalidation messages needed
+ *   between instances
+ * - A concurrent compile of an older version may overwrite a newer entry;
+ *   the next lookup sees the version mismatch and recompiles
+ */
+@Component
+public class CompiledRuleCache {
+
+    private final ConcurrentHashMap<UUID, Entry> rules = new ConcurrentHashMap<>();
+
+    public CompiledPricingRule get(PricingRule rule) {
+        Entry entry = rules.get(rule.getId());
+        if (entry != null && Objects.equals(entry.version, rule.getVersion())) {
+            return entry.compiled;
+        }
+        CompiledPricingRule compiled = PricingRuleCompiler.compile(rule.getDefinition());
+        rules.put(rule.getId(), new Entry(rule.getVersion(), compiled));
+        return compiled;
+    }
+
+    public void evict(UUID ruleId) {
+        rules.remove(ruleId);
+    }
+
+    private static final class Entry {
+        private final Long version;
+        private final CompiledPricingRule compiled;
+
+        private Entry(Long version, CompiledPricingRule compiled) {
+            this.version = version;
+            this.compiled = compiled;
+        }
+    }
+}
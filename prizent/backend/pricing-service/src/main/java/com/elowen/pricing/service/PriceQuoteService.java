@@ -0,0 +1,70 @@
+package com.elowen.pricing.service;
+
+import com.elowen.pricing.dto.PriceQuoteItemRequest;
+import com.elowen.pricing.dto.PriceQuoteItemResponse;
+import com.elowen.pricing.dto.PriceQuoteRequest;
+import com.elowen.pricing.dto.PriceQuoteResponse;
+import com.elowen.pricing.engine.CompiledPricingRule;
+import com.elowen.pricing.engine.Money;
+import com.elowen.pricing.engine.PriceQuote;
+import com.elowen.pricing.entity.PricingRule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Prices SKUs with a client's pricing rule.
+ *
+ * Business Rules:
+ * - Items are priced independently, in request order
+ * - Without a selling price: lowest price (in the rule's rounding step)
+ *   reaching the target margin; with one: the margin at that price
+ * - Missing weight counts as 0 g (lightest shipping slab)
+ * - One compiled evaluator and one PriceQuote serve the whole request;
+ *   only the response objects are allocated per item
+ */
+@Service
+public class PriceQuoteService {
+
+    private final PricingRuleService ruleService;
+    private final CompiledRuleCache compiledRules;
+    private final int maxItems;
+
+    public PriceQuoteService(PricingRuleService ruleService, CompiledRuleCache compiledRules,
+                             @Value("${pricing.quotes.max-items:5000}") int maxItems) {
+        this.ruleService = ruleService;
+        this.compiledRules = compiledRules;
+        this.maxItems = maxItems;
+    }
+
+    @Transactional(readOnly = true)
+    public PriceQuoteResponse quote(UUID ruleId, PriceQuoteRequest request, UUID clientId) {
+        List<PriceQuoteItemRequest> items = request.getItems();
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items can be priced per request");
+        }
+
+        PricingRule rule = ruleService.findRule(ruleId, clientId);
+        CompiledPricingRule compiled = compiledRules.get(rule);
+
+        PriceQuote quote = new PriceQuote();
+        List<PriceQuoteItemResponse> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            PriceQuoteItemRequest item = items.get(i);
+            String field = "items[" + i + "]";
+            long cost = Money.toMinor(item.getCostPrice(), field + ".costPrice");
+            int weight = item.getWeightGrams() != null ? item.getWeightGrams() : 0;
+            if (item.getSellingPrice() != null) {
+                compiled.evaluateAt(cost, weight, Money.toMinor(item.getSellingPrice(), field + ".sellingPrice"), quote);
+            } else {
+                compiled.quote(cost, weight, quote);
+            }
+            results.add(PriceQuoteItemResponse.fromQuote(item.getSku(), quote));
+        }
+        return new PriceQuoteResponse(rule.getId(), rule.getVersion(), compiled.getTargetMarginBps(), results);
+    }
+}
@@ -0,0 +1,137 @@
+package com.elowen.pricing.service;
+
+import com.elowen.pricing.dto.CreatePricingRuleRequest;
+import com.elowen.pricing.dto.PricingRuleResponse;
+import com.elowen.pricing.dto.UpdatePricingRuleRequest;
+import com.elowen.pricing.engine.PricingRuleCompiler;
+import com.elowen.pricing.entity.PricingRule;
+import com.elowen.pricing.exception.PricingRuleNameAlreadyExistsException;
+import com.elowen.pricing.exception.PricingRuleNotFoundException;
+import com.elowen.pricing.exception.RepricingJobConflictException;
+import com.elowen.pricing.repository.PricingRuleRepository;
+import com.elowen.pricing.repository.RepricingJobRepository;
+import com.elowen.pricing.repository.SkuPriceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pricing rule management with tenant isolation.
+ *
+ * Business Rules:
+ * - Rule names are unique per client (case-insensitive)
+ * - A definition is only stored if it compiles; the compiled evaluator
+ *   itself is built lazily by CompiledRuleCache
+ * - A rule cannot be deleted while a repricing job runs with it; deleting
+ *   it drops its stored SKU prices
+ */
+@Service
+public class PricingRuleService {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingRuleService.class);
+
+    private final PricingRuleRepository ruleRepository;
+    private final RepricingJobRepository jobRepository;
+    private final SkuPriceRepository priceRepository;
+    private final CompiledRuleCache compiledRules;
+
+    public PricingRuleService(
+            PricingRuleRepository ruleRepository,
+            RepricingJobRepository jobRepository,
+            SkuPriceRepository priceRepository,
+            CompiledRuleCache compiledRules) {
+        this.ruleRepository = ruleRepository;
+        this.jobRepository = jobRepository;
+        this.priceRepository = priceRepository;
+        this.compiledRules = compiledRules;
+    }
+
+    @Transactional
+    public PricingRuleResponse createRule(CreatePricingRuleRequest request, UUID clientId) {
+        String name = request.getName().trim();
+        log.info("Creating pricing rule '{}' for client {}", name, clientId);
+
+        PricingRuleCompiler.compile(request.getDefinition());
+        if (ruleRepository.existsByClientIdAndNameIgnoreCase(clientId, name)) {
+            throw new PricingRuleNameAlreadyExistsException(name, clientId);
+        }
+
+        try {
+            PricingRule saved = ruleRepository.saveAndFlush(new PricingRule(clientId, name, request.getDefinition()));
+            log.info("Created pricing rule {} ('{}') for client {}", saved.getId(), name, clientId);
+            return PricingRuleResponse.fromEntity(saved);
+        } catch (DataIntegrityViolationException e) {
+            throw new PricingRuleNameAlreadyExistsException(name, clientId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<PricingRuleResponse> listRules(UUID clientId) {
+        return ruleRepository.findAllByClientIdOrderByNameAsc(clientId).stream()
+                .map(PricingRuleResponse::fromEntity)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public PricingRuleResponse getRule(UUID ruleId, UUID clientId) {
+        return PricingRuleResponse.fromEntity(findRule(ruleId, clientId));
+    }
+
+    /**
+     * Partial update; null fields are left as they are
+     */
+    @Transactional
+    public PricingRuleResponse updateRule(UUID ruleId, UpdatePricingRuleRequest request, UUID clientId) {
+        log.info("Updating pricing rule {} for client {}", ruleId, clientId);
+
+        PricingRule rule = findRule(ruleId, clientId);
+        if (request.getName() != null) {
+            if (!StringUtils.hasText(request.getName())) {
+                throw new IllegalArgumentException("Rule name cannot be blank");
+            }
+            String name = request.getName().trim();
+            if (ruleRepository.existsByClientIdAndNameIgnoreCaseAndIdNot(clientId, name, ruleId)) {
+                throw new PricingRuleNameAlreadyExistsException(name, clientId);
+            }
+            rule.setName(name);
+        }
+        if (request.getDefinition() != null) {
+            PricingRuleCompiler.compile(request.getDefinition());
+            rule.setDefinition(request.getDefinition());
+        }
+
+        try {
+            return PricingRuleResponse.fromEntity(ruleRepository.saveAndFlush(rule));
+        } catch (DataIntegrityViolationException e) {
+            throw new PricingRuleNameAlreadyExistsException(rule.getName(), clientId);
+        }
+    }
+
+    @Transactional
+    public void deleteRule(UUID ruleId, UUID clientId) {
+        PricingRule rule = findRule(ruleId, clientId);
+        if (jobRepository.existsByRuleIdAndStatusIn(ruleId, RepricingJobService.ACTIVE)) {
+            throw new RepricingJobConflictException(
+                    "Pricing rule " + rule.getName() + " is being repriced; cancel the job before deleting it");
+        }
+        int prices = priceRepository.deleteByRule(clientId, ruleId);
+        ruleRepository.delete(rule);
+        compiledRules.evict(ruleId);
+        log.info("Deleted pricing rule {} ('{}') and {} SKU prices for client {}",
+                ruleId, rule.getName(), prices, clientId);
+    }
+
+    PricingRule findRule(UUID ruleId, UUID clientId) {
+        return ruleRepository.findByIdAndClientId(ruleId, clientId)
+                .orElseThrow(() -> {
+                    log.warn("Pricing rule {} not found for client {}", ruleId, clientId);
+                    return new PricingRuleNotFoundException(ruleId, clientId);
+                });
+    }
+}
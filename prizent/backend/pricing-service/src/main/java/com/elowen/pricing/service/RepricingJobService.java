@@ -0,0 +1,132 @@
+package com.elowen.pricing.service;
+
+import com.elowen.pricing.dto.RepricingChunkResponse;
+import com.elowen.pricing.dto.RepricingJobResponse;
+import com.elowen.pricing.entity.PricingRule;
+import com.elowen.pricing.entity.RepricingChunkStatus;
+import com.elowen.pricing.entity.RepricingJob;
+import com.elowen.pricing.entity.RepricingStatus;
+import com.elowen.pricing.exception.RepricingJobConflictException;
+import com.elowen.pricing.exception.RepricingJobNotFoundException;
+import com.elowen.pricing.repository.RepricingChunkRepository;
+import com.elowen.pricing.repository.RepricingJobRepository;
+import com.elowen.pricing.repricing.RepricingJobRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-catalog repricing jobs with tenant isolation.
+ *
+ * Business Rules:
+ * - One active (QUEUED or RUNNING) job per rule
+ * - Cancelling keeps the chunks already written
+ * - Only a FAILED job can be retried; the retry reprices its FAILED and
+ *   unwritten chunks, DONE chunks are kept
+ */
+@Service
+public class RepricingJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(RepricingJobService.class);
+
+    static final EnumSet<RepricingStatus> ACTIVE = EnumSet.of(RepricingStatus.QUEUED, RepricingStatus.RUNNING);
+
+    private static final int MAX_FAILED_CHUNKS = 1000;
+
+    private final RepricingJobRepository jobRepository;
+    private final RepricingChunkRepository chunkRepository;
+    private final PricingRuleService ruleService;
+    private final RepricingJobRunner runner;
+
+    public RepricingJobService(
+            RepricingJobRepository jobRepository,
+            RepricingChunkRepository chunkRepository,
+            PricingRuleService ruleService,
+            RepricingJobRunner runner) {
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.ruleService = ruleService;
+        this.runner = runner;
+    }
+
+    /**
+     * Queue a repricing of the client's whole catalog with this rule
+     */
+    public RepricingJobResponse startJob(UUID ruleId, UUID clientId, UUID userId) {
+        PricingRule rule = ruleService.findRule(ruleId, clientId);
+        if (jobRepository.existsByRuleIdAndStatusIn(ruleId, ACTIVE)) {
+            throw new RepricingJobConflictException("A repricing job is already running for rule " + rule.getName());
+        }
+
+        RepricingJob job = jobRepository.save(new RepricingJob(clientId, ruleId, userId));
+        runner.submit(job.getId());
+        log.info("Queued repricing job {} for rule {} ('{}') of client {}", job.getId(), ruleId, rule.getName(), clientId);
+        return RepricingJobResponse.fromEntity(job);
+    }
+
+    @Transactional(readOnly = true)
+    public RepricingJobResponse getJob(UUID jobId, UUID clientId) {
+        return RepricingJobResponse.fromEntity(findJob(jobId, clientId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RepricingJobResponse> getRecentJobs(UUID clientId) {
+        return jobRepository.findTop20ByClientIdOrderByCreateDateTimeDesc(clientId).stream()
+                .map(RepricingJobResponse::fromEntity)
+                .toList();
+    }
+
+    /**
+     * FAILED chunks in catalog order, with their last error
+     */
+    @Transactional(readOnly = true)
+    public List<RepricingChunkResponse> getFailedChunks(UUID jobId, UUID clientId) {
+        findJob(jobId, clientId);
+        return chunkRepository.findByJobIdAndStatusOrderByChunkNoAsc(
+                        jobId, RepricingChunkStatus.FAILED, Limit.of(MAX_FAILED_CHUNKS)).stream()
+                .map(RepricingChunkResponse::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Cancel a queued or running job; cancelling a finished job is a no-op
+     */
+    @Transactional
+    public RepricingJobResponse cancelJob(UUID jobId, UUID clientId) {
+        RepricingJob job = findJob(jobId, clientId);
+        if (!job.getStatus().isFinished()) {
+            jobRepository.finish(jobId, RepricingStatus.CANCELLED, "Cancelled", LocalDateTime.now());
+            runner.cancel(jobId);
+            log.info("Cancelled repricing job {} for client {}", jobId, clientId);
+            job = findJob(jobId, clientId);
+        }
+        return RepricingJobResponse.fromEntity(job);
+    }
+
+    /**
+     * Queue a FAILED job again
+     */
+    public RepricingJobResponse retryJob(UUID jobId, UUID clientId) {
+        RepricingJob job = findJob(jobId, clientId);
+        if (jobRepository.existsByRuleIdAndStatusIn(job.getRuleId(), ACTIVE)) {
+            throw new RepricingJobConflictException("A repricing job is already running for this rule");
+        }
+        if (!runner.retry(jobId)) {
+            throw new RepricingJobConflictException("Only a FAILED repricing job can be retried");
+        }
+        log.info("Retrying repricing job {} for client {}", jobId, clientId);
+        return RepricingJobResponse.fromEntity(findJob(jobId, clientId));
+    }
+
+    private RepricingJob findJob(UUID jobId, UUID clientId) {
+        return jobRepository.findByIdAndClientId(jobId, clientId)
+                .orElseThrow(() -> new RepricingJobNotFoundException(jobId, clientId));
+    }
+}
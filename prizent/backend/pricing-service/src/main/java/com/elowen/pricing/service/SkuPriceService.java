@@ -0,0 +1,40 @@
+package com.elowen.pricing.service;
+
+import com.elowen.pricing.dto.SkuPricePageResponse;
+import com.elowen.pricing.dto.SkuPriceResponse;
+import com.elowen.pricing.repository.SkuPriceRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the prices stored by repricing jobs, keyset-paged by SKU.
+ */
+@Service
+public class SkuPriceService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final SkuPriceRepository priceRepository;
+    private final PricingRuleService ruleService;
+
+    public SkuPriceService(SkuPriceRepository priceRepository, PricingRuleService ruleService) {
+        this.priceRepository = priceRepository;
+        this.ruleService = ruleService;
+    }
+
+    @Transactional(readOnly = true)
+    public SkuPricePageResponse listPrices(UUID ruleId, UUID clientId, String after, int size) {
+        ruleService.findRule(ruleId, clientId);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<SkuPriceResponse> items = priceRepository.findByClientIdAndRuleIdAndSkuGreaterThanOrderBySkuAsc(
+                        clientId, ruleId, after != null ? after : "", Limit.of(limit)).stream()
+                .map(SkuPriceResponse::fromEntity)
+                .toList();
+        String nextAfter = items.size() == limit ? items.get(items.size() - 1).getSku() : null;
+        return new SkuPricePageResponse(items, nextAfter);
+    }
+}
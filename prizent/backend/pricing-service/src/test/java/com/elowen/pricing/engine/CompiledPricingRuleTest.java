@@ -0,0 +1,291 @@
+package com.elowen.pricing.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompiledPricingRule against a BigDecimal reference that applies the
+ * business rules literally: every component rounded half-up on its own, and
+ * the lowest price found by trying every roundingStep multiple from 0.
+ */
+class CompiledPricingRuleTest {
+
+    /**
+     * Reference scans stop here; every reachable case below prices lower
+     */
+    private static final long SCAN_LIMIT = 2_000_000;
+
+    @Test
+    void quoteMatchesReferenceOnRandomRules() {
+        Random random = new Random(20240131L);
+        for (int n = 0; n < 150; n++) {
+            PricingRuleDefinition definition = randomDefinition(random);
+            long cost = random.nextInt(15_000);
+            int weight = random.nextInt(3_000);
+            assertQuoteMatchesReference(definition, cost, weight);
+        }
+    }
+
+    @Test
+    void quoteMatchesReferenceAcrossCommissionTierEdge() {
+        // 5% up to 499.99, 12% from 500.00: the target price crosses the tier somewhere in this sweep
+        PricingRuleDefinition definition = definition(1800, 1800, 1500, "0.01");
+        definition.setCommissionSlabs(List.of(
+                new CommissionSlab(new BigDecimal("0.00"), 500),
+                new CommissionSlab(new BigDecimal("500.00"), 1200)));
+        definition.setFixedFeeSlabs(List.of(new FixedFeeSlab(new BigDecimal("0.00"), new BigDecimal("20.00"))));
+        assertSweepMatchesReference(definition, 25_500, 26_500, 1);
+    }
+
+    @Test
+    void quoteMatchesReferenceAcrossFixedFeeEdge() {
+        // The fixed fee drops at 300.00, so prices just above the edge can beat prices just below it
+        PricingRuleDefinition definition = definition(500, 1800, 1000, "0.01");
+        definition.setCommissionSlabs(List.of(new CommissionSlab(new BigDecimal("0.00"), 1000)));
+        definition.setFixedFeeSlabs(List.of(
+                new FixedFeeSlab(new BigDecimal("0.00"), new BigDecimal("40.00")),
+                new FixedFeeSlab(new BigDecimal("300.00"), new BigDecimal("10.00"))));
+        assertSweepMatchesReference(definition, 15_000, 17_000, 1);
+    }
+
+    @Test
+    void quoteMatchesReferenceWithHalfUpTies() {
+        // Commission of 12.5% and tax on fees of 10% put many components exactly on .5 minor units
+        PricingRuleDefinition definition = definition(0, 1000, 500, "0.01");
+        definition.setCommissionSlabs(List.of(new CommissionSlab(new BigDecimal("0.00"), 1250)));
+        assertSweepMatchesReference(definition, 0, 2_000, 1);
+    }
+
+    @Test
+    void quoteMatchesReferenceWithCoarseRoundingStep() {
+        PricingRuleDefinition definition = definition(1200, 1800, 2000, "5.00");
+        definition.setCommissionSlabs(List.of(
+                new CommissionSlab(new BigDecimal("0.00"), 800),
+                new CommissionSlab(new BigDecimal("1000.00"), 1500)));
+        assertSweepMatchesReference(definition, 30_000, 50_000, 37);
+    }
+
+    @Test
+    void quoteMatchesReferenceAboveLastWeightSlab() {
+        PricingRuleDefinition definition = definition(1800, 1800, 1000, "0.01");
+        definition.setCommissionSlabs(List.of(new CommissionSlab(new BigDecimal("0.00"), 700)));
+        definition.setWeightSlabs(List.of(
+                new WeightSlab(500, new BigDecimal("40.00")),
+                new WeightSlab(1000, new BigDecimal("65.00"))));
+        definition.setExtraWeightStepGrams(500);
+        definition.setExtraWeightStepFee(new BigDecimal("25.50"));
+        for (int weight : new int[] { 0, 500, 501, 1000, 1001, 1500, 1501, 9_999 }) {
+            assertQuoteMatchesReference(definition, 12_345, weight);
+        }
+    }
+
+    @Test
+    void quoteIsUnreachableWhenFeesAndTargetExceedThePrice() {
+        PricingRuleDefinition definition = definition(0, 0, 5000, "0.01");
+        definition.setCommissionSlabs(List.of(new CommissionSlab(new BigDecimal("0.00"), 6000)));
+        PriceQuote quote = new PriceQuote();
+
+        PricingRuleCompiler.compile(definition).quote(10_000, 0, quote);
+
+        assertThat(quote.getStatus()).isEqualTo(PriceQuote.Status.UNREACHABLE);
+    }
+
+    @Test
+    void evaluateAtMatchesReferenceBreakdown() {
+        Random random = new Random(7L);
+        for (int n = 0; n < 2_000; n++) {
+            PricingRuleDefinition definition = randomDefinition(random);
+            long cost = random.nextInt(100_000);
+            int weight = random.nextInt(5_000);
+            long price = random.nextInt(500_000);
+            PriceQuote quote = new PriceQuote();
+
+            PricingRuleCompiler.compile(definition).evaluateAt(cost, weight, price, quote);
+
+            Reference expected = Reference.at(definition, cost, weight, price);
+            assertThat(quote.getOutputTax()).as("output tax at %d", price).isEqualTo(expected.outputTax);
+            assertThat(quote.getCommission()).as("commission at %d", price).isEqualTo(expected.commission);
+            assertThat(quote.getFixedFee()).as("fixed fee at %d", price).isEqualTo(expected.fixedFee);
+            assertThat(quote.getShippingFee()).as("shipping at %d g", weight).isEqualTo(expected.shipping);
+            assertThat(quote.getFeeTax()).as("fee tax at %d", price).isEqualTo(expected.feeTax);
+            assertThat(quote.getMargin()).as("margin at %d", price).isEqualTo(expected.margin);
+            assertThat(quote.isTargetMet()).as("target at %d", price).isEqualTo(expected.targetMet);
+        }
+    }
+
+    /**
+     * Every cost in [fromCost, toCost) at weight 0. A higher cost never lowers
+     * the reference price, so each scan resumes where the previous one stopped.
+     */
+    private static void assertSweepMatchesReference(PricingRuleDefinition definition,
+                                                    long fromCost, long toCost, int stride) {
+        long previous = 0;
+        for (long cost = fromCost; cost < toCost; cost += stride) {
+            previous = assertQuoteMatchesReference(definition, cost, 0, previous);
+        }
+    }
+
+    private static void assertQuoteMatchesReference(PricingRuleDefinition definition, long cost, int weight) {
+        assertQuoteMatchesReference(definition, cost, weight, 0);
+    }
+
+    private static long assertQuoteMatchesReference(PricingRuleDefinition definition, long cost, int weight,
+                                                    long scanFrom) {
+        PriceQuote quote = new PriceQuote();
+        PricingRuleCompiler.compile(definition).quote(cost, weight, quote);
+
+        long expected = Reference.lowestPrice(definition, cost, weight, scanFrom);
+        if (expected < 0) {
+            assertThat(quote.getStatus()).as("cost %d, weight %d", cost, weight)
+                    .isEqualTo(PriceQuote.Status.UNREACHABLE);
+            return scanFrom;
+        }
+        assertThat(quote.getStatus()).as("cost %d, weight %d", cost, weight).isEqualTo(PriceQuote.Status.OK);
+        assertThat(quote.getSellingPrice()).as("cost %d, weight %d", cost, weight).isEqualTo(expected);
+        assertThat(quote.isTargetMet()).isTrue();
+        return expected;
+    }
+
+    private static PricingRuleDefinition definition(int gstBps, int feeTaxBps, int targetMarginBps, String roundingStep) {
+        PricingRuleDefinition definition = new PricingRuleDefinition();
+        definition.setGstBps(gstBps);
+        definition.setFeeTaxBps(feeTaxBps);
+        definition.setTargetMarginBps(targetMarginBps);
+        definition.setRoundingStep(new BigDecimal(roundingStep));
+        return definition;
+    }
+
+    private static PricingRuleDefinition randomDefinition(Random random) {
+        int[] gst = { 0, 500, 1200, 1800, 2800 };
+        String[] steps = { "0.01", "0.01", "0.05", "0.10", "1.00" };
+        PricingRuleDefinition definition = definition(gst[random.nextInt(gst.length)],
+                random.nextBoolean() ? 1800 : random.nextInt(2_000), random.nextInt(3_000),
+                steps[random.nextInt(steps.length)]);
+
+        List<CommissionSlab> commission = new ArrayList<>();
+        long from = 0;
+        for (int i = 0, tiers = 1 + random.nextInt(4); i < tiers; i++) {
+            commission.add(new CommissionSlab(Money.fromMinor(from), random.nextInt(2_500)));
+            from += 5_000 + random.nextInt(60_000);
+        }
+        definition.setCommissionSlabs(commission);
+
+        List<FixedFeeSlab> fixed = new ArrayList<>();
+        from = 0;
+        for (int i = 0, tiers = random.nextInt(4); i < tiers; i++) {
+            fixed.add(new FixedFeeSlab(Money.fromMinor(from), Money.fromMinor(random.nextInt(5_000))));
+            from += 10_000 + random.nextInt(50_000);
+        }
+        definition.setFixedFeeSlabs(fixed);
+
+        if (random.nextBoolean()) {
+            definition.setWeightSlabs(List.of(
+                    new WeightSlab(500, Money.fromMinor(random.nextInt(6_000))),
+                    new WeightSlab(2_000, Money.fromMinor(6_000 + random.nextInt(6_000)))));
+            definition.setExtraWeightStepGrams(250 + random.nextInt(750));
+            definition.setExtraWeightStepFee(Money.fromMinor(random.nextInt(3_000)));
+        }
+        return definition;
+    }
+
+    /**
+     * The business rules of PricingRuleDefinition in BigDecimal, minor units throughout
+     */
+    private static final class Reference {
+
+        private static final BigDecimal BPS = BigDecimal.valueOf(Money.BPS);
+
+        private long outputTax;
+        private long commission;
+        private long fixedFee;
+        private long shipping;
+        private long feeTax;
+        private long margin;
+        private boolean targetMet;
+
+        /**
+         * Lowest multiple of the rounding step meeting the target, -1 if none
+         * below SCAN_LIMIT. Below cost + shipping the margin is negative, and
+         * the caller may know a higher price nothing below can meet.
+         */
+        static long lowestPrice(PricingRuleDefinition definition, long cost, int weight, long scanFrom) {
+            long step = minor(definition.getRoundingStep());
+            long from = Math.max(cost + shipping(definition, weight), scanFrom) / step * step;
+            for (long price = from; price <= SCAN_LIMIT; price += step) {
+                if (at(definition, cost, weight, price).targetMet) {
+                    return price;
+                }
+            }
+            return -1;
+        }
+
+        static Reference at(PricingRuleDefinition definition, long cost, int weight, long price) {
+            BigDecimal p = BigDecimal.valueOf(price);
+            BigDecimal gst = BigDecimal.valueOf(definition.getGstBps());
+            Reference r = new Reference();
+            r.outputTax = round(p.multiply(gst).divide(BPS.add(gst), 10, RoundingMode.HALF_UP));
+            r.commission = round(p.multiply(rate(definition.getCommissionSlabs(), price)).divide(BPS));
+            r.fixedFee = fixedFee(definition.getFixedFeeSlabs(), price);
+            r.shipping = shipping(definition, weight);
+            r.feeTax = round(BigDecimal.valueOf(r.commission + r.fixedFee + r.shipping)
+                    .multiply(BigDecimal.valueOf(definition.getFeeTaxBps())).divide(BPS));
+            long net = price - r.outputTax;
+            r.margin = net - r.commission - r.fixedFee - r.shipping - r.feeTax - cost;
+            r.targetMet = BigDecimal.valueOf(r.margin)
+                    .compareTo(BigDecimal.valueOf(net).multiply(BigDecimal.valueOf(definition.getTargetMarginBps()))
+                            .divide(BPS)) >= 0;
+            return r;
+        }
+
+        private static BigDecimal rate(List<CommissionSlab> slabs, long price) {
+            int rate = 0;
+            for (CommissionSlab slab : slabs) {
+                if (minor(slab.getFromPrice()) <= price) {
+                    rate = slab.getRateBps();
+                }
+            }
+            return BigDecimal.valueOf(rate);
+        }
+
+        private static long fixedFee(List<FixedFeeSlab> slabs, long price) {
+            long fee = 0;
+            for (FixedFeeSlab slab : slabs) {
+                if (minor(slab.getFromPrice()) <= price) {
+                    fee = minor(slab.getFee());
+                }
+            }
+            return fee;
+        }
+
+        private static long shipping(PricingRuleDefinition definition, int weight) {
+            List<WeightSlab> slabs = definition.getWeightSlabs();
+            for (WeightSlab slab : slabs) {
+                if (weight <= slab.getUpToGrams()) {
+                    return minor(slab.getFee());
+                }
+            }
+            if (slabs.isEmpty()) {
+                return 0;
+            }
+            WeightSlab last = slabs.get(slabs.size() - 1);
+            BigDecimal steps = BigDecimal.valueOf(weight - last.getUpToGrams())
+                    .divide(BigDecimal.valueOf(definition.getExtraWeightStepGrams()), 0, RoundingMode.CEILING);
+            return minor(last.getFee()) + steps.longValueExact() * minor(definition.getExtraWeightStepFee());
+        }
+
+        private static long round(BigDecimal minorUnits) {
+            return minorUnits.setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+
+        private static long minor(BigDecimal amount) {
+            return amount.movePointRight(Money.SCALE).longValueExact();
+        }
+    }
+}
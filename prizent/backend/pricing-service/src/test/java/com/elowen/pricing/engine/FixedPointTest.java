@@ -0,0 +1,57 @@
+package com.elowen.pricing.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FixedPoint's Q32.32 arithmetic against BigInteger.
+ */
+class FixedPointTest {
+
+    private static final BigInteger ONE = BigInteger.ONE.shiftLeft(FixedPoint.FRACTION_BITS);
+
+    @Test
+    void ratioCeilRoundsUp() {
+        assertThat(FixedPoint.ratioCeil(BigInteger.ONE, BigInteger.ONE)).isEqualTo(1L << 32);
+        assertThat(FixedPoint.ratioCeil(BigInteger.ONE, BigInteger.valueOf(3)))
+                .isEqualTo(((1L << 32) + 2) / 3);
+    }
+
+    @Test
+    void ratioCeilReportsOverflowAsZero() {
+        assertThat(FixedPoint.ratioCeil(BigInteger.ONE.shiftLeft(30), BigInteger.ONE)).isZero();
+        assertThat(FixedPoint.ratioCeil(BigInteger.ONE.shiftLeft(30).subtract(BigInteger.ONE), BigInteger.ONE))
+                .isEqualTo((1L << 62) - (1L << 32));
+    }
+
+    @Test
+    void multiplyCeilMatchesBigInteger() {
+        Random random = new Random(3L);
+        for (int n = 0; n < 100_000; n++) {
+            long amount = (long) (random.nextDouble() * Money.MAX_AMOUNT);
+            long multiplier = random.nextLong() >>> (n % 2 == 0 ? 27 : 40);
+            BigInteger[] qr = BigInteger.valueOf(amount).multiply(BigInteger.valueOf(multiplier))
+                    .divideAndRemainder(ONE);
+            BigInteger expected = qr[1].signum() == 0 ? qr[0] : qr[0].add(BigInteger.ONE);
+
+            long actual = FixedPoint.multiplyCeil(amount, multiplier);
+
+            if (expected.bitLength() > 62) {
+                assertThat(actual).isEqualTo(Long.MAX_VALUE);
+            } else {
+                assertThat(actual).as("%d * %d", amount, multiplier).isEqualTo(expected.longValueExact());
+            }
+        }
+    }
+
+    @Test
+    void multiplyCeilIsExactForWholeMultipliers() {
+        assertThat(FixedPoint.multiplyCeil(12_345, 3L << 32)).isEqualTo(37_035);
+        assertThat(FixedPoint.multiplyCeil(0, 3L << 32)).isZero();
+        assertThat(FixedPoint.multiplyCeil(7, 1)).isEqualTo(1);
+    }
+}
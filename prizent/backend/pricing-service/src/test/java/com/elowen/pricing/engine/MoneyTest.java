@@ -0,0 +1,56 @@
+package com.elowen.pricing.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Money's long arithmetic against BigDecimal.
+ */
+class MoneyTest {
+
+    @Test
+    void percentOfRoundsTiesUp() {
+        assertThat(Money.percentOf(5, 1000)).isEqualTo(1);      // 0.5
+        assertThat(Money.percentOf(15, 1000)).isEqualTo(2);     // 1.5
+        assertThat(Money.percentOf(36, 1250)).isEqualTo(5);     // 4.5
+        assertThat(Money.percentOf(4, 1250)).isEqualTo(1);      // 0.5
+        assertThat(Money.percentOf(3, 1250)).isEqualTo(0);      // 0.375
+    }
+
+    @Test
+    void percentOfMatchesBigDecimalHalfUp() {
+        Random random = new Random(11L);
+        for (int n = 0; n < 100_000; n++) {
+            long amount = n < 50_000 ? n : (long) (random.nextDouble() * Money.MAX_AMOUNT);
+            int bps = random.nextInt(Money.BPS + 1);
+            long expected = BigDecimal.valueOf(amount).multiply(BigDecimal.valueOf(bps))
+                    .divide(BigDecimal.valueOf(Money.BPS), 0, RoundingMode.HALF_UP).longValueExact();
+            assertThat(Money.percentOf(amount, bps)).as("%d at %d bps", amount, bps).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void percentOfDoesNotOverflowAtMaxAmount() {
+        assertThat(Money.percentOf(Money.MAX_AMOUNT, Money.BPS)).isEqualTo(Money.MAX_AMOUNT);
+    }
+
+    @Test
+    void toMinorRejectsAmountsOutsideTheLimits() {
+        assertThat(Money.toMinor(new BigDecimal("12.30"), "price")).isEqualTo(1230);
+        assertThat(Money.toMinor(new BigDecimal("12.300"), "price")).isEqualTo(1230);
+        assertThatThrownBy(() -> Money.toMinor(new BigDecimal("12.305"), "price"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.toMinor(new BigDecimal("-0.01"), "price"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.toMinor(Money.fromMinor(Money.MAX_AMOUNT + 1), "price"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.toMinor(null, "price"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.elowen.product.category;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable node of a CategoryTree snapshot; children are sorted by name.
+ */
+public final class CategoryNode {
+
+    private final UUID id;
+    private final UUID parentId;
+    private final String name;
+    private final String path;
+    private final int depth;
+    private final List<CategoryNode> children;
+
+    CategoryNode(UUID id, UUID parentId, String name, String path, int depth, List<CategoryNode> children) {
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.path = path;
+        this.depth = depth;
+        this.children = List.copyOf(children);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getParentId() {
+        return parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public List<CategoryNode> getChildren() {
+        return children;
+    }
+}
@@ -0,0 +1,64 @@
+package com.elowen.product.category;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Materialized paths of categories.
+ *
+ * A path is the ids of the category's ancestors and of the category itself,
+ * root first, each as 32 hex digits followed by '/'. Fixed-width segments
+ * make every subtree one prefix: "path LIKE '<path>%'" is a single range
+ * scan of the (client_id, path) index, and the pattern never contains a
+ * LIKE wildcard.
+ */
+public final class CategoryPaths {
+
+    /**
+     * Deepest allowed depth (roots are 0); bounded by the path column length
+     */
+    public static final int MAX_DEPTH = 11;
+
+    public static final int SEGMENT_LENGTH = 33;
+
+    public static final int MAX_PATH_LENGTH = (MAX_DEPTH + 1) * SEGMENT_LENGTH;
+
+    private CategoryPaths() {}
+
+    /**
+     * Path of a category under the given parent path (null for a root)
+     */
+    public static String childPath(String parentPath, UUID id) {
+        String segment = id.toString().replace("-", "") + "/";
+        return parentPath == null ? segment : parentPath + segment;
+    }
+
+    /**
+     * LIKE pattern matching the category and all its descendants
+     */
+    public static String subtreePattern(String path) {
+        return path + "%";
+    }
+
+    public static boolean isWithin(String path, String ancestorPath) {
+        return path.startsWith(ancestorPath);
+    }
+
+    public static int depth(String path) {
+        return path.length() / SEGMENT_LENGTH - 1;
+    }
+
+    /**
+     * Ids on the path, root first, including the category itself
+     */
+    public static List<UUID> ids(String path) {
+        List<UUID> ids = new ArrayList<>(path.length() / SEGMENT_LENGTH);
+        for (int start = 0; start + SEGMENT_LENGTH <= path.length(); start += SEGMENT_LENGTH) {
+            String hex = path.substring(start, start + SEGMENT_LENGTH - 1);
+            ids.add(new UUID(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                    Long.parseUnsignedLong(hex.substring(16), 16)));
+        }
+        return ids;
+    }
+}
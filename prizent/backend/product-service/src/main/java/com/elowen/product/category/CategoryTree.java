@@ -0,0 +1,134 @@
+package com.elowen.product.category;
+
+import com.elowen.product.entity.Category;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of one client's category tree.
+ *
+ * Built once per change (CategoryTreeCache) and shared by all readers
+ * without locking. Subtree membership is a path prefix test, so scoping a
+ * rule to "this category and everything under it" costs O(depth) no
+ * matter how large the subtree is.
+ */
+public final class CategoryTree {
+
+    private static final Comparator<CategoryNode> BY_NAME =
+            Comparator.comparing(CategoryNode::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private final Map<UUID, CategoryNode> nodes;
+    private final List<CategoryNode> roots;
+    private final long rowCount;
+    private final LocalDateTime lastUpdate;
+
+    /**
+     * @param categories the client's categories in path order (parents first)
+     */
+    CategoryTree(List<Category> categories) {
+        Map<UUID, List<CategoryNode>> childrenByParent = new HashMap<>();
+        Map<UUID, CategoryNode> built = new HashMap<>(categories.size() * 2);
+        List<CategoryNode> rootNodes = new ArrayList<>();
+        LocalDateTime newest = null;
+
+        // Reverse path order visits children before their parent, so each
+        // node is built with its finished, immutable children
+        for (int i = categories.size() - 1; i >= 0; i--) {
+            Category category = categories.get(i);
+            List<CategoryNode> children = childrenByParent.getOrDefault(category.getId(), new ArrayList<>());
+            children.sort(BY_NAME);
+            CategoryNode node = new CategoryNode(category.getId(), category.getParentId(), category.getName(),
+                    category.getPath(), category.getDepth(), children);
+            built.put(node.getId(), node);
+            if (category.getParentId() == null) {
+                rootNodes.add(node);
+            } else {
+                childrenByParent.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(node);
+            }
+            if (newest == null || category.getUpdateDateTime().isAfter(newest)) {
+                newest = category.getUpdateDateTime();
+            }
+        }
+        rootNodes.sort(BY_NAME);
+
+        this.nodes = Map.copyOf(built);
+        this.roots = List.copyOf(rootNodes);
+        this.rowCount = categories.size();
+        this.lastUpdate = newest;
+    }
+
+    public Optional<CategoryNode> find(UUID categoryId) {
+        return Optional.ofNullable(nodes.get(categoryId));
+    }
+
+    public List<CategoryNode> roots() {
+        return roots;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Whether the category is the ancestor itself or lies below it; false
+     * when either is unknown
+     */
+    public boolean isWithin(UUID categoryId, UUID ancestorId) {
+        CategoryNode category = nodes.get(categoryId);
+        CategoryNode ancestor = nodes.get(ancestorId);
+        return category != null && ancestor != null
+                && CategoryPaths.isWithin(category.getPath(), ancestor.getPath());
+    }
+
+    /**
+     * Ids of the category and all its descendants; empty when unknown
+     */
+    public List<UUID> subtreeIds(UUID categoryId) {
+        CategoryNode start = nodes.get(categoryId);
+        if (start == null) {
+            return List.of();
+        }
+        List<UUID> ids = new ArrayList<>();
+        Deque<CategoryNode> pending = new ArrayDeque<>();
+        pending.push(start);
+        while (!pending.isEmpty()) {
+            CategoryNode node = pending.pop();
+            ids.add(node.getId());
+            node.getChildren().forEach(pending::push);
+        }
+        return ids;
+    }
+
+    /**
+     * Ancestors of the category, root first, excluding the category itself
+     */
+    public List<CategoryNode> ancestors(UUID categoryId) {
+        CategoryNode category = nodes.get(categoryId);
+        if (category == null) {
+            return List.of();
+        }
+        List<UUID> ids = CategoryPaths.ids(category.getPath());
+        List<CategoryNode> ancestors = new ArrayList<>(ids.size() - 1);
+        for (UUID id : ids.subList(0, ids.size() - 1)) {
+            ancestors.add(nodes.get(id));
+        }
+        return ancestors;
+    }
+
+    /**
+     * Whether the tree still matches the stored rows (count, newest update)
+     */
+    boolean matches(long count, LocalDateTime newestUpdate) {
+        return rowCount == count && Objects.equals(lastUpdate, newestUpdate);
+    }
+}
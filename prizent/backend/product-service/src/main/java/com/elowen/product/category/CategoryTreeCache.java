@@ -0,0 +1,72 @@
+package com.elowen.product.category;
+
+import com.elowen.product.event.CategoriesChangedEvent;
+import com.elowen.product.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client CategoryTree snapshots.
+ *
+ * - A client's tree is loaded on first use and replaced, never modified,
+ *   after each committed category change of this instance
+ * - Rebuilds run inside ConcurrentHashMap.compute, so two rebuilds of one
+ *   client are serialized and the later one always reads the later commit
+ * - Changes made by other instances are picked up by a periodic check of
+ *   the row count and newest update time
+ */
+@Component
+public class CategoryTreeCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryTreeCache.class);
+
+    private final CategoryRepository categoryRepository;
+    private final Map<UUID, CategoryTree> trees = new ConcurrentHashMap<>();
+
+    public CategoryTreeCache(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    public CategoryTree tree(UUID clientId) {
+        return trees.computeIfAbsent(clientId, this::load);
+    }
+
+    @TransactionalEventListener
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        trees.computeIfPresent(event.getClientId(), (clientId, stale) -> load(clientId));
+    }
+
+    @Scheduled(initialDelayString = "${product.categories.refresh-interval-ms:30000}",
+               fixedDelayString = "${product.categories.refresh-interval-ms:30000}")
+    public void refresh() {
+        for (UUID clientId : List.copyOf(trees.keySet())) {
+            try {
+                Object[] stamp = categoryRepository.findStamp(clientId).get(0);
+                long count = ((Number) stamp[0]).longValue();
+                if (!trees.get(clientId).matches(count, (LocalDateTime) stamp[1])) {
+                    trees.computeIfPresent(clientId, (id, stale) -> load(id));
+                    log.debug("Reloaded category tree of client {} after an external change", clientId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Category tree check for client {} failed: {}", clientId, e.getMessage());
+            }
+        }
+    }
+
+    private CategoryTree load(UUID clientId) {
+        long start = System.nanoTime();
+        CategoryTree tree = new CategoryTree(categoryRepository.findAllByClientIdOrderByPathAsc(clientId));
+        log.debug("Built category tree of client {} ({} categories) in {} ms",
+                clientId, tree.size(), (System.nanoTime() - start) / 1_000_000);
+        return tree;
+    }
+}
@@ -0,0 +1,191 @@
+package com.elowen.product.changes;
+
+import com.elowen.product.entity.ProductChange;
+import com.elowen.product.repository.JdbcUuids;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Records product changes in the client's change feed inside the caller's
+ * transaction.
+ *
+ * Plain JDBC on the shared DataSource, like ProductOutboxWriter, so it joins
+ * both the JPA transactions of ProductService and the JDBC transactions of
+ * the bulk import. Call it last in the transaction: it locks the client's
+ * sequence row until commit.
+ */
+@Component
+public class ProductChangeLog {
+
+    private static final int BATCH = 500;
+
+    private static final String NEXT_SEQ =
+            "UPDATE p_product_change_sequences SET last_seq = last_seq + ? WHERE client_id = ?";
+    private static final String INSERT_CHANGE =
+            "INSERT INTO p_product_changes (product_id, client_id, seq, change_type, sku, changed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_CHANGE =
+            "UPDATE p_product_changes SET seq = ?, change_type = ?, sku = ?, changed_at = ? WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public ProductChangeLog(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.newTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Give the upserted and deleted (id -> SKU) products the client's next seqs;
+     * must run inside the mutating transaction
+     */
+    public void record(UUID clientId, Collection<UUID> upserted, Map<UUID, String> deleted) {
+        Set<UUID> upserts = new LinkedHashSet<>(upserted);
+        upserts.removeAll(deleted.keySet());
+        int count = upserts.size() + deleted.size();
+        if (count == 0) {
+            return;
+        }
+
+        long seq = allocate(clientId, count) - count;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Entry> entries = new ArrayList<>(count);
+        for (UUID id : upserts) {
+            entries.add(new Entry(id, ++seq, ProductChange.TYPE_UPSERT, null));
+        }
+        for (Map.Entry<UUID, String> delete : deleted.entrySet()) {
+            entries.add(new Entry(delete.getKey(), ++seq, ProductChange.TYPE_DELETE, delete.getValue()));
+        }
+
+        byte[] client = JdbcUuids.toBytes(clientId);
+        for (int from = 0; from < entries.size(); from += BATCH) {
+            List<Entry> batch = entries.subList(from, Math.min(from + BATCH, entries.size()));
+            Set<UUID> existing = existingChanges(batch.stream().map(entry -> entry.productId).toList());
+            List<Entry> updates = new ArrayList<>();
+            List<Entry> inserts = new ArrayList<>();
+            for (Entry entry : batch) {
+                (existing.contains(entry.productId) ? updates : inserts).add(entry);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_CHANGE, updates, updates.size(), (statement, entry) -> {
+                    statement.setLong(1, entry.seq);
+                    statement.setString(2, entry.type);
+                    statement.setString(3, entry.sku);
+                    statement.setTimestamp(4, now);
+                    statement.setBytes(5, JdbcUuids.toBytes(entry.productId));
+                });
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CHANGE, inserts, inserts.size(), (statement, entry) -> {
+                    statement.setBytes(1, JdbcUuids.toBytes(entry.productId));
+                    statement.setBytes(2, client);
+                    statement.setLong(3, entry.seq);
+                    statement.setString(4, entry.type);
+                    statement.setString(5, entry.sku);
+                    statement.setTimestamp(6, now);
+                });
+            }
+        }
+    }
+
+    /**
+     * Record the given products unless they already have a change row
+     * (ProductChangeMaintenance); must run inside a transaction
+     */
+    void recordIfMissing(UUID clientId, List<UUID> productIds) {
+        Set<UUID> missing = new LinkedHashSet<>(productIds);
+        for (int from = 0; from < productIds.size(); from += BATCH) {
+            missing.removeAll(existingChanges(productIds.subList(from, Math.min(from + BATCH, productIds.size()))));
+        }
+        record(clientId, missing, Map.of());
+    }
+
+    /**
+     * Mark a client's products from before the feed as recorded (ProductChangeMaintenance)
+     */
+    void markSeeded(UUID clientId) {
+        byte[] client = JdbcUuids.toBytes(clientId);
+        String markSeeded = "UPDATE p_product_change_sequences SET seeded = TRUE WHERE client_id = ?";
+        if (jdbcTemplate.update(markSeeded, (Object) client) == 0) {
+            createSequence(client);
+            jdbcTemplate.update(markSeeded, (Object) client);
+        }
+    }
+
+    /**
+     * Reserve `count` seqs; returns the last one. Locks the sequence row until commit
+     */
+    private long allocate(UUID clientId, int count) {
+        byte[] client = JdbcUuids.toBytes(clientId);
+        if (jdbcTemplate.update(NEXT_SEQ, count, client) == 0) {
+            createSequence(client);
+            jdbcTemplate.update(NEXT_SEQ, count, client);
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT last_seq FROM p_product_change_sequences WHERE client_id = ?", Long.class, (Object) client);
+    }
+
+    /**
+     * First change of a client: create its sequence row in its own transaction,
+     * so concurrent first writers do not fail each other's transactions
+     */
+    private void createSequence(byte[] client) {
+        try {
+            newTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO p_product_change_sequences (client_id, last_seq, purged_through_seq, seeded) "
+                    + "VALUES (?, 0, 0, FALSE)", (Object) client));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently - use that one
+        }
+    }
+
+    private Set<UUID> existingChanges(List<UUID> productIds) {
+        List<byte[]> ids = new ArrayList<>(productIds.size());
+        for (UUID productId : productIds) {
+            ids.add(JdbcUuids.toBytes(productId));
+        }
+        Set<UUID> existing = new HashSet<>();
+        namedJdbcTemplate.query("SELECT product_id FROM p_product_changes WHERE product_id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                resultSet -> {
+                    existing.add(JdbcUuids.fromBytes(resultSet.getBytes("product_id")));
+                });
+        return existing;
+    }
+
+    private static final class Entry {
+
+        private final UUID productId;
+        private final long seq;
+        private final String type;
+        private final String sku;
+
+        private Entry(UUID productId, long seq, String type, String sku) {
+            this.productId = productId;
+            this.seq = seq;
+            this.type = type;
+            this.sku = sku;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.elowen.product.changes;
+
+import com.elowen.product.entity.ProductChange;
+import com.elowen.product.repository.JdbcUuids;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Housekeeping of the product change feed.
+ *
+ * - Seeding: products written before the feed existed get change rows, in
+ *   chunks, so a consumer reading from seq 0 sees the whole catalog. They
+ *   get new seqs, so consumers past them still receive them
+ * - Tombstone purge: DELETE rows older than the retention are removed and
+ *   the client's purged_through_seq raised; older cursors then get 410
+ *
+ * Both are idempotent, so every instance may run them.
+ */
+@Component
+public class ProductChangeMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeMaintenance.class);
+
+    private static final int SEED_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ProductChangeLog changeLog;
+    private final int tombstoneRetentionDays;
+
+    public ProductChangeMaintenance(DataSource dataSource, ProductChangeLog changeLog,
+                                    @Value("${product.changes.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.changeLog = changeLog;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+
+    @Scheduled(initialDelayString = "${product.changes.maintenance-initial-delay-ms:15000}",
+               fixedDelayString = "${product.changes.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        try {
+            seedClients();
+            purgeTombstones();
+        } catch (RuntimeException e) {
+            log.warn("Change feed maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private void seedClients() {
+        List<UUID> clients = jdbcTemplate.query(
+                "SELECT DISTINCT p.client_id FROM p_products p WHERE NOT EXISTS ("
+                + "SELECT 1 FROM p_product_change_sequences s WHERE s.client_id = p.client_id AND s.seeded = TRUE)",
+                (resultSet, rowNum) -> JdbcUuids.fromBytes(resultSet.getBytes(1)));
+        for (UUID clientId : clients) {
+            byte[] client = JdbcUuids.toBytes(clientId);
+            String afterSku = "";
+            int pages = 0;
+            while (true) {
+                List<Object[]> page = jdbcTemplate.query(
+                        "SELECT id, sku FROM p_products WHERE client_id = ? AND sku > ? ORDER BY sku LIMIT " + SEED_CHUNK,
+                        (resultSet, rowNum) -> new Object[] { JdbcUuids.fromBytes(resultSet.getBytes(1)), resultSet.getString(2) },
+                        client, afterSku);
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<UUID> ids = page.stream().map(row -> (UUID) row[0]).toList();
+                transaction.executeWithoutResult(status -> changeLog.recordIfMissing(clientId, ids));
+                afterSku = (String) page.get(page.size() - 1)[1];
+                pages++;
+            }
+            transaction.executeWithoutResult(status -> changeLog.markSeeded(clientId));
+            log.info("Seeded change feed of client {} ({} pages of products checked)", clientId, pages);
+        }
+    }
+
+    private void purgeTombstones() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        List<Object[]> purgeable = jdbcTemplate.query(
+                "SELECT client_id, MAX(seq) FROM p_product_changes WHERE change_type = ? AND changed_at < ? "
+                + "GROUP BY client_id",
+                (resultSet, rowNum) -> new Object[] { resultSet.getBytes(1), resultSet.getLong(2) },
+                ProductChange.TYPE_DELETE, cutoff);
+        for (Object[] client : purgeable) {
+            byte[] clientId = (byte[]) client[0];
+            long throughSeq = (Long) client[1];
+            int purged = transaction.execute(status -> {
+                jdbcTemplate.update("UPDATE p_product_change_sequences SET purged_through_seq = ? "
+                        + "WHERE client_id = ? AND purged_through_seq < ?", throughSeq, clientId, throughSeq);
+                return jdbcTemplate.update("DELETE FROM p_product_changes WHERE client_id = ? AND change_type = ? "
+                        + "AND seq <= ?", clientId, ProductChange.TYPE_DELETE, throughSeq);
+            });
+            log.info("Purged {} change feed tombstones of client {} (through seq {})",
+                    purged, JdbcUuids.fromBytes(clientId), throughSeq);
+        }
+    }
+}
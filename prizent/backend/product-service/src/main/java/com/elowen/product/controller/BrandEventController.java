@@ -0,0 +1,34 @@
+package com.elowen.product.controller;
+
+import com.elowen.product.dto.BrandEventMessage;
+import com.elowen.product.service.BrandRefService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Receives brand events from admin-service's outbox relay (brand.outbox.sink: http).
+ * 
+ * Internal endpoint - not routed by the gateway. Any non-2xx response makes
+ * the relay keep the batch and deliver it again.
+ */
+@RestController
+@RequestMapping("/api/internal/brand-events")
+public class BrandEventController {
+    
+    private final BrandRefService brandRefService;
+    
+    public BrandEventController(BrandRefService brandRefService) {
+        this.brandRefService = brandRefService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<Void> receive(@RequestBody List<BrandEventMessage> events) {
+        brandRefService.apply(events);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.elowen.product.controller;
+
+import com.elowen.product.dto.BrandProductCountSnapshot;
+import com.elowen.product.service.BrandProductCountService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Full per-brand product counts, pulled by admin-service to reconcile its read model.
+ * 
+ * Internal endpoint - not routed by the gateway.
+ */
+@RestController
+@RequestMapping("/api/internal/brand-product-counts")
+public class BrandProductCountController {
+    
+    private final BrandProductCountService countService;
+    
+    public BrandProductCountController(BrandProductCountService countService) {
+        this.countService = countService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<BrandProductCountSnapshot> getCounts() {
+        return ResponseEntity.ok(countService.snapshot());
+    }
+}
@@ -0,0 +1,118 @@
+package com.elowen.product.controller;
+
+import com.elowen.product.dto.CategoryResponse;
+import com.elowen.product.dto.CreateCategoryRequest;
+import com.elowen.product.dto.MoveCategoryRequest;
+import com.elowen.product.dto.UpdateCategoryRequest;
+import com.elowen.product.security.UserPrincipal;
+import com.elowen.product.service.CategoryService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for the product category tree.
+ * 
+ * Same security rules as ProductController: client_id only from the JWT,
+ * reads for any user of the client, writes require hasRole('ADMIN').
+ * Products of a category subtree: GET /api/products?categoryId=
+ * 
+ * Base Path: /api/categories
+ */
+@RestController
+@RequestMapping("/api/categories")
+public class CategoryController {
+    
+    private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
+    
+    private final CategoryService categoryService;
+    
+    public CategoryController(CategoryService categoryService) {
+        this.categoryService = categoryService;
+    }
+    
+    /**
+     * The whole tree, roots first, children nested
+     * GET /api/categories
+     */
+    @GetMapping
+    public ResponseEntity<List<CategoryResponse>> getTree(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(categoryService.getTree(userPrincipal.getClientId()));
+    }
+    
+    /**
+     * GET /api/categories/{categoryId}
+     */
+    @GetMapping("/{categoryId}")
+    public ResponseEntity<CategoryResponse> getCategory(
+            @PathVariable UUID categoryId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(categoryService.getCategory(categoryId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * POST /api/categories
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryResponse> createCategory(
+            @Valid @RequestBody CreateCategoryRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        log.info("Creating category '{}' for client {}", request.getName(), userPrincipal.getClientId());
+        CategoryResponse response = categoryService.createCategory(request, userPrincipal.getClientId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Rename
+     * PUT /api/categories/{categoryId}
+     */
+    @PutMapping("/{categoryId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryResponse> renameCategory(
+            @PathVariable UUID categoryId,
+            @Valid @RequestBody UpdateCategoryRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(categoryService.renameCategory(categoryId, request, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * Move under another parent (null parentId = make it a root), with its subtree
+     * POST /api/categories/{categoryId}/move
+     */
+    @PostMapping("/{categoryId}/move")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryResponse> moveCategory(
+            @PathVariable UUID categoryId,
+            @RequestBody MoveCategoryRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        log.info("Moving category {} under {} for client {}", 
+                categoryId, request.getParentId(), userPrincipal.getClientId());
+        return ResponseEntity.ok(categoryService.moveCategory(categoryId, request, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * DELETE /api/categories/{categoryId}
+     */
+    @DeleteMapping("/{categoryId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteCategory(
+            @PathVariable UUID categoryId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        categoryService.deleteCategory(categoryId, userPrincipal.getClientId());
+        return ResponseEntity.noContent().build();
+    }
+}
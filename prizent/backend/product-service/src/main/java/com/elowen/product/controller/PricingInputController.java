@@ -0,0 +1,61 @@
+package com.elowen.product.controller;
+
+import com.elowen.product.dto.PricingInputPage;
+import com.elowen.product.dto.PricingInputPlan;
+import com.elowen.product.export.PricingInputReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Catalog reads for pricing-service's repricing jobs: first the SKU ranges,
+ * then the products of each range.
+ * 
+ * Internal endpoint - not routed by the gateway. Cost prices of any client
+ * are served here, so callers must present the service token
+ * (ServiceTokenFilter); clientId is trusted only from them.
+ */
+@RestController
+@PreAuthorize("hasRole('SERVICE')")
+@RequestMapping("/api/internal/pricing-inputs")
+public class PricingInputController {
+    
+    private final PricingInputReader reader;
+    private final int maxPageSize;
+    
+    public PricingInputController(PricingInputReader reader,
+                                  @Value("${product.pricing-inputs.max-page-size:20000}") int maxPageSize) {
+        this.reader = reader;
+        this.maxPageSize = maxPageSize;
+    }
+    
+    /**
+     * GET /api/internal/pricing-inputs/plan?clientId=&chunkSize=
+     */
+    @GetMapping("/plan")
+    public ResponseEntity<PricingInputPlan> plan(
+            @RequestParam UUID clientId,
+            @RequestParam(defaultValue = "5000") int chunkSize) {
+        
+        return ResponseEntity.ok(reader.plan(clientId, Math.max(1, Math.min(chunkSize, maxPageSize))));
+    }
+    
+    /**
+     * GET /api/internal/pricing-inputs?clientId=&after=&through=&size=
+     */
+    @GetMapping
+    public ResponseEntity<PricingInputPage> read(
+            @RequestParam UUID clientId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String through,
+            @RequestParam(defaultValue = "5000") int size) {
+        
+        return ResponseEntity.ok(reader.read(clientId, after, through, Math.max(1, Math.min(size, maxPageSize))));
+    }
+}
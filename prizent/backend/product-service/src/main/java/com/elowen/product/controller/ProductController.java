@@ -0,0 +1,225 @@
+package com.elowen.product.controller;
+
+import com.elowen.product.dto.CreateProductRequest;
+import com.elowen.product.dto.ProductChangeFeedResponse;
+import com.elowen.product.dto.ProductPageResponse;
+import com.elowen.product.dto.ProductResponse;
+import com.elowen.product.dto.ProductSearchResponse;
+import com.elowen.product.dto.UpdateProductRequest;
+import com.elowen.product.export.ExportFormat;
+import com.elowen.product.security.UserPrincipal;
+import com.elowen.product.service.ProductChangeFeedService;
+import com.elowen.product.service.ProductExportService;
+import com.elowen.product.service.ProductSearchService;
+import com.elowen.product.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for the product catalog.
+ * 
+ * CRITICAL SECURITY RULES:
+ * - client_id NEVER accepted from request body or path parameters
+ * - client_id ALWAYS extracted from authenticated UserPrincipal/JWT
+ * - Reads are open to any authenticated user of the client; writes
+ *   require hasRole('ADMIN')
+ * 
+ * Base Path: /api/products (bulk import: see ProductImportController)
+ */
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductController.class);
+    
+    private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final ProductExportService productExportService;
+    private final ProductChangeFeedService changeFeedService;
+    
+    public ProductController(ProductService productService, ProductSearchService productSearchService,
+                             ProductExportService productExportService, ProductChangeFeedService changeFeedService) {
+        this.productService = productService;
+        this.productSearchService = productSearchService;
+        this.productExportService = productExportService;
+        this.changeFeedService = changeFeedService;
+    }
+    
+    /**
+     * List products in SKU order, keyset-paged; categoryId includes its sub-categories
+     * GET /api/products?brandId=&categoryId=&after=&size=
+     */
+    @GetMapping
+    public ResponseEntity<ProductPageResponse> listProducts(
+            @RequestParam(required = false) UUID brandId,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(productService.listProducts(
+                userPrincipal.getClientId(), brandId, categoryId, after, size));
+    }
+    
+    /**
+     * Search and typeahead over name, SKU, EAN and attribute values
+     * GET /api/products/search?q=&brandId=&enabled=&attr=color:red&facet=color&limit=
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> searchProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) UUID brandId,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(name = "attr", required = false) List<String> attributes,
+            @RequestParam(name = "facet", required = false) List<String> facets,
+            @RequestParam(defaultValue = "" + ProductSearchService.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(productSearchService.search(
+                userPrincipal.getClientId(), q, brandId, enabled, attributes, facets, limit));
+    }
+    
+    /**
+     * Changes after a cursor, for incremental sync
+     * GET /api/products/changes?since=&limit=
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + ProductChangeFeedService.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(changeFeedService.changesSince(userPrincipal.getClientId(), since, limit));
+    }
+    
+    /**
+     * Stream the whole catalog, gzip-encoded when the caller accepts it
+     * GET /api/products/export?format=csv|ndjson&brandId=&updatedSince=2024-01-31T00:00:00
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) UUID brandId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            HttpServletRequest request) {
+        
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + exportFormat.getFileExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        
+        // Last - the export slot is held from here until the request completes
+        StreamingResponseBody body = productExportService.export(
+                request, userPrincipal.getClientId(), brandId, updatedSince, exportFormat, gzip);
+        return response.body(body);
+    }
+    
+    /**
+     * GET /api/products/{productId}
+     */
+    @GetMapping("/{productId}")
+    public ResponseEntity<ProductResponse> getProduct(
+            @PathVariable UUID productId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(productService.getProductById(productId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * GET /api/products/sku/{sku}
+     */
+    @GetMapping("/sku/{sku}")
+    public ResponseEntity<ProductResponse> getProductBySku(
+            @PathVariable String sku,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(productService.getProductBySku(sku, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * POST /api/products
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductResponse> createProduct(
+            @Valid @RequestBody CreateProductRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        log.info("Creating product '{}' for client {}", request.getSku(), userPrincipal.getClientId());
+        ProductResponse response = productService.createProduct(request, userPrincipal.getClientId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * PUT /api/products/{productId}
+     */
+    @PutMapping("/{productId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductResponse> updateProduct(
+            @PathVariable UUID productId,
+            @Valid @RequestBody UpdateProductRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(productService.updateProduct(productId, request, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * PATCH /api/products/{productId}/enable
+     */
+    @PatchMapping("/{productId}/enable")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductResponse> enableProduct(
+            @PathVariable UUID productId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(productService.enableProduct(productId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * PATCH /api/products/{productId}/disable
+     */
+    @PatchMapping("/{productId}/disable")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductResponse> disableProduct(
+            @PathVariable UUID productId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(productService.disableProduct(productId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * DELETE /api/products/{productId}
+     */
+    @DeleteMapping("/{productId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteProduct(
+            @PathVariable UUID productId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        productService.deleteProduct(productId, userPrincipal.getClientId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.elowen.product.controller;
+
+import com.elowen.product.dto.ImportJobResponse;
+import com.elowen.product.dto.ImportRowErrorResponse;
+import com.elowen.product.security.UserPrincipal;
+import com.elowen.product.service.ProductImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk product import: upload a feed, then poll the job.
+ * 
+ * Base Path: /api/products/imports
+ * 
+ * Usage:
+ *   curl -X POST -H 'Content-Type: text/csv' --data-binary @products.csv \
+ *        /api/products/imports?mode=upsert          -> 202 + Location
+ *   GET  /api/products/imports/{jobId}              -> progress, rate, ETA
+ *   GET  /api/products/imports/{jobId}/errors       -> rejected rows
+ * 
+ * CSV columns / JSON keys: sku, name, brand_id or brand (name), description,
+ * ean, cost_price, weight_grams, enabled, attr.{name} (JSON: "attributes").
+ * Only columns present in the feed are updated on existing SKUs; attributes
+ * present in a row replace the product's attributes as a whole.
+ */
+@RestController
+@RequestMapping("/api/products/imports")
+@PreAuthorize("hasRole('ADMIN')")
+public class ProductImportController {
+    
+    private final ProductImportService importService;
+    
+    public ProductImportController(ProductImportService importService) {
+        this.importService = importService;
+    }
+    
+    /**
+     * Upload a feed (raw request body, optionally gzip-encoded)
+     * POST /api/products/imports?mode=upsert|insert
+     */
+    @PostMapping
+    public ResponseEntity<ImportJobResponse> startImport(
+            @RequestParam(required = false) String mode,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        
+        ImportJobResponse job = importService.startImport(userPrincipal.getClientId(), userPrincipal.getUserId(),
+                contentType, contentEncoding, mode, request.getInputStream());
+        
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+    
+    /**
+     * The client's 20 most recent imports
+     * GET /api/products/imports
+     */
+    @GetMapping
+    public ResponseEntity<List<ImportJobResponse>> getRecentImports(
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(importService.getRecentJobs(userPrincipal.getClientId()));
+    }
+    
+    /**
+     * GET /api/products/imports/{jobId}
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImport(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(importService.getJob(jobId, userPrincipal.getClientId()));
+    }
+    
+    /**
+     * GET /api/products/imports/{jobId}/errors?page=0&size=100
+     */
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<Map<String, Object>> getImportErrors(
+            @PathVariable UUID jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        Page<ImportRowErrorResponse> errors = importService.getErrors(jobId, userPrincipal.getClientId(), page, size);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("errors", errors.getContent());
+        response.put("page", errors.getNumber());
+        response.put("size", errors.getSize());
+        response.put("totalStored", errors.getTotalElements());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * POST /api/products/imports/{jobId}/cancel
+     */
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<ImportJobResponse> cancelImport(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return ResponseEntity.ok(importService.cancelJob(jobId, userPrincipal.getClientId()));
+    }
+}
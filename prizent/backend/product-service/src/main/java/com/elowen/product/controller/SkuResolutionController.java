@@ -0,0 +1,36 @@
+package com.elowen.product.controller;
+
+import com.elowen.product.dto.SkuResolutionRequest;
+import com.elowen.product.dto.SkuResolutionResponse;
+import com.elowen.product.service.SkuResolutionService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Resolves SKUs to product ids for price feeds and order imports of other services.
+ * 
+ * Internal endpoint - not routed by the gateway. The clientId comes from the
+ * request body, so callers must present the service token
+ * (ServiceTokenFilter); tenants cannot resolve another client's SKUs.
+ */
+@RestController
+@PreAuthorize("hasRole('SERVICE')")
+@RequestMapping("/api/internal/sku-resolutions")
+public class SkuResolutionController {
+    
+    private final SkuResolutionService resolutionService;
+    
+    public SkuResolutionController(SkuResolutionService resolutionService) {
+        this.resolutionService = resolutionService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<SkuResolutionResponse> resolve(@Valid @RequestBody SkuResolutionRequest request) {
+        return ResponseEntity.ok(resolutionService.resolve(request.getClientId(), request.getSkus()));
+    }
+}
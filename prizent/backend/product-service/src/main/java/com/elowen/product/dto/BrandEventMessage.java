@@ -0,0 +1,63 @@
+package com.elowen.product.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.UUID;
+
+/**
+ * One admin-service brand outbox event, as POSTed by its HTTP sink.
+ * 
+ * id is the outbox id - increasing per brand, used to drop stale and
+ * repeated deliveries. payload.brand is the BrandResponse after the
+ * change (absent for DELETED).
+ */
+public class BrandEventMessage {
+    
+    private Long id;
+    private String type;
+    private UUID clientId;
+    private UUID brandId;
+    private JsonNode payload;
+    
+    public BrandEventMessage() {}
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public void setBrandId(UUID brandId) {
+        this.brandId = brandId;
+    }
+    
+    public JsonNode getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(JsonNode payload) {
+        this.payload = payload;
+    }
+}
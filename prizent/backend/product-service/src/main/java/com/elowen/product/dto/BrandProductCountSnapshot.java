@@ -0,0 +1,68 @@
+package com.elowen.product.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Product counts of every brand, read in one transaction, for admin-service's reconciliation.
+ * 
+ * pendingBrandIds are brands with changes still in the outbox: their counts
+ * here already include changes admin-service has not received, so it must
+ * not overwrite them from this snapshot.
+ */
+public class BrandProductCountSnapshot {
+    
+    private final List<BrandProductCount> brands;
+    private final List<UUID> pendingBrandIds;
+    private final LocalDateTime takenAt;
+    
+    public BrandProductCountSnapshot(List<BrandProductCount> brands, List<UUID> pendingBrandIds, LocalDateTime takenAt) {
+        this.brands = brands;
+        this.pendingBrandIds = pendingBrandIds;
+        this.takenAt = takenAt;
+    }
+    
+    public List<BrandProductCount> getBrands() {
+        return brands;
+    }
+    
+    public List<UUID> getPendingBrandIds() {
+        return pendingBrandIds;
+    }
+    
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+    
+    public static class BrandProductCount {
+        
+        private final UUID clientId;
+        private final UUID brandId;
+        private final long activeCount;
+        private final long productCount;
+        
+        public BrandProductCount(UUID clientId, UUID brandId, long activeCount, long productCount) {
+            this.clientId = clientId;
+            this.brandId = brandId;
+            this.activeCount = activeCount;
+            this.productCount = productCount;
+        }
+        
+        public UUID getClientId() {
+            return clientId;
+        }
+        
+        public UUID getBrandId() {
+            return brandId;
+        }
+        
+        public long getActiveCount() {
+            return activeCount;
+        }
+        
+        public long getProductCount() {
+            return productCount;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.elowen.product.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of admin-service's brands (GET /api/internal/brand-snapshot),
+ * in id order. nextAfter is null on the last page.
+ */
+public class BrandSnapshotPage {
+    
+    private List<Item> brands = new ArrayList<>();
+    private UUID nextAfter;
+    
+    public BrandSnapshotPage() {}
+    
+    public List<Item> getBrands() {
+        return brands;
+    }
+    
+    public void setBrands(List<Item> brands) {
+        this.brands = brands;
+    }
+    
+    public UUID getNextAfter() {
+        return nextAfter;
+    }
+    
+    public void setNextAfter(UUID nextAfter) {
+        this.nextAfter = nextAfter;
+    }
+    
+    public static class Item {
+        
+        private UUID id;
+        private UUID clientId;
+        private String name;
+        private boolean enabled;
+        
+        public Item() {}
+        
+        public UUID getId() {
+            return id;
+        }
+        
+        public void setId(UUID id) {
+            this.id = id;
+        }
+        
+        public UUID getClientId() {
+            return clientId;
+        }
+        
+        public void setClientId(UUID clientId) {
+            this.clientId = clientId;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+}
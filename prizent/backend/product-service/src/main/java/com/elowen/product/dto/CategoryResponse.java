@@ -0,0 +1,87 @@
+package com.elowen.product.dto;
+
+import com.elowen.product.category.CategoryNode;
+import com.elowen.product.entity.Category;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for categories.
+ * 
+ * Single-category responses carry version and timestamps; tree responses
+ * (from the in-memory snapshot) carry the nested children instead.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoryResponse {
+    
+    private UUID id;
+    private UUID parentId;
+    private String name;
+    private int depth;
+    private Long version;
+    private LocalDateTime createDateTime;
+    private LocalDateTime updateDateTime;
+    private List<CategoryResponse> children;
+    
+    public CategoryResponse() {}
+    
+    public static CategoryResponse fromEntity(Category category) {
+        CategoryResponse response = new CategoryResponse();
+        response.id = category.getId();
+        response.parentId = category.getParentId();
+        response.name = category.getName();
+        response.depth = category.getDepth();
+        response.version = category.getVersion();
+        response.createDateTime = category.getCreateDateTime();
+        response.updateDateTime = category.getUpdateDateTime();
+        return response;
+    }
+    
+    /**
+     * The node and its whole subtree
+     */
+    public static CategoryResponse fromNode(CategoryNode node) {
+        CategoryResponse response = new CategoryResponse();
+        response.id = node.getId();
+        response.parentId = node.getParentId();
+        response.name = node.getName();
+        response.depth = node.getDepth();
+        response.children = node.getChildren().stream().map(CategoryResponse::fromNode).toList();
+        return response;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public UUID getParentId() {
+        return parentId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getDepth() {
+        return depth;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+    
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+    
+    public List<CategoryResponse> getChildren() {
+        return children;
+    }
+}
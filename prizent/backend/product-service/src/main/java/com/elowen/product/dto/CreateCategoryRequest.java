@@ -0,0 +1,40 @@
+package com.elowen.product.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+/**
+ * DTO for creating a category.
+ * 
+ * Rules:
+ * - NO client_id field - always from JWT
+ * - parentId is optional; null creates a root category
+ */
+public class CreateCategoryRequest {
+    
+    @NotBlank(message = "Category name is required")
+    @Size(max = 100, message = "Category name cannot exceed 100 characters")
+    private String name;
+    
+    private UUID parentId;
+    
+    public CreateCategoryRequest() {}
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public UUID getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(UUID parentId) {
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,128 @@
+package com.elowen.product.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for creating a single product.
+ * 
+ * Rules:
+ * - NO client_id field - always from JWT
+ * - brandId must be an active brand of the client
+ * - categoryId is optional and must be a category of the client
+ * - ean and attributes are checked by the same rules as the bulk import
+ *   (ProductRowValidator), so both paths accept exactly the same data
+ */
+public class CreateProductRequest {
+    
+    @NotBlank(message = "SKU is required")
+    @Size(max = 64, message = "SKU cannot exceed 64 characters")
+    private String sku;
+    
+    @NotBlank(message = "Product name is required")
+    @Size(max = 255, message = "Product name cannot exceed 255 characters")
+    private String name;
+    
+    @NotNull(message = "Brand is required")
+    private UUID brandId;
+    
+    private UUID categoryId;
+    
+    @Size(max = 2000, message = "Description cannot exceed 2000 characters")
+    private String description;
+    
+    private String ean;
+    
+    @DecimalMin(value = "0", message = "Cost price cannot be negative")
+    @Digits(integer = 10, fraction = 2, message = "Cost price allows 10 digits and 2 decimals")
+    private BigDecimal costPrice;
+    
+    @Min(value = 0, message = "Weight cannot be negative")
+    @Max(value = 1_000_000, message = "Weight cannot exceed 1000000 grams")
+    private Integer weightGrams;
+    
+    private Map<String, String> attributes;
+    
+    public CreateProductRequest() {}
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public void setBrandId(UUID brandId) {
+        this.brandId = brandId;
+    }
+    
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getEan() {
+        return ean;
+    }
+    
+    public void setEan(String ean) {
+        this.ean = ean;
+    }
+    
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+    
+    public void setCostPrice(BigDecimal costPrice) {
+        this.costPrice = costPrice;
+    }
+    
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+    
+    public void setWeightGrams(Integer weightGrams) {
+        this.weightGrams = weightGrams;
+    }
+    
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+    
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+}
@@ -0,0 +1,147 @@
+package com.elowen.product.dto;
+
+import com.elowen.product.entity.ImportFormat;
+import com.elowen.product.entity.ImportJob;
+import com.elowen.product.entity.ImportMode;
+import com.elowen.product.entity.ImportStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Status and progress of a bulk import, for polling.
+ * 
+ * percent compares bytes read with the size of the uploaded feed; rate and
+ * ETA are derived from the same counters, so nothing has to count the feed's
+ * rows up front. rowsFailed counts every rejected row, even beyond the
+ * errors that are stored for the errors endpoint.
+ */
+public class ImportJobResponse {
+    
+    private UUID id;
+    private ImportFormat format;
+    private ImportMode mode;
+    private ImportStatus status;
+    private long totalBytes;
+    private long bytesRead;
+    private double percent;
+    private long rowsRead;
+    private long rowsInserted;
+    private long rowsUpdated;
+    private long rowsFailed;
+    private Double rowsPerSecond;
+    private Long etaSeconds;
+    private String message;
+    private LocalDateTime createDateTime;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    
+    public ImportJobResponse() {}
+    
+    public static ImportJobResponse fromEntity(ImportJob job) {
+        ImportJobResponse response = new ImportJobResponse();
+        response.id = job.getId();
+        response.format = job.getFormat();
+        response.mode = job.getMode();
+        response.status = job.getStatus();
+        response.totalBytes = job.getTotalBytes();
+        response.bytesRead = job.getBytesRead();
+        response.rowsRead = job.getRowsRead();
+        response.rowsInserted = job.getRowsInserted();
+        response.rowsUpdated = job.getRowsUpdated();
+        response.rowsFailed = job.getRowsFailed();
+        response.message = job.getMessage();
+        response.createDateTime = job.getCreateDateTime();
+        response.startedAt = job.getStartedAt();
+        response.finishedAt = job.getFinishedAt();
+        
+        if (job.getStatus() == ImportStatus.COMPLETED) {
+            response.percent = 100.0;
+        } else if (job.getTotalBytes() > 0) {
+            double percent = 100.0 * job.getBytesRead() / job.getTotalBytes();
+            response.percent = Math.round(Math.min(percent, 100.0) * 10) / 10.0;
+        }
+        
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            double seconds = Duration.between(job.getStartedAt(), end).toMillis() / 1000.0;
+            if (seconds > 0) {
+                response.rowsPerSecond = Math.round(job.getRowsRead() / seconds * 10) / 10.0;
+                if (job.getStatus() == ImportStatus.RUNNING && job.getBytesRead() > 0) {
+                    double bytesPerSecond = job.getBytesRead() / seconds;
+                    response.etaSeconds = Math.round(Math.max(0, job.getTotalBytes() - job.getBytesRead()) / bytesPerSecond);
+                }
+            }
+        }
+        return response;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public ImportFormat getFormat() {
+        return format;
+    }
+    
+    public ImportMode getMode() {
+        return mode;
+    }
+    
+    public ImportStatus getStatus() {
+        return status;
+    }
+    
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+    
+    public long getBytesRead() {
+        return bytesRead;
+    }
+    
+    public double getPercent() {
+        return percent;
+    }
+    
+    public long getRowsRead() {
+        return rowsRead;
+    }
+    
+    public long getRowsInserted() {
+        return rowsInserted;
+    }
+    
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+    
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+    
+    public Double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
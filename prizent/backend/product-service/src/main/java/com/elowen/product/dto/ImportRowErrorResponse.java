@@ -0,0 +1,41 @@
+package com.elowen.product.dto;
+
+import com.elowen.product.entity.ImportRowError;
+
+/**
+ * One rejected feed row: row number (1 = first data row), SKU, field and reason.
+ */
+public class ImportRowErrorResponse {
+    
+    private final long row;
+    private final String sku;
+    private final String field;
+    private final String message;
+    
+    private ImportRowErrorResponse(long row, String sku, String field, String message) {
+        this.row = row;
+        this.sku = sku;
+        this.field = field;
+        this.message = message;
+    }
+    
+    public static ImportRowErrorResponse fromEntity(ImportRowError error) {
+        return new ImportRowErrorResponse(error.getRowNumber(), error.getSku(), error.getField(), error.getMessage());
+    }
+    
+    public long getRow() {
+        return row;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public String getField() {
+        return field;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.elowen.product.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO for moving a category, with everything under it, to a new parent.
+ * A null parentId makes the category a root.
+ */
+public class MoveCategoryRequest {
+    
+    private UUID parentId;
+    
+    public MoveCategoryRequest() {}
+    
+    public UUID getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(UUID parentId) {
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.elowen.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * What pricing-service needs of one product to price it.
+ */
+public class PricingInput {
+    
+    private final String sku;
+    private final BigDecimal costPrice;
+    private final Integer weightGrams;
+    
+    public PricingInput(String sku, BigDecimal costPrice, Integer weightGrams) {
+        this.sku = sku;
+        this.costPrice = costPrice;
+        this.weightGrams = weightGrams;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+    
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+}
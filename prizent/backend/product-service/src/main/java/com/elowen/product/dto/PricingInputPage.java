@@ -0,0 +1,28 @@
+package com.elowen.product.dto;
+
+import java.util.List;
+
+/**
+ * Products of one SKU range in SKU order.
+ * 
+ * nextAfter is set when the page is full - the range holds more products,
+ * continue with ?after=nextAfter and the same through.
+ */
+public class PricingInputPage {
+    
+    private final List<PricingInput> items;
+    private final String nextAfter;
+    
+    public PricingInputPage(List<PricingInput> items, String nextAfter) {
+        this.items = items;
+        this.nextAfter = nextAfter;
+    }
+    
+    public List<PricingInput> getItems() {
+        return items;
+    }
+    
+    public String getNextAfter() {
+        return nextAfter;
+    }
+}
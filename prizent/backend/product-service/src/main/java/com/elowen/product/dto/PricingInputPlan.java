@@ -0,0 +1,30 @@
+package com.elowen.product.dto;
+
+import java.util.List;
+
+/**
+ * A client's catalog cut into SKU ranges of about chunkSize products.
+ * 
+ * boundaries are the last SKU of every range but the last: range i covers
+ * SKUs above boundaries[i-1] up to and including boundaries[i]. Products
+ * added later fall into one of the ranges, so the ranges always cover the
+ * whole catalog.
+ */
+public class PricingInputPlan {
+    
+    private final long total;
+    private final List<String> boundaries;
+    
+    public PricingInputPlan(long total, List<String> boundaries) {
+        this.total = total;
+        this.boundaries = boundaries;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public List<String> getBoundaries() {
+        return boundaries;
+    }
+}
@@ -0,0 +1,76 @@
+package com.elowen.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a client's product change feed, in seq order.
+ * 
+ * Pass nextCursor as ?since= for the next page; hasMore is false once the
+ * feed is read up to its current end. UPSERT changes carry the product as
+ * it is now, DELETE changes (tombstones) its id and SKU.
+ */
+public class ProductChangeFeedResponse {
+    
+    private final List<Change> changes;
+    private final long nextCursor;
+    private final boolean hasMore;
+    
+    public ProductChangeFeedResponse(List<Change> changes, long nextCursor, boolean hasMore) {
+        this.changes = changes;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    public List<Change> getChanges() {
+        return changes;
+    }
+    
+    public long getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Change {
+        
+        private final long seq;
+        private final String type;
+        private final UUID productId;
+        private final String sku;
+        private final ProductResponse product;
+        
+        public Change(long seq, String type, UUID productId, String sku, ProductResponse product) {
+            this.seq = seq;
+            this.type = type;
+            this.productId = productId;
+            this.sku = sku;
+            this.product = product;
+        }
+        
+        public long getSeq() {
+            return seq;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public UUID getProductId() {
+            return productId;
+        }
+        
+        public String getSku() {
+            return sku;
+        }
+        
+        public ProductResponse getProduct() {
+            return product;
+        }
+    }
+}
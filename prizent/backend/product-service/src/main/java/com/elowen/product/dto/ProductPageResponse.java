@@ -0,0 +1,28 @@
+package com.elowen.product.dto;
+
+import java.util.List;
+
+/**
+ * One page of a catalog listing.
+ * 
+ * nextCursor is the last SKU of the page - pass it as ?after= for the next
+ * page; null when this is the last page.
+ */
+public class ProductPageResponse {
+    
+    private final List<ProductResponse> items;
+    private final String nextCursor;
+    
+    public ProductPageResponse(List<ProductResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<ProductResponse> getItems() {
+        return items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,108 @@
+package com.elowen.product.dto;
+
+import com.elowen.product.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Response DTO for Product operations.
+ * 
+ * NO client_id exposure, as in admin-service's BrandResponse.
+ */
+public class ProductResponse {
+    
+    private UUID id;
+    private String sku;
+    private String name;
+    private UUID brandId;
+    private UUID categoryId;
+    private String description;
+    private String ean;
+    private BigDecimal costPrice;
+    private Integer weightGrams;
+    private Map<String, String> attributes;
+    private Boolean enabled;
+    private Long version;
+    private LocalDateTime createDateTime;
+    private LocalDateTime updateDateTime;
+    
+    public ProductResponse() {}
+    
+    public static ProductResponse fromEntity(Product product) {
+        ProductResponse response = new ProductResponse();
+        response.id = product.getId();
+        response.sku = product.getSku();
+        response.name = product.getName();
+        response.brandId = product.getBrandId();
+        response.categoryId = product.getCategoryId();
+        response.description = product.getDescription();
+        response.ean = product.getEan();
+        response.costPrice = product.getCostPrice();
+        response.weightGrams = product.getWeightGrams();
+        response.attributes = product.getAttributes();
+        response.enabled = product.getEnabled();
+        response.version = product.getVersion();
+        response.createDateTime = product.getCreateDateTime();
+        response.updateDateTime = product.getUpdateDateTime();
+        return response;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public String getEan() {
+        return ean;
+    }
+    
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+    
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+    
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+    
+    public Boolean getEnabled() {
+        return enabled;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+    
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+}
@@ -0,0 +1,99 @@
+package com.elowen.product.dto;
+
+import com.elowen.product.search.IndexedProduct;
+import com.elowen.product.search.SearchResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Search hits plus counts over every match.
+ * 
+ * total and the counts cover all matches, hits only the best `limit`.
+ * brands: matches per brand id; facets: matches per value of each
+ * requested attribute (top 20, values lower-cased).
+ */
+public class ProductSearchResponse {
+    
+    private final int total;
+    private final List<Hit> hits;
+    private final Map<UUID, Integer> brands;
+    private final Map<String, Map<String, Integer>> facets;
+    
+    public ProductSearchResponse(int total, List<Hit> hits, Map<UUID, Integer> brands,
+                                 Map<String, Map<String, Integer>> facets) {
+        this.total = total;
+        this.hits = hits;
+        this.brands = brands;
+        this.facets = facets;
+    }
+    
+    public static ProductSearchResponse fromResult(SearchResult result) {
+        List<Hit> hits = result.getHits().stream().map(Hit::new).collect(Collectors.toList());
+        return new ProductSearchResponse(result.getTotal(), hits, result.getBrandCounts(), result.getFacets());
+    }
+    
+    public int getTotal() {
+        return total;
+    }
+    
+    public List<Hit> getHits() {
+        return hits;
+    }
+    
+    public Map<UUID, Integer> getBrands() {
+        return brands;
+    }
+    
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+    
+    /**
+     * What a typeahead needs; load the full product with GET /api/products/{id}
+     */
+    public static class Hit {
+        
+        private final UUID id;
+        private final String sku;
+        private final String name;
+        private final UUID brandId;
+        private final String ean;
+        private final boolean enabled;
+        
+        private Hit(IndexedProduct product) {
+            this.id = product.getId();
+            this.sku = product.getSku();
+            this.name = product.getName();
+            this.brandId = product.getBrandId();
+            this.ean = product.getEan();
+            this.enabled = product.isEnabled();
+        }
+        
+        public UUID getId() {
+            return id;
+        }
+        
+        public String getSku() {
+            return sku;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public UUID getBrandId() {
+            return brandId;
+        }
+        
+        public String getEan() {
+            return ean;
+        }
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+    }
+}
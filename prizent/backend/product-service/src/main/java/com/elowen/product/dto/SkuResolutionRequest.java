@@ -0,0 +1,39 @@
+package com.elowen.product.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SKUs of one client to resolve to product ids (price feeds, order imports).
+ */
+public class SkuResolutionRequest {
+    
+    @NotNull(message = "Client is required")
+    private UUID clientId;
+    
+    @NotEmpty(message = "At least one SKU is required")
+    @Size(max = 10000, message = "At most 10000 SKUs per request")
+    private List<String> skus;
+    
+    public SkuResolutionRequest() {}
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+    
+    public List<String> getSkus() {
+        return skus;
+    }
+    
+    public void setSkus(List<String> skus) {
+        this.skus = skus;
+    }
+}
@@ -0,0 +1,27 @@
+package com.elowen.product.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * SKU -> product id of the SKUs that exist; the others are listed as unresolved.
+ */
+public class SkuResolutionResponse {
+    
+    private final Map<String, UUID> productIds;
+    private final List<String> unresolved;
+    
+    public SkuResolutionResponse(Map<String, UUID> productIds, List<String> unresolved) {
+        this.productIds = productIds;
+        this.unresolved = unresolved;
+    }
+    
+    public Map<String, UUID> getProductIds() {
+        return productIds;
+    }
+    
+    public List<String> getUnresolved() {
+        return unresolved;
+    }
+}
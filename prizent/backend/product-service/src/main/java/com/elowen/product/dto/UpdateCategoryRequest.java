@@ -0,0 +1,25 @@
+package com.elowen.product.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for renaming a category; moving is a separate operation
+ * (MoveCategoryRequest).
+ */
+public class UpdateCategoryRequest {
+    
+    @NotBlank(message = "Category name is required")
+    @Size(max = 100, message = "Category name cannot exceed 100 characters")
+    private String name;
+    
+    public UpdateCategoryRequest() {}
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,123 @@
+package com.elowen.product.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for updating an existing product.
+ * 
+ * Update Rules:
+ * - All fields are optional; null means "do not update this field"
+ * - SKU cannot change - it is the key feeds and imports match on
+ * - NO enabled field - use separate enable/disable endpoints
+ * - An empty ean or description clears it; attributes replace the whole map
+ * - version is optional; when provided the update only succeeds if the
+ *   product has not changed since that version was read (409 otherwise)
+ */
+public class UpdateProductRequest {
+    
+    @Size(min = 1, max = 255, message = "Product name must be between 1 and 255 characters")
+    private String name;
+    
+    private UUID brandId;
+    
+    private UUID categoryId;
+    
+    @Size(max = 2000, message = "Description cannot exceed 2000 characters")
+    private String description;
+    
+    private String ean;
+    
+    @DecimalMin(value = "0", message = "Cost price cannot be negative")
+    @Digits(integer = 10, fraction = 2, message = "Cost price allows 10 digits and 2 decimals")
+    private BigDecimal costPrice;
+    
+    @Min(value = 0, message = "Weight cannot be negative")
+    @Max(value = 1_000_000, message = "Weight cannot exceed 1000000 grams")
+    private Integer weightGrams;
+    
+    private Map<String, String> attributes;
+    
+    private Long version;
+    
+    public UpdateProductRequest() {}
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public UUID getBrandId() {
+        return brandId;
+    }
+    
+    public void setBrandId(UUID brandId) {
+        this.brandId = brandId;
+    }
+    
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getEan() {
+        return ean;
+    }
+    
+    public void setEan(String ean) {
+        this.ean = ean;
+    }
+    
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+    
+    public void setCostPrice(BigDecimal costPrice) {
+        this.costPrice = costPrice;
+    }
+    
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+    
+    public void setWeightGrams(Integer weightGrams) {
+        this.weightGrams = weightGrams;
+    }
+    
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+    
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
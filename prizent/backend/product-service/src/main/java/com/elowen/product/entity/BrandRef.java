@@ -0,0 +1,122 @@
+package com.elowen.product.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Local replica of an admin-service brand, maintained from its outbox events.
+ *
+ * Design Decisions:
+ * - Only what product validation needs: tenant, name, enabled, deleted
+ * - last_event_id is the admin outbox id of the newest applied event;
+ *   older or repeated deliveries are ignored, so redelivery is harmless
+ * - Deleted brands stay as tombstones - a late, older event must not
+ *   bring them back
+ */
+@Entity
+@Table(
+    name = "p_brand_refs",
+    indexes = {
+        @Index(name = "idx_brand_refs_client_id", columnList = "client_id")
+    }
+)
+public class BrandRef {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", length = 16, updatable = false, nullable = false)
+    private UUID id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "enabled", nullable = false)
+    private Boolean enabled = true;
+
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted = false;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "update_date_time", nullable = false)
+    private LocalDateTime updateDateTime;
+
+    public BrandRef() {}
+
+    public BrandRef(UUID id, UUID clientId) {
+        this.id = id;
+        this.clientId = clientId;
+    }
+
+    /**
+     * Usable for new and imported products
+     */
+    public boolean isActive() {
+        return Boolean.TRUE.equals(enabled) && !Boolean.TRUE.equals(deleted);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Boolean getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+
+    public void setUpdateDateTime(LocalDateTime updateDateTime) {
+        this.updateDateTime = updateDateTime;
+    }
+}
@@ -0,0 +1,151 @@
+package com.elowen.product.entity;
+
+import com.elowen.product.category.CategoryPaths;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Product category of a client, one node of the client's category tree.
+ *
+ * Key Design Decisions:
+ * - Materialized path (see CategoryPaths) next to parent_id: "this category
+ *   and everything under it" is one range query on (client_id, path)
+ *   instead of a recursive walk over parent pointers
+ * - The id is assigned in the constructor because it is part of the path
+ * - Moving a category rewrites the paths of its whole subtree in one bulk
+ *   UPDATE (CategoryRepository.moveSubtree); products only hold category_id,
+ *   so they are untouched by moves
+ * - Sibling names are unique per parent (case-insensitive); the constraint
+ *   covers child categories, root names are checked by CategoryService
+ *   since NULL parent ids never collide in a unique index
+ */
+@Entity
+@Table(
+    name = "p_categories",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_categories_client_path", columnNames = {"client_id", "path"}),
+        @UniqueConstraint(name = "uk_categories_client_parent_name", columnNames = {"client_id", "parent_id", "name"})
+    }
+)
+public class Category {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", length = 16, updatable = false, nullable = false)
+    private UUID id;
+
+    /**
+     * Client ID - IMMUTABLE after creation
+     * Always extracted from UserPrincipal, never from request
+     */
+    @NotNull
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    /**
+     * Null for root categories
+     */
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "parent_id", length = 16)
+    private UUID parentId;
+
+    @NotBlank
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @NotNull
+    @Column(name = "path", nullable = false, length = CategoryPaths.MAX_PATH_LENGTH)
+    private String path;
+
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    /**
+     * Null until persisted, so Spring Data persists (not merges) new
+     * categories despite their assigned id
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @CreationTimestamp
+    @Column(name = "create_date_time", updatable = false, nullable = false)
+    private LocalDateTime createDateTime;
+
+    @UpdateTimestamp
+    @Column(name = "update_date_time", nullable = false)
+    private LocalDateTime updateDateTime;
+
+    // Constructors
+    public Category() {}
+
+    public Category(UUID clientId, Category parent, String name) {
+        this.id = UUID.randomUUID();
+        this.clientId = clientId;
+        this.parentId = parent != null ? parent.getId() : null;
+        this.name = name;
+        this.path = CategoryPaths.childPath(parent != null ? parent.getPath() : null, id);
+        this.depth = parent != null ? parent.getDepth() + 1 : 0;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public UUID getParentId() {
+        return parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+
+    @Override
+    public String toString() {
+        return "Category{" +
+                "id=" + id +
+                ", clientId=" + clientId +
+                ", parentId=" + parentId +
+                ", name='" + name + '\'' +
+                ", depth=" + depth +
+                '}';
+    }
+}
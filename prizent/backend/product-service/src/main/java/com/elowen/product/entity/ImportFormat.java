@@ -0,0 +1,13 @@
+package com.elowen.product.entity;
+
+/**
+ * Feed formats accepted by the bulk product import, chosen by Content-Type.
+ */
+public enum ImportFormat {
+    /** text/csv - header row, RFC 4180 quoting */
+    CSV,
+    /** application/json - one array of product objects */
+    JSON,
+    /** application/x-ndjson - one product object per line */
+    NDJSON
+}
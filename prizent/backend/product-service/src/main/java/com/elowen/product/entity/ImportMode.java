@@ -0,0 +1,11 @@
+package com.elowen.product.entity;
+
+/**
+ * How an import treats SKUs that already exist for the client.
+ */
+public enum ImportMode {
+    /** Existing SKUs are updated, new ones inserted */
+    UPSERT,
+    /** Existing SKUs are row errors; only new ones are inserted */
+    INSERT
+}
@@ -0,0 +1,71 @@
+package com.elowen.product.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.UUID;
+
+/**
+ * A feed row that was not imported, with the reason.
+ *
+ * Written by the import in batches, in the transaction of the chunk the
+ * row belongs to; read page by page through the import API.
+ * row_no is 1-based and counts data rows (a CSV header is not a row).
+ */
+@Entity
+@Table(
+    name = "p_product_import_errors",
+    indexes = {
+        @Index(name = "idx_import_errors_job_row", columnList = "job_id, row_no")
+    }
+)
+public class ImportRowError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "job_id", length = 16, updatable = false, nullable = false)
+    private UUID jobId;
+
+    @Column(name = "row_no", updatable = false, nullable = false)
+    private long rowNumber;
+
+    @Column(name = "sku", length = 64, updatable = false)
+    private String sku;
+
+    @Column(name = "field", length = 64, updatable = false)
+    private String field;
+
+    @Column(name = "message", length = 500, updatable = false, nullable = false)
+    private String message;
+
+    public ImportRowError() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
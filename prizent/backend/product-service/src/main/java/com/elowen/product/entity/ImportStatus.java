@@ -0,0 +1,20 @@
+package com.elowen.product.entity;
+
+/**
+ * Lifecycle of a bulk product import.
+ * 
+ * QUEUED -> RUNNING -> COMPLETED | FAILED | CANCELLED
+ * Row errors do not fail a job; FAILED means the feed could not be read to
+ * the end (malformed file, database down, service restart).
+ */
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+    
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,273 @@
+package com.elowen.product.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Product (SKU) owned by a client and linked to one of its admin-service brands.
+ *
+ * Key Design Decisions:
+ * - client_id is immutable and extracted from UserPrincipal - never from request
+ * - Composite unique constraint on (client_id, sku) - SKU is the tenant's key
+ *   for feeds, orders and pricing
+ * - brand_id references an admin-service brand by id only (no cross-service FK);
+ *   validated against the local BrandRef replica
+ * - category_id is optional and points at a category of the same client;
+ *   subtree listings go through the category's materialized path (Category)
+ * - UUID columns are BINARY(16) on every database so the bulk import can bind
+ *   them with plain JDBC (see ProductBatchWriter)
+ * - Free-form attributes are one JSON text column - read with the product,
+ *   never queried in SQL
+ * - Soft delete pattern using 'enabled' field
+ * - Optimistic concurrency via @Version
+ */
+@Entity
+@Table(
+    name = "p_products",
+    uniqueConstraints = {
+        @UniqueConstraint(
+            name = "uk_products_client_sku",
+            columnNames = {"client_id", "sku"}
+        )
+    },
+    indexes = {
+        @Index(name = "idx_products_client_brand", columnList = "client_id, brand_id"),
+        @Index(name = "idx_products_client_category", columnList = "client_id, category_id"),
+        @Index(name = "idx_products_client_updated", columnList = "client_id, update_date_time")
+    }
+)
+public class Product {
+
+    @Id
+    @UuidGenerator
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", length = 16, updatable = false, nullable = false)
+    private UUID id;
+
+    /**
+     * Client ID - IMMUTABLE after creation
+     * Always extracted from UserPrincipal, never from request
+     */
+    @NotNull
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    @NotNull
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "brand_id", length = 16, nullable = false)
+    private UUID brandId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "category_id", length = 16)
+    private UUID categoryId;
+
+    @NotBlank
+    @Column(name = "sku", nullable = false, length = 64)
+    private String sku;
+
+    @NotBlank
+    @Column(name = "name", nullable = false, length = 255)
+    private String name;
+
+    @Column(name = "description", length = 2000)
+    private String description;
+
+    /**
+     * GTIN-8/12/13/14 (EAN/UPC), digits only
+     */
+    @Column(name = "ean", length = 14)
+    private String ean;
+
+    @Column(name = "cost_price", precision = 12, scale = 2)
+    private BigDecimal costPrice;
+
+    /**
+     * Shipping weight - drives marketplace weight slabs
+     */
+    @Column(name = "weight_grams")
+    private Integer weightGrams;
+
+    @Convert(converter = ProductAttributesConverter.class)
+    @Column(name = "attributes", length = 4000)
+    private Map<String, String> attributes = new LinkedHashMap<>();
+
+    /**
+     * Soft delete flag - true = active, false = disabled
+     */
+    @NotNull
+    @Column(name = "enabled", nullable = false)
+    private Boolean enabled = true;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
+    @CreationTimestamp
+    @Column(name = "create_date_time", updatable = false, nullable = false)
+    private LocalDateTime createDateTime;
+
+    @UpdateTimestamp
+    @Column(name = "update_date_time", nullable = false)
+    private LocalDateTime updateDateTime;
+
+    // Constructors
+    public Product() {}
+
+    public Product(UUID clientId, UUID brandId, String sku, String name) {
+        this.clientId = clientId;
+        this.brandId = brandId;
+        this.sku = sku;
+        this.name = name;
+        this.enabled = true;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Client ID setter - should only be used during entity creation
+     */
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+
+    public UUID getBrandId() {
+        return brandId;
+    }
+
+    public void setBrandId(UUID brandId) {
+        this.brandId = brandId;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getEan() {
+        return ean;
+    }
+
+    public void setEan(String ean) {
+        this.ean = ean;
+    }
+
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+
+    public void setCostPrice(BigDecimal costPrice) {
+        this.costPrice = costPrice;
+    }
+
+    public Integer getWeightGrams() {
+        return weightGrams;
+    }
+
+    public void setWeightGrams(Integer weightGrams) {
+        this.weightGrams = weightGrams;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+
+    public void setCreateDateTime(LocalDateTime createDateTime) {
+        this.createDateTime = createDateTime;
+    }
+
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+
+    public void setUpdateDateTime(LocalDateTime updateDateTime) {
+        this.updateDateTime = updateDateTime;
+    }
+
+    @Override
+    public String toString() {
+        return "Product{" +
+                "id=" + id +
+                ", clientId=" + clientId +
+                ", brandId=" + brandId +
+                ", sku='" + sku + '\'' +
+                ", name='" + name + '\'' +
+                ", enabled=" + enabled +
+                ", version=" + version +
+                '}';
+    }
+}
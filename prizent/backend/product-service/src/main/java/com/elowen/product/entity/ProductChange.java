@@ -0,0 +1,90 @@
+package com.elowen.product.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Latest change of one product in its client's change feed.
+ *
+ * Key Design Decisions:
+ * - One row per product, keyed by product id: a new change moves the row
+ *   to the new seq, so the feed is compacted as it is written and a full
+ *   read from seq 0 is the current catalog plus recent deletes
+ * - Deletes leave a DELETE row (tombstone) with the SKU, since the product
+ *   row is gone; tombstones are purged after a retention period
+ * - Written with plain JDBC by ProductChangeLog, in the product change's transaction
+ */
+@Entity
+@Table(
+    name = "p_product_changes",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_product_changes_client_seq", columnNames = {"client_id", "seq"})
+    },
+    indexes = {
+        // Tombstone reads by age: SKU table invalidation and the retention purge
+        @Index(name = "idx_product_changes_type_changed_at", columnList = "change_type, changed_at")
+    }
+)
+public class ProductChange {
+
+    public static final String TYPE_UPSERT = "UPSERT";
+    public static final String TYPE_DELETE = "DELETE";
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "product_id", length = 16, updatable = false, nullable = false)
+    private UUID productId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    @Column(name = "seq", nullable = false)
+    private long seq;
+
+    @Column(name = "change_type", nullable = false, length = 10)
+    private String changeType;
+
+    /**
+     * SKU of a deleted product; null for upserts
+     */
+    @Column(name = "sku", length = 64)
+    private String sku;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public ProductChange() {}
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public boolean isDelete() {
+        return TYPE_DELETE.equals(changeType);
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,56 @@
+package com.elowen.product.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.UUID;
+
+/**
+ * Change feed sequence of one client.
+ *
+ * Key Design Decisions:
+ * - last_seq is incremented with a single-row UPDATE inside each writing
+ *   transaction; the row lock is held until commit, so a client's changes
+ *   commit in seq order and a reader can never see seq n+1 before seq n
+ * - purged_through_seq is the newest tombstone purged: cursors before it
+ *   may have missed deletes and must resync from 0
+ * - seeded marks clients whose products from before the feed existed have
+ *   been given change rows (ProductChangeMaintenance)
+ */
+@Entity
+@Table(name = "p_product_change_sequences")
+public class ProductChangeSequence {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    @Column(name = "purged_through_seq", nullable = false)
+    private long purgedThroughSeq;
+
+    @Column(name = "seeded", nullable = false)
+    private boolean seeded;
+
+    public ProductChangeSequence() {}
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public long getPurgedThroughSeq() {
+        return purgedThroughSeq;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+}
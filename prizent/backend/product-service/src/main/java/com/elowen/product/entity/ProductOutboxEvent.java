@@ -0,0 +1,128 @@
+package com.elowen.product.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Transactional outbox row: how one committed change moved a brand's product counts.
+ *
+ * Key Design Decisions:
+ * - Written in the SAME transaction as the product change (see ProductOutboxWriter)
+ * - Deltas, not product snapshots: admin-service only needs per-brand counts,
+ *   and an import chunk of 1000 rows usually yields one row here, not 1000
+ * - Sequential id is the event id consumers dedupe on
+ * - Rows are deleted once delivered
+ * - claimed_until is the relay's lease (see ProductOutboxRelay); dead_at
+ *   parks a row that failed product.outbox.max-attempts times. A dead
+ *   row's brand is no longer reported as pending, so admin-service's
+ *   reconciliation corrects its counts
+ */
+@Entity
+@Table(name = "p_product_outbox")
+public class ProductOutboxEvent {
+
+    public static final String TYPE_BRAND_PRODUCT_COUNTS = "BRAND_PRODUCT_COUNTS";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "client_id", length = 16, updatable = false, nullable = false)
+    private UUID clientId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "brand_id", length = 16, updatable = false, nullable = false)
+    private UUID brandId;
+
+    @Column(name = "event_type", updatable = false, nullable = false, length = 30)
+    private String eventType;
+
+    /**
+     * Change in the brand's enabled products
+     */
+    @Column(name = "active_delta", updatable = false, nullable = false)
+    private int activeDelta;
+
+    /**
+     * Change in all of the brand's products, enabled or not
+     */
+    @Column(name = "product_delta", updatable = false, nullable = false)
+    private int productDelta;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+
+    public ProductOutboxEvent() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public UUID getBrandId() {
+        return brandId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public int getActiveDelta() {
+        return activeDelta;
+    }
+
+    public int getProductDelta() {
+        return productDelta;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public LocalDateTime getDeadAt() {
+        return deadAt;
+    }
+}
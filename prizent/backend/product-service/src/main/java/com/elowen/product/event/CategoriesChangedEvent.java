@@ -0,0 +1,22 @@
+package com.elowen.product.event;
+
+import java.util.UUID;
+
+/**
+ * Categories of one client were written in the current transaction.
+ * 
+ * Published inside the transaction; CategoryTreeCache rebuilds the
+ * client's tree after commit.
+ */
+public class CategoriesChangedEvent {
+    
+    private final UUID clientId;
+    
+    public CategoriesChangedEvent(UUID clientId) {
+        this.clientId = clientId;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+}
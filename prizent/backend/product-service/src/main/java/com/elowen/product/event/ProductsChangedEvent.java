@@ -0,0 +1,41 @@
+package com.elowen.product.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Products of one client were written in the current transaction.
+ * 
+ * Published inside the transaction; listeners act after commit and re-read
+ * the products, so ids of deleted or rolled-back rows are harmless.
+ * deletedSkus names the SKUs freed by deletes, which cannot be read back.
+ */
+public class ProductsChangedEvent {
+    
+    private final UUID clientId;
+    private final Collection<UUID> productIds;
+    private final Collection<String> deletedSkus;
+    
+    public ProductsChangedEvent(UUID clientId, Collection<UUID> productIds) {
+        this(clientId, productIds, List.of());
+    }
+    
+    public ProductsChangedEvent(UUID clientId, Collection<UUID> productIds, Collection<String> deletedSkus) {
+        this.clientId = clientId;
+        this.productIds = productIds;
+        this.deletedSkus = deletedSkus;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public Collection<UUID> getProductIds() {
+        return productIds;
+    }
+    
+    public Collection<String> getDeletedSkus() {
+        return deletedSkus;
+    }
+}
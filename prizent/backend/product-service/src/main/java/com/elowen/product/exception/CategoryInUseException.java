@@ -0,0 +1,21 @@
+package com.elowen.product.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a category cannot be deleted because it still has
+ * sub-categories or products.
+ */
+public class CategoryInUseException extends RuntimeException {
+    
+    private final UUID categoryId;
+    
+    public CategoryInUseException(UUID categoryId, String message) {
+        super(message);
+        this.categoryId = categoryId;
+    }
+    
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+}
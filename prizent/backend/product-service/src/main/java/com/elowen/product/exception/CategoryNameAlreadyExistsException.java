@@ -0,0 +1,12 @@
+package com.elowen.product.exception;
+
+/**
+ * Exception thrown when a category name is already used by a sibling
+ * (same parent, or both roots) of the client.
+ */
+public class CategoryNameAlreadyExistsException extends RuntimeException {
+    
+    public CategoryNameAlreadyExistsException(String name) {
+        super(String.format("A category named '%s' already exists at this level", name));
+    }
+}
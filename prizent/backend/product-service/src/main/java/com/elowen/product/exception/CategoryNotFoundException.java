@@ -0,0 +1,15 @@
+package com.elowen.product.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a category is not found within client's tenant boundary.
+ * 
+ * A category of another client is reported exactly like one that does not exist.
+ */
+public class CategoryNotFoundException extends RuntimeException {
+    
+    public CategoryNotFoundException(UUID categoryId, UUID clientId) {
+        super(String.format("Category with ID %s not found for client %s", categoryId, clientId));
+    }
+}
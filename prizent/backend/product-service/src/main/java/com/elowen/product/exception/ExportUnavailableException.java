@@ -0,0 +1,12 @@
+package com.elowen.product.exception;
+
+/**
+ * Exception thrown when a catalog export cannot start because the maximum
+ * number of exports is already streaming.
+ */
+public class ExportUnavailableException extends RuntimeException {
+    
+    public ExportUnavailableException(String message) {
+        super(message);
+    }
+}
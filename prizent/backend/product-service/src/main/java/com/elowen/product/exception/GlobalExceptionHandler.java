@@ -0,0 +1,198 @@
+package com.elowen.product.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Global exception handler for product-service.
+ * 
+ * Same error body as admin-service: error, message, status
+ * (plus fieldErrors for validation failures).
+ */
+@ControllerAdvice
+public class GlobalExceptionHandler {
+    
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    
+    /**
+     * Handle access denied (403) - Non-admin users on write endpoints
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleAccessDenied(AccessDeniedException e) {
+        log.warn("Access denied: {}", e.getMessage());
+        return error(HttpStatus.FORBIDDEN, "Access Denied", "Admin privileges required");
+    }
+    
+    /**
+     * Handle product not found (404) - Wrong client or non-existent product
+     */
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleProductNotFound(ProductNotFoundException e) {
+        log.warn("Product not found: {}", e.getMessage());
+        return error(HttpStatus.NOT_FOUND, "Product Not Found", e.getMessage());
+    }
+    
+    /**
+     * Handle category not found (404) - Wrong client or non-existent category
+     */
+    @ExceptionHandler(CategoryNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleCategoryNotFound(CategoryNotFoundException e) {
+        log.warn("Category not found: {}", e.getMessage());
+        return error(HttpStatus.NOT_FOUND, "Category Not Found", e.getMessage());
+    }
+    
+    /**
+     * Handle import job not found (404)
+     */
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleImportJobNotFound(ImportJobNotFoundException e) {
+        log.warn("Import job not found: {}", e.getMessage());
+        return error(HttpStatus.NOT_FOUND, "Import Job Not Found", e.getMessage());
+    }
+    
+    /**
+     * Handle duplicate SKU (409) - SKU conflict within client
+     */
+    @ExceptionHandler(SkuAlreadyExistsException.class)
+    public ResponseEntity<Map<String, Object>> handleSkuExists(SkuAlreadyExistsException e) {
+        log.warn("SKU conflict: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, "SKU Already Exists", e.getMessage());
+    }
+    
+    /**
+     * Handle duplicate sibling category name (409)
+     */
+    @ExceptionHandler(CategoryNameAlreadyExistsException.class)
+    public ResponseEntity<Map<String, Object>> handleCategoryNameExists(CategoryNameAlreadyExistsException e) {
+        log.warn("Category name conflict: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, "Category Name Already Exists", e.getMessage());
+    }
+    
+    /**
+     * Handle category still holding sub-categories or products (409) - Delete blocked
+     */
+    @ExceptionHandler(CategoryInUseException.class)
+    public ResponseEntity<Map<String, Object>> handleCategoryInUse(CategoryInUseException e) {
+        log.warn("Category in use: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, "Category In Use", e.getMessage());
+    }
+    
+    /**
+     * Handle stale product version (409) - Product changed since it was read
+     */
+    @ExceptionHandler(ProductVersionConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleVersionConflict(ProductVersionConflictException e) {
+        log.warn("Product version conflict: {}", e.getMessage());
+        ResponseEntity<Map<String, Object>> response = error(HttpStatus.CONFLICT, "Product Modified Concurrently",
+                "Product was changed by another request. Reload and try again.");
+        response.getBody().put("currentVersion", e.getActualVersion());
+        return response;
+    }
+    
+    /**
+     * Handle optimistic lock failure at commit (409) - Concurrent edit or import won the race
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        log.warn("Optimistic lock failure: {}", e.getMessage());
+        return error(HttpStatus.CONFLICT, "Product Modified Concurrently",
+                "Product was changed by another request. Reload and try again.");
+    }
+    
+    /**
+     * Handle rejected feed uploads (409 / 413 / 415)
+     */
+    @ExceptionHandler(ImportRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleImportRejected(ImportRejectedException e) {
+        log.warn("Import rejected: {}", e.getMessage());
+        return error(e.getStatus(), "Import Rejected", e.getMessage());
+    }
+    
+    /**
+     * Handle search index still loading (503) - Retry shortly
+     */
+    @ExceptionHandler(SearchIndexUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleSearchIndexUnavailable(SearchIndexUnavailableException e) {
+        log.warn("Search unavailable: {}", e.getMessage());
+        ResponseEntity<Map<String, Object>> response = 
+                error(HttpStatus.SERVICE_UNAVAILABLE, "Search Unavailable", e.getMessage());
+        return ResponseEntity.status(response.getStatusCode()).header("Retry-After", "2").body(response.getBody());
+    }
+    
+    /**
+     * Handle change feed cursors older than the retained tombstones (410) - Resync from 0
+     */
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleChangeCursorExpired(ChangeCursorExpiredException e) {
+        log.warn("Change cursor expired: {}", e.getMessage());
+        return error(HttpStatus.GONE, "Cursor Expired", e.getMessage());
+    }
+    
+    /**
+     * Handle all export slots in use (503) - Retry later
+     */
+    @ExceptionHandler(ExportUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleExportUnavailable(ExportUnavailableException e) {
+        log.warn("Export unavailable: {}", e.getMessage());
+        ResponseEntity<Map<String, Object>> response = 
+                error(HttpStatus.SERVICE_UNAVAILABLE, "Export Unavailable", e.getMessage());
+        return ResponseEntity.status(response.getStatusCode()).header("Retry-After", "30").body(response.getBody());
+    }
+    
+    /**
+     * Handle validation errors (400) - Invalid request data
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException e) {
+        log.warn("Validation failed: {}", e.getMessage());
+        
+        Map<String, String> fieldErrors = new HashMap<>();
+        e.getBindingResult().getAllErrors().forEach(err -> {
+            if (err instanceof FieldError fieldError) {
+                fieldErrors.put(fieldError.getField(), fieldError.getDefaultMessage());
+            }
+        });
+        
+        ResponseEntity<Map<String, Object>> response = 
+                error(HttpStatus.BAD_REQUEST, "Validation Failed", "Invalid request data");
+        response.getBody().put("fieldErrors", fieldErrors);
+        return response;
+    }
+    
+    /**
+     * Handle illegal argument (400) - Business rule violations
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
+        log.warn("Illegal argument: {}", e.getMessage());
+        return error(HttpStatus.BAD_REQUEST, "Invalid Request", e.getMessage());
+    }
+    
+    /**
+     * Handle generic exceptions (500) - Unexpected errors
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, Object>> handleGenericException(Exception e) {
+        log.error("Unexpected error: {}", e.getMessage(), e);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "An unexpected error occurred");
+    }
+    
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String error, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", error);
+        body.put("message", message);
+        body.put("status", status.value());
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,13 @@
+package com.elowen.product.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when an import job is not found within client's tenant boundary.
+ */
+public class ImportJobNotFoundException extends RuntimeException {
+    
+    public ImportJobNotFoundException(UUID jobId, UUID clientId) {
+        super(String.format("Import job %s not found for client %s", jobId, clientId));
+    }
+}
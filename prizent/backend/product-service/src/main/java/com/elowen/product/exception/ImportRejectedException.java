@@ -0,0 +1,23 @@
+package com.elowen.product.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when an uploaded feed is not accepted for import.
+ * 
+ * Carries the HTTP status that tells the uploader what to fix:
+ * 409 another import is active, 413 feed too large, 415 unknown format.
+ */
+public class ImportRejectedException extends RuntimeException {
+    
+    private final HttpStatus status;
+    
+    public ImportRejectedException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+    
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
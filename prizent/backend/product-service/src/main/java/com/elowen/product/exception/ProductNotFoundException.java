@@ -0,0 +1,20 @@
+package com.elowen.product.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a product is not found within client's tenant boundary.
+ * 
+ * Like brands in admin-service, a product of another client is reported
+ * exactly like a product that does not exist.
+ */
+public class ProductNotFoundException extends RuntimeException {
+    
+    public ProductNotFoundException(UUID productId, UUID clientId) {
+        super(String.format("Product with ID %s not found for client %s", productId, clientId));
+    }
+    
+    public ProductNotFoundException(String message) {
+        super(message);
+    }
+}
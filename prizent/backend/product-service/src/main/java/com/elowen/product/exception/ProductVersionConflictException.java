@@ -0,0 +1,24 @@
+package com.elowen.product.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when an update is based on a stale version of a product.
+ * 
+ * Bulk imports bump the version too, so an edit started before an import
+ * touched the product is rejected rather than silently overwriting it.
+ */
+public class ProductVersionConflictException extends RuntimeException {
+    
+    private final Long actualVersion;
+    
+    public ProductVersionConflictException(UUID productId, Long expectedVersion, Long actualVersion) {
+        super(String.format("Product %s was modified concurrently (expected version %d, current version %d)",
+                productId, expectedVersion, actualVersion));
+        this.actualVersion = actualVersion;
+    }
+    
+    public Long getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -0,0 +1,12 @@
+package com.elowen.product.exception;
+
+/**
+ * Exception thrown when a client's search index is not ready to answer -
+ * typically the first search after a restart while the index loads.
+ */
+public class SearchIndexUnavailableException extends RuntimeException {
+    
+    public SearchIndexUnavailableException(String message) {
+        super(message);
+    }
+}
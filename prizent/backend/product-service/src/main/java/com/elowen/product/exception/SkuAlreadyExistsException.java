@@ -0,0 +1,20 @@
+package com.elowen.product.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a SKU is already used by another product of the client.
+ */
+public class SkuAlreadyExistsException extends RuntimeException {
+    
+    private final String sku;
+    
+    public SkuAlreadyExistsException(String sku, UUID clientId) {
+        super(String.format("SKU '%s' already exists for client %s", sku, clientId));
+        this.sku = sku;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+}
@@ -0,0 +1,85 @@
+package com.elowen.product.export;
+
+import com.elowen.product.repository.JdbcUuids;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * RFC 4180 CSV with a fixed header; attributes are one JSON column, since
+ * the set of attribute names is not known before the last row.
+ */
+final class CsvExportWriter implements ExportRowWriter {
+    
+    private static final String HEADER = "id,sku,name,brand_id,description,ean,cost_price,weight_grams,"
+            + "enabled,attributes,version,create_date_time,update_date_time\r\n";
+    
+    private final Writer out;
+    
+    CsvExportWriter(Writer out) {
+        this.out = out;
+    }
+    
+    @Override
+    public void begin() throws IOException {
+        out.write(HEADER);
+    }
+    
+    @Override
+    public void write(ResultSet row) throws SQLException, IOException {
+        out.write(JdbcUuids.fromBytes(row.getBytes("id")).toString());
+        field(row.getString("sku"));
+        field(row.getString("name"));
+        field(JdbcUuids.fromBytes(row.getBytes("brand_id")).toString());
+        field(row.getString("description"));
+        field(row.getString("ean"));
+        BigDecimal costPrice = row.getBigDecimal("cost_price");
+        field(costPrice != null ? costPrice.toPlainString() : null);
+        int weightGrams = row.getInt("weight_grams");
+        field(row.wasNull() ? null : Integer.toString(weightGrams));
+        field(Boolean.toString(row.getBoolean("enabled")));
+        field(row.getString("attributes"));
+        field(Long.toString(row.getLong("version")));
+        field(timestamp(row.getTimestamp("create_date_time")));
+        field(timestamp(row.getTimestamp("update_date_time")));
+        out.write("\r\n");
+    }
+    
+    @Override
+    public void end() throws IOException {
+        out.flush();
+    }
+    
+    private void field(String value) throws IOException {
+        out.write(',');
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+    
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+    }
+}
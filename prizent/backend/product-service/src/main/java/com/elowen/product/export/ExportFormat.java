@@ -0,0 +1,45 @@
+package com.elowen.product.export;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the catalog export.
+ * 
+ * NDJSON lines use the bulk import's JSON field names, so an export can be
+ * fed back through POST /api/products/imports.
+ */
+public enum ExportFormat {
+    
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String contentType;
+    private final String fileExtension;
+    
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getFileExtension() {
+        return fileExtension;
+    }
+    
+    /**
+     * @throws IllegalArgumentException for unknown formats
+     */
+    public static ExportFormat fromParameter(String format) {
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format '" + format + "' - use csv or ndjson");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.elowen.product.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes exported rows straight from the cursor, one at a time.
+ */
+interface ExportRowWriter {
+    
+    void begin() throws IOException;
+    
+    void write(ResultSet row) throws SQLException, IOException;
+    
+    void end() throws IOException;
+}
@@ -0,0 +1,82 @@
+package com.elowen.product.export;
+
+import com.elowen.product.repository.JdbcUuids;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * One JSON object per line, with the bulk import's field names. The stored
+ * attributes JSON is copied as is rather than parsed and re-serialized.
+ */
+final class NdjsonExportWriter implements ExportRowWriter {
+    
+    private static final JsonFactory JSON = new JsonFactory();
+    
+    private final JsonGenerator generator;
+    private boolean empty = true;
+    
+    NdjsonExportWriter(Writer out) throws IOException {
+        this.generator = JSON.createGenerator(out);
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+    
+    @Override
+    public void begin() {
+    }
+    
+    @Override
+    public void write(ResultSet row) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", JdbcUuids.fromBytes(row.getBytes("id")).toString());
+        generator.writeStringField("sku", row.getString("sku"));
+        generator.writeStringField("name", row.getString("name"));
+        generator.writeStringField("brandId", JdbcUuids.fromBytes(row.getBytes("brand_id")).toString());
+        optionalString("description", row.getString("description"));
+        optionalString("ean", row.getString("ean"));
+        BigDecimal costPrice = row.getBigDecimal("cost_price");
+        if (costPrice != null) {
+            generator.writeNumberField("costPrice", costPrice);
+        }
+        int weightGrams = row.getInt("weight_grams");
+        if (!row.wasNull()) {
+            generator.writeNumberField("weightGrams", weightGrams);
+        }
+        generator.writeBooleanField("enabled", row.getBoolean("enabled"));
+        String attributes = row.getString("attributes");
+        if (attributes != null && !attributes.isEmpty()) {
+            generator.writeFieldName("attributes");
+            generator.writeRawValue(attributes);
+        }
+        generator.writeNumberField("version", row.getLong("version"));
+        optionalString("createDateTime", timestamp(row.getTimestamp("create_date_time")));
+        optionalString("updateDateTime", timestamp(row.getTimestamp("update_date_time")));
+        generator.writeEndObject();
+        empty = false;
+    }
+    
+    @Override
+    public void end() throws IOException {
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+    
+    private void optionalString(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+    
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+    }
+}
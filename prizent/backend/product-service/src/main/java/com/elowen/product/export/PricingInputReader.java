@@ -0,0 +1,100 @@
+package com.elowen.product.export;
+
+import com.elowen.product.dto.PricingInput;
+import com.elowen.product.dto.PricingInputPage;
+import com.elowen.product.dto.PricingInputPlan;
+import com.elowen.product.repository.JdbcUuids;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads a client's catalog for pricing-service's repricing jobs.
+ * 
+ * Design Decisions:
+ * - Plain JDBC over the (client_id, sku) unique index, like ProductExporter
+ * - plan() streams only SKUs to pick range boundaries; each range is then
+ *   read independently (sku > after AND sku <= through), so the ranges can
+ *   be fetched in parallel and re-fetched after a crash
+ * - Only sku, cost price and weight travel - about 40 bytes per product
+ */
+@Component
+public class PricingInputReader {
+    
+    private static final int FETCH_SIZE = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public PricingInputReader(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+    
+    public PricingInputPlan plan(UUID clientId, int chunkSize) {
+        List<String> boundaries = new ArrayList<>();
+        String[] last = new String[1];
+        long[] total = new long[1];
+        jdbcTemplate.query(
+                connection -> cursor(connection, "SELECT sku FROM p_products WHERE client_id = ? ORDER BY sku",
+                        JdbcUuids.toBytes(clientId)),
+                (ResultSet row) -> {
+                    last[0] = row.getString(1);
+                    if (++total[0] % chunkSize == 0) {
+                        boundaries.add(last[0]);
+                    }
+                });
+        // The last range is open-ended; drop a boundary that would leave it empty
+        if (!boundaries.isEmpty() && boundaries.get(boundaries.size() - 1).equals(last[0])) {
+            boundaries.remove(boundaries.size() - 1);
+        }
+        return new PricingInputPlan(total[0], boundaries);
+    }
+    
+    /**
+     * Up to `limit` products with after < sku <= through (null bounds are open)
+     */
+    public PricingInputPage read(UUID clientId, String after, String through, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT sku, cost_price, weight_grams FROM p_products WHERE client_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(JdbcUuids.toBytes(clientId));
+        if (after != null) {
+            sql.append(" AND sku > ?");
+            args.add(after);
+        }
+        if (through != null) {
+            sql.append(" AND sku <= ?");
+            args.add(through);
+        }
+        sql.append(" ORDER BY sku LIMIT ").append(limit);
+        
+        List<PricingInput> items = new ArrayList<>(Math.min(limit, FETCH_SIZE));
+        jdbcTemplate.query(
+                connection -> cursor(connection, sql.toString(), args.toArray()),
+                (ResultSet row) -> {
+                    BigDecimal cost = row.getBigDecimal(2);
+                    int weight = row.getInt(3);
+                    items.add(new PricingInput(row.getString(1), cost, row.wasNull() ? null : weight));
+                });
+        String nextAfter = items.size() == limit ? items.get(items.size() - 1).getSku() : null;
+        return new PricingInputPage(items, nextAfter);
+    }
+    
+    private static PreparedStatement cursor(Connection connection, String sql, Object... args) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+        for (int i = 0; i < args.length; i++) {
+            statement.setObject(i + 1, args[i]);
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,105 @@
+package com.elowen.product.export;
+
+import com.elowen.product.repository.JdbcUuids;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams a client's products from a forward-only JDBC cursor into CSV or
+ * NDJSON, one row at a time.
+ * 
+ * Design Decisions:
+ * - Plain JDBC, no entities or persistence context: each row is written
+ *   and dropped, so heap use does not depend on catalog size
+ * - Read-only, forward-only statement with a fetch size. MySQL ignores
+ *   fetch sizes unless it streams (Integer.MIN_VALUE), which it then does
+ *   row by row on this statement's connection
+ * - Without updatedSince rows come in SKU order (the unique index); with
+ *   it in update order, so incremental exports read the
+ *   (client_id, update_date_time) index
+ */
+@Component
+public class ProductExporter {
+    
+    private static final String COLUMNS = "id, sku, name, brand_id, description, ean, cost_price, weight_grams, "
+            + "enabled, attributes, version, create_date_time, update_date_time";
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    
+    public ProductExporter(DataSource dataSource, @Value("${product.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.fetchSize = fetchSize;
+    }
+    
+    /**
+     * Write the matching products to `out` (not closed); returns the number of rows
+     */
+    public long export(UUID clientId, UUID brandId, LocalDateTime updatedSince, ExportFormat format,
+                       OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM p_products WHERE client_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(JdbcUuids.toBytes(clientId));
+        if (brandId != null) {
+            sql.append(" AND brand_id = ?");
+            args.add(JdbcUuids.toBytes(brandId));
+        }
+        if (updatedSince != null) {
+            sql.append(" AND update_date_time >= ? ORDER BY update_date_time, id");
+            args.add(Timestamp.valueOf(updatedSince));
+        } else {
+            sql.append(" ORDER BY sku");
+        }
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        ExportRowWriter rows = format == ExportFormat.NDJSON ? new NdjsonExportWriter(writer) : new CsvExportWriter(writer);
+        long[] count = new long[1];
+        rows.begin();
+        try {
+            jdbcTemplate.query(
+                    connection -> cursor(connection, sql.toString(), args),
+                    (ResultSet row) -> {
+                        try {
+                            rows.write(row);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        count[0]++;
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rows.end();
+        return count[0];
+    }
+    
+    private PreparedStatement cursor(Connection connection, String sql, List<Object> args) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+        for (int i = 0; i < args.size(); i++) {
+            statement.setObject(i + 1, args.get(i));
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,255 @@
+package com.elowen.product.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming CSV reader: RFC 4180 quoting, one record in memory at a time.
+ *
+ * Design Decisions:
+ * - UTF-8, optional BOM; the delimiter (',' ';' or tab) is taken from the
+ *   header line, as spreadsheet exports differ by locale
+ * - Quoted fields may contain delimiters, "" and line breaks
+ * - A field longer than MAX_FIELD_LENGTH fails the feed - it is almost
+ *   always an unterminated quote that would otherwise swallow the file
+ * - Blank lines are skipped and do not count as rows
+ */
+final class CsvRowSource implements RowSource {
+
+    static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final CountingInputStream counter;
+    private final Reader reader;
+    private final char[] buffer = new char[16 * 1024];
+    private int position;
+    private int limit;
+    private char delimiter = ',';
+    private long lineNumber = 1;
+
+    private final StringBuilder field = new StringBuilder(128);
+    private final ProductField[] columnFields;
+    private final String[] columnAttributes;
+    private final boolean hasAttributes;
+    private final List<String> ignoredColumns = new ArrayList<>();
+    private long rowNumber;
+
+    CsvRowSource(InputStream in) throws IOException {
+        this.counter = new CountingInputStream(in);
+        this.reader = new InputStreamReader(counter, StandardCharsets.UTF_8);
+        fill();
+        if (position < limit && buffer[position] == '\uFEFF') {
+            position++;
+        }
+        detectDelimiter();
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("CSV feed has no header row");
+        }
+        columnFields = new ProductField[header.size()];
+        columnAttributes = new String[header.size()];
+        boolean attributes = false;
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i);
+            String attribute = ProductField.attributeName(column);
+            if (attribute != null) {
+                columnAttributes[i] = attribute;
+                attributes = true;
+                continue;
+            }
+            ProductField productField = ProductField.forName(column);
+            if (productField == null) {
+                ignoredColumns.add(column.trim());
+                continue;
+            }
+            for (int j = 0; j < i; j++) {
+                if (columnFields[j] == productField) {
+                    throw new IOException("CSV header has more than one " + productField.displayName() + " column");
+                }
+            }
+            columnFields[i] = productField;
+        }
+        this.hasAttributes = attributes;
+        boolean hasSku = false;
+        for (ProductField productField : columnFields) {
+            hasSku |= productField == ProductField.SKU;
+        }
+        if (!hasSku) {
+            throw new IOException("CSV header has no sku column");
+        }
+    }
+
+    @Override
+    public RawRow next() throws IOException {
+        while (true) {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            if (record.size() != columnFields.length) {
+                return RawRow.malformed(rowNumber,
+                        "Row has " + record.size() + " values, header has " + columnFields.length + " columns");
+            }
+
+            EnumMap<ProductField, String> values = new EnumMap<>(ProductField.class);
+            Map<String, String> attributes = hasAttributes ? new LinkedHashMap<>() : null;
+            for (int i = 0; i < columnFields.length; i++) {
+                if (columnFields[i] != null) {
+                    values.put(columnFields[i], record.get(i));
+                } else if (columnAttributes[i] != null) {
+                    String value = record.get(i).trim();
+                    if (!value.isEmpty()) {
+                        attributes.put(columnAttributes[i], value);
+                    }
+                }
+            }
+            return new RawRow(rowNumber, values, attributes);
+        }
+    }
+
+    @Override
+    public long bytesRead() {
+        return counter.getCount();
+    }
+
+    @Override
+    public List<String> ignoredColumns() {
+        return ignoredColumns;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * One record as a list of field values, or null at end of input
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> record = new ArrayList<>(columnFields == null ? 16 : columnFields.length);
+        long startLine = lineNumber;
+        boolean inQuotes = false;
+        field.setLength(0);
+
+        while (true) {
+            if (c < 0) {
+                if (inQuotes) {
+                    throw new IOException("Quoted field starting on line " + startLine + " is never closed");
+                }
+                record.add(field.toString());
+                return record;
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                record.add(field.toString());
+                return record;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException("Field on line " + lineNumber + " is longer than " + MAX_FIELD_LENGTH
+                    + " characters - check for an unclosed quote");
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    /**
+     * Most frequent of ',' ';' and tab outside quotes on the first line; ',' on a tie
+     */
+    private void detectDelimiter() {
+        int commas = 0;
+        int semicolons = 0;
+        int tabs = 0;
+        boolean inQuotes = false;
+        for (int i = position; i < limit && (inQuotes || (buffer[i] != '\n' && buffer[i] != '\r')); i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (!inQuotes) {
+                if (c == ',') {
+                    commas++;
+                } else if (c == ';') {
+                    semicolons++;
+                } else if (c == '\t') {
+                    tabs++;
+                }
+            }
+        }
+        if (semicolons > commas && semicolons >= tabs) {
+            delimiter = ';';
+        } else if (tabs > commas && tabs > semicolons) {
+            delimiter = '\t';
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.elowen.product.ingest;
+
+import com.elowen.product.entity.ImportMode;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State of one running import, shared by its job thread and cancel requests.
+ */
+final class ImportContext {
+
+    private final UUID jobId;
+    private final UUID clientId;
+    private final ImportMode mode;
+    private final int maxStoredErrors;
+    private int storedErrors;
+    private volatile boolean cancelled;
+
+    ImportContext(UUID jobId, UUID clientId, ImportMode mode, int maxStoredErrors) {
+        this.jobId = jobId;
+        this.clientId = clientId;
+        this.mode = mode;
+        this.maxStoredErrors = maxStoredErrors;
+    }
+
+    UUID getJobId() {
+        return jobId;
+    }
+
+    UUID getClientId() {
+        return clientId;
+    }
+
+    ImportMode getMode() {
+        return mode;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * The part of these errors that still fits under max-stored-errors.
+     * Called from the job thread only.
+     */
+    List<RowError> reserveErrorSlots(List<RowError> errors) {
+        int slots = Math.max(0, Math.min(errors.size(), maxStoredErrors - storedErrors));
+        storedErrors += slots;
+        return errors.subList(0, slots);
+    }
+}
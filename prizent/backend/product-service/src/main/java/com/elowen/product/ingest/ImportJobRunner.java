@@ -0,0 +1,272 @@
+package com.elowen.product.ingest;
+
+import com.elowen.product.entity.ImportJob;
+import com.elowen.product.entity.ImportStatus;
+import com.elowen.product.repository.ImportJobRepository;
+import com.elowen.product.service.BrandDirectory;
+import com.elowen.product.service.BrandRefService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs bulk imports in the background: read, validate, write.
+ *
+ * PIPELINE (per job):
+ *   job thread reads rows from the spooled feed into chunks
+ *     -> validation pool checks chunks in parallel (CPU only, no database)
+ *     -> job thread writes the validated chunks in feed order, one
+ *        transaction each (ProductBatchWriter)
+ *
+ * Design Decisions:
+ * - The feed is read once, front to back - memory is bounded by the chunks
+ *   in flight (validation-threads x 2), not by the size of the feed
+ * - Chunks are written in feed order, so a SKU repeated further down the
+ *   feed always wins, exactly as if rows were applied one by one
+ * - At most max-concurrent-jobs imports run at once; further jobs wait in
+ *   QUEUED so imports cannot exhaust the connection pool
+ * - Cancellation is checked between chunks; committed chunks stay
+ * - A job interrupted by a restart is marked FAILED, not resumed - the
+ *   feed is re-uploaded and upsert makes that safe
+ */
+@Component
+public class ImportJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobRunner.class);
+
+    private static final EnumSet<ImportStatus> ACTIVE = EnumSet.of(ImportStatus.QUEUED, ImportStatus.RUNNING);
+    private static final int STATUS_CHECK_EVERY_CHUNKS = 20;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final ImportJobRepository jobRepository;
+    private final BrandRefService brandRefService;
+    private final ProductBatchWriter writer;
+    private final ProductRowValidator validator = new ProductRowValidator();
+    private final TransactionTemplate transactionTemplate;
+    private final Path spoolDir;
+    private final int chunkSize;
+    private final int maxStoredErrors;
+    private final int maxChunksInFlight;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService validationPool;
+    private final Map<UUID, ImportContext> running = new ConcurrentHashMap<>();
+
+    public ImportJobRunner(
+            ImportJobRepository jobRepository,
+            BrandRefService brandRefService,
+            ProductBatchWriter writer,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.import.spool-dir:./data/product-imports}") String spoolDir,
+            @Value("${product.import.chunk-size:1000}") int chunkSize,
+            @Value("${product.import.validation-threads:0}") int validationThreads,
+            @Value("${product.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${product.import.max-stored-errors:10000}") int maxStoredErrors) {
+        this.jobRepository = jobRepository;
+        this.brandRefService = brandRefService;
+        this.writer = writer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.spoolDir = Paths.get(spoolDir).toAbsolutePath().normalize();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxStoredErrors = maxStoredErrors;
+
+        int threads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.maxChunksInFlight = threads * 2;
+        this.jobExecutor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentJobs), threadFactory("product-import-"));
+        this.validationPool = Executors.newFixedThreadPool(threads, threadFactory("product-import-validate-"));
+        try {
+            Files.createDirectories(this.spoolDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create product import spool directory " + this.spoolDir, e);
+        }
+    }
+
+    /**
+     * Where the feed of a job is spooled until it has been imported
+     */
+    public Path spoolFile(UUID jobId, boolean gzip) {
+        return spoolDir.resolve(jobId + (gzip ? ".feed.gz" : ".feed"));
+    }
+
+    /**
+     * Queue a saved job whose feed is already spooled
+     */
+    public void submit(ImportJob job, boolean gzip) {
+        ImportContext context = new ImportContext(job.getId(), job.getClientId(), job.getMode(), maxStoredErrors);
+        running.put(job.getId(), context);
+        jobExecutor.execute(() -> run(context, spoolFile(job.getId(), gzip), gzip));
+    }
+
+    /**
+     * Stop a job of this instance after its current chunk; false if it is not running here
+     */
+    public boolean cancel(UUID jobId) {
+        ImportContext context = running.get(jobId);
+        if (context == null) {
+            return false;
+        }
+        context.cancel();
+        return true;
+    }
+
+    /**
+     * Jobs whose feed is still spooled here were cut off by a restart
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        for (ImportJob job : jobRepository.findAllByStatusIn(ACTIVE)) {
+            Path plain = spoolFile(job.getId(), false);
+            Path gzip = spoolFile(job.getId(), true);
+            if (Files.exists(plain) || Files.exists(gzip)) {
+                finish(job.getId(), ImportStatus.FAILED, "Interrupted by a service restart - upload the feed again");
+                deleteQuietly(plain);
+                deleteQuietly(gzip);
+                log.warn("Import {} was interrupted by a restart and is marked FAILED", job.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    private void run(ImportContext context, Path feed, boolean gzip) {
+        UUID jobId = context.getJobId();
+        try {
+            Integer started = transactionTemplate.execute(status -> jobRepository.markRunning(jobId, LocalDateTime.now()));
+            if (started == null || started == 0) {
+                log.info("Import {} was cancelled before it started", jobId);
+                return;
+            }
+            long start = System.nanoTime();
+            ImportJob job = jobRepository.findById(jobId).orElseThrow();
+            List<String> ignored = importFeed(context, job, feed, gzip);
+
+            if (context.isCancelled()) {
+                log.info("Import {} cancelled", jobId);
+                return;
+            }
+            String message = ignored.isEmpty() ? null : "Ignored columns: " + String.join(", ", ignored);
+            finish(jobId, ImportStatus.COMPLETED, message);
+            log.info("Import {} completed in {} ms", jobId, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Import {} failed - feed cannot be read: {}", jobId, e.getMessage());
+            finish(jobId, ImportStatus.FAILED, "Feed cannot be read: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Import {} failed: {}", jobId, e.getMessage(), e);
+            finish(jobId, ImportStatus.FAILED, "Import failed: " + e.getMessage());
+        } finally {
+            running.remove(jobId);
+            deleteQuietly(feed);
+        }
+    }
+
+    /**
+     * Read, validate and write the whole feed; returns the columns that were ignored
+     */
+    private List<String> importFeed(ImportContext context, ImportJob job, Path feed, boolean gzip) throws IOException {
+        BrandDirectory brands = brandRefService.directory(job.getClientId());
+        Deque<CompletableFuture<ValidatedChunk>> inFlight = new ArrayDeque<>(maxChunksInFlight);
+        int chunksWritten = 0;
+
+        try (RowSource source = RowSources.open(job.getFormat(), feed, gzip)) {
+            while (!context.isCancelled()) {
+                List<RawRow> rows = new ArrayList<>(chunkSize);
+                RawRow row;
+                while (rows.size() < chunkSize && (row = source.next()) != null) {
+                    rows.add(row);
+                }
+                if (rows.isEmpty()) {
+                    break;
+                }
+                long endOffset = source.bytesRead();
+                inFlight.addLast(CompletableFuture.supplyAsync(
+                        () -> validator.validate(rows, brands, endOffset), validationPool));
+
+                if (inFlight.size() >= maxChunksInFlight) {
+                    writer.write(context, await(inFlight.removeFirst()));
+                    if (++chunksWritten % STATUS_CHECK_EVERY_CHUNKS == 0) {
+                        checkCancelledElsewhere(context);
+                    }
+                }
+            }
+            while (!inFlight.isEmpty() && !context.isCancelled()) {
+                writer.write(context, await(inFlight.removeFirst()));
+            }
+            return source.ignoredColumns();
+        } finally {
+            inFlight.forEach(chunk -> chunk.cancel(false));
+        }
+    }
+
+    /**
+     * A cancel request handled by another instance only reaches the database
+     */
+    private void checkCancelledElsewhere(ImportContext context) {
+        jobRepository.findById(context.getJobId())
+                .filter(job -> job.getStatus().isFinished())
+                .ifPresent(job -> context.cancel());
+    }
+
+    private static ValidatedChunk await(CompletableFuture<ValidatedChunk> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void finish(UUID jobId, ImportStatus status, String message) {
+        String stored = message != null && message.length() > MAX_MESSAGE_LENGTH
+                ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.finish(jobId, status, stored, LocalDateTime.now()));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled feed {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.elowen.product.ingest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming JSON reader for a top-level array of products or NDJSON.
+ *
+ * Design Decisions:
+ * - Jackson's token stream; only the current product object is built as a tree
+ * - The same parser reads both layouts: a feed starting with '[' is one
+ *   array, otherwise a sequence of root-level objects (NDJSON)
+ * - Numbers are kept as BigDecimal so prices are not rounded through double
+ * - Keys are the CSV column names; an "attributes" object holds attributes,
+ *   a null value clears a field
+ */
+final class JsonRowSource implements RowSource {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .build();
+
+    private static final String ATTRIBUTES_KEY = "attributes";
+    private static final int MAX_IGNORED_KEYS = 50;
+
+    private final CountingInputStream counter;
+    private final JsonParser parser;
+    private final boolean array;
+    private final Set<String> ignoredKeys = new LinkedHashSet<>();
+    private boolean firstPending;
+    private boolean finished;
+    private long rowNumber;
+
+    JsonRowSource(InputStream in) throws IOException {
+        this.counter = new CountingInputStream(in);
+        this.parser = MAPPER.getFactory().createParser(counter);
+        JsonToken first = parser.nextToken();
+        this.array = first == JsonToken.START_ARRAY;
+        this.firstPending = first != null && !array;
+        this.finished = first == null;
+    }
+
+    @Override
+    public RawRow next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        JsonToken token = firstPending ? parser.currentToken() : parser.nextToken();
+        firstPending = false;
+        if (token == null || (array && token == JsonToken.END_ARRAY)) {
+            finished = true;
+            if (array && parser.nextToken() != null) {
+                throw new IOException("Unexpected content after the closing ']' at line "
+                        + parser.currentLocation().getLineNr());
+            }
+            return null;
+        }
+
+        rowNumber++;
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return RawRow.malformed(rowNumber, "Expected a JSON object, found "
+                    + (token == JsonToken.START_ARRAY ? "an array" : "a single value"));
+        }
+        JsonNode node = parser.readValueAsTree();
+        return toRow(node);
+    }
+
+    private RawRow toRow(JsonNode node) {
+        EnumMap<ProductField, String> values = new EnumMap<>(ProductField.class);
+        Map<String, String> attributes = null;
+
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            String key = entry.getKey();
+            JsonNode value = entry.getValue();
+
+            if (ATTRIBUTES_KEY.equalsIgnoreCase(key)) {
+                if (value.isObject()) {
+                    attributes = attributes == null ? new LinkedHashMap<>() : attributes;
+                    Iterator<Map.Entry<String, JsonNode>> entries = value.fields();
+                    while (entries.hasNext()) {
+                        Map.Entry<String, JsonNode> attribute = entries.next();
+                        if (!attribute.getValue().isNull()) {
+                            attributes.put(attribute.getKey(), text(attribute.getValue()));
+                        }
+                    }
+                } else if (value.isNull()) {
+                    attributes = new LinkedHashMap<>();
+                } else {
+                    return RawRow.malformed(rowNumber, "attributes must be an object");
+                }
+                continue;
+            }
+
+            String attribute = ProductField.attributeName(key);
+            if (attribute != null) {
+                attributes = attributes == null ? new LinkedHashMap<>() : attributes;
+                if (!value.isNull()) {
+                    attributes.put(attribute, text(value));
+                }
+                continue;
+            }
+
+            ProductField field = ProductField.forName(key);
+            if (field == null) {
+                if (ignoredKeys.size() < MAX_IGNORED_KEYS) {
+                    ignoredKeys.add(key);
+                }
+                continue;
+            }
+            values.put(field, value.isNull() ? "" : text(value));
+        }
+        return new RawRow(rowNumber, values, attributes);
+    }
+
+    private static String text(JsonNode value) {
+        if (value.isBigDecimal()) {
+            return value.decimalValue().toPlainString();
+        }
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+    @Override
+    public long bytesRead() {
+        return counter.getCount();
+    }
+
+    @Override
+    public List<String> ignoredColumns() {
+        return new ArrayList<>(ignoredKeys);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
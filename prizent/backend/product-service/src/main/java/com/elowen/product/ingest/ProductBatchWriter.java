@@ -0,0 +1,384 @@
+package com.elowen.product.ingest;
+
+import com.elowen.product.changes.ProductChangeLog;
+import com.elowen.product.entity.ImportMode;
+import com.elowen.product.entity.ProductAttributesConverter;
+import com.elowen.product.event.ProductsChangedEvent;
+import com.elowen.product.outbox.BrandCountDeltas;
+import com.elowen.product.outbox.ProductOutboxWriter;
+import com.elowen.product.repository.JdbcUuids;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Writes validated chunks with JDBC batches, one transaction per chunk.
+ *
+ * Design Decisions:
+ * - Per chunk: one SELECT finds which SKUs exist, then one batched INSERT
+ *   for new SKUs and one batched UPDATE per set of supplied columns
+ *   (usually one) - no entity loading, no persistence context
+ * - Row errors, the job's counters and the chunk's brand count deltas
+ *   (ProductOutboxWriter) are written in the chunk's own transaction, so
+ *   progress and admin-service's counts never run ahead of committed products
+ * - The ids written by a chunk are recorded in the change feed
+ *   (ProductChangeLog) and published as one ProductsChangedEvent, so the
+ *   search index picks them up after commit
+ * - A SKU repeated within a chunk is written in a later round, so the
+ *   outcome is the same as applying the feed row by row
+ * - If the database rejects a batch (e.g. a concurrent insert of the same
+ *   SKU), the chunk is retried row by row, each row under a savepoint, and
+ *   only the rejected rows become errors
+ * - Plain JDBC transactions (DataSourceTransactionManager) on the shared
+ *   pool - the JPA transaction manager cannot set savepoints
+ */
+@Component
+public class ProductBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBatchWriter.class);
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO p_products (id, client_id, brand_id, sku, name, description, ean, cost_price, "
+            + "weight_grams, attributes, enabled, version, create_date_time, update_date_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String SELECT_EXISTING =
+            "SELECT id, sku, brand_id, enabled FROM p_products WHERE client_id = :clientId AND sku IN (:skus)";
+
+    private static final String ADD_PROGRESS =
+            "UPDATE p_product_import_jobs SET bytes_read = ?, rows_read = rows_read + ?, "
+            + "rows_inserted = rows_inserted + ?, rows_updated = rows_updated + ?, rows_failed = rows_failed + ? "
+            + "WHERE id = ?";
+
+    private static final String INSERT_ERROR =
+            "INSERT INTO p_product_import_errors (job_id, row_no, sku, field, message) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ProductOutboxWriter outboxWriter;
+    private final ProductChangeLog changeLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final TransactionTemplate rowSavepoint;
+    private final Map<EnumSet<ProductField>, String> updateStatements = new ConcurrentHashMap<>();
+
+    public ProductBatchWriter(DataSource dataSource, ProductOutboxWriter outboxWriter, ProductChangeLog changeLog,
+                              ApplicationEventPublisher eventPublisher) {
+        this.outboxWriter = outboxWriter;
+        this.changeLog = changeLog;
+        this.eventPublisher = eventPublisher;
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.rowSavepoint = new TransactionTemplate(transactionManager);
+        this.rowSavepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    /**
+     * Write one chunk and record its progress; returns what was written
+     */
+    ChunkResult write(ImportContext context, ValidatedChunk chunk) {
+        try {
+            return chunkTransaction.execute(status -> {
+                ChunkResult result = new ChunkResult(chunk.getErrors());
+                writeRows(context, chunk.getRows(), result);
+                recordProgress(context, chunk, result);
+                return result;
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import {}: batch rejected ({}) - retrying chunk row by row",
+                    context.getJobId(), e.getMostSpecificCause().getMessage());
+            return chunkTransaction.execute(status -> {
+                ChunkResult result = new ChunkResult(chunk.getErrors());
+                for (ProductRow row : chunk.getRows()) {
+                    ChunkResult rowResult = new ChunkResult(List.of());
+                    try {
+                        rowSavepoint.executeWithoutResult(savepoint -> writeRows(context, List.of(row), rowResult));
+                        result.add(rowResult);
+                    } catch (DataIntegrityViolationException rejected) {
+                        result.fail(row, null, "Rejected by the database: " + firstLine(rejected.getMostSpecificCause().getMessage()));
+                    }
+                }
+                recordProgress(context, chunk, result);
+                return result;
+            });
+        }
+    }
+
+    private void writeRows(ImportContext context, List<ProductRow> rows, ChunkResult result) {
+        for (List<ProductRow> round : rounds(rows)) {
+            Map<String, ExistingProduct> existing = existingProducts(context.getClientId(), round);
+            LocalDateTime now = LocalDateTime.now();
+
+            List<ProductRow> inserts = new ArrayList<>();
+            Map<EnumSet<ProductField>, List<ProductRow>> updates = new LinkedHashMap<>();
+            Map<ProductRow, UUID> updateIds = new HashMap<>();
+            BrandCountDeltas deltas = new BrandCountDeltas();
+            for (ProductRow row : round) {
+                ExistingProduct current = existing.get(row.getSku());
+                if (current == null) {
+                    ProductField missing = row.missingForInsert();
+                    if (missing != null) {
+                        result.fail(row, missing.displayName(), missing.displayName() + " is required for a new SKU");
+                    } else {
+                        inserts.add(row);
+                        deltas.added(row.getBrandId(), row.isEnabled());
+                    }
+                } else if (context.getMode() == ImportMode.INSERT) {
+                    result.fail(row, ProductField.SKU.displayName(), "SKU already exists");
+                } else {
+                    updates.computeIfAbsent(row.updatedFields(), fields -> new ArrayList<>()).add(row);
+                    updateIds.put(row, current.id);
+                    deltas.changed(current.brandId, current.enabled,
+                            row.has(ProductField.BRAND_ID) ? row.getBrandId() : current.brandId,
+                            row.has(ProductField.ENABLED) ? row.isEnabled() : current.enabled);
+                }
+            }
+
+            List<UUID> insertedIds = insert(context.getClientId(), inserts, now);
+            result.inserted += inserts.size();
+            for (Map.Entry<EnumSet<ProductField>, List<ProductRow>> group : updates.entrySet()) {
+                update(context.getClientId(), group.getKey(), group.getValue(), updateIds, now);
+                result.updated += group.getValue().size();
+            }
+            result.deltas.addAll(deltas);
+            result.productIds.addAll(insertedIds);
+            result.productIds.addAll(updateIds.values());
+        }
+    }
+
+    /**
+     * Split rows so no SKU occurs twice in one round; later duplicates go to later rounds
+     */
+    private static List<List<ProductRow>> rounds(List<ProductRow> rows) {
+        List<List<ProductRow>> rounds = new ArrayList<>(1);
+        Map<String, Integer> occurrences = new HashMap<>(rows.size() * 2);
+        for (ProductRow row : rows) {
+            int round = occurrences.merge(row.getSku(), 1, Integer::sum) - 1;
+            if (round == rounds.size()) {
+                rounds.add(new ArrayList<>());
+            }
+            rounds.get(round).add(row);
+        }
+        return rounds;
+    }
+
+    private Map<String, ExistingProduct> existingProducts(UUID clientId, List<ProductRow> rows) {
+        Set<String> skus = rows.stream().map(ProductRow::getSku).collect(Collectors.toCollection(HashSet::new));
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("clientId", JdbcUuids.toBytes(clientId))
+                .addValue("skus", skus);
+        Map<String, ExistingProduct> existing = new HashMap<>(skus.size() * 2);
+        namedJdbcTemplate.query(SELECT_EXISTING, parameters, resultSet -> {
+            existing.put(resultSet.getString("sku"), new ExistingProduct(
+                    JdbcUuids.fromBytes(resultSet.getBytes("id")),
+                    JdbcUuids.fromBytes(resultSet.getBytes("brand_id")),
+                    resultSet.getBoolean("enabled")));
+        });
+        return existing;
+    }
+
+    /**
+     * @return ids of the inserted products
+     */
+    private List<UUID> insert(UUID clientId, List<ProductRow> rows, LocalDateTime now) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        byte[] client = JdbcUuids.toBytes(clientId);
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<UUID> ids = new ArrayList<>(rows.size());
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, rows, rows.size(), (statement, row) -> {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            statement.setBytes(1, JdbcUuids.toBytes(id));
+            statement.setBytes(2, client);
+            statement.setBytes(3, JdbcUuids.toBytes(row.getBrandId()));
+            statement.setString(4, row.getSku());
+            statement.setString(5, row.getName());
+            statement.setString(6, row.getDescription());
+            statement.setString(7, row.getEan());
+            statement.setBigDecimal(8, row.getCostPrice());
+            setInteger(statement, 9, row.getWeightGrams());
+            statement.setString(10, ProductAttributesConverter.toJson(row.getAttributes()));
+            statement.setBoolean(11, row.isEnabled());
+            statement.setTimestamp(12, timestamp);
+            statement.setTimestamp(13, timestamp);
+        });
+        return ids;
+    }
+
+    private void update(UUID clientId, EnumSet<ProductField> fields, List<ProductRow> rows,
+                        Map<ProductRow, UUID> ids, LocalDateTime now) {
+        byte[] client = JdbcUuids.toBytes(clientId);
+        Timestamp timestamp = Timestamp.valueOf(now);
+        String sql = updateStatements.computeIfAbsent(EnumSet.copyOf(fields), ProductBatchWriter::updateStatement);
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (statement, row) -> {
+            int index = 1;
+            for (ProductField field : fields) {
+                bind(statement, index++, field, row);
+            }
+            statement.setTimestamp(index++, timestamp);
+            statement.setBytes(index++, JdbcUuids.toBytes(ids.get(row)));
+            statement.setBytes(index, client);
+        });
+    }
+
+    private static String updateStatement(EnumSet<ProductField> fields) {
+        StringBuilder sql = new StringBuilder("UPDATE p_products SET ");
+        for (ProductField field : fields) {
+            sql.append(column(field)).append(" = ?, ");
+        }
+        return sql.append("version = version + 1, update_date_time = ? WHERE id = ? AND client_id = ?").toString();
+    }
+
+    private static String column(ProductField field) {
+        switch (field) {
+            case NAME: return "name";
+            case BRAND_ID: return "brand_id";
+            case DESCRIPTION: return "description";
+            case EAN: return "ean";
+            case COST_PRICE: return "cost_price";
+            case WEIGHT_GRAMS: return "weight_grams";
+            case ENABLED: return "enabled";
+            case ATTRIBUTES: return "attributes";
+            default: throw new IllegalArgumentException("Not an updatable column: " + field);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, int index, ProductField field, ProductRow row) throws SQLException {
+        switch (field) {
+            case NAME -> statement.setString(index, row.getName());
+            case BRAND_ID -> statement.setBytes(index, JdbcUuids.toBytes(row.getBrandId()));
+            case DESCRIPTION -> statement.setString(index, row.getDescription());
+            case EAN -> statement.setString(index, row.getEan());
+            case COST_PRICE -> statement.setBigDecimal(index, row.getCostPrice());
+            case WEIGHT_GRAMS -> setInteger(statement, index, row.getWeightGrams());
+            case ENABLED -> statement.setBoolean(index, row.isEnabled());
+            case ATTRIBUTES -> statement.setString(index, ProductAttributesConverter.toJson(row.getAttributes()));
+            default -> throw new IllegalArgumentException("Not an updatable column: " + field);
+        }
+    }
+
+    private static void setInteger(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        } else {
+            statement.setInt(index, value);
+        }
+    }
+
+    private void recordProgress(ImportContext context, ValidatedChunk chunk, ChunkResult result) {
+        List<RowError> stored = context.reserveErrorSlots(result.errors);
+        if (!stored.isEmpty()) {
+            byte[] job = JdbcUuids.toBytes(context.getJobId());
+            jdbcTemplate.batchUpdate(INSERT_ERROR, stored, stored.size(), (statement, error) -> {
+                statement.setBytes(1, job);
+                statement.setLong(2, error.getRowNumber());
+                statement.setString(3, truncate(error.getSku(), ProductRowValidator.MAX_SKU_LENGTH));
+                statement.setString(4, truncate(error.getField(), 64));
+                statement.setString(5, truncate(error.getMessage(), 500));
+            });
+        }
+        outboxWriter.write(context.getClientId(), result.deltas);
+        if (!result.productIds.isEmpty()) {
+            changeLog.record(context.getClientId(), result.productIds, Map.of());
+            eventPublisher.publishEvent(new ProductsChangedEvent(context.getClientId(), result.productIds));
+        }
+        jdbcTemplate.update(ADD_PROGRESS, chunk.getEndOffset(), chunk.getRowsRead(),
+                result.inserted, result.updated, result.errors.size(), JdbcUuids.toBytes(context.getJobId()));
+    }
+
+    private static String firstLine(String message) {
+        int end = message != null ? message.indexOf('\n') : -1;
+        return end < 0 ? message : message.substring(0, end).trim();
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length);
+    }
+
+    /**
+     * What a chunk's SKU currently is in the database
+     */
+    private static final class ExistingProduct {
+
+        private final UUID id;
+        private final UUID brandId;
+        private final boolean enabled;
+
+        private ExistingProduct(UUID id, UUID brandId, boolean enabled) {
+            this.id = id;
+            this.brandId = brandId;
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Outcome of one chunk
+     */
+    static final class ChunkResult {
+
+        private final List<RowError> errors;
+        private final BrandCountDeltas deltas = new BrandCountDeltas();
+        private final List<UUID> productIds = new ArrayList<>();
+        private long inserted;
+        private long updated;
+
+        private ChunkResult(List<RowError> validationErrors) {
+            this.errors = new ArrayList<>(validationErrors);
+        }
+
+        private void add(ChunkResult other) {
+            errors.addAll(other.errors);
+            deltas.addAll(other.deltas);
+            productIds.addAll(other.productIds);
+            inserted += other.inserted;
+            updated += other.updated;
+        }
+
+        private void fail(ProductRow row, String field, String message) {
+            errors.add(new RowError(row.getRowNumber(), row.getSku(), field, message));
+        }
+
+        long getInserted() {
+            return inserted;
+        }
+
+        long getUpdated() {
+            return updated;
+        }
+
+        int getFailed() {
+            return errors.size();
+        }
+    }
+}
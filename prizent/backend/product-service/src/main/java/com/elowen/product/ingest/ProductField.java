@@ -0,0 +1,85 @@
+package com.elowen.product.ingest;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Product fields a feed can carry, with the column / key names accepted for each.
+ *
+ * Names are matched case-insensitively, ignoring spaces, '_' and '-', so
+ * "Cost Price", "cost_price" and "costPrice" are the same column.
+ * Attributes are not matched by name: CSV columns "attr.<name>" and the
+ * JSON object "attributes" carry them.
+ */
+public enum ProductField {
+    SKU("sku"),
+    NAME("name", "title", "productname"),
+    BRAND_ID("brandid"),
+    BRAND("brand", "brandname"),
+    DESCRIPTION("description"),
+    EAN("ean", "gtin", "barcode", "upc"),
+    COST_PRICE("costprice", "cost"),
+    WEIGHT_GRAMS("weightgrams", "weight"),
+    ENABLED("enabled", "active"),
+    /** Set when a row carries attributes; never matched by column name */
+    ATTRIBUTES("attributes");
+
+    public static final String ATTRIBUTE_PREFIX = "attr.";
+
+    private static final Map<String, ProductField> BY_NAME = new HashMap<>();
+
+    static {
+        for (ProductField field : values()) {
+            if (field == ATTRIBUTES) {
+                continue;
+            }
+            for (String name : field.names) {
+                BY_NAME.put(name, field);
+            }
+        }
+    }
+
+    private final String[] names;
+
+    ProductField(String... names) {
+        this.names = names;
+    }
+
+    /**
+     * Field for a column or key name, or null when it is not a product field
+     */
+    public static ProductField forName(String name) {
+        return BY_NAME.get(normalize(name));
+    }
+
+    /**
+     * Attribute name of an "attr.<name>" column, or null for other columns
+     */
+    public static String attributeName(String column) {
+        String trimmed = column.trim();
+        if (trimmed.length() > ATTRIBUTE_PREFIX.length()
+                && trimmed.regionMatches(true, 0, ATTRIBUTE_PREFIX, 0, ATTRIBUTE_PREFIX.length())) {
+            return trimmed.substring(ATTRIBUTE_PREFIX.length()).trim();
+        }
+        return null;
+    }
+
+    /**
+     * Name used in row errors - the documented column name, e.g. cost_price
+     */
+    public String displayName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != ' ' && c != '_' && c != '-' && c != '\uFEFF') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,114 @@
+package com.elowen.product.ingest;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A feed row that passed validation, with typed values.
+ *
+ * present lists the fields the feed supplied (BRAND is folded into BRAND_ID).
+ * For an existing SKU only those are updated; a new SKU needs NAME and
+ * BRAND_ID, which only the writer can check because only it knows whether
+ * the SKU exists.
+ */
+final class ProductRow {
+
+    private final long rowNumber;
+    private final String sku;
+    private final EnumSet<ProductField> present;
+    private final String name;
+    private final UUID brandId;
+    private final String description;
+    private final String ean;
+    private final BigDecimal costPrice;
+    private final Integer weightGrams;
+    private final Boolean enabled;
+    private final Map<String, String> attributes;
+
+    ProductRow(long rowNumber, String sku, EnumSet<ProductField> present, String name, UUID brandId,
+               String description, String ean, BigDecimal costPrice, Integer weightGrams, Boolean enabled,
+               Map<String, String> attributes) {
+        this.rowNumber = rowNumber;
+        this.sku = sku;
+        this.present = present;
+        this.name = name;
+        this.brandId = brandId;
+        this.description = description;
+        this.ean = ean;
+        this.costPrice = costPrice;
+        this.weightGrams = weightGrams;
+        this.enabled = enabled;
+        this.attributes = attributes;
+    }
+
+    boolean has(ProductField field) {
+        return present.contains(field);
+    }
+
+    /**
+     * Which fields an UPDATE must set - rows with the same key share one statement
+     */
+    EnumSet<ProductField> updatedFields() {
+        EnumSet<ProductField> fields = EnumSet.copyOf(present);
+        fields.remove(ProductField.SKU);
+        return fields;
+    }
+
+    /**
+     * What a new SKU is missing, or null when it can be inserted
+     */
+    ProductField missingForInsert() {
+        if (!has(ProductField.NAME)) {
+            return ProductField.NAME;
+        }
+        if (!has(ProductField.BRAND_ID)) {
+            return ProductField.BRAND_ID;
+        }
+        return null;
+    }
+
+    long getRowNumber() {
+        return rowNumber;
+    }
+
+    String getSku() {
+        return sku;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    UUID getBrandId() {
+        return brandId;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    String getEan() {
+        return ean;
+    }
+
+    BigDecimal getCostPrice() {
+        return costPrice;
+    }
+
+    Integer getWeightGrams() {
+        return weightGrams;
+    }
+
+    /**
+     * Feed value, or true for new SKUs when the feed has none
+     */
+    boolean isEnabled() {
+        return enabled == null || enabled;
+    }
+
+    Map<String, String> getAttributes() {
+        return attributes;
+    }
+}
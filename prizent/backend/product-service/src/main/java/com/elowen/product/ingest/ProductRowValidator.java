@@ -0,0 +1,328 @@
+package com.elowen.product.ingest;
+
+import com.elowen.product.entity.ProductAttributesConverter;
+import com.elowen.product.service.BrandDirectory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Field rules for imported products; the product API applies the same ones.
+ *
+ * Design Decisions:
+ * - Pure function of the row and a BrandDirectory snapshot - no database
+ *   access, so chunks validate in parallel on any thread
+ * - All problems of a row are reported together, attributed to the first
+ *   failing field
+ * - Values are trimmed; an empty value clears an optional field
+ */
+public final class ProductRowValidator {
+
+    public static final int MAX_SKU_LENGTH = 64;
+    public static final int MAX_NAME_LENGTH = 255;
+    public static final int MAX_DESCRIPTION_LENGTH = 2000;
+    public static final int MAX_ATTRIBUTE_NAME_LENGTH = 64;
+    public static final int MAX_ATTRIBUTE_VALUE_LENGTH = 500;
+    public static final int MAX_ATTRIBUTES_LENGTH = 4000;
+    public static final int MAX_WEIGHT_GRAMS = 1_000_000;
+
+    // cost_price is DECIMAL(12,2)
+    private static final int MAX_PRICE_INTEGER_DIGITS = 10;
+
+    ProductRowValidator() {
+    }
+
+    /**
+     * Validate a whole chunk; rows and errors keep feed order
+     */
+    ValidatedChunk validate(List<RawRow> rawRows, BrandDirectory brands, long endOffset) {
+        List<ProductRow> rows = new ArrayList<>(rawRows.size());
+        List<RowError> errors = new ArrayList<>();
+        for (RawRow raw : rawRows) {
+            Problems problems = new Problems();
+            ProductRow row = validate(raw, brands, problems);
+            if (problems.isEmpty()) {
+                rows.add(row);
+            } else {
+                errors.add(problems.toError(raw.getRowNumber(), raw.getValues().get(ProductField.SKU)));
+            }
+        }
+        return new ValidatedChunk(rows, errors, rawRows.size(), endOffset);
+    }
+
+    private ProductRow validate(RawRow raw, BrandDirectory brands, Problems problems) {
+        if (raw.getFormatProblem() != null) {
+            problems.add(null, raw.getFormatProblem());
+            return null;
+        }
+        EnumMap<ProductField, String> values = raw.getValues();
+        EnumSet<ProductField> present = EnumSet.noneOf(ProductField.class);
+
+        String sku = trimmed(values.get(ProductField.SKU));
+        if (sku == null) {
+            problems.add(ProductField.SKU, "sku is required");
+        } else {
+            String problem = skuProblem(sku);
+            if (problem != null) {
+                problems.add(ProductField.SKU, problem);
+            }
+            present.add(ProductField.SKU);
+        }
+
+        String name = null;
+        if (values.containsKey(ProductField.NAME)) {
+            name = trimmed(values.get(ProductField.NAME));
+            if (name == null) {
+                problems.add(ProductField.NAME, "name cannot be empty");
+            } else if (name.length() > MAX_NAME_LENGTH) {
+                problems.add(ProductField.NAME, "name is longer than " + MAX_NAME_LENGTH + " characters");
+            }
+            present.add(ProductField.NAME);
+        }
+
+        UUID brandId = brand(values, brands, problems);
+        if (brandId != null) {
+            present.add(ProductField.BRAND_ID);
+        }
+
+        String description = null;
+        if (values.containsKey(ProductField.DESCRIPTION)) {
+            description = trimmed(values.get(ProductField.DESCRIPTION));
+            if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+                problems.add(ProductField.DESCRIPTION, "description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+            }
+            present.add(ProductField.DESCRIPTION);
+        }
+
+        String ean = null;
+        if (values.containsKey(ProductField.EAN)) {
+            ean = trimmed(values.get(ProductField.EAN));
+            String problem = ean == null ? null : gtinProblem(ean);
+            if (problem != null) {
+                problems.add(ProductField.EAN, problem);
+            }
+            present.add(ProductField.EAN);
+        }
+
+        BigDecimal costPrice = null;
+        if (values.containsKey(ProductField.COST_PRICE)) {
+            String text = trimmed(values.get(ProductField.COST_PRICE));
+            if (text != null) {
+                try {
+                    costPrice = new BigDecimal(text);
+                    String problem = costPriceProblem(costPrice);
+                    if (problem != null) {
+                        problems.add(ProductField.COST_PRICE, problem);
+                    }
+                } catch (NumberFormatException e) {
+                    problems.add(ProductField.COST_PRICE, "cost_price '" + text + "' is not a number");
+                }
+            }
+            present.add(ProductField.COST_PRICE);
+        }
+
+        Integer weightGrams = null;
+        if (values.containsKey(ProductField.WEIGHT_GRAMS)) {
+            String text = trimmed(values.get(ProductField.WEIGHT_GRAMS));
+            if (text != null) {
+                try {
+                    weightGrams = new BigDecimal(text).intValueExact();
+                    if (weightGrams < 0 || weightGrams > MAX_WEIGHT_GRAMS) {
+                        problems.add(ProductField.WEIGHT_GRAMS, "weight_grams must be between 0 and " + MAX_WEIGHT_GRAMS);
+                    }
+                } catch (NumberFormatException | ArithmeticException e) {
+                    problems.add(ProductField.WEIGHT_GRAMS, "weight_grams '" + text + "' is not a whole number");
+                }
+            }
+            present.add(ProductField.WEIGHT_GRAMS);
+        }
+
+        Boolean enabled = null;
+        if (values.containsKey(ProductField.ENABLED)) {
+            String text = trimmed(values.get(ProductField.ENABLED));
+            if (text != null) {
+                enabled = parseBoolean(text);
+                if (enabled == null) {
+                    problems.add(ProductField.ENABLED, "enabled '" + text + "' is not true/false");
+                } else {
+                    present.add(ProductField.ENABLED);
+                }
+            }
+        }
+
+        Map<String, String> attributes = raw.getAttributes();
+        if (attributes != null) {
+            String problem = attributesProblem(attributes);
+            if (problem != null) {
+                problems.add(ProductField.ATTRIBUTES, problem);
+            }
+            present.add(ProductField.ATTRIBUTES);
+        }
+
+        return new ProductRow(raw.getRowNumber(), sku, present, name, brandId, description, ean,
+                costPrice, weightGrams, enabled, attributes);
+    }
+
+    /**
+     * brandId wins over brand name; both present must agree
+     */
+    private UUID brand(EnumMap<ProductField, String> values, BrandDirectory brands, Problems problems) {
+        boolean hasId = values.containsKey(ProductField.BRAND_ID);
+        boolean hasName = values.containsKey(ProductField.BRAND);
+        String idText = hasId ? trimmed(values.get(ProductField.BRAND_ID)) : null;
+        String nameText = hasName ? trimmed(values.get(ProductField.BRAND)) : null;
+        if (idText == null && nameText == null) {
+            if (hasId || hasName) {
+                problems.add(hasId ? ProductField.BRAND_ID : ProductField.BRAND, "brand cannot be empty");
+            }
+            return null;
+        }
+
+        UUID byName = null;
+        if (nameText != null) {
+            byName = brands.findActiveByName(nameText);
+            if (byName == null && idText == null) {
+                problems.add(ProductField.BRAND, "No active brand named '" + nameText + "'");
+                return null;
+            }
+        }
+        if (idText == null) {
+            return byName;
+        }
+
+        UUID brandId;
+        try {
+            brandId = UUID.fromString(idText);
+        } catch (IllegalArgumentException e) {
+            problems.add(ProductField.BRAND_ID, "brand_id '" + idText + "' is not a UUID");
+            return null;
+        }
+        String problem = brands.problemWith(brandId);
+        if (problem != null) {
+            problems.add(ProductField.BRAND_ID, problem);
+        } else if (byName != null && !byName.equals(brandId)) {
+            problems.add(ProductField.BRAND, "brand '" + nameText + "' is not brand " + brandId);
+        }
+        return brandId;
+    }
+
+    public static String skuProblem(String sku) {
+        if (sku.length() > MAX_SKU_LENGTH) {
+            return "sku is longer than " + MAX_SKU_LENGTH + " characters";
+        }
+        for (int i = 0; i < sku.length(); i++) {
+            if (Character.isISOControl(sku.charAt(i))) {
+                return "sku contains control characters";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * GTIN-8/12/13/14 (EAN/UPC): digits only, valid GS1 check digit
+     */
+    public static String gtinProblem(String gtin) {
+        int length = gtin.length();
+        if (length != 8 && length != 12 && length != 13 && length != 14) {
+            return "ean must have 8, 12, 13 or 14 digits";
+        }
+        int sum = 0;
+        for (int i = 0; i < length - 1; i++) {
+            char c = gtin.charAt(i);
+            if (c < '0' || c > '9') {
+                return "ean must contain digits only";
+            }
+            // Weights alternate 3,1,3,... counting from the digit next to the check digit
+            int weight = ((length - 1 - i) % 2 == 1) ? 3 : 1;
+            sum += (c - '0') * weight;
+        }
+        char check = gtin.charAt(length - 1);
+        if (check < '0' || check > '9') {
+            return "ean must contain digits only";
+        }
+        if ((10 - sum % 10) % 10 != check - '0') {
+            return "ean check digit is wrong";
+        }
+        return null;
+    }
+
+    public static String costPriceProblem(BigDecimal costPrice) {
+        if (costPrice.signum() < 0) {
+            return "cost_price cannot be negative";
+        }
+        if (costPrice.stripTrailingZeros().scale() > 2) {
+            return "cost_price has more than 2 decimal places";
+        }
+        if (costPrice.precision() - costPrice.scale() > MAX_PRICE_INTEGER_DIGITS) {
+            return "cost_price is too large";
+        }
+        return null;
+    }
+
+    public static String attributesProblem(Map<String, String> attributes) {
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            String name = attribute.getKey();
+            if (name == null || name.isBlank() || name.length() > MAX_ATTRIBUTE_NAME_LENGTH) {
+                return "attribute names must be 1-" + MAX_ATTRIBUTE_NAME_LENGTH + " characters";
+            }
+            if (attribute.getValue() != null && attribute.getValue().length() > MAX_ATTRIBUTE_VALUE_LENGTH) {
+                return "attribute '" + name + "' is longer than " + MAX_ATTRIBUTE_VALUE_LENGTH + " characters";
+            }
+        }
+        String json = ProductAttributesConverter.toJson(attributes);
+        if (json != null && json.length() > MAX_ATTRIBUTES_LENGTH) {
+            return "attributes take more than " + MAX_ATTRIBUTES_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static Boolean parseBoolean(String text) {
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "y":
+                return Boolean.TRUE;
+            case "false", "0", "no", "n":
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    private static String trimmed(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Problems of one row, reported as a single RowError
+     */
+    private static final class Problems {
+
+        private ProductField firstField;
+        private final List<String> messages = new ArrayList<>(2);
+
+        void add(ProductField field, String message) {
+            if (messages.isEmpty()) {
+                firstField = field;
+            }
+            messages.add(message);
+        }
+
+        boolean isEmpty() {
+            return messages.isEmpty();
+        }
+
+        RowError toError(long rowNumber, String sku) {
+            return new RowError(rowNumber, sku == null ? null : sku.trim(),
+                    firstField == null ? null : firstField.displayName(), String.join("; ", messages));
+        }
+    }
+}
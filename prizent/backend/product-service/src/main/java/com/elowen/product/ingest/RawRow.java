@@ -0,0 +1,56 @@
+package com.elowen.product.ingest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One feed row as read, before validation: field values as text.
+ *
+ * A field missing from values was not in the feed (the product keeps its
+ * current value); an empty string means the feed clears it.
+ * attributes is null when the row carries no attributes at all.
+ */
+final class RawRow {
+
+    private final long rowNumber;
+    private final EnumMap<ProductField, String> values;
+    private final Map<String, String> attributes;
+    private final String formatProblem;
+
+    RawRow(long rowNumber, EnumMap<ProductField, String> values, Map<String, String> attributes) {
+        this.rowNumber = rowNumber;
+        this.values = values;
+        this.attributes = attributes;
+        this.formatProblem = null;
+    }
+
+    private RawRow(long rowNumber, String formatProblem) {
+        this.rowNumber = rowNumber;
+        this.values = new EnumMap<>(ProductField.class);
+        this.attributes = null;
+        this.formatProblem = formatProblem;
+    }
+
+    /**
+     * A row that could be read past but not understood (wrong column count, not an object)
+     */
+    static RawRow malformed(long rowNumber, String problem) {
+        return new RawRow(rowNumber, problem);
+    }
+
+    long getRowNumber() {
+        return rowNumber;
+    }
+
+    EnumMap<ProductField, String> getValues() {
+        return values;
+    }
+
+    Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    String getFormatProblem() {
+        return formatProblem;
+    }
+}
@@ -0,0 +1,36 @@
+package com.elowen.product.ingest;
+
+/**
+ * Why one feed row was not imported.
+ * field is the column / key at fault, null when the row as a whole is wrong.
+ */
+public final class RowError {
+
+    private final long rowNumber;
+    private final String sku;
+    private final String field;
+    private final String message;
+
+    public RowError(long rowNumber, String sku, String field, String message) {
+        this.rowNumber = rowNumber;
+        this.sku = sku;
+        this.field = field;
+        this.message = message;
+    }
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,29 @@
+package com.elowen.product.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Incremental reader of a product feed: one row per call, never the whole file.
+ *
+ * An IOException means the feed cannot be read any further (bad syntax,
+ * truncated file); a row that is merely wrong comes back as RawRow.malformed.
+ */
+interface RowSource extends Closeable {
+
+    /**
+     * Next row, or null at the end of the feed
+     */
+    RawRow next() throws IOException;
+
+    /**
+     * Bytes of the (possibly compressed) feed consumed so far
+     */
+    long bytesRead();
+
+    /**
+     * Columns / keys that are not product fields and were skipped
+     */
+    List<String> ignoredColumns();
+}
@@ -0,0 +1,85 @@
+package com.elowen.product.ingest;
+
+import com.elowen.product.entity.ImportFormat;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens the RowSource for a spooled feed.
+ *
+ * A gzip feed is stored compressed and inflated while it is read; progress
+ * then counts compressed bytes, which is what total_bytes measures.
+ */
+final class RowSources {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private RowSources() {
+    }
+
+    static RowSource open(ImportFormat format, Path feed, boolean gzip) throws IOException {
+        InputStream file = new BufferedInputStream(Files.newInputStream(feed), BUFFER_SIZE);
+        try {
+            if (!gzip) {
+                return open(format, file);
+            }
+            CountingInputStream compressed = new CountingInputStream(file);
+            return new Compressed(open(format, new GZIPInputStream(compressed, BUFFER_SIZE)), compressed);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    private static RowSource open(ImportFormat format, InputStream in) throws IOException {
+        switch (format) {
+            case CSV:
+                return new CsvRowSource(in);
+            case JSON:
+            case NDJSON:
+                return new JsonRowSource(in);
+            default:
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+    }
+
+    /**
+     * Reports progress in compressed bytes
+     */
+    private static final class Compressed implements RowSource {
+
+        private final RowSource delegate;
+        private final CountingInputStream compressed;
+
+        private Compressed(RowSource delegate, CountingInputStream compressed) {
+            this.delegate = delegate;
+            this.compressed = compressed;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            return delegate.next();
+        }
+
+        @Override
+        public long bytesRead() {
+            return compressed.getCount();
+        }
+
+        @Override
+        public List<String> ignoredColumns() {
+            return delegate.ignoredColumns();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.elowen.product.ingest;
+
+import java.util.List;
+
+/**
+ * A chunk of consecutive feed rows after validation - the unit of one write transaction.
+ * endOffset is the feed position after the chunk's last row, for progress.
+ */
+final class ValidatedChunk {
+
+    private final List<ProductRow> rows;
+    private final List<RowError> errors;
+    private final int rowsRead;
+    private final long endOffset;
+
+    ValidatedChunk(List<ProductRow> rows, List<RowError> errors, int rowsRead, long endOffset) {
+        this.rows = rows;
+        this.errors = errors;
+        this.rowsRead = rowsRead;
+        this.endOffset = endOffset;
+    }
+
+    List<ProductRow> getRows() {
+        return rows;
+    }
+
+    List<RowError> getErrors() {
+        return errors;
+    }
+
+    int getRowsRead() {
+        return rowsRead;
+    }
+
+    long getEndOffset() {
+        return endOffset;
+    }
+}
@@ -0,0 +1,75 @@
+package com.elowen.product.outbox;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-brand product count changes collected over one transaction.
+ *
+ * Not thread-safe - one instance per transaction / import chunk.
+ */
+public final class BrandCountDeltas {
+
+    private final Map<UUID, int[]> byBrand = new LinkedHashMap<>();
+
+    /**
+     * A product appeared under the brand
+     */
+    public void added(UUID brandId, boolean enabled) {
+        add(brandId, enabled ? 1 : 0, 1);
+    }
+
+    /**
+     * A product left the brand (deleted or moved to another brand)
+     */
+    public void removed(UUID brandId, boolean enabled) {
+        add(brandId, enabled ? -1 : 0, -1);
+    }
+
+    /**
+     * A product of the brand was enabled (true) or disabled (false)
+     */
+    public void enabledChanged(UUID brandId, boolean enabled) {
+        add(brandId, enabled ? 1 : -1, 0);
+    }
+
+    /**
+     * Before/after of one product; no-op when neither brand nor enabled changed
+     */
+    public void changed(UUID oldBrandId, boolean wasEnabled, UUID newBrandId, boolean isEnabled) {
+        if (!oldBrandId.equals(newBrandId)) {
+            removed(oldBrandId, wasEnabled);
+            added(newBrandId, isEnabled);
+        } else if (wasEnabled != isEnabled) {
+            enabledChanged(newBrandId, isEnabled);
+        }
+    }
+
+    public void addAll(BrandCountDeltas other) {
+        other.byBrand.forEach((brandId, delta) -> add(brandId, delta[0], delta[1]));
+    }
+
+    public boolean isEmpty() {
+        return byBrand.values().stream().allMatch(delta -> delta[0] == 0 && delta[1] == 0);
+    }
+
+    /**
+     * Non-zero deltas as brandId -> {active, total}
+     */
+    Map<UUID, int[]> nonZero() {
+        Map<UUID, int[]> result = new LinkedHashMap<>();
+        byBrand.forEach((brandId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                result.put(brandId, delta);
+            }
+        });
+        return result;
+    }
+
+    private void add(UUID brandId, int active, int total) {
+        int[] delta = byBrand.computeIfAbsent(brandId, id -> new int[2]);
+        delta[0] += active;
+        delta[1] += total;
+    }
+}
@@ -0,0 +1,207 @@
+package com.elowen.product.outbox;
+
+import com.elowen.product.entity.ProductOutboxEvent;
+import com.elowen.product.repository.ProductOutboxRepository;
+import com.elowen.product.security.ServiceTokenFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Background relay from the product outbox to admin-service.
+ *
+ * Same protocol as admin-service's BrandOutboxRelay: claim and lease a
+ * batch in a short transaction (FOR UPDATE SKIP LOCKED), POST it as one
+ * JSON array with no transaction open, then delete the delivered rows.
+ * A failed batch is retried event by event; failed events back off
+ * exponentially and are dead-lettered after product.outbox.max-attempts.
+ *
+ * Delivery is at-least-once; the receiver dedupes on id.
+ */
+@Component
+public class ProductOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductOutboxRelay.class);
+
+    private final ProductOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final RestClient restClient;
+    private final String url;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final long claimLeaseSeconds;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long maxRetryBackoffMs;
+
+    public ProductOutboxRelay(
+            ProductOutboxRepository outboxRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.outbox.http.url:http://localhost:8082/api/internal/product-events}") String url,
+            @Value("${product.outbox.http.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${product.outbox.http.read-timeout-ms:5000}") int readTimeoutMs,
+            @Value("${product.outbox.batch-size:200}") int batchSize,
+            @Value("${product.outbox.max-batches-per-poll:10}") int maxBatchesPerPoll,
+            @Value("${product.outbox.claim-lease-seconds:60}") long claimLeaseSeconds,
+            @Value("${product.outbox.max-attempts:20}") int maxAttempts,
+            @Value("${product.outbox.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${product.outbox.max-retry-backoff-ms:300000}") long maxRetryBackoffMs,
+            @Value("${internal.service-token:}") String serviceToken) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .defaultHeader(ServiceTokenFilter.HEADER, serviceToken)
+                .build();
+        this.url = url;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.claimLeaseSeconds = claimLeaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxRetryBackoffMs = maxRetryBackoffMs;
+    }
+
+    /**
+     * Drain pending events - keeps claiming while batches come back full
+     */
+    @Scheduled(fixedDelayString = "${product.outbox.poll-interval-ms:1000}")
+    public void relayPending() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            if (relayBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claim, publish and delete one batch
+     *
+     * @return number of events claimed
+     */
+    private int relayBatch() {
+        List<ProductOutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<ProductOutboxEvent> delivered;
+        try {
+            publish(batch);
+            delivered = batch;
+        } catch (Exception e) {
+            log.warn("Product outbox delivery failed for {} events (first id {}): {}",
+                    batch.size(), batch.get(0).getId(), e.getMessage());
+            if (batch.size() > 1) {
+                delivered = publishEach(batch);
+            } else {
+                settleFailure(batch.get(0), e);
+                delivered = List.of();
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            List<Long> ids = delivered.stream().map(ProductOutboxEvent::getId).collect(Collectors.toList());
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteByIdIn(ids));
+            log.debug("Relayed {} product outbox events", delivered.size());
+        }
+        return batch.size();
+    }
+
+    /**
+     * Lock the claimable rows, lease them and commit. The returned entities
+     * carry the attempt count before this claim.
+     */
+    private List<ProductOutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductOutboxEvent> batch = outboxRepository.lockClaimable(now, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            List<Long> ids = batch.stream().map(ProductOutboxEvent::getId).collect(Collectors.toList());
+            outboxRepository.claim(ids, now.plusSeconds(claimLeaseSeconds));
+        }
+        return batch;
+    }
+
+    /**
+     * Retry a failed batch one event at a time; returns the delivered ones
+     */
+    private List<ProductOutboxEvent> publishEach(List<ProductOutboxEvent> batch) {
+        List<ProductOutboxEvent> delivered = new ArrayList<>(batch.size());
+        for (ProductOutboxEvent event : batch) {
+            try {
+                publish(List.of(event));
+                delivered.add(event);
+            } catch (Exception e) {
+                settleFailure(event, e);
+            }
+        }
+        return delivered;
+    }
+
+    private void settleFailure(ProductOutboxEvent event, Exception e) {
+        String message = String.valueOf(e.getMessage());
+        String error = message.length() > 500 ? message.substring(0, 500) : message;
+        int attempts = event.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (attempts >= maxAttempts) {
+                outboxRepository.markDead(event.getId(), error, now);
+            } else {
+                outboxRepository.recordFailure(event.getId(), error, now.plusNanos(backoffMs(attempts) * 1_000_000));
+            }
+        });
+        if (attempts >= maxAttempts) {
+            log.error("Product outbox event {} (brand {}) dead-lettered after {} attempts: {}",
+                    event.getId(), event.getBrandId(), attempts, error);
+        }
+    }
+
+    private long backoffMs(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(retryBackoffMs << doublings, maxRetryBackoffMs);
+    }
+
+    private void publish(List<ProductOutboxEvent> events) throws Exception {
+        ArrayNode body = objectMapper.createArrayNode();
+        for (ProductOutboxEvent event : events) {
+            ObjectNode node = body.addObject();
+            node.put("id", event.getId());
+            node.put("type", event.getEventType());
+            node.put("clientId", event.getClientId().toString());
+            node.put("brandId", event.getBrandId().toString());
+            node.put("activeDelta", event.getActiveDelta());
+            node.put("productDelta", event.getProductDelta());
+            node.put("occurredAt", event.getCreatedAt().toString());
+        }
+
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsBytes(body))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,60 @@
+package com.elowen.product.outbox;
+
+import com.elowen.product.entity.ProductOutboxEvent;
+import com.elowen.product.repository.JdbcUuids;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Appends brand count deltas to the outbox inside the caller's transaction.
+ *
+ * Plain JDBC on the shared DataSource, so it joins both the JPA
+ * transactions of ProductService and the JDBC transactions of the bulk
+ * import. No network I/O happens here - delivery is ProductOutboxRelay's job.
+ */
+@Component
+public class ProductOutboxWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductOutboxWriter.class);
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO p_product_outbox (client_id, brand_id, event_type, active_delta, product_delta, "
+            + "created_at, attempts) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductOutboxWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * One outbox row per brand whose counts changed; must run inside the mutating transaction
+     */
+    public void write(UUID clientId, BrandCountDeltas deltas) {
+        Map<UUID, int[]> changes = deltas.nonZero();
+        if (changes.isEmpty()) {
+            return;
+        }
+        byte[] client = JdbcUuids.toBytes(clientId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EVENT, new ArrayList<>(changes.entrySet()), changes.size(),
+                (statement, change) -> {
+                    statement.setBytes(1, client);
+                    statement.setBytes(2, JdbcUuids.toBytes(change.getKey()));
+                    statement.setString(3, ProductOutboxEvent.TYPE_BRAND_PRODUCT_COUNTS);
+                    statement.setInt(4, change.getValue()[0]);
+                    statement.setInt(5, change.getValue()[1]);
+                    statement.setTimestamp(6, now);
+                });
+        log.debug("Queued product count changes for {} brands of client {}", changes.size(), clientId);
+    }
+}
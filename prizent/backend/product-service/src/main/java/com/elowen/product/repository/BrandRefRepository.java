@@ -0,0 +1,18 @@
+package com.elowen.product.repository;
+
+import com.elowen.product.entity.BrandRef;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the local replica of admin-service brands.
+ * Brands per client are few, so a client's whole set is read at once.
+ */
+@Repository
+public interface BrandRefRepository extends JpaRepository<BrandRef, UUID> {
+    
+    List<BrandRef> findAllByClientId(UUID clientId);
+}
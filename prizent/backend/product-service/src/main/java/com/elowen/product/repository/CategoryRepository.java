@@ -0,0 +1,98 @@
+package com.elowen.product.repository;
+
+import com.elowen.product.entity.Category;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for Category entities with STRICT tenant isolation.
+ * 
+ * Design Decisions:
+ * - Subtrees are selected with "path LIKE :pathPattern", the pattern being
+ *   CategoryPaths.subtreePattern(path) - a prefix, so an index range scan
+ * - Structural changes lock the rows they depend on (lockAll) and then
+ *   re-read paths; the path query returns a scalar so an entity already in
+ *   the persistence context never hides the locked row's current state
+ */
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, UUID> {
+    
+    /**
+     * Find category by ID within client's tenant boundary
+     * SECURITY: Prevents cross-tenant data access
+     */
+    Optional<Category> findByIdAndClientId(UUID id, UUID clientId);
+    
+    /**
+     * The client's whole tree; path order puts every parent before its children
+     */
+    List<Category> findAllByClientIdOrderByPathAsc(UUID clientId);
+    
+    /**
+     * Sibling name check; a null parentId checks the root categories
+     */
+    boolean existsByClientIdAndParentIdAndNameIgnoreCase(UUID clientId, UUID parentId, String name);
+    
+    boolean existsByClientIdAndParentId(UUID clientId, UUID parentId);
+    
+    @Query("SELECT c.path FROM Category c WHERE c.id = :id AND c.clientId = :clientId")
+    Optional<String> findPath(@Param("id") UUID id, @Param("clientId") UUID clientId);
+    
+    /**
+     * Lock the given categories (FOR UPDATE) until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Category c WHERE c.clientId = :clientId AND c.id IN :ids ORDER BY c.id")
+    List<Category> lockAll(@Param("clientId") UUID clientId, @Param("ids") Collection<UUID> ids);
+    
+    /**
+     * Read a category with a shared lock, so it cannot be deleted before a
+     * product referencing it commits
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM Category c WHERE c.id = :id AND c.clientId = :clientId")
+    Optional<Category> findShared(@Param("id") UUID id, @Param("clientId") UUID clientId);
+    
+    @Query("SELECT MAX(c.depth) FROM Category c WHERE c.clientId = :clientId AND c.path LIKE :pathPattern")
+    Integer findMaxDepth(@Param("clientId") UUID clientId, @Param("pathPattern") String pathPattern);
+    
+    /**
+     * Re-root a subtree in a single UPDATE: every path starting with the old
+     * path gets the new path as its prefix, depths shift by the same amount
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Category c " +
+           "SET c.path = CONCAT(:newPath, SUBSTRING(c.path, :oldPathLength + 1)), " +
+           "c.depth = c.depth + :depthDelta, c.version = c.version + 1, c.updateDateTime = :now " +
+           "WHERE c.clientId = :clientId AND c.path LIKE :pathPattern")
+    int moveSubtree(
+        @Param("clientId") UUID clientId,
+        @Param("pathPattern") String pathPattern,
+        @Param("oldPathLength") int oldPathLength,
+        @Param("newPath") String newPath,
+        @Param("depthDelta") int depthDelta,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Category c SET c.parentId = :parentId WHERE c.id = :id AND c.clientId = :clientId")
+    int updateParent(@Param("id") UUID id, @Param("clientId") UUID clientId, @Param("parentId") UUID parentId);
+    
+    /**
+     * Row count and newest change of the client's categories - tells a cached
+     * tree whether another instance changed it. Rows: count, max update time.
+     */
+    @Query("SELECT COUNT(c), MAX(c.updateDateTime) FROM Category c WHERE c.clientId = :clientId")
+    List<Object[]> findStamp(@Param("clientId") UUID clientId);
+}
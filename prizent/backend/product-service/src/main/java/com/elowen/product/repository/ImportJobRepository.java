@@ -0,0 +1,49 @@
+package com.elowen.product.repository;
+
+import com.elowen.product.entity.ImportJob;
+import com.elowen.product.entity.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for bulk import jobs, tenant-scoped for API reads.
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+    
+    Optional<ImportJob> findByIdAndClientId(UUID id, UUID clientId);
+    
+    List<ImportJob> findTop20ByClientIdOrderByCreateDateTimeDesc(UUID clientId);
+    
+    boolean existsByClientIdAndStatusIn(UUID clientId, Collection<ImportStatus> statuses);
+    
+    List<ImportJob> findAllByStatusIn(Collection<ImportStatus> statuses);
+    
+    /**
+     * Move a job to another status; only from one that is not finished yet
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.status = :status, j.message = :message, j.finishedAt = :finishedAt " +
+           "WHERE j.id = :id AND j.status IN (com.elowen.product.entity.ImportStatus.QUEUED, " +
+           "com.elowen.product.entity.ImportStatus.RUNNING)")
+    int finish(
+        @Param("id") UUID id,
+        @Param("status") ImportStatus status,
+        @Param("message") String message,
+        @Param("finishedAt") LocalDateTime finishedAt
+    );
+    
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = com.elowen.product.entity.ImportStatus.RUNNING, j.startedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.elowen.product.entity.ImportStatus.QUEUED")
+    int markRunning(@Param("id") UUID id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,19 @@
+package com.elowen.product.repository;
+
+import com.elowen.product.entity.ImportRowError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Row errors of import jobs; rows are written by ProductBatchWriter.
+ * Callers check job ownership first - errors carry no client_id.
+ */
+@Repository
+public interface ImportRowErrorRepository extends JpaRepository<ImportRowError, Long> {
+    
+    Page<ImportRowError> findAllByJobIdOrderByRowNumberAsc(UUID jobId, Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.elowen.product.repository;
+
+import com.elowen.product.entity.ProductChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read side of the product change feed; rows are written by ProductChangeLog.
+ */
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, UUID> {
+    
+    /**
+     * One page of a client's feed after a cursor - (client_id, seq) unique index
+     */
+    List<ProductChange> findByClientIdAndSeqGreaterThanOrderBySeqAsc(UUID clientId, long seq, Limit limit);
+}
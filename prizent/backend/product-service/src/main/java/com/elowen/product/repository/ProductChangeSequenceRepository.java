@@ -0,0 +1,14 @@
+package com.elowen.product.repository;
+
+import com.elowen.product.entity.ProductChangeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Read side of the per-client change sequences; updated by ProductChangeLog.
+ */
+@Repository
+public interface ProductChangeSequenceRepository extends JpaRepository<ProductChangeSequence, UUID> {
+}
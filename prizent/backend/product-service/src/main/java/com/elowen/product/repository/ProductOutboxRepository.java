@@ -0,0 +1,70 @@
+package com.elowen.product.repository;
+
+import com.elowen.product.entity.ProductOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the product outbox - same claim/lease protocol as admin-service's brand outbox.
+ * 
+ * NOTE: Not tenant-scoped on purpose - the relay delivers events of all
+ * clients. Never expose these methods through a tenant-facing controller.
+ */
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEvent, Long> {
+    
+    /**
+     * Lock the oldest claimable events (not dead, not leased); rows being
+     * claimed by another instance are skipped
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM ProductOutboxEvent e " +
+           "WHERE e.deadAt IS NULL AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) " +
+           "ORDER BY e.id")
+    List<ProductOutboxEvent> lockClaimable(@Param("now") LocalDateTime now, Pageable page);
+    
+    /**
+     * Lease locked events to this relay until `until` and count the attempt
+     */
+    @Modifying
+    @Query("UPDATE ProductOutboxEvent e SET e.claimedUntil = :until, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+    
+    /**
+     * Record a failed delivery; the lease becomes the retry backoff
+     */
+    @Modifying
+    @Query("UPDATE ProductOutboxEvent e SET e.lastError = :error, e.claimedUntil = :retryAt WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error, @Param("retryAt") LocalDateTime retryAt);
+    
+    /**
+     * Park an event that keeps failing
+     */
+    @Modifying
+    @Query("UPDATE ProductOutboxEvent e SET e.lastError = :error, e.deadAt = :now WHERE e.id = :id")
+    int markDead(@Param("id") Long id, @Param("error") String error, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM ProductOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Brands with changes not delivered yet; dead-lettered changes never will be
+     */
+    @Query("SELECT DISTINCT e.brandId FROM ProductOutboxEvent e WHERE e.deadAt IS NULL")
+    List<UUID> findPendingBrandIds();
+}
@@ -0,0 +1,100 @@
+package com.elowen.product.repository;
+
+import com.elowen.product.entity.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for Product entities with STRICT tenant isolation.
+ * 
+ * CRITICAL SECURITY RULES:
+ * - ALL queries MUST include client_id for tenant safety
+ * - NO findById() or findBySku() methods without tenant isolation
+ * 
+ * Design Decisions:
+ * - Listing is keyset-paged by SKU over uk_products_client_sku; OFFSET
+ *   paging degrades linearly on catalogs with hundreds of thousands of rows
+ * - Bulk writes do not go through this repository (see ProductBatchWriter)
+ */
+@Repository
+public interface ProductRepository extends JpaRepository<Product, UUID> {
+    
+    /**
+     * Find product by ID within client's tenant boundary
+     * SECURITY: Prevents cross-tenant data access
+     */
+    Optional<Product> findByIdAndClientId(UUID id, UUID clientId);
+    
+    Optional<Product> findByClientIdAndSku(UUID clientId, String sku);
+    
+    boolean existsByClientIdAndSku(UUID clientId, String sku);
+    
+    /**
+     * Products of a change feed page, within the client's tenant boundary
+     */
+    List<Product> findByClientIdAndIdIn(UUID clientId, Collection<UUID> ids);
+    
+    /**
+     * Next page of the client's catalog: SKUs after the given one, in SKU order
+     */
+    List<Product> findByClientIdAndSkuGreaterThanOrderBySkuAsc(UUID clientId, String afterSku, Limit limit);
+    
+    /**
+     * Next page of one brand's products, in SKU order
+     */
+    List<Product> findByClientIdAndBrandIdAndSkuGreaterThanOrderBySkuAsc(
+        UUID clientId, UUID brandId, String afterSku, Limit limit);
+    
+    /**
+     * Next page of the products in a category subtree, optionally of one brand, in SKU order.
+     * pathPattern is CategoryPaths.subtreePattern(path): the subtree is one
+     * range of the categories' (client_id, path) index, never a recursive walk.
+     */
+    @Query("SELECT p FROM Product p WHERE p.clientId = :clientId AND p.sku > :afterSku " +
+           "AND (:brandId IS NULL OR p.brandId = :brandId) " +
+           "AND p.categoryId IN (SELECT c.id FROM Category c " +
+           "WHERE c.clientId = :clientId AND c.path LIKE :pathPattern) " +
+           "ORDER BY p.sku")
+    List<Product> findInCategorySubtree(
+        @Param("clientId") UUID clientId,
+        @Param("brandId") UUID brandId,
+        @Param("pathPattern") String pathPattern,
+        @Param("afterSku") String afterSku,
+        Limit limit
+    );
+    
+    boolean existsByClientIdAndCategoryId(UUID clientId, UUID categoryId);
+    
+    /**
+     * Enabled and total products per (client, brand) - the full sync behind
+     * admin-service's brand product counts. Rows: clientId, brandId, enabled count, total count.
+     */
+    @Query("SELECT p.clientId, p.brandId, SUM(CASE WHEN p.enabled = true THEN 1 ELSE 0 END), COUNT(p) " +
+           "FROM Product p GROUP BY p.clientId, p.brandId")
+    List<Object[]> countByClientAndBrand();
+    
+    /**
+     * Set the enabled flag in a single tenant-scoped UPDATE, only if it changes.
+     * Returns 1 = state changed, 0 = not found for this client OR already in that state.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p " +
+           "SET p.enabled = :enabled, p.updateDateTime = :now, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND p.clientId = :clientId AND p.enabled <> :enabled")
+    int updateEnabledIfChanged(
+        @Param("id") UUID id,
+        @Param("clientId") UUID clientId,
+        @Param("enabled") boolean enabled,
+        @Param("now") LocalDateTime now
+    );
+}
@@ -0,0 +1,163 @@
+package com.elowen.product.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot files of tenant indexes: {index-dir}/{clientId}.snapshot.
+ *
+ * A snapshot holds the stored products only; postings are rebuilt on
+ * restore, which is CPU work and much cheaper than reading the catalog back
+ * from the database. Files are written to a temp file and moved into place,
+ * so a crash never leaves a half-written snapshot. An unreadable snapshot
+ * is ignored and the tenant is rebuilt from the database.
+ */
+final class IndexSnapshots {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexSnapshots.class);
+
+    private static final int MAGIC = 0x50534958; // "PSIX"
+    private static final int FORMAT_VERSION = 1;
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path directory;
+
+    IndexSnapshots(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create product search index directory " + directory, e);
+        }
+    }
+
+    /**
+     * Clients that have a snapshot on disk
+     */
+    List<UUID> clients() {
+        List<UUID> clients = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    clients.add(UUID.fromString(name.substring(0, name.length() - SUFFIX.length())));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring unexpected file {} in the search index directory", file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot list search index snapshots in {}: {}", directory, e.getMessage());
+        }
+        return clients;
+    }
+
+    void write(UUID clientId, List<IndexedProduct> products) throws IOException {
+        Path target = file(clientId);
+        Path temp = directory.resolve(clientId + SUFFIX + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(products.size());
+            for (IndexedProduct product : products) {
+                writeUuid(out, product.getId());
+                writeUuid(out, product.getBrandId());
+                out.writeUTF(product.getSku());
+                out.writeUTF(product.getName());
+                writeNullable(out, product.getEan());
+                out.writeBoolean(product.isEnabled());
+                out.writeLong(product.getVersion());
+                out.writeUTF(product.getUpdateDateTime().toString());
+                out.writeInt(product.getAttributes().size());
+                for (Map.Entry<String, String> attribute : product.getAttributes().entrySet()) {
+                    out.writeUTF(attribute.getKey());
+                    out.writeUTF(attribute.getValue());
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stored products of a client's snapshot; empty if there is none or it cannot be read
+     */
+    Optional<List<IndexedProduct>> read(UUID clientId) {
+        Path file = file(clientId);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                log.warn("Search index snapshot {} has an unknown format - rebuilding", file);
+                return Optional.empty();
+            }
+            int count = in.readInt();
+            List<IndexedProduct> products = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = readUuid(in);
+                UUID brandId = readUuid(in);
+                String sku = in.readUTF();
+                String name = in.readUTF();
+                String ean = readNullable(in);
+                boolean enabled = in.readBoolean();
+                long version = in.readLong();
+                LocalDateTime updated = LocalDateTime.parse(in.readUTF());
+                int attributeCount = in.readInt();
+                Map<String, String> attributes = new LinkedHashMap<>();
+                for (int a = 0; a < attributeCount; a++) {
+                    attributes.put(in.readUTF(), in.readUTF());
+                }
+                products.add(new IndexedProduct(id, brandId, sku, name, ean, enabled, attributes, version, updated));
+            }
+            return Optional.of(products);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Search index snapshot {} cannot be read ({}) - rebuilding", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Path file(UUID clientId) {
+        return directory.resolve(clientId + SUFFIX);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
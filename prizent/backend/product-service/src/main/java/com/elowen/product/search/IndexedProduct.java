@@ -0,0 +1,72 @@
+package com.elowen.product.search;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The fields of a product the search index keeps: enough to match, filter,
+ * facet and render a typeahead hit without reading the database.
+ */
+public final class IndexedProduct {
+
+    private final UUID id;
+    private final UUID brandId;
+    private final String sku;
+    private final String name;
+    private final String ean;
+    private final boolean enabled;
+    private final Map<String, String> attributes;
+    private final long version;
+    private final LocalDateTime updateDateTime;
+
+    IndexedProduct(UUID id, UUID brandId, String sku, String name, String ean, boolean enabled,
+                   Map<String, String> attributes, long version, LocalDateTime updateDateTime) {
+        this.id = id;
+        this.brandId = brandId;
+        this.sku = sku;
+        this.name = name;
+        this.ean = ean;
+        this.enabled = enabled;
+        this.attributes = attributes != null ? attributes : Collections.emptyMap();
+        this.version = version;
+        this.updateDateTime = updateDateTime;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getBrandId() {
+        return brandId;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEan() {
+        return ean;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+}
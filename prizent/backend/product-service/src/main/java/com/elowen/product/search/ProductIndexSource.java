@@ -0,0 +1,141 @@
+package com.elowen.product.search;
+
+import com.elowen.product.entity.ProductAttributesConverter;
+import com.elowen.product.repository.JdbcUuids;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads products for the search index with plain JDBC - rows go straight
+ * into IndexedProducts, no entities or persistence context.
+ *
+ * Per-client scans run on a read-only, forward-only cursor; MySQL ignores
+ * fetch sizes unless it streams (Integer.MIN_VALUE), and would otherwise
+ * buffer a large client's products on the heap.
+ */
+final class ProductIndexSource {
+
+    private static final String COLUMNS =
+            "id, brand_id, sku, name, ean, enabled, attributes, version, update_date_time";
+    private static final int ID_BATCH = 500;
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ProductAttributesConverter attributesConverter = new ProductAttributesConverter();
+
+    ProductIndexSource(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    void forEachProduct(UUID clientId, Consumer<IndexedProduct> consumer) {
+        jdbcTemplate.query(
+                connection -> cursor(connection, "SELECT " + COLUMNS + " FROM p_products WHERE client_id = ?",
+                        (Object) JdbcUuids.toBytes(clientId)),
+                resultSet -> {
+                    consumer.accept(product(resultSet));
+                });
+    }
+
+    /**
+     * Current rows of the given products; ids missing from the result no longer exist
+     */
+    List<IndexedProduct> findByIds(UUID clientId, Collection<UUID> ids) {
+        List<IndexedProduct> products = new ArrayList<>(ids.size());
+        List<byte[]> batch = new ArrayList<>(ID_BATCH);
+        for (UUID id : ids) {
+            batch.add(JdbcUuids.toBytes(id));
+            if (batch.size() == ID_BATCH) {
+                products.addAll(findBatch(clientId, batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            products.addAll(findBatch(clientId, batch));
+        }
+        return products;
+    }
+
+    /**
+     * id -> version of the products changed at or after `since`
+     */
+    Map<UUID, Long> versionsChangedSince(UUID clientId, LocalDateTime since) {
+        Map<UUID, Long> versions = new HashMap<>();
+        jdbcTemplate.query(
+                connection -> cursor(connection, "SELECT id, version FROM p_products WHERE client_id = ? AND update_date_time >= ?",
+                        JdbcUuids.toBytes(clientId), Timestamp.valueOf(since)),
+                resultSet -> {
+                    versions.put(JdbcUuids.fromBytes(resultSet.getBytes("id")), resultSet.getLong("version"));
+                });
+        return versions;
+    }
+
+    long count(UUID clientId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM p_products WHERE client_id = ?",
+                Long.class, (Object) JdbcUuids.toBytes(clientId));
+        return count != null ? count : 0;
+    }
+
+    Set<UUID> ids(UUID clientId) {
+        Set<UUID> ids = new HashSet<>();
+        jdbcTemplate.query(
+                connection -> cursor(connection, "SELECT id FROM p_products WHERE client_id = ?",
+                        (Object) JdbcUuids.toBytes(clientId)),
+                resultSet -> {
+                    ids.add(JdbcUuids.fromBytes(resultSet.getBytes("id")));
+                });
+        return ids;
+    }
+
+    private List<IndexedProduct> findBatch(UUID clientId, List<byte[]> ids) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("clientId", JdbcUuids.toBytes(clientId))
+                .addValue("ids", ids);
+        return namedJdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM p_products WHERE client_id = :clientId AND id IN (:ids)",
+                parameters, (resultSet, rowNumber) -> product(resultSet));
+    }
+
+    private static PreparedStatement cursor(Connection connection, String sql, Object... args) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+        for (int i = 0; i < args.length; i++) {
+            statement.setObject(i + 1, args[i]);
+        }
+        return statement;
+    }
+
+    private IndexedProduct product(ResultSet resultSet) throws SQLException {
+        Map<String, String> attributes = attributesConverter.convertToEntityAttribute(resultSet.getString("attributes"));
+        return new IndexedProduct(
+                JdbcUuids.fromBytes(resultSet.getBytes("id")),
+                JdbcUuids.fromBytes(resultSet.getBytes("brand_id")),
+                resultSet.getString("sku"),
+                resultSet.getString("name"),
+                resultSet.getString("ean"),
+                resultSet.getBoolean("enabled"),
+                attributes.isEmpty() ? null : attributes,
+                resultSet.getLong("version"),
+                resultSet.getTimestamp("update_date_time").toLocalDateTime());
+    }
+}
@@ -0,0 +1,305 @@
+package com.elowen.product.search;
+
+import com.elowen.product.event.ProductsChangedEvent;
+import com.elowen.product.exception.SearchIndexUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Embedded per-tenant product search: one TenantIndex per client, kept in
+ * memory and snapshotted to local files.
+ *
+ * LIFECYCLE (per client):
+ *   first search or startup restore -> open: snapshot + catch-up, or full
+ *   build from p_products -> updated from ProductsChangedEvent after every
+ *   committed write -> snapshotted while dirty -> refreshed periodically
+ *
+ * Design Decisions:
+ * - One indexer thread does every write (open, updates, catch-up,
+ *   snapshots), so a tenant index never has two writers and updates apply
+ *   in commit order
+ * - Change events carry product ids only; the indexer re-reads those rows
+ *   after commit, so it always indexes what the database holds
+ * - Catch-up compares versions of rows updated since the index watermark
+ *   (minus an overlap for long transactions) and compares row counts to
+ *   find deletes. It repairs a restored snapshot and picks up writes made
+ *   by other instances, which only raise events on their own instance
+ * - Searches of a tenant that is still opening wait up to load-timeout-ms,
+ *   then get 503
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private final ProductIndexSource source;
+    private final IndexSnapshots snapshots;
+    private final ExecutorService indexer;
+    private final Map<UUID, CompletableFuture<TenantIndex>> tenants = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> pendingChanges = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final long loadTimeoutMs;
+    private final long catchUpOverlapSeconds;
+    private final int maxPrefixTerms;
+
+    public ProductSearchIndex(
+            DataSource dataSource,
+            @Value("${product.search.index-dir:./data/product-search}") String indexDir,
+            @Value("${product.search.load-timeout-ms:10000}") long loadTimeoutMs,
+            @Value("${product.search.catch-up-overlap-seconds:120}") long catchUpOverlapSeconds,
+            @Value("${product.search.max-prefix-terms:512}") int maxPrefixTerms) {
+        this.source = new ProductIndexSource(dataSource);
+        this.snapshots = new IndexSnapshots(Paths.get(indexDir).toAbsolutePath().normalize());
+        this.indexer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.loadTimeoutMs = loadTimeoutMs;
+        this.catchUpOverlapSeconds = catchUpOverlapSeconds;
+        this.maxPrefixTerms = maxPrefixTerms;
+    }
+
+    public SearchResult search(UUID clientId, SearchQuery query) {
+        CompletableFuture<TenantIndex> tenant = tenant(clientId);
+        try {
+            return tenant.get(loadTimeoutMs, TimeUnit.MILLISECONDS).search(query, maxPrefixTerms);
+        } catch (TimeoutException e) {
+            throw new SearchIndexUnavailableException("Product search index is still loading - try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchIndexUnavailableException("Product search was interrupted");
+        } catch (ExecutionException e) {
+            tenants.remove(clientId, tenant);
+            throw new SearchIndexUnavailableException("Product search index could not be loaded");
+        }
+    }
+
+    /**
+     * Queue re-indexing of committed product changes; tenants not opened yet
+     * read the current rows when they open
+     */
+    @TransactionalEventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (!tenants.containsKey(event.getClientId()) || event.getProductIds().isEmpty()) {
+            return;
+        }
+        pendingChanges.computeIfAbsent(event.getClientId(), id -> ConcurrentHashMap.newKeySet())
+                .addAll(event.getProductIds());
+        scheduleDrain();
+    }
+
+    /**
+     * Restore every tenant with a snapshot, so the first searches after a restart are fast
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSnapshots() {
+        List<UUID> clients = snapshots.clients();
+        clients.forEach(this::tenant);
+        if (!clients.isEmpty()) {
+            log.info("Restoring {} product search index snapshots", clients.size());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${product.search.refresh-interval-ms:60000}",
+               fixedDelayString = "${product.search.refresh-interval-ms:60000}")
+    public void refresh() {
+        for (UUID clientId : openClients()) {
+            indexer.execute(() -> withOpenTenant(clientId, this::catchUp));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${product.search.snapshot-interval-ms:300000}",
+               fixedDelayString = "${product.search.snapshot-interval-ms:300000}")
+    public void snapshotDirty() {
+        indexer.execute(this::writeDirtySnapshots);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.execute(this::writeDirtySnapshots);
+        indexer.shutdown();
+        try {
+            if (!indexer.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Product search indexer did not finish its snapshots in time");
+                indexer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            indexer.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<TenantIndex> tenant(UUID clientId) {
+        return tenants.computeIfAbsent(clientId,
+                id -> CompletableFuture.supplyAsync(() -> open(id), indexer));
+    }
+
+    /**
+     * Runs on the indexer thread
+     */
+    private TenantIndex open(UUID clientId) {
+        long start = System.nanoTime();
+        TenantIndex index = new TenantIndex(clientId);
+        Optional<List<IndexedProduct>> snapshot = snapshots.read(clientId);
+        if (snapshot.isPresent()) {
+            snapshot.get().forEach(index::upsert);
+            index.markClean();
+            catchUp(index);
+            log.info("Restored search index of client {}: {} products in {} ms",
+                    clientId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        } else {
+            source.forEachProduct(clientId, index::upsert);
+            log.info("Built search index of client {}: {} products in {} ms",
+                    clientId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+        // Changes that arrived while this tenant was opening
+        scheduleDrain();
+        return index;
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            indexer.execute(() -> {
+                drainScheduled.set(false);
+                drainChanges();
+            });
+        }
+    }
+
+    /**
+     * Runs on the indexer thread
+     */
+    private void drainChanges() {
+        for (Map.Entry<UUID, Set<UUID>> entry : pendingChanges.entrySet()) {
+            UUID clientId = entry.getKey();
+            withOpenTenant(clientId, index -> {
+                Set<UUID> ids = new HashSet<>();
+                for (UUID id : entry.getValue()) {
+                    if (entry.getValue().remove(id)) {
+                        ids.add(id);
+                    }
+                }
+                if (!ids.isEmpty()) {
+                    try {
+                        reindex(index, ids);
+                    } catch (RuntimeException e) {
+                        // Keep them for the next drain
+                        entry.getValue().addAll(ids);
+                        throw e;
+                    }
+                }
+            });
+        }
+    }
+
+    private void reindex(TenantIndex index, Set<UUID> ids) {
+        Set<UUID> missing = new HashSet<>(ids);
+        for (IndexedProduct product : source.findByIds(index.getClientId(), ids)) {
+            index.upsert(product);
+            missing.remove(product.getId());
+        }
+        missing.forEach(index::remove);
+    }
+
+    /**
+     * Bring an index up to date with the database without re-reading it all
+     */
+    private void catchUp(TenantIndex index) {
+        UUID clientId = index.getClientId();
+        LocalDateTime watermark = index.getWatermark();
+        if (watermark != null) {
+            Set<UUID> stale = new HashSet<>();
+            source.versionsChangedSince(clientId, watermark.minusSeconds(catchUpOverlapSeconds))
+                    .forEach((id, version) -> {
+                        if (!version.equals(index.versionOf(id))) {
+                            stale.add(id);
+                        }
+                    });
+            if (!stale.isEmpty()) {
+                reindex(index, stale);
+            }
+        }
+        if (source.count(clientId) != index.size()) {
+            Set<UUID> current = source.ids(clientId);
+            Set<UUID> indexed = index.productIds();
+            Set<UUID> added = new HashSet<>(current);
+            added.removeAll(indexed);
+            indexed.removeAll(current);
+            indexed.forEach(index::remove);
+            if (!added.isEmpty()) {
+                reindex(index, added);
+            }
+            log.info("Search index of client {} caught up: {} missing, {} removed", clientId, added.size(), indexed.size());
+        }
+    }
+
+    private void writeDirtySnapshots() {
+        for (UUID clientId : openClients()) {
+            withOpenTenant(clientId, index -> {
+                if (!index.isDirty()) {
+                    return;
+                }
+                index.markClean();
+                try {
+                    snapshots.write(clientId, index.liveDocs());
+                } catch (IOException e) {
+                    log.warn("Could not write search index snapshot of client {}: {}", clientId, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private List<UUID> openClients() {
+        List<UUID> clients = new ArrayList<>();
+        tenants.forEach((clientId, tenant) -> {
+            if (tenant.isDone() && !tenant.isCompletedExceptionally()) {
+                clients.add(clientId);
+            }
+        });
+        return clients;
+    }
+
+    /**
+     * Run an indexer task on a tenant that finished opening; others are skipped
+     */
+    private void withOpenTenant(UUID clientId, Consumer<TenantIndex> task) {
+        CompletableFuture<TenantIndex> tenant = tenants.get(clientId);
+        if (tenant == null || !tenant.isDone() || tenant.isCompletedExceptionally()) {
+            return;
+        }
+        try {
+            task.accept(tenant.join());
+        } catch (RuntimeException e) {
+            log.warn("Search index update of client {} failed: {}", clientId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.elowen.product.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parsed search request.
+ *
+ * Query syntax (q):
+ * - Words must all match (name, SKU, EAN or attribute values)
+ * - The last word is a prefix unless q ends with a space - typeahead
+ * - "quoted words" must appear in the name in that order
+ * - A single word without spaces also matches as a SKU prefix, so
+ *   "ABC-12" finds SKU ABC-123 even though the tokenizer splits it
+ *
+ * Filters (brand, enabled, attribute name:value) restrict the matches;
+ * an empty q with filters lists everything they allow.
+ */
+public final class SearchQuery {
+
+    private static final Pattern PHRASE = Pattern.compile("\"([^\"]*)\"?");
+
+    private final List<String> terms;
+    private final String prefix;
+    private final List<List<String>> phrases;
+    private final String skuPrefix;
+    private final UUID brandId;
+    private final Boolean enabled;
+    private final Map<String, String> attributes;
+    private final List<String> facets;
+    private final int limit;
+
+    private SearchQuery(List<String> terms, String prefix, List<List<String>> phrases, String skuPrefix,
+                        UUID brandId, Boolean enabled, Map<String, String> attributes, List<String> facets,
+                        int limit) {
+        this.terms = terms;
+        this.prefix = prefix;
+        this.phrases = phrases;
+        this.skuPrefix = skuPrefix;
+        this.brandId = brandId;
+        this.enabled = enabled;
+        this.attributes = attributes;
+        this.facets = facets;
+        this.limit = limit;
+    }
+
+    /**
+     * @param attributeFilters "name:value" pairs
+     * @param facets attribute names to count values of among the matches
+     * @throws IllegalArgumentException for a malformed attribute filter
+     */
+    public static SearchQuery parse(String q, UUID brandId, Boolean enabled, List<String> attributeFilters,
+                                    List<String> facets, int limit) {
+        String text = q != null ? q : "";
+
+        List<List<String>> phrases = new ArrayList<>();
+        Matcher matcher = PHRASE.matcher(text);
+        StringBuilder rest = new StringBuilder();
+        while (matcher.find()) {
+            List<String> phrase = SearchTokenizer.tokens(matcher.group(1));
+            if (!phrase.isEmpty()) {
+                phrases.add(phrase);
+            }
+            matcher.appendReplacement(rest, " ");
+        }
+        matcher.appendTail(rest);
+
+        List<String> terms = new ArrayList<>(SearchTokenizer.tokens(rest.toString()));
+        String prefix = null;
+        String trimmed = rest.toString().trim();
+        if (!terms.isEmpty() && !trimmed.isEmpty() && !Character.isWhitespace(rest.charAt(rest.length() - 1))) {
+            prefix = terms.remove(terms.size() - 1);
+        }
+        String skuPrefix = phrases.isEmpty() && !trimmed.isEmpty() && trimmed.chars().noneMatch(Character::isWhitespace)
+                ? SearchTokenizer.normalize(trimmed) : null;
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        if (attributeFilters != null) {
+            for (String filter : attributeFilters) {
+                int colon = filter.indexOf(':');
+                if (colon <= 0 || colon == filter.length() - 1) {
+                    throw new IllegalArgumentException("attr must be name:value, got '" + filter + "'");
+                }
+                attributes.put(SearchTokenizer.normalize(filter.substring(0, colon)),
+                        SearchTokenizer.normalize(filter.substring(colon + 1)));
+            }
+        }
+        List<String> facetNames = new ArrayList<>();
+        if (facets != null) {
+            facets.stream().map(SearchTokenizer::normalize).filter(name -> !name.isEmpty())
+                    .distinct().forEach(facetNames::add);
+        }
+
+        return new SearchQuery(terms, prefix, phrases, skuPrefix, brandId, enabled,
+                Collections.unmodifiableMap(attributes), facetNames, limit);
+    }
+
+    List<String> getTerms() {
+        return terms;
+    }
+
+    String getPrefix() {
+        return prefix;
+    }
+
+    List<List<String>> getPhrases() {
+        return phrases;
+    }
+
+    String getSkuPrefix() {
+        return skuPrefix;
+    }
+
+    UUID getBrandId() {
+        return brandId;
+    }
+
+    Boolean getEnabled() {
+        return enabled;
+    }
+
+    Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    List<String> getFacets() {
+        return facets;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    boolean hasText() {
+        return !terms.isEmpty() || prefix != null || !phrases.isEmpty();
+    }
+}
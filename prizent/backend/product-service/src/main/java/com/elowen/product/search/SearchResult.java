@@ -0,0 +1,40 @@
+package com.elowen.product.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Best hits of a search plus counts over all of its matches
+ */
+public final class SearchResult {
+
+    private final int total;
+    private final List<IndexedProduct> hits;
+    private final Map<UUID, Integer> brandCounts;
+    private final Map<String, Map<String, Integer>> facets;
+
+    SearchResult(int total, List<IndexedProduct> hits, Map<UUID, Integer> brandCounts,
+                 Map<String, Map<String, Integer>> facets) {
+        this.total = total;
+        this.hits = hits;
+        this.brandCounts = brandCounts;
+        this.facets = facets;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<IndexedProduct> getHits() {
+        return hits;
+    }
+
+    public Map<UUID, Integer> getBrandCounts() {
+        return brandCounts;
+    }
+
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,463 @@
+package com.elowen.product.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over the products of one client.
+ *
+ * STRUCTURE:
+ *   term -> postings (ascending doc numbers), terms kept sorted for prefix expansion
+ *     n:word   name words          s:word   SKU parts     k:sku   whole SKU
+ *     v:word   attribute values    e:ean    EAN           b:brand brand id
+ *     a:name\0value   exact attribute filter
+ *   doc number -> stored product (null once replaced or removed)
+ *
+ * Design Decisions:
+ * - Doc numbers are only appended: a changed product gets a new number and
+ *   the old one is cleared from the live set, so postings never need
+ *   in-place edits. Dead numbers are compacted away once they are the
+ *   majority
+ * - Matching works on BitSets - one per query clause, intersected
+ * - Phrases are checked against the stored name of the candidates that
+ *   contain all their words, instead of storing word positions
+ * - Single writer (ProductSearchIndex's indexer thread), many readers,
+ *   separated by a read/write lock
+ */
+final class TenantIndex {
+
+    private static final int COMPACT_MIN_DEAD = 1024;
+    private static final int MAX_FACET_VALUES = 20;
+
+    private final UUID clientId;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<IndexedProduct> docs = new ArrayList<>();
+    private final Map<UUID, Integer> docNumbers = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet enabled = new BitSet();
+    private LocalDateTime watermark;
+    private volatile boolean dirty;
+
+    TenantIndex(UUID clientId) {
+        this.clientId = clientId;
+    }
+
+    UUID getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Newest update_date_time indexed - catch-up reads changes from here
+     */
+    LocalDateTime getWatermark() {
+        lock.readLock().lock();
+        try {
+            return watermark;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markClean() {
+        dirty = false;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docNumbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed version of a product; null if it is not indexed
+     */
+    Long versionOf(UUID productId) {
+        lock.readLock().lock();
+        try {
+            Integer doc = docNumbers.get(productId);
+            return doc != null ? docs.get(doc).getVersion() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Set<UUID> productIds() {
+        lock.readLock().lock();
+        try {
+            return new LinkedHashSet<>(docNumbers.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<IndexedProduct> liveDocs() {
+        lock.readLock().lock();
+        try {
+            List<IndexedProduct> result = new ArrayList<>(docNumbers.size());
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                result.add(docs.get(doc));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void upsert(IndexedProduct product) {
+        lock.writeLock().lock();
+        try {
+            clear(product.getId());
+            add(product);
+            compactIfSparse();
+            if (watermark == null || product.getUpdateDateTime().isAfter(watermark)) {
+                watermark = product.getUpdateDateTime();
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            if (clear(productId)) {
+                dirty = true;
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    SearchResult search(SearchQuery query, int maxPrefixTerms) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = match(query, maxPrefixTerms);
+            return collect(query, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet match(SearchQuery query, int maxPrefixTerms) {
+        BitSet matches = (BitSet) live.clone();
+
+        if (query.hasText()) {
+            BitSet text = (BitSet) live.clone();
+            for (String term : query.getTerms()) {
+                text.and(anyField(term));
+            }
+            if (query.getPrefix() != null) {
+                text.and(anyFieldPrefix(query.getPrefix(), maxPrefixTerms));
+            }
+            for (List<String> phrase : query.getPhrases()) {
+                for (String word : phrase) {
+                    text.and(postings("n:" + word));
+                }
+            }
+            if (!query.getPhrases().isEmpty()) {
+                for (int doc = text.nextSetBit(0); doc >= 0; doc = text.nextSetBit(doc + 1)) {
+                    if (!containsPhrases(docs.get(doc).getName(), query.getPhrases())) {
+                        text.clear(doc);
+                    }
+                }
+            }
+            if (query.getSkuPrefix() != null) {
+                text.or(prefixPostings("k:" + query.getSkuPrefix(), maxPrefixTerms));
+            }
+            matches.and(text);
+        }
+
+        if (query.getBrandId() != null) {
+            matches.and(postings("b:" + query.getBrandId()));
+        }
+        if (query.getEnabled() != null) {
+            if (query.getEnabled()) {
+                matches.and(enabled);
+            } else {
+                matches.andNot(enabled);
+            }
+        }
+        for (Map.Entry<String, String> filter : query.getAttributes().entrySet()) {
+            matches.and(postings(attributeTerm(filter.getKey(), filter.getValue())));
+        }
+        return matches;
+    }
+
+    /**
+     * Count brands and requested facets over all matches; keep the best `limit` hits
+     */
+    private SearchResult collect(SearchQuery query, BitSet matches) {
+        PriorityQueue<Scored> best = new PriorityQueue<>(Math.max(1, query.getLimit()), Scored.RANKING.reversed());
+        Map<UUID, Integer> brandCounts = new HashMap<>();
+        Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+        query.getFacets().forEach(name -> facetCounts.put(name, new HashMap<>()));
+
+        int total = 0;
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            IndexedProduct product = docs.get(doc);
+            total++;
+            brandCounts.merge(product.getBrandId(), 1, Integer::sum);
+            if (!facetCounts.isEmpty()) {
+                for (Map.Entry<String, String> attribute : product.getAttributes().entrySet()) {
+                    Map<String, Integer> counts = facetCounts.get(SearchTokenizer.normalize(attribute.getKey()));
+                    if (counts != null) {
+                        counts.merge(SearchTokenizer.normalize(attribute.getValue()), 1, Integer::sum);
+                    }
+                }
+            }
+            if (query.getLimit() > 0) {
+                best.add(new Scored(product, score(query, product)));
+                if (best.size() > query.getLimit()) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<IndexedProduct> hits = best.stream()
+                .sorted(Scored.RANKING)
+                .map(scored -> scored.product)
+                .collect(Collectors.toList());
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facetCounts.forEach((name, counts) -> facets.put(name, topValues(counts)));
+        return new SearchResult(total, hits, brandCounts, facets);
+    }
+
+    /**
+     * Exact SKU, then SKU prefix, then names starting with the first word
+     */
+    private static int score(SearchQuery query, IndexedProduct product) {
+        int score = 0;
+        String sku = query.getSkuPrefix();
+        if (sku != null) {
+            String productSku = SearchTokenizer.normalize(product.getSku());
+            if (productSku.equals(sku)) {
+                score += 100;
+            } else if (productSku.startsWith(sku)) {
+                score += 50;
+            }
+        }
+        String first = !query.getTerms().isEmpty() ? query.getTerms().get(0) : query.getPrefix();
+        if (first != null && SearchTokenizer.normalize(product.getName()).startsWith(first)) {
+            score += 10;
+        }
+        return score;
+    }
+
+    private static Map<String, Integer> topValues(Map<String, Integer> counts) {
+        Map<String, Integer> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_FACET_VALUES)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    private static boolean containsPhrases(String name, List<List<String>> phrases) {
+        List<String> words = SearchTokenizer.tokens(name);
+        for (List<String> phrase : phrases) {
+            if (indexOf(words, phrase) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(List<String> words, List<String> phrase) {
+        for (int start = 0; start + phrase.size() <= words.size(); start++) {
+            if (words.subList(start, start + phrase.size()).equals(phrase)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private BitSet anyField(String word) {
+        BitSet bits = new BitSet();
+        for (String field : new String[] {"n:", "s:", "v:", "e:"}) {
+            Postings postings = terms.get(field + word);
+            if (postings != null) {
+                postings.addTo(bits);
+            }
+        }
+        return bits;
+    }
+
+    private BitSet anyFieldPrefix(String prefix, int maxTerms) {
+        BitSet bits = new BitSet();
+        int budget = maxTerms;
+        for (String field : new String[] {"n:", "s:", "v:", "e:"}) {
+            budget -= addPrefix(field + prefix, bits, budget);
+        }
+        return bits;
+    }
+
+    private BitSet prefixPostings(String prefix, int maxTerms) {
+        BitSet bits = new BitSet();
+        addPrefix(prefix, bits, maxTerms);
+        return bits;
+    }
+
+    /**
+     * Union the postings of up to maxTerms terms starting with prefix; returns terms used
+     */
+    private int addPrefix(String prefix, BitSet bits, int maxTerms) {
+        if (maxTerms <= 0) {
+            return 0;
+        }
+        SortedMap<String, Postings> range = terms.subMap(prefix, prefix + Character.MAX_VALUE);
+        int used = 0;
+        for (Postings postings : range.values()) {
+            postings.addTo(bits);
+            if (++used >= maxTerms) {
+                break;
+            }
+        }
+        return used;
+    }
+
+    private BitSet postings(String term) {
+        BitSet bits = new BitSet();
+        Postings postings = terms.get(term);
+        if (postings != null) {
+            postings.addTo(bits);
+        }
+        return bits;
+    }
+
+    private void add(IndexedProduct product) {
+        int doc = docs.size();
+        docs.add(product);
+        docNumbers.put(product.getId(), doc);
+        live.set(doc);
+        if (product.isEnabled()) {
+            enabled.set(doc);
+        }
+        for (String term : termsOf(product)) {
+            terms.computeIfAbsent(term, key -> new Postings()).add(doc);
+        }
+    }
+
+    private boolean clear(UUID productId) {
+        Integer doc = docNumbers.remove(productId);
+        if (doc == null) {
+            return false;
+        }
+        docs.set(doc, null);
+        live.clear(doc);
+        enabled.clear(doc);
+        return true;
+    }
+
+    /**
+     * Renumber the live docs and rebuild the postings once most numbers are dead
+     */
+    private void compactIfSparse() {
+        int dead = docs.size() - docNumbers.size();
+        if (dead < COMPACT_MIN_DEAD || dead < docNumbers.size()) {
+            return;
+        }
+        List<IndexedProduct> current = new ArrayList<>(docNumbers.size());
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            current.add(docs.get(doc));
+        }
+        docs.clear();
+        docNumbers.clear();
+        terms.clear();
+        live.clear();
+        enabled.clear();
+        current.forEach(this::add);
+    }
+
+    private static Set<String> termsOf(IndexedProduct product) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String word : SearchTokenizer.tokens(product.getName())) {
+            result.add("n:" + word);
+        }
+        for (String part : SearchTokenizer.tokens(product.getSku())) {
+            result.add("s:" + part);
+        }
+        result.add("k:" + SearchTokenizer.normalize(product.getSku()));
+        if (product.getEan() != null) {
+            result.add("e:" + product.getEan());
+        }
+        result.add("b:" + product.getBrandId());
+        for (Map.Entry<String, String> attribute : product.getAttributes().entrySet()) {
+            result.add(attributeTerm(SearchTokenizer.normalize(attribute.getKey()),
+                    SearchTokenizer.normalize(attribute.getValue())));
+            for (String word : SearchTokenizer.tokens(attribute.getValue())) {
+                result.add("v:" + word);
+            }
+        }
+        return result;
+    }
+
+    private static String attributeTerm(String name, String value) {
+        return "a:" + name + '\u0000' + value;
+    }
+
+    /**
+     * A hit with its score; higher scores first, then shorter names, then SKU
+     */
+    private static final class Scored {
+
+        static final Comparator<Scored> RANKING = Comparator.<Scored>comparingInt(scored -> -scored.score)
+                .thenComparingInt(scored -> scored.product.getName().length())
+                .thenComparing(scored -> scored.product.getSku());
+
+        private final IndexedProduct product;
+        private final int score;
+
+        Scored(IndexedProduct product, int score) {
+            this.product = product;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Ascending doc numbers of one term; appends only
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[2];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                int[] grown = new int[size + (size >> 1) + 1];
+                System.arraycopy(docs, 0, grown, 0, size);
+                docs = grown;
+            }
+            docs[size++] = doc;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(docs[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.elowen.product.service;
+
+import com.elowen.product.entity.BrandRef;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of one client's brands for product validation.
+ * 
+ * Built once per import and shared by all validation threads, so lookups
+ * need no locking and never touch the database.
+ * With require-known off, brand ids absent from the replica are accepted
+ * (names can still only resolve to known brands).
+ */
+public final class BrandDirectory {
+    
+    private final Map<UUID, BrandRef> byId = new HashMap<>();
+    private final Map<String, UUID> activeByName = new HashMap<>();
+    private final boolean requireKnown;
+    
+    BrandDirectory(List<BrandRef> brands, boolean requireKnown) {
+        this.requireKnown = requireKnown;
+        for (BrandRef brand : brands) {
+            byId.put(brand.getId(), brand);
+            if (brand.isActive() && brand.getName() != null) {
+                activeByName.put(brand.getName().toLowerCase(Locale.ROOT), brand.getId());
+            }
+        }
+    }
+    
+    /**
+     * Why a product cannot use this brand id, or null when it can
+     */
+    public String problemWith(UUID brandId) {
+        BrandRef brand = byId.get(brandId);
+        if (brand == null) {
+            return requireKnown ? "Brand " + brandId + " does not exist" : null;
+        }
+        if (Boolean.TRUE.equals(brand.getDeleted())) {
+            return "Brand " + brandId + " does not exist";
+        }
+        if (!Boolean.TRUE.equals(brand.getEnabled())) {
+            return "Brand " + brandId + " is disabled";
+        }
+        return null;
+    }
+    
+    /**
+     * Active brand with this name (case-insensitive), or null
+     */
+    public UUID findActiveByName(String name) {
+        return activeByName.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+}
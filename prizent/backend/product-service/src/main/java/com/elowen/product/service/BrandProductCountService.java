@@ -0,0 +1,42 @@
+package com.elowen.product.service;
+
+import com.elowen.product.dto.BrandProductCountSnapshot;
+import com.elowen.product.dto.BrandProductCountSnapshot.BrandProductCount;
+import com.elowen.product.repository.ProductOutboxRepository;
+import com.elowen.product.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Full per-brand product counts for admin-service's periodic reconciliation.
+ * 
+ * Counts and pending outbox brands are read in one read-only transaction,
+ * so on MySQL (REPEATABLE READ) both come from the same snapshot.
+ */
+@Service
+public class BrandProductCountService {
+    
+    private final ProductRepository productRepository;
+    private final ProductOutboxRepository outboxRepository;
+    
+    public BrandProductCountService(ProductRepository productRepository, ProductOutboxRepository outboxRepository) {
+        this.productRepository = productRepository;
+        this.outboxRepository = outboxRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public BrandProductCountSnapshot snapshot() {
+        LocalDateTime takenAt = LocalDateTime.now();
+        List<UUID> pending = outboxRepository.findPendingBrandIds();
+        List<BrandProductCount> counts = productRepository.countByClientAndBrand().stream()
+                .map(row -> new BrandProductCount((UUID) row[0], (UUID) row[1],
+                        ((Number) row[2]).longValue(), ((Number) row[3]).longValue()))
+                .collect(Collectors.toList());
+        return new BrandProductCountSnapshot(counts, pending, takenAt);
+    }
+}
@@ -0,0 +1,93 @@
+package com.elowen.product.service;
+
+import com.elowen.product.dto.BrandSnapshotPage;
+import com.elowen.product.security.ServiceTokenFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.UUID;
+
+/**
+ * Seeds the brand replica from admin-service's brand snapshot, shortly after
+ * startup and then periodically.
+ * 
+ * Outbox events keep the replica current; this pass fills in brands created
+ * before the outbox existed or while no HTTP sink was configured (see
+ * BrandRefService.seed). A failed page is logged and the pass is retried at
+ * the next interval - pages already seeded stay.
+ */
+@Component
+public class BrandRefSeeder {
+    
+    private static final Logger log = LoggerFactory.getLogger(BrandRefSeeder.class);
+    
+    private final BrandRefService brandRefService;
+    private final RestClient restClient;
+    private final String url;
+    private final int pageSize;
+    private final boolean enabled;
+    
+    public BrandRefSeeder(
+            BrandRefService brandRefService,
+            @Value("${product.brands.seed.enabled:true}") boolean enabled,
+            @Value("${product.brands.seed.url:http://localhost:8082/api/internal/brand-snapshot}") String url,
+            @Value("${product.brands.seed.page-size:1000}") int pageSize,
+            @Value("${product.brands.seed.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${product.brands.seed.read-timeout-ms:30000}") int readTimeoutMs,
+            @Value("${internal.service-token:}") String serviceToken) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        
+        this.brandRefService = brandRefService;
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .defaultHeader(ServiceTokenFilter.HEADER, serviceToken)
+                .build();
+        this.url = url;
+        this.pageSize = pageSize;
+        this.enabled = enabled;
+    }
+    
+    @Scheduled(initialDelayString = "${product.brands.seed.initial-delay-ms:5000}",
+               fixedDelayString = "${product.brands.seed.interval-ms:3600000}")
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        int read = 0;
+        int seeded = 0;
+        UUID after = null;
+        try {
+            do {
+                BrandSnapshotPage page = restClient.get().uri(pageUri(after)).retrieve().body(BrandSnapshotPage.class);
+                if (page == null) {
+                    break;
+                }
+                read += page.getBrands().size();
+                seeded += brandRefService.seed(page.getBrands());
+                after = page.getNextAfter();
+            } while (after != null);
+        } catch (Exception e) {
+            log.warn("Brand replica seed stopped after {} brands - {} failed: {}", read, url, e.getMessage());
+            return;
+        }
+        log.info("Brand replica seed: {} brands read, {} seeded in {} ms",
+                read, seeded, (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    private String pageUri(UUID after) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(url).queryParam("size", pageSize);
+        if (after != null) {
+            uri.queryParam("after", after);
+        }
+        return uri.toUriString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.elowen.product.service;
+
+import com.elowen.product.dto.BrandEventMessage;
+import com.elowen.product.dto.BrandSnapshotPage;
+import com.elowen.product.entity.BrandRef;
+import com.elowen.product.repository.BrandRefRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the local brand replica from admin-service outbox events.
+ * 
+ * Business Rules:
+ * - Events are applied idempotently: one not newer than the brand's
+ *   last_event_id is skipped, so redelivered or reordered batches are safe
+ * - DELETED leaves a tombstone; products keep their brand_id
+ * - Brands that predate the outbox come from admin-service's snapshot
+ *   (BrandRefSeeder) with last_event_id 0: any event wins over a seeded row,
+ *   and a seed never touches a brand an event has already written
+ * - The replica only feeds validation - product-service never changes brands
+ */
+@Service
+public class BrandRefService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BrandRefService.class);
+    
+    /**
+     * last_event_id of rows written by the snapshot seed - below every outbox id
+     */
+    private static final long SEEDED_EVENT_ID = 0L;
+    
+    private final BrandRefRepository brandRefRepository;
+    private final boolean requireKnown;
+    
+    public BrandRefService(BrandRefRepository brandRefRepository,
+                           @Value("${product.brands.require-known:true}") boolean requireKnown) {
+        this.brandRefRepository = brandRefRepository;
+        this.requireKnown = requireKnown;
+    }
+    
+    /**
+     * Apply one delivered batch; returns how many events changed the replica
+     */
+    @Transactional
+    public int apply(List<BrandEventMessage> events) {
+        int applied = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (BrandEventMessage event : events) {
+            if (event.getId() == null || event.getBrandId() == null || event.getClientId() == null) {
+                throw new IllegalArgumentException("Brand event needs id, clientId and brandId");
+            }
+            BrandRef brand = brandRefRepository.findById(event.getBrandId())
+                    .orElseGet(() -> new BrandRef(event.getBrandId(), event.getClientId()));
+            if (!brand.getClientId().equals(event.getClientId())) {
+                log.warn("Ignoring brand event {} - brand {} belongs to another client", event.getId(), event.getBrandId());
+                continue;
+            }
+            if (brand.getLastEventId() != null && brand.getLastEventId() >= event.getId()) {
+                log.debug("Skipping brand event {} for brand {} - already at {}", 
+                        event.getId(), event.getBrandId(), brand.getLastEventId());
+                continue;
+            }
+            
+            if ("DELETED".equals(event.getType())) {
+                brand.setDeleted(true);
+            } else {
+                JsonNode snapshot = event.getPayload() != null ? event.getPayload().path("brand") : null;
+                if (snapshot != null && snapshot.isObject()) {
+                    brand.setName(snapshot.path("name").asText(brand.getName()));
+                    brand.setEnabled(snapshot.path("enabled").asBoolean(true));
+                }
+                brand.setDeleted(false);
+            }
+            brand.setLastEventId(event.getId());
+            brand.setUpdateDateTime(now);
+            brandRefRepository.save(brand);
+            applied++;
+        }
+        log.info("Applied {} of {} brand events", applied, events.size());
+        return applied;
+    }
+    
+    /**
+     * Seed one snapshot page: insert unknown brands, refresh rows no event has
+     * written yet. Returns how many rows changed.
+     */
+    @Transactional
+    public int seed(List<BrandSnapshotPage.Item> brands) {
+        Map<UUID, BrandRef> known = brandRefRepository.findAllById(
+                brands.stream().map(BrandSnapshotPage.Item::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(BrandRef::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        int seeded = 0;
+        for (BrandSnapshotPage.Item item : brands) {
+            BrandRef brand = known.get(item.getId());
+            if (brand == null) {
+                brand = new BrandRef(item.getId(), item.getClientId());
+                brand.setLastEventId(SEEDED_EVENT_ID);
+            } else if (brand.getLastEventId() != SEEDED_EVENT_ID
+                    || (Objects.equals(item.getName(), brand.getName()) && item.isEnabled() == brand.getEnabled())) {
+                continue;
+            }
+            brand.setName(item.getName());
+            brand.setEnabled(item.isEnabled());
+            brand.setUpdateDateTime(now);
+            brandRefRepository.save(brand);
+            seeded++;
+        }
+        return seeded;
+    }
+    
+    @Transactional(readOnly = true)
+    public BrandDirectory directory(UUID clientId) {
+        return new BrandDirectory(brandRefRepository.findAllByClientId(clientId), requireKnown);
+    }
+    
+    /**
+     * Why a product of this client cannot use the brand, or null when it can
+     */
+    @Transactional(readOnly = true)
+    public String brandProblem(UUID clientId, UUID brandId) {
+        List<BrandRef> brand = brandRefRepository.findById(brandId)
+                .filter(ref -> ref.getClientId().equals(clientId))
+                .map(List::of)
+                .orElse(List.of());
+        return new BrandDirectory(brand, requireKnown).problemWith(brandId);
+    }
+}
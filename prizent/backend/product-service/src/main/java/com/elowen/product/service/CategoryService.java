@@ -0,0 +1,248 @@
+package com.elowen.product.service;
+
+import com.elowen.product.category.CategoryPaths;
+import com.elowen.product.category.CategoryTreeCache;
+import com.elowen.product.dto.CategoryResponse;
+import com.elowen.product.dto.CreateCategoryRequest;
+import com.elowen.product.dto.MoveCategoryRequest;
+import com.elowen.product.dto.UpdateCategoryRequest;
+import com.elowen.product.entity.Category;
+import com.elowen.product.event.CategoriesChangedEvent;
+import com.elowen.product.exception.CategoryInUseException;
+import com.elowen.product.exception.CategoryNameAlreadyExistsException;
+import com.elowen.product.exception.CategoryNotFoundException;
+import com.elowen.product.repository.CategoryRepository;
+import com.elowen.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Category tree operations with tenant isolation.
+ *
+ * Business Rules:
+ * - Sibling names are unique per parent (case-insensitive)
+ * - At most CategoryPaths.MAX_DEPTH + 1 levels
+ * - A move takes the whole subtree along in one bulk UPDATE; a category
+ *   cannot be moved under itself or its own descendants
+ * - Only empty leaves can be deleted: no sub-categories, no products
+ * - Reads of the whole tree come from the in-memory snapshot
+ *   (CategoryTreeCache), which is rebuilt after every committed change
+ *
+ * Concurrency: writes lock (FOR UPDATE) the categories whose paths they
+ * depend on - the category, the new parent and the parent's ancestors -
+ * before reading those paths. A concurrent move of any of them has to
+ * update a locked row, so it waits, and the cycle check always sees
+ * committed paths.
+ */
+@Service
+public class CategoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final CategoryTreeCache treeCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository,
+                           CategoryTreeCache treeCache, ApplicationEventPublisher eventPublisher) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.treeCache = treeCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * The client's whole tree: roots with nested children, sorted by name
+     */
+    public List<CategoryResponse> getTree(UUID clientId) {
+        return treeCache.tree(clientId).roots().stream()
+                .map(CategoryResponse::fromNode)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public CategoryResponse getCategory(UUID categoryId, UUID clientId) {
+        return CategoryResponse.fromEntity(categoryRepository.findByIdAndClientId(categoryId, clientId)
+                .orElseThrow(() -> new CategoryNotFoundException(categoryId, clientId)));
+    }
+
+    @Transactional
+    public CategoryResponse createCategory(CreateCategoryRequest request, UUID clientId) {
+        String name = request.getName().trim();
+        Category parent = null;
+        if (request.getParentId() != null) {
+            // Locked: sibling checks under one parent run one at a time
+            parent = lock(clientId, Set.of(request.getParentId())).get(request.getParentId());
+            if (parent == null) {
+                throw new IllegalArgumentException("Unknown parent category " + request.getParentId());
+            }
+            requireDepth(parent.getDepth() + 1);
+        }
+        requireUniqueName(clientId, request.getParentId(), name);
+
+        try {
+            Category saved = categoryRepository.saveAndFlush(new Category(clientId, parent, name));
+            publishChange(clientId);
+            log.info("Created category {} ('{}') for client {}", saved.getId(), name, clientId);
+            return CategoryResponse.fromEntity(saved);
+        } catch (DataIntegrityViolationException e) {
+            throw new CategoryNameAlreadyExistsException(name);
+        }
+    }
+
+    @Transactional
+    public CategoryResponse renameCategory(UUID categoryId, UpdateCategoryRequest request, UUID clientId) {
+        Category category = lockExisting(clientId, categoryId);
+        String name = request.getName().trim();
+        if (name.equals(category.getName())) {
+            return CategoryResponse.fromEntity(category);
+        }
+        if (!name.equalsIgnoreCase(category.getName())) {
+            requireUniqueName(clientId, category.getParentId(), name);
+        }
+
+        category.setName(name);
+        try {
+            Category saved = categoryRepository.saveAndFlush(category);
+            publishChange(clientId);
+            return CategoryResponse.fromEntity(saved);
+        } catch (DataIntegrityViolationException e) {
+            throw new CategoryNameAlreadyExistsException(name);
+        }
+    }
+
+    /**
+     * Re-parent a category together with all its descendants
+     */
+    @Transactional
+    public CategoryResponse moveCategory(UUID categoryId, MoveCategoryRequest request, UUID clientId) {
+        UUID parentId = request.getParentId();
+        if (categoryId.equals(parentId)) {
+            throw new IllegalArgumentException("A category cannot be moved under itself");
+        }
+
+        Set<UUID> lockIds = new LinkedHashSet<>();
+        lockIds.add(categoryId);
+        if (parentId != null) {
+            String parentPath = categoryRepository.findPath(parentId, clientId)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown parent category " + parentId));
+            lockIds.addAll(CategoryPaths.ids(parentPath));
+        }
+        Map<UUID, Category> locked = lock(clientId, lockIds);
+        Category category = locked.get(categoryId);
+        if (category == null) {
+            throw new CategoryNotFoundException(categoryId, clientId);
+        }
+        Category parent = parentId != null ? locked.get(parentId) : null;
+        if (parentId != null && parent == null) {
+            throw new IllegalArgumentException("Unknown parent category " + parentId);
+        }
+        if (Objects.equals(category.getParentId(), parentId)) {
+            return CategoryResponse.fromEntity(category);
+        }
+        if (parent != null && CategoryPaths.isWithin(parent.getPath(), category.getPath())) {
+            throw new IllegalArgumentException("A category cannot be moved under one of its own sub-categories");
+        }
+
+        String oldPath = category.getPath();
+        String pattern = CategoryPaths.subtreePattern(oldPath);
+        int depthDelta = (parent != null ? parent.getDepth() + 1 : 0) - category.getDepth();
+        Integer deepest = categoryRepository.findMaxDepth(clientId, pattern);
+        requireDepth((deepest != null ? deepest : category.getDepth()) + depthDelta);
+        requireUniqueName(clientId, parentId, category.getName());
+
+        String newPath = CategoryPaths.childPath(parent != null ? parent.getPath() : null, categoryId);
+        try {
+            int moved = categoryRepository.moveSubtree(
+                    clientId, pattern, oldPath.length(), newPath, depthDelta, LocalDateTime.now());
+            categoryRepository.updateParent(categoryId, clientId, parentId);
+            log.info("Moved category {} with {} descendants under {} for client {}",
+                    categoryId, moved - 1, parentId != null ? parentId : "the root", clientId);
+        } catch (DataIntegrityViolationException e) {
+            throw new CategoryNameAlreadyExistsException(category.getName());
+        }
+        publishChange(clientId);
+        return getCategory(categoryId, clientId);
+    }
+
+    @Transactional
+    public void deleteCategory(UUID categoryId, UUID clientId) {
+        Category category = lockExisting(clientId, categoryId);
+        if (categoryRepository.existsByClientIdAndParentId(clientId, categoryId)) {
+            throw new CategoryInUseException(categoryId, "Category has sub-categories - delete or move them first");
+        }
+        if (productRepository.existsByClientIdAndCategoryId(clientId, categoryId)) {
+            throw new CategoryInUseException(categoryId, "Category still has products - move them first");
+        }
+        categoryRepository.delete(category);
+        publishChange(clientId);
+        log.info("Deleted category {} ('{}') for client {}", categoryId, category.getName(), clientId);
+    }
+
+    /**
+     * Why a product of this client cannot use the category, or null when it can.
+     * Joins the caller's transaction and share-locks the category, so it
+     * cannot be deleted before the product commits.
+     */
+    @Transactional
+    public String categoryProblem(UUID clientId, UUID categoryId) {
+        return categoryRepository.findShared(categoryId, clientId).isPresent()
+                ? null
+                : "Unknown category " + categoryId;
+    }
+
+    /**
+     * Materialized path of a category, for subtree queries
+     */
+    @Transactional(readOnly = true)
+    public String categoryPath(UUID clientId, UUID categoryId) {
+        return categoryRepository.findPath(categoryId, clientId)
+                .orElseThrow(() -> new CategoryNotFoundException(categoryId, clientId));
+    }
+
+    private Category lockExisting(UUID clientId, UUID categoryId) {
+        Category category = lock(clientId, Set.of(categoryId)).get(categoryId);
+        if (category == null) {
+            log.warn("Category {} not found for client {}", categoryId, clientId);
+            throw new CategoryNotFoundException(categoryId, clientId);
+        }
+        return category;
+    }
+
+    private Map<UUID, Category> lock(UUID clientId, Set<UUID> ids) {
+        return categoryRepository.lockAll(clientId, ids).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    private void requireUniqueName(UUID clientId, UUID parentId, String name) {
+        if (categoryRepository.existsByClientIdAndParentIdAndNameIgnoreCase(clientId, parentId, name)) {
+            throw new CategoryNameAlreadyExistsException(name);
+        }
+    }
+
+    private static void requireDepth(int depth) {
+        if (depth > CategoryPaths.MAX_DEPTH) {
+            throw new IllegalArgumentException(String.format(
+                    "Categories cannot be nested more than %d levels deep", CategoryPaths.MAX_DEPTH + 1));
+        }
+    }
+
+    private void publishChange(UUID clientId) {
+        eventPublisher.publishEvent(new CategoriesChangedEvent(clientId));
+    }
+}
@@ -0,0 +1,91 @@
+package com.elowen.product.service;
+
+import com.elowen.product.dto.ProductChangeFeedResponse;
+import com.elowen.product.dto.ProductResponse;
+import com.elowen.product.entity.Product;
+import com.elowen.product.entity.ProductChange;
+import com.elowen.product.entity.ProductChangeSequence;
+import com.elowen.product.exception.ChangeCursorExpiredException;
+import com.elowen.product.repository.ProductChangeRepository;
+import com.elowen.product.repository.ProductChangeSequenceRepository;
+import com.elowen.product.repository.ProductRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental product sync: what changed in a client's catalog since a cursor.
+ * 
+ * Business Rules:
+ * - The cursor is the seq of the last change a consumer applied; 0 reads
+ *   the whole feed, i.e. every product plus recent deletes
+ * - Each product appears at most once, at its latest change
+ * - Cursors older than the purged tombstones get 410: resync from 0
+ * - A product deleted while its page is read is left out; its DELETE
+ *   follows at a later seq
+ */
+@Service
+public class ProductChangeFeedService {
+    
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 1000;
+    
+    private final ProductChangeRepository changeRepository;
+    private final ProductChangeSequenceRepository sequenceRepository;
+    private final ProductRepository productRepository;
+    
+    public ProductChangeFeedService(ProductChangeRepository changeRepository,
+                                    ProductChangeSequenceRepository sequenceRepository,
+                                    ProductRepository productRepository) {
+        this.changeRepository = changeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.productRepository = productRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public ProductChangeFeedResponse changesSince(UUID clientId, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        long cursor = Math.max(0, since);
+        if (cursor > 0) {
+            long purgedThrough = sequenceRepository.findById(clientId)
+                    .map(ProductChangeSequence::getPurgedThroughSeq)
+                    .orElse(0L);
+            if (cursor < purgedThrough) {
+                throw new ChangeCursorExpiredException(cursor, purgedThrough);
+            }
+        }
+        
+        List<ProductChange> page = changeRepository.findByClientIdAndSeqGreaterThanOrderBySeqAsc(
+                clientId, cursor, Limit.of(pageSize));
+        List<UUID> upserted = page.stream()
+                .filter(change -> !change.isDelete())
+                .map(ProductChange::getProductId)
+                .collect(Collectors.toList());
+        Map<UUID, Product> products = upserted.isEmpty() ? Map.of()
+                : productRepository.findByClientIdAndIdIn(clientId, upserted).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+        
+        List<ProductChangeFeedResponse.Change> changes = new ArrayList<>(page.size());
+        for (ProductChange change : page) {
+            if (change.isDelete()) {
+                changes.add(new ProductChangeFeedResponse.Change(
+                        change.getSeq(), change.getChangeType(), change.getProductId(), change.getSku(), null));
+                continue;
+            }
+            Product product = products.get(change.getProductId());
+            if (product != null) {
+                changes.add(new ProductChangeFeedResponse.Change(change.getSeq(), change.getChangeType(),
+                        change.getProductId(), product.getSku(), ProductResponse.fromEntity(product)));
+            }
+        }
+        long nextCursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getSeq();
+        return new ProductChangeFeedResponse(changes, nextCursor, page.size() == pageSize);
+    }
+}
@@ -0,0 +1,103 @@
+package com.elowen.product.service;
+
+import com.elowen.product.exception.ExportUnavailableException;
+import com.elowen.product.export.ExportFormat;
+import com.elowen.product.export.ProductExporter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Whole-catalog export for marketplace uploads and BI, streamed as the
+ * response body.
+ * 
+ * Business Rules:
+ * - A client only ever exports its own products
+ * - At most max-concurrent exports stream at a time - each holds a database
+ *   connection for its whole duration; others get 503 with Retry-After
+ * - The slot is freed when the body finishes or, if the body never runs
+ *   (async timeout, client gone before dispatch), when the request completes
+ * - An export that fails midway ends the response without its final chunk,
+ *   so clients see a truncated transfer rather than a short, valid-looking file
+ */
+@Service
+public class ProductExportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductExportService.class);
+    
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+    
+    private static final String SLOT_INTERCEPTOR_KEY = ProductExportService.class.getName() + ".slot";
+    
+    private final ProductExporter exporter;
+    private final Semaphore exportSlots;
+    
+    public ProductExportService(ProductExporter exporter,
+                                @Value("${product.export.max-concurrent:2}") int maxConcurrent) {
+        this.exporter = exporter;
+        this.exportSlots = new Semaphore(maxConcurrent);
+    }
+    
+    /**
+     * Reserve an export slot for this request and return the body that streams the export.
+     * Call last in the handler - the slot is only tied to the request's async lifecycle.
+     */
+    public StreamingResponseBody export(HttpServletRequest request, UUID clientId, UUID brandId,
+                                        LocalDateTime updatedSince, ExportFormat format, boolean gzip) {
+        if (!exportSlots.tryAcquire()) {
+            throw new ExportUnavailableException("Too many catalog exports are running - try again shortly");
+        }
+        AtomicBoolean held = new AtomicBoolean(true);
+        Runnable releaseSlot = () -> {
+            if (held.compareAndSet(true, false)) {
+                exportSlots.release();
+            }
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(SLOT_INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        releaseSlot.run();
+                    }
+                });
+        
+        return out -> {
+            long start = System.nanoTime();
+            try {
+                long rows = gzip ? exportGzipped(clientId, brandId, updatedSince, format, out)
+                                 : exporter.export(clientId, brandId, updatedSince, format, out);
+                log.info("Exported {} products of client {} as {}{} in {} ms", rows, clientId, format,
+                        gzip ? " (gzip)" : "", (System.nanoTime() - start) / 1_000_000);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Export of client {} failed after {} ms: {}", clientId,
+                        (System.nanoTime() - start) / 1_000_000, e.getMessage());
+                throw e;
+            } finally {
+                releaseSlot.run();
+            }
+        };
+    }
+    
+    private long exportGzipped(UUID clientId, UUID brandId, LocalDateTime updatedSince, ExportFormat format,
+                               OutputStream out) throws IOException {
+        GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_BYTES);
+        long rows = exporter.export(clientId, brandId, updatedSince, format, gzipOut);
+        gzipOut.finish();
+        return rows;
+    }
+}
@@ -0,0 +1,233 @@
+package com.elowen.product.service;
+
+import com.elowen.product.dto.ImportJobResponse;
+import com.elowen.product.dto.ImportRowErrorResponse;
+import com.elowen.product.entity.ImportFormat;
+import com.elowen.product.entity.ImportJob;
+import com.elowen.product.entity.ImportMode;
+import com.elowen.product.entity.ImportStatus;
+import com.elowen.product.exception.ImportJobNotFoundException;
+import com.elowen.product.exception.ImportRejectedException;
+import com.elowen.product.ingest.ImportJobRunner;
+import com.elowen.product.repository.ImportJobRepository;
+import com.elowen.product.repository.ImportRowErrorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts product feeds and reports on their import.
+ *
+ * Business Rules:
+ * - The request body is the feed itself (no multipart); Content-Type picks
+ *   the format and Content-Encoding: gzip is accepted as is
+ * - The feed is spooled to disk before 202 is returned, so the upload never
+ *   waits for validation or the database
+ * - One active import per client - a second upload gets 409 until the
+ *   first finishes or is cancelled
+ * - Progress and row errors come from the database, so any instance can
+ *   answer for a job
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final EnumSet<ImportStatus> ACTIVE = EnumSet.of(ImportStatus.QUEUED, ImportStatus.RUNNING);
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_CSV = MediaType.parseMediaType("application/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_ERROR_PAGE_SIZE = 1000;
+
+    private final ImportJobRepository jobRepository;
+    private final ImportRowErrorRepository errorRepository;
+    private final ImportJobRunner runner;
+    private final long maxUploadBytes;
+
+    public ProductImportService(
+            ImportJobRepository jobRepository,
+            ImportRowErrorRepository errorRepository,
+            ImportJobRunner runner,
+            @Value("${product.import.max-upload-bytes:536870912}") long maxUploadBytes) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.runner = runner;
+        this.maxUploadBytes = maxUploadBytes;
+    }
+
+    /**
+     * Spool an uploaded feed and queue its import
+     */
+    public ImportJobResponse startImport(UUID clientId, UUID userId, String contentType, String contentEncoding,
+                                         String mode, InputStream body) {
+        ImportFormat format = formatOf(contentType);
+        ImportMode importMode = modeOf(mode);
+        boolean gzip = isGzip(contentEncoding);
+
+        if (jobRepository.existsByClientIdAndStatusIn(clientId, ACTIVE)) {
+            throw new ImportRejectedException(HttpStatus.CONFLICT,
+                    "Another product import is still running for this client");
+        }
+
+        UUID jobId = UUID.randomUUID();
+        Path feed = runner.spoolFile(jobId, gzip);
+        long size = spool(body, feed);
+        ImportJob job;
+        try {
+            if (size == 0) {
+                throw new IllegalArgumentException("Feed is empty");
+            }
+            job = jobRepository.save(new ImportJob(jobId, clientId, userId, format, importMode, size));
+        } catch (RuntimeException e) {
+            deleteQuietly(feed);
+            throw e;
+        }
+
+        runner.submit(job, gzip);
+        log.info("Queued product import {} for client {}: {} {} bytes{}, mode {}",
+                jobId, clientId, format, size, gzip ? " (gzip)" : "", importMode);
+        return ImportJobResponse.fromEntity(job);
+    }
+
+    @Transactional(readOnly = true)
+    public ImportJobResponse getJob(UUID jobId, UUID clientId) {
+        return ImportJobResponse.fromEntity(findJob(jobId, clientId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ImportJobResponse> getRecentJobs(UUID clientId) {
+        return jobRepository.findTop20ByClientIdOrderByCreateDateTimeDesc(clientId).stream()
+                .map(ImportJobResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stored row errors in feed order
+     */
+    @Transactional(readOnly = true)
+    public Page<ImportRowErrorResponse> getErrors(UUID jobId, UUID clientId, int page, int size) {
+        findJob(jobId, clientId);
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_ERROR_PAGE_SIZE)));
+        return errorRepository.findAllByJobIdOrderByRowNumberAsc(jobId, pageRequest)
+                .map(ImportRowErrorResponse::fromEntity);
+    }
+
+    /**
+     * Cancel a queued or running import; rows already written stay.
+     * Cancelling a finished job is a no-op.
+     */
+    @Transactional
+    public ImportJobResponse cancelJob(UUID jobId, UUID clientId) {
+        ImportJob job = findJob(jobId, clientId);
+        if (!job.getStatus().isFinished()) {
+            jobRepository.finish(jobId, ImportStatus.CANCELLED, "Cancelled", LocalDateTime.now());
+            runner.cancel(jobId);
+            log.info("Cancelled product import {} for client {}", jobId, clientId);
+            job = findJob(jobId, clientId);
+        }
+        return ImportJobResponse.fromEntity(job);
+    }
+
+    private ImportJob findJob(UUID jobId, UUID clientId) {
+        return jobRepository.findByIdAndClientId(jobId, clientId)
+                .orElseThrow(() -> new ImportJobNotFoundException(jobId, clientId));
+    }
+
+    /**
+     * Copy the body to disk, stopping as soon as it exceeds max-upload-bytes
+     */
+    private long spool(InputStream body, Path feed) {
+        byte[] buffer = new byte[64 * 1024];
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(feed)) {
+            int n;
+            while ((n = body.read(buffer)) > 0) {
+                size += n;
+                if (size > maxUploadBytes) {
+                    throw new ImportRejectedException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Feed exceeds the maximum of " + maxUploadBytes + " bytes");
+                }
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            deleteQuietly(feed);
+            throw new UncheckedIOException("Could not store uploaded feed", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(feed);
+            throw e;
+        }
+        return size;
+    }
+
+    private static ImportFormat formatOf(String contentType) {
+        MediaType mediaType;
+        try {
+            mediaType = contentType != null ? MediaType.parseMediaType(contentType) : null;
+        } catch (InvalidMediaTypeException e) {
+            mediaType = null;
+        }
+        if (mediaType != null) {
+            if (mediaType.isCompatibleWith(TEXT_CSV) || mediaType.isCompatibleWith(APPLICATION_CSV)) {
+                return ImportFormat.CSV;
+            }
+            if (mediaType.isCompatibleWith(APPLICATION_NDJSON)) {
+                return ImportFormat.NDJSON;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return ImportFormat.JSON;
+            }
+        }
+        throw new ImportRejectedException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Feed must be text/csv, application/json or application/x-ndjson");
+    }
+
+    private static ImportMode modeOf(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return ImportMode.UPSERT;
+        }
+        try {
+            return ImportMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("mode must be 'upsert' or 'insert'");
+        }
+    }
+
+    private static boolean isGzip(String contentEncoding) {
+        if (contentEncoding == null || contentEncoding.isBlank() || "identity".equalsIgnoreCase(contentEncoding.trim())) {
+            return false;
+        }
+        if ("gzip".equalsIgnoreCase(contentEncoding.trim())) {
+            return true;
+        }
+        throw new ImportRejectedException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Content-Encoding must be gzip or absent");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled feed {}: {}", file, e.getMessage());
+        }
+    }
+}
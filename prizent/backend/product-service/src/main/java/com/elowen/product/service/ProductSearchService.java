@@ -0,0 +1,38 @@
+package com.elowen.product.service;
+
+import com.elowen.product.dto.ProductSearchResponse;
+import com.elowen.product.search.ProductSearchIndex;
+import com.elowen.product.search.SearchQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Catalog search and typeahead, served from the embedded per-client index
+ * (ProductSearchIndex) rather than LIKE queries on p_products.
+ * 
+ * Business Rules:
+ * - Results only ever come from the caller's own client index
+ * - The index follows writes within moments; a product saved a split
+ *   second ago may not be found yet
+ */
+@Service
+public class ProductSearchService {
+    
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    
+    private final ProductSearchIndex searchIndex;
+    
+    public ProductSearchService(ProductSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+    
+    public ProductSearchResponse search(UUID clientId, String q, UUID brandId, Boolean enabled,
+                                        List<String> attributes, List<String> facets, int limit) {
+        SearchQuery query = SearchQuery.parse(q, brandId, enabled, attributes, facets,
+                Math.max(0, Math.min(limit, MAX_LIMIT)));
+        return ProductSearchResponse.fromResult(searchIndex.search(clientId, query));
+    }
+}
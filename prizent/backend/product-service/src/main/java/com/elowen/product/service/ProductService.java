@@ -0,0 +1,286 @@
+package com.elowen.product.service;
+
+import com.elowen.product.category.CategoryPaths;
+import com.elowen.product.changes.ProductChangeLog;
+import com.elowen.product.dto.CreateProductRequest;
+import com.elowen.product.dto.ProductPageResponse;
+import com.elowen.product.dto.ProductResponse;
+import com.elowen.product.dto.UpdateProductRequest;
+import com.elowen.product.entity.Product;
+import com.elowen.product.event.ProductsChangedEvent;
+import com.elowen.product.exception.ProductNotFoundException;
+import com.elowen.product.exception.ProductVersionConflictException;
+import com.elowen.product.exception.SkuAlreadyExistsException;
+import com.elowen.product.ingest.ProductRowValidator;
+import com.elowen.product.outbox.BrandCountDeltas;
+import com.elowen.product.outbox.ProductOutboxWriter;
+import com.elowen.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Single-product operations with tenant isolation.
+ *
+ * Business Rules:
+ * - SKU is unique per client and never changes after creation
+ * - A product must reference an active brand of its client
+ * - The category is optional; listing by category includes its whole subtree
+ * - ean and attributes follow the bulk import's rules (ProductRowValidator)
+ * - Disabling is the normal way to retire a product; delete removes it
+ * - Every change that moves a brand's product counts queues the delta for
+ *   admin-service in the same transaction (ProductOutboxWriter)
+ * - Every write publishes a ProductsChangedEvent (search index, SKU table)
+ *   and is recorded in the client's change feed (ProductChangeLog)
+ */
+@Service
+public class ProductService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final BrandRefService brandRefService;
+    private final CategoryService categoryService;
+    private final ProductOutboxWriter outboxWriter;
+    private final ProductChangeLog changeLog;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductService(ProductRepository productRepository, BrandRefService brandRefService,
+                          CategoryService categoryService, ProductOutboxWriter outboxWriter,
+                          ProductChangeLog changeLog, ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.brandRefService = brandRefService;
+        this.categoryService = categoryService;
+        this.outboxWriter = outboxWriter;
+        this.changeLog = changeLog;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public ProductResponse createProduct(CreateProductRequest request, UUID clientId) {
+        String sku = request.getSku().trim();
+        log.info("Creating product '{}' for client {}", sku, clientId);
+
+        requireValid(ProductRowValidator.skuProblem(sku));
+        requireUsableBrand(clientId, request.getBrandId());
+        if (request.getCategoryId() != null) {
+            requireValid(categoryService.categoryProblem(clientId, request.getCategoryId()));
+        }
+        if (productRepository.existsByClientIdAndSku(clientId, sku)) {
+            throw new SkuAlreadyExistsException(sku, clientId);
+        }
+
+        Product product = new Product(clientId, request.getBrandId(), sku, request.getName().trim());
+        product.setCategoryId(request.getCategoryId());
+        product.setDescription(trimToNull(request.getDescription()));
+        product.setEan(validEan(request.getEan()));
+        product.setCostPrice(request.getCostPrice());
+        product.setWeightGrams(request.getWeightGrams());
+        product.setAttributes(validAttributes(request.getAttributes()));
+
+        try {
+            // Flush now so a concurrent insert of the same SKU surfaces as 409, not at commit
+            Product saved = productRepository.saveAndFlush(product);
+            BrandCountDeltas deltas = new BrandCountDeltas();
+            deltas.added(saved.getBrandId(), saved.getEnabled());
+            outboxWriter.write(clientId, deltas);
+            publishChange(clientId, saved.getId());
+            log.info("Created product {} ('{}') for client {}", saved.getId(), sku, clientId);
+            return ProductResponse.fromEntity(saved);
+        } catch (DataIntegrityViolationException e) {
+            throw new SkuAlreadyExistsException(sku, clientId);
+        }
+    }
+
+    /**
+     * One page of the catalog in SKU order, optionally for one brand and/or
+     * one category including everything under it
+     */
+    @Transactional(readOnly = true)
+    public ProductPageResponse listProducts(UUID clientId, UUID brandId, UUID categoryId, String afterSku, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String after = afterSku != null ? afterSku : "";
+
+        List<Product> products;
+        if (categoryId != null) {
+            String pathPattern = CategoryPaths.subtreePattern(categoryService.categoryPath(clientId, categoryId));
+            products = productRepository.findInCategorySubtree(
+                    clientId, brandId, pathPattern, after, Limit.of(pageSize));
+        } else if (brandId != null) {
+            products = productRepository.findByClientIdAndBrandIdAndSkuGreaterThanOrderBySkuAsc(
+                    clientId, brandId, after, Limit.of(pageSize));
+        } else {
+            products = productRepository.findByClientIdAndSkuGreaterThanOrderBySkuAsc(clientId, after, Limit.of(pageSize));
+        }
+
+        List<ProductResponse> items = products.stream()
+                .map(ProductResponse::fromEntity)
+                .collect(Collectors.toList());
+        String nextCursor = products.size() == pageSize ? products.get(products.size() - 1).getSku() : null;
+        return new ProductPageResponse(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductResponse getProductById(UUID productId, UUID clientId) {
+        return ProductResponse.fromEntity(findProduct(productId, clientId));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductResponse getProductBySku(String sku, UUID clientId) {
+        return productRepository.findByClientIdAndSku(clientId, sku)
+                .map(ProductResponse::fromEntity)
+                .orElseThrow(() -> new ProductNotFoundException(
+                        String.format("Product with SKU '%s' not found for client %s", sku, clientId)));
+    }
+
+    /**
+     * Partial update; null fields are left as they are
+     */
+    @Transactional
+    public ProductResponse updateProduct(UUID productId, UpdateProductRequest request, UUID clientId) {
+        log.info("Updating product {} for client {}", productId, clientId);
+
+        Product product = findProduct(productId, clientId);
+        if (request.getVersion() != null && !request.getVersion().equals(product.getVersion())) {
+            throw new ProductVersionConflictException(productId, request.getVersion(), product.getVersion());
+        }
+        UUID previousBrandId = product.getBrandId();
+
+        if (request.getName() != null) {
+            requireValid(StringUtils.hasText(request.getName()) ? null : "Product name cannot be blank");
+            product.setName(request.getName().trim());
+        }
+        if (request.getBrandId() != null && !request.getBrandId().equals(product.getBrandId())) {
+            requireUsableBrand(clientId, request.getBrandId());
+            product.setBrandId(request.getBrandId());
+        }
+        if (request.getCategoryId() != null && !request.getCategoryId().equals(product.getCategoryId())) {
+            requireValid(categoryService.categoryProblem(clientId, request.getCategoryId()));
+            product.setCategoryId(request.getCategoryId());
+        }
+        if (request.getDescription() != null) {
+            product.setDescription(trimToNull(request.getDescription()));
+        }
+        if (request.getEan() != null) {
+            product.setEan(validEan(request.getEan()));
+        }
+        if (request.getCostPrice() != null) {
+            product.setCostPrice(request.getCostPrice());
+        }
+        if (request.getWeightGrams() != null) {
+            product.setWeightGrams(request.getWeightGrams());
+        }
+        if (request.getAttributes() != null) {
+            product.setAttributes(validAttributes(request.getAttributes()));
+        }
+
+        Product saved = productRepository.saveAndFlush(product);
+        BrandCountDeltas deltas = new BrandCountDeltas();
+        deltas.changed(previousBrandId, saved.getEnabled(), saved.getBrandId(), saved.getEnabled());
+        outboxWriter.write(clientId, deltas);
+        publishChange(clientId, productId);
+        return ProductResponse.fromEntity(saved);
+    }
+
+    @Transactional
+    public ProductResponse enableProduct(UUID productId, UUID clientId) {
+        return setEnabled(productId, clientId, true);
+    }
+
+    @Transactional
+    public ProductResponse disableProduct(UUID productId, UUID clientId) {
+        return setEnabled(productId, clientId, false);
+    }
+
+    @Transactional
+    public void deleteProduct(UUID productId, UUID clientId) {
+        Product product = findProduct(productId, clientId);
+        productRepository.delete(product);
+        BrandCountDeltas deltas = new BrandCountDeltas();
+        deltas.removed(product.getBrandId(), product.getEnabled());
+        outboxWriter.write(clientId, deltas);
+        changeLog.record(clientId, List.of(), Map.of(productId, product.getSku()));
+        eventPublisher.publishEvent(new ProductsChangedEvent(clientId, List.of(productId), List.of(product.getSku())));
+        log.info("Deleted product {} ('{}') for client {}", productId, product.getSku(), clientId);
+    }
+
+    /**
+     * Single conditional UPDATE; no-op (and no version bump) if already in that state
+     */
+    private ProductResponse setEnabled(UUID productId, UUID clientId, boolean enabled) {
+        int changed = productRepository.updateEnabledIfChanged(productId, clientId, enabled, LocalDateTime.now());
+        Product product = findProduct(productId, clientId);
+        if (changed > 0) {
+            BrandCountDeltas deltas = new BrandCountDeltas();
+            deltas.enabledChanged(product.getBrandId(), enabled);
+            outboxWriter.write(clientId, deltas);
+            publishChange(clientId, productId);
+            log.info("Product {} {} for client {}", productId, enabled ? "enabled" : "disabled", clientId);
+        }
+        return ProductResponse.fromEntity(product);
+    }
+
+    private Product findProduct(UUID productId, UUID clientId) {
+        return productRepository.findByIdAndClientId(productId, clientId)
+                .orElseThrow(() -> {
+                    log.warn("Product {} not found for client {}", productId, clientId);
+                    return new ProductNotFoundException(productId, clientId);
+                });
+    }
+
+    private void publishChange(UUID clientId, UUID productId) {
+        changeLog.record(clientId, List.of(productId), Map.of());
+        eventPublisher.publishEvent(new ProductsChangedEvent(clientId, List.of(productId)));
+    }
+
+    private void requireUsableBrand(UUID clientId, UUID brandId) {
+        requireValid(brandRefService.brandProblem(clientId, brandId));
+    }
+
+    private static String validEan(String ean) {
+        String value = trimToNull(ean);
+        if (value != null) {
+            requireValid(ProductRowValidator.gtinProblem(value));
+        }
+        return value;
+    }
+
+    private static Map<String, String> validAttributes(Map<String, String> attributes) {
+        if (attributes == null) {
+            return new LinkedHashMap<>();
+        }
+        requireValid(ProductRowValidator.attributesProblem(attributes));
+        Map<String, String> copy = new LinkedHashMap<>();
+        attributes.forEach((name, value) -> {
+            if (value != null) {
+                copy.put(name.trim(), value);
+            }
+        });
+        return copy;
+    }
+
+    private static void requireValid(String problem) {
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+    }
+
+    private static String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.elowen.product.service;
+
+import com.elowen.product.dto.SkuResolutionResponse;
+import com.elowen.product.skutable.ProductSkuTable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk SKU -> product id resolution for feeds that reference products by
+ * SKU, served from the off-heap SKU table (ProductSkuTable).
+ * 
+ * Business Rules:
+ * - SKUs are matched exactly (after trimming), within the given client only
+ * - Results keep the request's order; repeated SKUs are resolved once
+ */
+@Service
+public class SkuResolutionService {
+    
+    private final ProductSkuTable skuTable;
+    
+    public SkuResolutionService(ProductSkuTable skuTable) {
+        this.skuTable = skuTable;
+    }
+    
+    public SkuResolutionResponse resolve(UUID clientId, List<String> skus) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String sku : skus) {
+            if (sku != null && !sku.isBlank()) {
+                requested.add(sku.trim());
+            }
+        }
+        
+        Map<String, UUID> found = skuTable.resolve(clientId, requested);
+        Map<String, UUID> productIds = new LinkedHashMap<>();
+        List<String> unresolved = new ArrayList<>();
+        for (String sku : requested) {
+            UUID productId = found.get(sku);
+            if (productId != null) {
+                productIds.put(sku, productId);
+            } else {
+                unresolved.add(sku);
+            }
+        }
+        return new SkuResolutionResponse(productIds, unresolved);
+    }
+}
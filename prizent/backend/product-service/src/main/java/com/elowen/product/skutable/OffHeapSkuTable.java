@@ -0,0 +1,462 @@
+package com.elowen.product.skutable;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Memory-mapped open-addressing hash table: (clientId, SKU) -> ordinal -> product id.
+ *
+ * FILES (one directory per table):
+ *   slots-{capacity}.bin   16-byte slots: [hash][key offset | ordinal + 1]
+ *   keys.bin               append-only keys: [clientId 16][length 1][SKU UTF-8]
+ *   ordinals.bin           append-only 16-byte product ids, indexed by ordinal
+ *   meta.bin               counters and a clean flag, rewritten on flush
+ *
+ * Design Decisions:
+ * - Nothing per entry lives on the heap; the JVM only holds the mappings
+ * - Linear probing on a power-of-two slot array, grown (rehashed into a new
+ *   slots file) above 70% load. keys.bin and ordinals.bin are mapped once
+ *   at their maximum size - sparse files, so only written pages use disk
+ *   and memory - and never remapped
+ * - One writer at a time (synchronized), lock-free readers: a slot is
+ *   published by a release store of its hash after the key, the ordinal's
+ *   product id and the slot's second word are written; readers load the
+ *   hash with acquire. A changed mapping gets a new ordinal and is switched
+ *   with one release store of the second word, so readers never see a torn
+ *   product id
+ * - Deleting keeps the key in place with ordinal 0, so probe chains stay
+ *   intact and a re-created SKU reuses its slot
+ * - A replaced slots mapping is left to the garbage collector rather than
+ *   unmapped, since readers may still be probing it
+ * - meta.bin is marked dirty before the first change after a flush; a table
+ *   that was not closed cleanly is discarded and rebuilt by its owner
+ */
+final class OffHeapSkuTable implements Closeable {
+
+    static final int MAX_SKU_BYTES = 255;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int META_MAGIC = 0x534b5554; // "SKUT"
+    private static final int META_VERSION = 1;
+    private static final int SLOT_BYTES = 16;
+    private static final int ORDINAL_BYTES = 16;
+    private static final int KEY_HEADER_BYTES = 17;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final double MAX_LOAD = 0.7;
+
+    private final Path directory;
+    private final FileChannel keysChannel;
+    private final FileChannel ordinalsChannel;
+    private final MappedByteBuffer keys;
+    private final MappedByteBuffer ordinals;
+    private final int maxOrdinals;
+    private volatile Slots slots;
+
+    // Written under the table lock, volatile for metrics readers
+    private volatile int entries;
+    private volatile int live;
+    private volatile int ordinalCount;
+    private volatile int keyBytes;
+    private volatile LocalDateTime watermark;
+    private boolean dirty;
+
+    private OffHeapSkuTable(Path directory, int maxEntries, int maxKeyBytes, int capacity) throws IOException {
+        this.directory = directory;
+        this.maxOrdinals = maxEntries;
+        this.keysChannel = FileChannel.open(directory.resolve("keys.bin"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.ordinalsChannel = FileChannel.open(directory.resolve("ordinals.bin"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.keys = keysChannel.map(FileChannel.MapMode.READ_WRITE, 0, maxKeyBytes);
+        this.ordinals = ordinalsChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long) maxEntries * ORDINAL_BYTES);
+        this.slots = Slots.open(directory, capacity);
+    }
+
+    /**
+     * A new, empty table in an empty directory
+     */
+    static OffHeapSkuTable create(Path directory, int expectedEntries, int maxEntries, int maxKeyBytes) throws IOException {
+        Files.createDirectories(directory);
+        OffHeapSkuTable table = new OffHeapSkuTable(directory, maxEntries, maxKeyBytes, capacityFor(expectedEntries));
+        table.dirty = true;
+        table.writeMeta(false);
+        return table;
+    }
+
+    /**
+     * Reopen a table that was closed cleanly; null if there is none or it was not
+     */
+    static OffHeapSkuTable openExisting(Path directory, int maxEntries, int maxKeyBytes) throws IOException {
+        Path meta = directory.resolve("meta.bin");
+        if (!Files.exists(meta)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(meta))) {
+            if (in.readInt() != META_MAGIC || in.readInt() != META_VERSION || !in.readBoolean()) {
+                return null;
+            }
+            int capacity = in.readInt();
+            int entries = in.readInt();
+            int live = in.readInt();
+            int ordinalCount = in.readInt();
+            int keyBytes = in.readInt();
+            String watermark = in.readUTF();
+            if (ordinalCount > maxEntries || keyBytes > maxKeyBytes
+                    || !Files.exists(directory.resolve("slots-" + capacity + ".bin"))) {
+                return null;
+            }
+            OffHeapSkuTable table = new OffHeapSkuTable(directory, maxEntries, maxKeyBytes, capacity);
+            table.entries = entries;
+            table.live = live;
+            table.ordinalCount = ordinalCount;
+            table.keyBytes = keyBytes;
+            table.watermark = watermark.isEmpty() ? null : LocalDateTime.parse(watermark);
+            return table;
+        }
+    }
+
+    /**
+     * Ordinal of a SKU, or -1 if the table does not know it (or it was deleted)
+     */
+    int ordinal(UUID clientId, String sku) {
+        byte[] skuBytes = sku.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(clientId, skuBytes);
+        Slots current = slots;
+        int slot = find(current, hash, clientId, skuBytes);
+        if (slot < 0) {
+            return -1;
+        }
+        long word = (long) LONGS.getAcquire(current.buffer, slot * SLOT_BYTES + 8);
+        return (int) word - 1;
+    }
+
+    /**
+     * Product id of an ordinal returned by ordinal()
+     */
+    UUID productId(int ordinal) {
+        int offset = ordinal * ORDINAL_BYTES;
+        return new UUID(ordinals.getLong(offset), ordinals.getLong(offset + 8));
+    }
+
+    /**
+     * Map a SKU to a product; no-op if it already maps there
+     *
+     * @throws IllegalStateException when the table is full - the owner rebuilds it larger
+     */
+    synchronized void put(UUID clientId, String sku, UUID productId) {
+        byte[] skuBytes = sku.getBytes(StandardCharsets.UTF_8);
+        if (skuBytes.length > MAX_SKU_BYTES) {
+            throw new IllegalArgumentException("SKU too long for the SKU table: " + sku);
+        }
+        long hash = hash(clientId, skuBytes);
+        int slot = find(slots, hash, clientId, skuBytes);
+        if (slot >= 0) {
+            long word = (long) LONGS.getAcquire(slots.buffer, slot * SLOT_BYTES + 8);
+            int ordinal = (int) word - 1;
+            if (ordinal >= 0 && productId.equals(productId(ordinal))) {
+                return;
+            }
+            markDirty();
+            int newOrdinal = appendOrdinal(productId);
+            LONGS.setRelease(slots.buffer, slot * SLOT_BYTES + 8, (word & 0xFFFFFFFF00000000L) | (newOrdinal + 1L));
+            if (ordinal < 0) {
+                live++;
+            }
+            return;
+        }
+
+        markDirty();
+        if (entries + 1 > slots.capacity * MAX_LOAD) {
+            grow();
+        }
+        int keyOffset = appendKey(clientId, skuBytes);
+        int ordinal = appendOrdinal(productId);
+        Slots current = slots;
+        int empty = (int) (hash & (current.capacity - 1));
+        while ((long) LONGS.getAcquire(current.buffer, empty * SLOT_BYTES) != 0) {
+            empty = (empty + 1) & (current.capacity - 1);
+        }
+        LONGS.set(current.buffer, empty * SLOT_BYTES + 8, ((long) keyOffset << 32) | (ordinal + 1L));
+        LONGS.setRelease(current.buffer, empty * SLOT_BYTES, hash);
+        entries++;
+        live++;
+    }
+
+    /**
+     * Forget the product of a SKU; the key keeps its slot
+     */
+    synchronized void remove(UUID clientId, String sku) {
+        byte[] skuBytes = sku.getBytes(StandardCharsets.UTF_8);
+        int slot = find(slots, hash(clientId, skuBytes), clientId, skuBytes);
+        if (slot < 0) {
+            return;
+        }
+        long word = (long) LONGS.getAcquire(slots.buffer, slot * SLOT_BYTES + 8);
+        if ((int) word != 0) {
+            markDirty();
+            LONGS.setRelease(slots.buffer, slot * SLOT_BYTES + 8, word & 0xFFFFFFFF00000000L);
+            live--;
+        }
+    }
+
+    /**
+     * Newest create_date_time the owner has loaded - its catch-up point
+     */
+    LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    synchronized void advanceWatermark(LocalDateTime loadedUpTo) {
+        if (loadedUpTo != null && (watermark == null || loadedUpTo.isAfter(watermark))) {
+            markDirty();
+            watermark = loadedUpTo;
+        }
+    }
+
+    /**
+     * Force the mappings to disk and mark the table clean
+     */
+    synchronized void flush() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        slots.buffer.force();
+        keys.force();
+        ordinals.force();
+        writeMeta(true);
+        dirty = false;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        keysChannel.close();
+        ordinalsChannel.close();
+        slots.channel.close();
+    }
+
+    int getCapacity() {
+        return slots.capacity;
+    }
+
+    int getEntries() {
+        return entries;
+    }
+
+    int getLive() {
+        return live;
+    }
+
+    int getOrdinalCount() {
+        return ordinalCount;
+    }
+
+    int getMaxOrdinals() {
+        return maxOrdinals;
+    }
+
+    /**
+     * Bytes of the files actually in use (slots + written keys + written ordinals)
+     */
+    long getUsedBytes() {
+        return (long) slots.capacity * SLOT_BYTES + keyBytes + (long) ordinalCount * ORDINAL_BYTES;
+    }
+
+    /**
+     * Address space reserved by the mappings
+     */
+    long getMappedBytes() {
+        return (long) slots.capacity * SLOT_BYTES + keys.capacity() + ordinals.capacity();
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    private int find(Slots current, long hash, UUID clientId, byte[] skuBytes) {
+        int mask = current.capacity - 1;
+        int slot = (int) (hash & mask);
+        while (true) {
+            long slotHash = (long) LONGS.getAcquire(current.buffer, slot * SLOT_BYTES);
+            if (slotHash == 0) {
+                return -1;
+            }
+            if (slotHash == hash) {
+                long word = (long) LONGS.getAcquire(current.buffer, slot * SLOT_BYTES + 8);
+                if (keyEquals((int) (word >>> 32), clientId, skuBytes)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean keyEquals(int offset, UUID clientId, byte[] skuBytes) {
+        if (keys.getLong(offset) != clientId.getMostSignificantBits()
+                || keys.getLong(offset + 8) != clientId.getLeastSignificantBits()
+                || (keys.get(offset + 16) & 0xFF) != skuBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < skuBytes.length; i++) {
+            if (keys.get(offset + KEY_HEADER_BYTES + i) != skuBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int appendKey(UUID clientId, byte[] skuBytes) {
+        int offset = keyBytes;
+        if ((long) offset + KEY_HEADER_BYTES + skuBytes.length > keys.capacity()) {
+            throw new IllegalStateException("SKU table key space is full");
+        }
+        keys.putLong(offset, clientId.getMostSignificantBits());
+        keys.putLong(offset + 8, clientId.getLeastSignificantBits());
+        keys.put(offset + 16, (byte) skuBytes.length);
+        keys.put(offset + KEY_HEADER_BYTES, skuBytes);
+        keyBytes = offset + KEY_HEADER_BYTES + skuBytes.length;
+        return offset;
+    }
+
+    private int appendOrdinal(UUID productId) {
+        int ordinal = ordinalCount;
+        if (ordinal >= maxOrdinals) {
+            throw new IllegalStateException("SKU table is full (" + maxOrdinals + " ordinals)");
+        }
+        ordinals.putLong(ordinal * ORDINAL_BYTES, productId.getMostSignificantBits());
+        ordinals.putLong(ordinal * ORDINAL_BYTES + 8, productId.getLeastSignificantBits());
+        ordinalCount = ordinal + 1;
+        return ordinal;
+    }
+
+    /**
+     * Rehash into a slots file twice the size, then publish it
+     */
+    private void grow() {
+        Slots old = slots;
+        if (old.capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("SKU table cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        try {
+            Slots grown = Slots.open(directory, old.capacity * 2);
+            int mask = grown.capacity - 1;
+            for (int slot = 0; slot < old.capacity; slot++) {
+                long hash = (long) LONGS.get(old.buffer, slot * SLOT_BYTES);
+                if (hash == 0) {
+                    continue;
+                }
+                int target = (int) (hash & mask);
+                while ((long) LONGS.get(grown.buffer, target * SLOT_BYTES) != 0) {
+                    target = (target + 1) & mask;
+                }
+                LONGS.set(grown.buffer, target * SLOT_BYTES + 8, (long) LONGS.get(old.buffer, slot * SLOT_BYTES + 8));
+                LONGS.set(grown.buffer, target * SLOT_BYTES, hash);
+            }
+            VarHandle.releaseFence();
+            slots = grown;
+            old.channel.close();
+            Files.deleteIfExists(old.file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow SKU table in " + directory, e);
+        }
+    }
+
+    private void markDirty() {
+        if (!dirty) {
+            dirty = true;
+            try {
+                writeMeta(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write SKU table metadata in " + directory, e);
+            }
+        }
+    }
+
+    private void writeMeta(boolean clean) throws IOException {
+        Path temp = directory.resolve("meta.bin.tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            out.writeInt(META_MAGIC);
+            out.writeInt(META_VERSION);
+            out.writeBoolean(clean);
+            out.writeInt(slots.capacity);
+            out.writeInt(entries);
+            out.writeInt(live);
+            out.writeInt(ordinalCount);
+            out.writeInt(keyBytes);
+            out.writeUTF(watermark != null ? watermark.toString() : "");
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve("meta.bin"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int capacityFor(int expectedEntries) {
+        long needed = (long) Math.ceil(Math.max(expectedEntries, 1) / MAX_LOAD);
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * 64-bit hash of (clientId, SKU bytes) - FNV-1a folded through a murmur3 finalizer; never 0
+     */
+    static long hash(UUID clientId, byte[] skuBytes) {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ clientId.getMostSignificantBits()) * 0x100000001b3L;
+        h = (h ^ clientId.getLeastSignificantBits()) * 0x100000001b3L;
+        for (byte b : skuBytes) {
+            h = (h ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h != 0 ? h : 1;
+    }
+
+    /**
+     * One slots file and its mapping
+     */
+    private static final class Slots {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+
+        private Slots(Path file, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        static Slots open(Path directory, int capacity) throws IOException {
+            Path file = directory.resolve("slots-" + capacity + ".bin");
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * SLOT_BYTES);
+            return new Slots(file, channel, buffer, capacity);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.elowen.product.skutable;
+
+import com.elowen.product.event.ProductsChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * (clientId, SKU) -> product id for every client, in an OffHeapSkuTable
+ * that survives restarts. Used by price feeds and order imports that
+ * resolve millions of SKUs.
+ *
+ * LIFECYCLE:
+ *   startup -> reopen the newest table-{generation} directory if it was
+ *   flushed cleanly, else build a new generation from p_products ->
+ *   updated from ProductsChangedEvent after every committed write ->
+ *   flushed periodically -> caught up with other instances' creates and
+ *   deletes, verified against p_products, rebuilt on drift
+ *
+ * Design Decisions:
+ * - The table is a cache: SKUs it does not know are looked up in the
+ *   database and learned, so a table that is still loading or full only
+ *   makes resolution slower
+ * - Hits are served from the table without a database check. Products
+ *   deleted on this instance leave it with their commit; deletes made by
+ *   other instances are read from the change feed's tombstones on every
+ *   verify pass (verify-interval-ms, a minute by default), so a remote
+ *   delete resolves for at most that long. A tombstone only removes the
+ *   SKU while it still maps to the deleted product - a re-created SKU has
+ *   a new product id and stays
+ * - One writer thread does every change (load, updates, catch-up,
+ *   rebuild); lookups read the mapped files without locks
+ * - SKUs never change, so catch-up only needs products created since the
+ *   table's watermark (minus an overlap for long transactions). Any drift
+ *   left over - tombstones purged before a pass read them, say - shows up
+ *   as a live count that differs from p_products; two such verifications
+ *   in a row rebuild the table into a new generation, which is swapped in
+ *   when complete
+ */
+@Component
+public class ProductSkuTable implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSkuTable.class);
+
+    private static final String GENERATION_PREFIX = "table-";
+
+    private final SkuTableSource source;
+    private final Path baseDir;
+    private final ExecutorService writer;
+    private final int maxEntries;
+    private final int maxKeyBytes;
+    private final long catchUpOverlapSeconds;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile OffHeapSkuTable table;
+    private int countMismatches;
+    private LocalDateTime deletesReadUpTo;
+
+    public ProductSkuTable(
+            DataSource dataSource,
+            @Value("${product.sku-table.dir:./data/product-sku-table}") String dir,
+            @Value("${product.sku-table.max-entries:16777216}") int maxEntries,
+            @Value("${product.sku-table.max-key-bytes:1073741824}") int maxKeyBytes,
+            @Value("${product.sku-table.catch-up-overlap-seconds:120}") long catchUpOverlapSeconds) {
+        if (maxEntries <= 0 || maxEntries > Integer.MAX_VALUE / 16) {
+            throw new IllegalArgumentException("product.sku-table.max-entries must be between 1 and " + Integer.MAX_VALUE / 16);
+        }
+        this.source = new SkuTableSource(dataSource);
+        this.baseDir = Paths.get(dir).toAbsolutePath().normalize();
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-sku-table");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxEntries = maxEntries;
+        this.maxKeyBytes = maxKeyBytes;
+        this.catchUpOverlapSeconds = catchUpOverlapSeconds;
+    }
+
+    /**
+     * SKU -> product id of the given SKUs of a client; unknown SKUs are left out
+     */
+    public Map<String, UUID> resolve(UUID clientId, Collection<String> skus) {
+        Map<String, UUID> resolved = new HashMap<>(Math.max(16, skus.size() * 2));
+        List<String> unresolved = new ArrayList<>();
+        OffHeapSkuTable current = table;
+        for (String sku : skus) {
+            int ordinal = current != null ? current.ordinal(clientId, sku) : -1;
+            if (ordinal >= 0) {
+                resolved.put(sku, current.productId(ordinal));
+            } else {
+                unresolved.add(sku);
+            }
+        }
+        hits.addAndGet(resolved.size());
+        misses.addAndGet(unresolved.size());
+
+        if (!unresolved.isEmpty()) {
+            Map<String, UUID> found = source.findBySkus(clientId, unresolved);
+            resolved.putAll(found);
+            if (current != null && !found.isEmpty()) {
+                writer.execute(() -> apply(() -> found.forEach((sku, id) -> table.put(clientId, sku, id))));
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Apply committed product changes; before the table is open they are
+     * covered by its load
+     */
+    @TransactionalEventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (table == null) {
+            return;
+        }
+        UUID clientId = event.getClientId();
+        writer.execute(() -> apply(() -> {
+            if (!event.getProductIds().isEmpty()) {
+                source.findByIds(clientId, event.getProductIds()).forEach((sku, id) -> table.put(clientId, sku, id));
+            }
+            event.getDeletedSkus().forEach(sku -> table.remove(clientId, sku));
+        }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void open() {
+        writer.execute(() -> apply(this::openOrBuild));
+    }
+
+    @Scheduled(initialDelayString = "${product.sku-table.flush-interval-ms:30000}",
+               fixedDelayString = "${product.sku-table.flush-interval-ms:30000}")
+    public void flush() {
+        writer.execute(() -> apply(this::flushTable));
+    }
+
+    @Scheduled(initialDelayString = "${product.sku-table.verify-interval-ms:60000}",
+               fixedDelayString = "${product.sku-table.verify-interval-ms:60000}")
+    public void verify() {
+        writer.execute(() -> apply(this::catchUpAndVerify));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.execute(() -> apply(() -> {
+            if (table != null) {
+                table.close();
+            }
+        }));
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("SKU table writer did not finish in time; the table will be rebuilt on next start");
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "product.sku.table.capacity", "Slots of the hash table", OffHeapSkuTable::getCapacity);
+        gauge(registry, "product.sku.table.entries", "Keys in the table, deleted ones included", OffHeapSkuTable::getEntries);
+        gauge(registry, "product.sku.table.live", "Keys that map to a product", OffHeapSkuTable::getLive);
+        gauge(registry, "product.sku.table.ordinals", "Product id entries written", OffHeapSkuTable::getOrdinalCount);
+        gauge(registry, "product.sku.table.load.factor", "Entries per slot",
+                t -> (double) t.getEntries() / t.getCapacity());
+        Gauge.builder("product.sku.table.used", this, owner -> value(OffHeapSkuTable::getUsedBytes))
+                .description("Bytes of the table files in use")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("product.sku.table.mapped", this, owner -> value(OffHeapSkuTable::getMappedBytes))
+                .description("Address space reserved by the table's mappings")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("product.sku.table.lookups", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("product.sku.table.lookups", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    /**
+     * Runs on the writer thread
+     */
+    private void openOrBuild() throws IOException {
+        Files.createDirectories(baseDir);
+        Path newest = generations().stream().reduce((first, second) -> second).orElse(null);
+        OffHeapSkuTable reopened = newest != null ? OffHeapSkuTable.openExisting(newest, maxEntries, maxKeyBytes) : null;
+        if (reopened == null) {
+            if (newest != null) {
+                log.info("SKU table in {} was not closed cleanly - rebuilding", newest);
+            }
+            rebuild();
+            return;
+        }
+        table = reopened;
+        // Deletes made while this instance was down are no older than the newest product it had loaded
+        deletesReadUpTo = reopened.getWatermark();
+        deleteGenerationsExcept(newest);
+        log.info("Reopened SKU table {}: {} SKUs", newest.getFileName(), reopened.getLive());
+        catchUpAndVerify();
+    }
+
+    /**
+     * Build a new generation from p_products and swap it in. Runs on the writer thread
+     */
+    private void rebuild() throws IOException {
+        long start = System.nanoTime();
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        long expected = source.count();
+        if (expected > maxEntries) {
+            log.warn("{} products exceed product.sku-table.max-entries ({}); only part of them will be cached",
+                    expected, maxEntries);
+        }
+        List<Path> existing = generations();
+        long generation = existing.isEmpty() ? 1 : generationOf(existing.get(existing.size() - 1)) + 1;
+        Path directory = baseDir.resolve(GENERATION_PREFIX + generation);
+        OffHeapSkuTable built = OffHeapSkuTable.create(directory, (int) Math.min(expected, maxEntries), maxEntries, maxKeyBytes);
+        LocalDateTime[] newest = new LocalDateTime[1];
+        try {
+            source.forEachSku(null, (clientId, sku, productId, createdAt) -> {
+                if (built.getOrdinalCount() < maxEntries) {
+                    built.put(clientId, sku, productId);
+                }
+                if (newest[0] == null || createdAt.isAfter(newest[0])) {
+                    newest[0] = createdAt;
+                }
+            });
+            built.advanceWatermark(newest[0]);
+            built.flush();
+        } catch (RuntimeException | IOException e) {
+            built.close();
+            throw e;
+        }
+
+        OffHeapSkuTable previous = table;
+        table = built;
+        deletesReadUpTo = scanStartedAt;
+        countMismatches = 0;
+        if (previous != null) {
+            previous.close();
+        }
+        deleteGenerationsExcept(directory);
+        log.info("Built SKU table {}: {} SKUs in {} ms",
+                directory.getFileName(), built.getLive(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Runs on the writer thread
+     */
+    private void catchUpAndVerify() throws IOException {
+        OffHeapSkuTable current = table;
+        if (current == null) {
+            return;
+        }
+        LocalDateTime watermark = current.getWatermark();
+        LocalDateTime[] newest = new LocalDateTime[1];
+        source.forEachSku(watermark != null ? watermark.minusSeconds(catchUpOverlapSeconds) : null,
+                (clientId, sku, productId, createdAt) -> {
+                    current.put(clientId, sku, productId);
+                    if (newest[0] == null || createdAt.isAfter(newest[0])) {
+                        newest[0] = createdAt;
+                    }
+                });
+        current.advanceWatermark(newest[0]);
+        removeDeleted(current);
+
+        long count = source.count();
+        if (count == current.getLive() || current.getOrdinalCount() >= maxEntries) {
+            countMismatches = 0;
+        } else if (++countMismatches >= 2) {
+            log.info("SKU table holds {} SKUs, p_products {} - rebuilding", current.getLive(), count);
+            rebuild();
+        }
+    }
+
+    /**
+     * Drop SKUs of products deleted by any instance since the last pass. Runs on the writer thread
+     */
+    private void removeDeleted(OffHeapSkuTable current) {
+        LocalDateTime[] newest = { deletesReadUpTo };
+        int[] removed = new int[1];
+        source.forEachDeleted(deletesReadUpTo != null ? deletesReadUpTo.minusSeconds(catchUpOverlapSeconds) : null,
+                (clientId, sku, productId, deletedAt) -> {
+                    int ordinal = current.ordinal(clientId, sku);
+                    if (ordinal >= 0 && productId.equals(current.productId(ordinal))) {
+                        current.remove(clientId, sku);
+                        removed[0]++;
+                    }
+                    if (newest[0] == null || deletedAt.isAfter(newest[0])) {
+                        newest[0] = deletedAt;
+                    }
+                });
+        deletesReadUpTo = newest[0];
+        if (removed[0] > 0) {
+            log.debug("Removed {} SKUs of products deleted elsewhere", removed[0]);
+        }
+    }
+
+    private void flushTable() throws IOException {
+        if (table != null) {
+            table.flush();
+        }
+    }
+
+    /**
+     * Generation directories, oldest first
+     */
+    private List<Path> generations() throws IOException {
+        try (Stream<Path> paths = Files.list(baseDir)) {
+            return paths.filter(path -> Files.isDirectory(path) && generationOf(path) > 0)
+                    .sorted(Comparator.comparingLong(ProductSkuTable::generationOf))
+                    .toList();
+        }
+    }
+
+    private void deleteGenerationsExcept(Path keep) throws IOException {
+        for (Path generation : generations()) {
+            if (!generation.equals(keep)) {
+                try (Stream<Path> files = Files.list(generation)) {
+                    for (Path file : files.toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                Files.deleteIfExists(generation);
+            }
+        }
+    }
+
+    private static long generationOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(GENERATION_PREFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(GENERATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description,
+                       ToDoubleFunction<OffHeapSkuTable> metric) {
+        Gauge.builder(name, this, owner -> value(metric))
+                .description(description)
+                .register(registry);
+    }
+
+    private double value(ToDoubleFunction<OffHeapSkuTable> metric) {
+        OffHeapSkuTable current = table;
+        return current != null ? metric.applyAsDouble(current) : 0;
+    }
+
+    private void apply(WriterTask task) {
+        try {
+            task.run();
+        } catch (IOException | RuntimeException e) {
+            log.warn("SKU table update failed: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriterTask {
+        void run() throws IOException;
+    }
+}
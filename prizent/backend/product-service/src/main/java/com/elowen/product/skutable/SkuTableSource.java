@@ -0,0 +1,152 @@
+package com.elowen.product.skutable;
+
+import com.elowen.product.entity.ProductChange;
+import com.elowen.product.repository.JdbcUuids;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads (client, SKU, product id) triples for the SKU table with plain JDBC,
+ * and the delete tombstones of the product change feed that invalidate them.
+ *
+ * The full scan runs on a read-only, forward-only cursor; MySQL ignores
+ * fetch sizes unless it streams (Integer.MIN_VALUE), and would otherwise
+ * buffer the whole p_products result on the heap.
+ */
+final class SkuTableSource {
+
+    private static final int BATCH = 500;
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    SkuTableSource(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    interface SkuConsumer {
+        void accept(UUID clientId, String sku, UUID productId, LocalDateTime createdAt);
+    }
+
+    interface TombstoneConsumer {
+        void accept(UUID clientId, String sku, UUID productId, LocalDateTime deletedAt);
+    }
+
+    /**
+     * Every product, or those created at or after `since`
+     */
+    void forEachSku(LocalDateTime since, SkuConsumer consumer) {
+        String sql = "SELECT client_id, sku, id, create_date_time FROM p_products"
+                + (since != null ? " WHERE create_date_time >= ?" : "");
+        Object[] args = since != null ? new Object[] { Timestamp.valueOf(since) } : new Object[0];
+        jdbcTemplate.query(connection -> cursor(connection, sql, args),
+                resultSet -> {
+                    consumer.accept(
+                            JdbcUuids.fromBytes(resultSet.getBytes("client_id")),
+                            resultSet.getString("sku"),
+                            JdbcUuids.fromBytes(resultSet.getBytes("id")),
+                            resultSet.getTimestamp("create_date_time").toLocalDateTime());
+                });
+    }
+
+    /**
+     * Every delete tombstone in p_product_changes, or those written at or after `since`
+     */
+    void forEachDeleted(LocalDateTime since, TombstoneConsumer consumer) {
+        String sql = "SELECT client_id, sku, product_id, changed_at FROM p_product_changes WHERE change_type = ?"
+                + (since != null ? " AND changed_at >= ?" : "");
+        Object[] args = since != null
+                ? new Object[] { ProductChange.TYPE_DELETE, Timestamp.valueOf(since) }
+                : new Object[] { ProductChange.TYPE_DELETE };
+        jdbcTemplate.query(connection -> cursor(connection, sql, args),
+                resultSet -> {
+                    consumer.accept(
+                            JdbcUuids.fromBytes(resultSet.getBytes("client_id")),
+                            resultSet.getString("sku"),
+                            JdbcUuids.fromBytes(resultSet.getBytes("product_id")),
+                            resultSet.getTimestamp("changed_at").toLocalDateTime());
+                });
+    }
+
+    /**
+     * SKU -> product id of the given SKUs that exist
+     */
+    Map<String, UUID> findBySkus(UUID clientId, Collection<String> skus) {
+        Map<String, UUID> found = new HashMap<>();
+        List<String> batch = new ArrayList<>(BATCH);
+        for (String sku : skus) {
+            batch.add(sku);
+            if (batch.size() == BATCH) {
+                findBatch("sku", clientId, batch, found);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            findBatch("sku", clientId, batch, found);
+        }
+        return found;
+    }
+
+    /**
+     * SKU -> product id of the given products that exist
+     */
+    Map<String, UUID> findByIds(UUID clientId, Collection<UUID> ids) {
+        Map<String, UUID> found = new HashMap<>();
+        List<byte[]> batch = new ArrayList<>(BATCH);
+        for (UUID id : ids) {
+            batch.add(JdbcUuids.toBytes(id));
+            if (batch.size() == BATCH) {
+                findBatch("id", clientId, batch, found);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            findBatch("id", clientId, batch, found);
+        }
+        return found;
+    }
+
+    long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM p_products", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private void findBatch(String column, UUID clientId, List<?> values, Map<String, UUID> found) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("clientId", JdbcUuids.toBytes(clientId))
+                .addValue("values", values);
+        namedJdbcTemplate.query(
+                "SELECT sku, id FROM p_products WHERE client_id = :clientId AND " + column + " IN (:values)",
+                params,
+                resultSet -> {
+                    found.put(resultSet.getString("sku"), JdbcUuids.fromBytes(resultSet.getBytes("id")));
+                });
+    }
+
+    private static PreparedStatement cursor(Connection connection, String sql, Object... args) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+        for (int i = 0; i < args.length; i++) {
+            statement.setObject(i + 1, args[i]);
+        }
+        return statement;
+    }
+}
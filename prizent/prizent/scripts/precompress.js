@@ -0,0 +1,55 @@
+// Writes .gz and .br siblings for compressible files in build/ so the
+// gateway can serve them without compressing at request time.
+// Runs automatically after `npm run build` (postbuild).
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const BUILD_DIR = path.join(__dirname, '..', 'build');
+const EXTENSIONS = new Set(['.html', '.js', '.css', '.json', '.svg', '.txt', '.map', '.ico']);
+// Below this size the encoded file is rarely worth an extra request header
+const MIN_SIZE = 1024;
+
+function walk(dir) {
+  return fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const full = path.join(dir, entry.name);
+    return entry.isDirectory() ? walk(full) : [full];
+  });
+}
+
+function writeIfSmaller(target, encoded, originalSize) {
+  if (encoded.length < originalSize) {
+    fs.writeFileSync(target, encoded);
+    return encoded.length;
+  }
+  return 0;
+}
+
+if (!fs.existsSync(BUILD_DIR)) {
+  console.error(`precompress: ${BUILD_DIR} not found - run the build first`);
+  process.exit(1);
+}
+
+let files = 0;
+let saved = 0;
+for (const file of walk(BUILD_DIR)) {
+  if (!EXTENSIONS.has(path.extname(file))) {
+    continue;
+  }
+  const content = fs.readFileSync(file);
+  if (content.length < MIN_SIZE) {
+    continue;
+  }
+  const gz = writeIfSmaller(`${file}.gz`, zlib.gzipSync(content, { level: 9 }), content.length);
+  const br = writeIfSmaller(`${file}.br`, zlib.brotliCompressSync(content, {
+    params: {
+      [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+      [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+    },
+  }), content.length);
+  if (gz || br) {
+    files++;
+    saved += content.length - (br || gz);
+  }
+}
+console.log(`precompress: ${files} files, ${(saved / 1024).toFixed(1)} KiB saved (best variant)`);
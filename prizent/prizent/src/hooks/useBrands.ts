@@ -1,4 +1,4 @@
-import { useState, useCallback } from 'react';
+import { useState, useCallback, useEffect } from 'react';
 import { apiService } from '../services/api';
 
 interface Brand {
@@ -6,7 +6,9 @@ interface Brand {
   name: string;
   description: string;
   logo?: string;
+  logoThumbnails?: { small?: string; medium?: string };
   enabled: boolean;
+  version?: number;
   createDateTime: string;
   updateDateTime: string;
 }
@@ -22,11 +24,75 @@ interface UseBrandsReturn {
   refreshBrands: () => Promise<void>;
 }
 
-export const useBrands = (): UseBrandsReturn => {
+interface UseBrandsOptions {
+  // Keep the list current from the server's brand change stream
+  live?: boolean;
+}
+
+const STREAM_RETRY_MS = 5000;
+
+export const useBrands = ({ live = false }: UseBrandsOptions = {}): UseBrandsReturn => {
   const [brands, setBrands] = useState<Brand[]>([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
 
+  useEffect(() => {
+    if (!live) {
+      return;
+    }
+
+    const controller = new AbortController();
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+
+    const applyEvent = (type: string, data: any) => {
+      switch (type) {
+        case 'created':
+        case 'updated':
+        case 'enabled':
+        case 'disabled':
+          // Changes between two server polls arrive as one event named after the latest: replace in place, else prepend
+          setBrands(prev => prev.some(brand => brand.id === data.brandId)
+            ? prev.map(brand => brand.id === data.brandId ? data.brand : brand)
+            : [data.brand, ...prev]);
+          break;
+        case 'deleted':
+          setBrands(prev => prev.filter(brand => brand.id !== data.brandId));
+          break;
+      }
+    };
+
+    const connect = async () => {
+      try {
+        await apiService.streamBrandEvents(applyEvent, controller.signal);
+      } catch (err) {
+        if (controller.signal.aborted) {
+          return;
+        }
+        console.warn('Brand event stream failed, retrying:', err);
+      }
+      if (!controller.signal.aborted) {
+        // Stream ended (e.g. dropped as slow consumer): resync, then reconnect
+        retryTimer = setTimeout(async () => {
+          try {
+            setBrands((await apiService.getAllBrands()) || []);
+          } catch (err) {
+            console.warn('Brand resync failed:', err);
+          }
+          connect();
+        }, STREAM_RETRY_MS);
+      }
+    };
+
+    connect();
+
+    return () => {
+      controller.abort();
+      if (retryTimer) {
+        clearTimeout(retryTimer);
+      }
+    };
+  }, [live]);
+
   const fetchBrands = useCallback(async () => {
     try {
       setLoading(true);
@@ -9,7 +9,7 @@ import { useBrands } from '../hooks/useBrands';
 const BrandsListPage: React.FC = () => {
   const navigate = useNavigate();
   const { logout, user } = useAuth();
-  const { brands, loading: isLoading, error, fetchBrands, deleteBrand } = useBrands();
+  const { brands, loading: isLoading, error, fetchBrands, deleteBrand } = useBrands({ live: true });
 
   const handleLogout = async () => {
     await logout();
@@ -214,7 +214,7 @@ const BrandsListPage: React.FC = () => {
                   <tr key={brand.id}>
                     <td>
                       <div className="brand-logo">
-                        <img src={brand.logo || brandLogo} alt={brand.name} />
+                        <img src={brand.logoThumbnails?.small || brand.logo || brandLogo} alt={brand.name} loading="lazy" />
                       </div>
                     </td>
                     <td className="brand-name">{brand.name}</td>
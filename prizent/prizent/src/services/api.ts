@@ -1,6 +1,9 @@
 class ApiService {
   private baseURL = '';
 
+  // Last brand list and its ETag, keyed by token so tenants never share it
+  private brandsCache: { token: string | null; etag: string; data: any } | null = null;
+
   private getHeaders() {
     const token = localStorage.getItem('token');
     console.log('ApiService: Getting headers, token exists:', !!token);
@@ -189,11 +192,26 @@ class ApiService {
 
   // Brand API methods
   async getAllBrands() {
+    const token = localStorage.getItem('token');
+    const cached = this.brandsCache && this.brandsCache.token === token ? this.brandsCache : null;
+
+    // Revalidate with the last ETag - an unchanged list comes back as an empty 304
     const response = await fetch(`${this.baseURL}/api/admin/brands`, {
-      headers: this.getHeaders()
+      headers: {
+        ...this.getHeaders(),
+        ...(cached && { 'If-None-Match': cached.etag })
+      },
+      cache: 'no-store'
     });
-    
-    return this.handleResponse(response);
+
+    if (response.status === 304 && cached) {
+      return cached.data;
+    }
+
+    const data = await this.handleResponse(response);
+    const etag = response.headers.get('ETag');
+    this.brandsCache = etag ? { token, etag, data } : null;
+    return data;
   }
 
   async createBrand(brandData: { name: string; description: string; enabled: boolean }) {
@@ -221,6 +239,71 @@ class ApiService {
     return this.handleResponse(response);
   }
 
+  async uploadBrandLogo(brandId: string, file: File) {
+    const formData = new FormData();
+    formData.append('file', file);
+    const token = localStorage.getItem('token');
+
+    // No Content-Type header: the browser sets the multipart boundary
+    const response = await fetch(`${this.baseURL}/api/admin/brands/${brandId}/logo`, {
+      method: 'POST',
+      headers: token ? { 'Authorization': `Bearer ${token}` } : {},
+      body: formData
+    });
+
+    return this.handleResponse(response);
+  }
+
+  /**
+   * Open the brand change stream (Server-Sent Events).
+   * Uses fetch instead of EventSource so the bearer token can be sent.
+   * Resolves when the stream ends; abort via the signal.
+   */
+  async streamBrandEvents(onEvent: (type: string, data: any) => void, signal: AbortSignal) {
+    const response = await fetch(`${this.baseURL}/api/admin/brands/stream`, {
+      headers: { ...this.getHeaders(), 'Accept': 'text/event-stream' },
+      cache: 'no-store',
+      signal
+    });
+
+    if (!response.ok || !response.body) {
+      throw new Error(`HTTP error! status: ${response.status}`);
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+
+    while (true) {
+      const { done, value } = await reader.read();
+      if (done) {
+        return;
+      }
+      buffer += decoder.decode(value, { stream: true });
+
+      // Events are separated by a blank line; comments (heartbeats) start with ':'
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+        const rawEvent = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+
+        let type = 'message';
+        const dataLines: string[] = [];
+        rawEvent.split('\n').forEach(line => {
+          if (line.startsWith('event:')) {
+            type = line.slice(6).trim();
+          } else if (line.startsWith('data:')) {
+            dataLines.push(line.slice(5).trimStart());
+          }
+        });
+
+        if (dataLines.length > 0) {
+          onEvent(type, JSON.parse(dataLines.join('\n')));
+        }
+      }
+    }
+  }
+
   async deleteBrand(brandId: string) {
     const response = await fetch(`${this.baseURL}/api/admin/brands/${brandId}`, {
       method: 'DELETE',
@@ -229,6 +312,57 @@ class ApiService {
     
     return this.handleResponse(response);
   }
+
+  /**
+   * Send several GET requests through the gateway in one round trip.
+   * Each item comes back with its own status, so one failure does not fail the rest.
+   */
+  async batch(requests: { id: string; path: string; headers?: Record<string, string> }[]) {
+    const response = await fetch(`${this.baseURL}/api/batch`, {
+      method: 'POST',
+      headers: this.getHeaders(),
+      body: JSON.stringify({ requests: requests.map(request => ({ method: 'GET', ...request })) })
+    });
+
+    const data = await this.handleResponse(response);
+    const results: Record<string, { status: number; headers: Record<string, string>; body: any }> = {};
+    data.responses.forEach((item: any) => {
+      results[item.id] = { status: item.status, headers: item.headers || {}, body: item.body };
+    });
+    return results;
+  }
+
+  /**
+   * Startup data for the dashboard (profile, brands, users) in a single request.
+   * The brand list seeds the ETag cache used by getAllBrands.
+   */
+  async getDashboardData() {
+    const token = localStorage.getItem('token');
+    const cached = this.brandsCache && this.brandsCache.token === token ? this.brandsCache : null;
+
+    const results = await this.batch([
+      { id: 'profile', path: '/api/users/profile' },
+      { id: 'brands', path: '/api/admin/brands', ...(cached && { headers: { 'If-None-Match': cached.etag } }) },
+      { id: 'users', path: '/api/admin/users' }
+    ]);
+
+    const brands = results.brands;
+    let brandData = null;
+    if (brands.status === 304 && cached) {
+      brandData = cached.data;
+    } else if (brands.status === 200) {
+      brandData = brands.body;
+      const etag = brands.headers['ETag'];
+      this.brandsCache = etag ? { token, etag, data: brandData } : null;
+    }
+
+    const bodyIfOk = (item: { status: number; body: any }) => item.status === 200 ? item.body : null;
+    return {
+      profile: bodyIfOk(results.profile),
+      brands: brandData,
+      users: bodyIfOk(results.users)
+    };
+  }
 }
 
 export const apiService = new ApiService();
\ No newline at end of file